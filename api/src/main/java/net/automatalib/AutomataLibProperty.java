@@ -43,6 +43,24 @@ public enum AutomataLibProperty {
      */
     LTSMIN_PATH("ltsmin.path"),
 
+    /**
+     * {@code automatalib.ltsmin.streaming}.
+     * <p>
+     * Whether to exchange ETF and FSM data with the LTSmin binaries via named pipes instead of regular files.
+     * <p>
+     * If set to "true", LTSmin will read the hypothesis from and write the counterexample to a named pipe. This
+     * requires a POSIX system with an available {@code mkfifo} binary.
+     */
+    LTSMIN_STREAMING("ltsmin.streaming"),
+
+    /**
+     * {@code automatalib.ltsmin.tmpdir}.
+     * <p>
+     * The directory in which the working directories for the LTSmin binaries are created. A memory-backed file system
+     * (e.g. {@code /dev/shm}) may be used to avoid disk I/O. If not set, the default temporary directory is used.
+     */
+    LTSMIN_TMPDIR("ltsmin.tmpdir"),
+
     /**
      * {@code ltsmin.verbose}.
      * <p>
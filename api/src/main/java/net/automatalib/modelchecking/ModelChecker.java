@@ -16,7 +16,9 @@
 package net.automatalib.modelchecking;
 
 import java.util.Collection;
+import java.util.Map;
 
+import com.google.common.collect.Maps;
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.automata.transducers.MealyMachine;
 import net.automatalib.exception.ModelCheckingException;
@@ -57,6 +59,41 @@ public interface ModelChecker<I, A, P, R> {
      */
     @Nullable R findCounterExample(A automaton, Collection<? extends I> inputs, P property);
 
+    /**
+     * Try to find counter examples for each of the given {@code properties} and {@code automaton}.
+     * <p>
+     * The default implementation checks each property individually via {@link #findCounterExample(Object,
+     * Collection, Object)}. Implementations may override this method in order to share intermediate results (e.g.
+     * serialized automata or fixed-point computations) between the properties.
+     *
+     * @param automaton
+     *         the automaton to check the properties on.
+     * @param inputs
+     *         the alphabet.
+     * @param properties
+     *         the properties.
+     *
+     * @return a map containing a counter example for each of the {@code properties} that is not satisfied. Properties
+     * without counter examples are not contained in the map.
+     *
+     * @throws ModelCheckingException
+     *         when this model checker can not check one of the properties.
+     */
+    default Map<P, R> findCounterExamples(A automaton,
+                                          Collection<? extends I> inputs,
+                                          Collection<? extends P> properties) {
+        final Map<P, R> result = Maps.newLinkedHashMapWithExpectedSize(properties.size());
+
+        for (P property : properties) {
+            final R counterExample = findCounterExample(automaton, inputs, property);
+            if (counterExample != null) {
+                result.put(property, counterExample);
+            }
+        }
+
+        return result;
+    }
+
     interface DFAModelChecker<I, P, R> extends ModelChecker<I, DFA<?, I>, P, R> {}
 
     /**
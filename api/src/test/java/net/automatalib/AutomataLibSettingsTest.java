@@ -51,6 +51,12 @@ public class AutomataLibSettingsTest {
                 case LTSMIN_PATH:
                     Assert.assertEquals("ltsmin", settings.getProperty(AutomataLibProperty.LTSMIN_PATH));
                     break;
+                case LTSMIN_STREAMING:
+                    Assert.assertEquals("true", settings.getProperty(AutomataLibProperty.LTSMIN_STREAMING));
+                    break;
+                case LTSMIN_TMPDIR:
+                    Assert.assertEquals("tmpdir", settings.getProperty(AutomataLibProperty.LTSMIN_TMPDIR));
+                    break;
                 case LTSMIN_VERBOSE:
                     Assert.assertEquals("false", settings.getProperty(AutomataLibProperty.LTSMIN_VERBOSE));
                     break;
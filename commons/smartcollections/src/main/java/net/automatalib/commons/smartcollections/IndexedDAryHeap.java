@@ -0,0 +1,288 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.smartcollections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A primitive, indexed d-ary min-heap for elements identified by (dense) integer IDs with {@code float} priorities.
+ * <p>
+ * Each element ID in the range {@code [0, capacity)} may be contained in the heap at most once. In contrast to the
+ * generic {@link BinaryHeap}, the heap neither requires wrapper objects nor element references for changing
+ * priorities, since the position of each element is directly stored in an array indexed by the element ID. This makes
+ * the heap suitable for graph algorithms (e.g., Dijkstra's algorithm) on graphs with dense node IDs. Compared to a
+ * binary heap, a higher arity reduces the height of the heap (and therefore the costs of {@link #decreaseKey(int,
+ * float) decreasing keys}) at the cost of more comparisons when {@link #extractMin() extracting the minimum}.
+ */
+public final class IndexedDAryHeap {
+
+    /**
+     * The default arity of the heap.
+     */
+    public static final int DEFAULT_ARITY = 4;
+
+    private static final int ABSENT = -1;
+
+    private final int arity;
+    private final int[] heap;
+    private final int[] positions;
+    private final float[] keys;
+    private int size;
+
+    /**
+     * Constructor. Creates a heap with the {@link #DEFAULT_ARITY default arity}.
+     *
+     * @param capacity
+     *         the capacity of the heap, i.e., the (exclusive) upper bound on element IDs
+     */
+    public IndexedDAryHeap(int capacity) {
+        this(capacity, DEFAULT_ARITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param capacity
+     *         the capacity of the heap, i.e., the (exclusive) upper bound on element IDs
+     * @param arity
+     *         the (maximum) number of children of each node of the heap
+     *
+     * @throws IllegalArgumentException
+     *         if {@code arity < 2} or {@code capacity < 0}
+     */
+    public IndexedDAryHeap(int capacity, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity must be at least 2, but was " + arity);
+        }
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative, but was " + capacity);
+        }
+
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.keys = new float[capacity];
+
+        Arrays.fill(positions, ABSENT);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns whether the element with the given ID is currently contained in the heap.
+     *
+     * @param id
+     *         the element ID
+     *
+     * @return {@code true} if the element is contained in the heap, {@code false} otherwise
+     */
+    public boolean contains(int id) {
+        return positions[id] != ABSENT;
+    }
+
+    /**
+     * Returns the (current) priority of the element with the given ID. The result is only meaningful if the element is
+     * {@link #contains(int) contained} in the heap.
+     *
+     * @param id
+     *         the element ID
+     *
+     * @return the priority of the element
+     */
+    public float getKey(int id) {
+        return keys[id];
+    }
+
+    /**
+     * Inserts the element with the given ID and priority into the heap.
+     *
+     * @param id
+     *         the element ID
+     * @param key
+     *         the priority of the element
+     *
+     * @throws IllegalArgumentException
+     *         if the element is already contained in the heap
+     */
+    public void insert(int id, float key) {
+        if (positions[id] != ABSENT) {
+            throw new IllegalArgumentException("Element " + id + " is already contained in the heap");
+        }
+
+        keys[id] = key;
+        siftUp(id, size++);
+    }
+
+    /**
+     * Decreases the priority of the element with the given ID.
+     *
+     * @param id
+     *         the element ID
+     * @param key
+     *         the new priority of the element
+     *
+     * @throws IllegalArgumentException
+     *         if the element is not contained in the heap, or if the new priority is greater than its current priority
+     */
+    public void decreaseKey(int id, float key) {
+        final int pos = positions[id];
+        if (pos == ABSENT) {
+            throw new IllegalArgumentException("Element " + id + " is not contained in the heap");
+        }
+        if (key > keys[id]) {
+            throw new IllegalArgumentException("New key " + key + " is greater than current key " + keys[id]);
+        }
+
+        keys[id] = key;
+        siftUp(id, pos);
+    }
+
+    /**
+     * Inserts the element with the given ID into the heap, or decreases its priority if it is already contained in the
+     * heap with a greater priority.
+     *
+     * @param id
+     *         the element ID
+     * @param key
+     *         the (new) priority of the element
+     *
+     * @return {@code true} if the heap was changed by this operation, {@code false} otherwise
+     */
+    public boolean insertOrDecrease(int id, float key) {
+        final int pos = positions[id];
+
+        if (pos == ABSENT) {
+            keys[id] = key;
+            siftUp(id, size++);
+            return true;
+        } else if (key < keys[id]) {
+            keys[id] = key;
+            siftUp(id, pos);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the ID of the element with the minimal priority without removing it.
+     *
+     * @return the ID of the element with the minimal priority
+     *
+     * @throws NoSuchElementException
+     *         if the heap is empty
+     */
+    public int peekMin() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return heap[0];
+    }
+
+    /**
+     * Removes the element with the minimal priority from the heap and returns its ID.
+     *
+     * @return the ID of the element with the minimal priority
+     *
+     * @throws NoSuchElementException
+     *         if the heap is empty
+     */
+    public int extractMin() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+
+        final int min = heap[0];
+        positions[min] = ABSENT;
+
+        if (--size > 0) {
+            siftDown(heap[size], 0);
+        }
+
+        return min;
+    }
+
+    /**
+     * Removes all elements from the heap.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = ABSENT;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int id, int pos) {
+        final float key = keys[id];
+        int i = pos;
+
+        while (i > 0) {
+            final int parentPos = (i - 1) / arity;
+            final int parent = heap[parentPos];
+            if (keys[parent] <= key) {
+                break;
+            }
+            heap[i] = parent;
+            positions[parent] = i;
+            i = parentPos;
+        }
+
+        heap[i] = id;
+        positions[id] = i;
+    }
+
+    private void siftDown(int id, int pos) {
+        final float key = keys[id];
+        int i = pos;
+
+        while (true) {
+            final int firstChild = arity * i + 1;
+            if (firstChild >= size) {
+                break;
+            }
+
+            final int lastChild = Math.min(firstChild + arity, size);
+            int minChild = firstChild;
+            float minKey = keys[heap[firstChild]];
+
+            for (int c = firstChild + 1; c < lastChild; c++) {
+                final float childKey = keys[heap[c]];
+                if (childKey < minKey) {
+                    minChild = c;
+                    minKey = childKey;
+                }
+            }
+
+            if (key <= minKey) {
+                break;
+            }
+
+            heap[i] = heap[minChild];
+            positions[heap[i]] = i;
+            i = minChild;
+        }
+
+        heap[i] = id;
+        positions[id] = i;
+    }
+}
@@ -0,0 +1,105 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.smartcollections;
+
+import java.util.BitSet;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class IndexedDAryHeapTest {
+
+    @Test
+    public void testHeapOps() {
+        final IndexedDAryHeap heap = new IndexedDAryHeap(5);
+
+        Assert.assertTrue(heap.isEmpty());
+        Assert.assertThrows(NoSuchElementException.class, heap::peekMin);
+        Assert.assertThrows(NoSuchElementException.class, heap::extractMin);
+
+        heap.insert(0, 42);
+        heap.insert(1, 37);
+        heap.insert(2, 40);
+
+        Assert.assertEquals(heap.size(), 3);
+        Assert.assertTrue(heap.contains(2));
+        Assert.assertFalse(heap.contains(3));
+        Assert.assertEquals(heap.peekMin(), 1);
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> heap.insert(1, 13));
+        Assert.assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(3, 13));
+        Assert.assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(1, 50));
+
+        heap.decreaseKey(0, 13);
+        Assert.assertEquals(heap.getKey(0), 13f);
+        Assert.assertEquals(heap.peekMin(), 0);
+
+        Assert.assertTrue(heap.insertOrDecrease(3, 38));
+        Assert.assertFalse(heap.insertOrDecrease(3, 39));
+        Assert.assertTrue(heap.insertOrDecrease(2, 20));
+
+        Assert.assertEquals(heap.extractMin(), 0);
+        Assert.assertEquals(heap.extractMin(), 2);
+        Assert.assertEquals(heap.extractMin(), 1);
+        Assert.assertFalse(heap.contains(1));
+
+        // removed elements may be re-inserted
+        heap.insert(1, 50);
+        Assert.assertEquals(heap.extractMin(), 3);
+        Assert.assertEquals(heap.extractMin(), 1);
+        Assert.assertTrue(heap.isEmpty());
+
+        heap.insert(4, 1);
+        heap.clear();
+        Assert.assertTrue(heap.isEmpty());
+        Assert.assertFalse(heap.contains(4));
+    }
+
+    @Test
+    public void testRandomOps() {
+        final Random random = new Random(42);
+        final int capacity = 1000;
+
+        for (int arity = 2; arity <= 8; arity++) {
+            final IndexedDAryHeap heap = new IndexedDAryHeap(capacity, arity);
+            final BitSet inserted = new BitSet();
+
+            for (int i = 0; i < 10_000; i++) {
+                final int id = random.nextInt(capacity);
+                heap.insertOrDecrease(id, random.nextFloat() * 1000);
+                inserted.set(id);
+            }
+
+            Assert.assertEquals(heap.size(), inserted.cardinality());
+
+            float last = Float.NEGATIVE_INFINITY;
+            int count = 0;
+            while (!heap.isEmpty()) {
+                final float key = heap.getKey(heap.peekMin());
+                Assert.assertTrue(last <= key);
+                heap.extractMin();
+                last = key;
+                count++;
+            }
+
+            Assert.assertEquals(count, inserted.cardinality());
+        }
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> new IndexedDAryHeap(10, 1));
+    }
+}
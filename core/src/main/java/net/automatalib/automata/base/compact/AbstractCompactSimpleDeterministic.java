@@ -15,6 +15,7 @@
  */
 package net.automatalib.automata.base.compact;
 
+import java.nio.IntBuffer;
 import java.util.Arrays;
 import java.util.Iterator;
 
@@ -102,6 +103,50 @@ public abstract class AbstractCompactSimpleDeterministic<I, SP>
         transitions[toMemoryIndex(state, inputIdx)] = succ;
     }
 
+    /**
+     * Sets the transitions of consecutive states in bulk. The successors are read from the remaining elements of the
+     * given buffer in state-major order, i.e. the successor of the {@code k}-th state (starting at {@code fromState})
+     * for the input with index {@code i} is read from the {@code (k * numInputs() + i)}-th remaining element. Undefined
+     * transitions are denoted by {@link AbstractCompact#INVALID_STATE}. After this method returns, the buffer has no
+     * remaining elements.
+     *
+     * @param fromState
+     *         the id of the first state whose transitions should be set
+     * @param successors
+     *         the buffer containing the successor ids
+     *
+     * @throws IllegalArgumentException
+     *         if the number of remaining elements is not a multiple of the alphabet size, exceeds the number of
+     *         transitions of the states {@code fromState, ..., size() - 1}, or if any of the successors does not denote
+     *         a valid state of this automaton. In the latter case, the affected transitions are reset to be undefined
+     */
+    public void setTransitions(int fromState, IntBuffer successors) {
+        final int numInputs = numInputs();
+        final int length = successors.remaining();
+
+        if (length == 0) {
+            return;
+        }
+
+        final int offset = toMemoryIndex(fromState, 0);
+
+        if (fromState < 0 || numInputs == 0 || length % numInputs != 0 ||
+            length > (long) size() * numInputs - offset) {
+            throw new IllegalArgumentException("Invalid transition range");
+        }
+
+        successors.get(transitions, offset, length);
+
+        final int size = size();
+        for (int i = offset; i < offset + length; i++) {
+            final int succ = transitions[i];
+            if (succ < AbstractCompact.INVALID_STATE || succ >= size) {
+                Arrays.fill(transitions, offset, offset + length, AbstractCompact.INVALID_STATE);
+                throw new IllegalArgumentException("Invalid successor: " + succ);
+            }
+        }
+    }
+
     @Override
     public Void getTransitionProperty(Integer transition) {
         return null;
@@ -15,7 +15,9 @@
  */
 package net.automatalib.automata.transducers.impl.compact;
 
+import java.nio.IntBuffer;
 import java.util.Arrays;
+import java.util.List;
 
 import net.automatalib.automata.AutomatonCreator;
 import net.automatalib.automata.base.compact.AbstractCompact;
@@ -135,6 +137,64 @@ public class CompactMealy<I, O> extends AbstractCompactDeterministic<I, CompactT
         outputs[idx] = property;
     }
 
+    /**
+     * Sets the transitions of consecutive states in bulk. The successors and the indices of the transition outputs are
+     * read from the remaining elements of the given buffers in state-major order, i.e. the successor (output index) of
+     * the {@code k}-th state (starting at {@code fromState}) for the input with index {@code i} is read from the {@code
+     * (k * numInputs() + i)}-th remaining element. Undefined transitions are denoted by {@link
+     * AbstractCompact#INVALID_STATE}, a negative output index denotes a {@code null} output. After this method returns,
+     * both buffers have no remaining elements.
+     *
+     * @param fromState
+     *         the id of the first state whose transitions should be set
+     * @param successors
+     *         the buffer containing the successor ids
+     * @param outputIndices
+     *         the buffer containing the indices of the transition outputs
+     * @param outputs
+     *         the (distinct) transition outputs referenced by the output indices
+     *
+     * @throws IllegalArgumentException
+     *         if the number of remaining elements of the buffers differ, are not a multiple of the alphabet size, exceed
+     *         the number of transitions of the states {@code fromState, ..., size() - 1}, or if any of the successors
+     *         (output indices) does not denote a valid state of this automaton (valid output). In the latter case, the
+     *         affected transitions are reset to be undefined
+     */
+    public void setTransitions(int fromState, IntBuffer successors, IntBuffer outputIndices, List<? extends O> outputs) {
+        final int numInputs = numInputs();
+        final int length = successors.remaining();
+
+        if (length == 0 && outputIndices.remaining() == 0) {
+            return;
+        }
+
+        final int offset = toMemoryIndex(fromState, 0);
+
+        if (fromState < 0 || numInputs == 0 || length % numInputs != 0 || length != outputIndices.remaining() ||
+            length > (long) size() * numInputs - offset) {
+            throw new IllegalArgumentException("Invalid transition range");
+        }
+
+        successors.get(transitions, offset, length);
+
+        final int size = size();
+        final int numOutputs = outputs.size();
+
+        for (int i = offset; i < offset + length; i++) {
+            final int succ = transitions[i];
+            final int output = outputIndices.get();
+
+            if (succ < AbstractCompact.INVALID_STATE || succ >= size || output >= numOutputs) {
+                Arrays.fill(transitions, offset, offset + length, AbstractCompact.INVALID_STATE);
+                Arrays.fill(this.outputs, offset, offset + length, null);
+                outputIndices.position(outputIndices.limit());
+                throw new IllegalArgumentException("Invalid transition: " + succ + " / " + output);
+            }
+
+            this.outputs[i] = output < 0 ? null : outputs.get(output);
+        }
+    }
+
     @Override
     public void clear() {
         int endIdx = size() * numInputs();
@@ -28,6 +28,10 @@ public class CompactSST<I, O> extends UniversalCompactDet<I, Word<O>, Word<O>>
         super(alphabet);
     }
 
+    public CompactSST(Alphabet<I> alphabet, int stateCapacity) {
+        super(alphabet, stateCapacity, DEFAULT_RESIZE_FACTOR);
+    }
+
     public CompactSST(CompactSST<I, O> other) {
         super(other.getInputAlphabet(), other);
     }
@@ -20,7 +20,6 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.SortedSet;
-import java.util.TreeSet;
 
 import net.automatalib.automata.concepts.DetOutputAutomaton;
 import net.automatalib.commons.util.collections.CollectionsUtil;
@@ -30,6 +29,7 @@ import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
 import net.automatalib.words.WordBuilder;
 import net.automatalib.words.impl.Alphabets;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
@@ -57,7 +57,7 @@ public abstract class AbstractLasso<I, D> implements Lasso<I, D> {
     /**
      * @see #getOutput()
      */
-    private final D output;
+    private @MonotonicNonNull D output;
 
     /**
      * @see #getInputAlphabet()
@@ -72,7 +72,7 @@ public abstract class AbstractLasso<I, D> implements Lasso<I, D> {
     /**
      * @see #getLoopBeginIndices()
      */
-    private final SortedSet<Integer> loopBeginIndices = new TreeSet<>();
+    private final SortedSet<Integer> loopBeginIndices;
 
     /**
      * @see #getAutomaton()
@@ -82,6 +82,10 @@ public abstract class AbstractLasso<I, D> implements Lasso<I, D> {
     /**
      * Constructs a finite representation of a given automaton (that contains a lasso), by unrolling the loop {@code
      * unfoldTimes}.
+     * <p>
+     * Note that the loop is not unrolled explicitly. Instead, the prefix and the loop are stored only once and {@link
+     * #getWord()} as well as {@link #getLoopBeginIndices()} return (immutable) views that compute the unrolled
+     * representation on access.
      *
      * @param automaton
      *         the automaton containing the lasso.
@@ -141,21 +145,11 @@ public abstract class AbstractLasso<I, D> implements Lasso<I, D> {
         // determine the prefix of the lasso
         prefix = wb.toWord(0, loopBegin);
 
-        // append the loop several times to the finite representation
-        for (int u = 1; u < unfoldTimes; u++) {
-            wb.append(loop);
-        }
-
-        // store the entire finite representation of the lasso
-        word = wb.toWord();
-
-        // store the finite representation of output of the lasso
-        output = automaton.computeOutput(word);
+        // the entire finite representation of the lasso is only a view on the prefix and the (unfolded) loop
+        word = new LassoWord<>(prefix, loop, unfoldTimes);
 
-        // store all the symbol indices after which the beginning of the loop is visited.
-        for (int l = prefix.length(); l <= word.length(); l += loop.length()) {
-            loopBeginIndices.add(l);
-        }
+        // all the symbol indices after which the beginning of the loop is visited.
+        loopBeginIndices = new LoopBeginIndices(prefix.length(), loop.length(), unfoldTimes + 1);
     }
 
     @Override
@@ -185,9 +179,25 @@ public abstract class AbstractLasso<I, D> implements Lasso<I, D> {
 
     @Override
     public D getOutput() {
+        if (output == null) {
+            output = computeLassoOutput();
+        }
         return output;
     }
 
+    /**
+     * Computes the output of the original automaton for the finite representation of the lasso. This method is called
+     * (once) upon the first invocation of {@link #getOutput()}.
+     * <p>
+     * The default implementation runs the original automaton on {@link #getWord()}. Subclasses may override this
+     * method to exploit the periodic structure of the lasso.
+     *
+     * @return the output of the finite representation of the lasso
+     */
+    protected D computeLassoOutput() {
+        return automaton.computeOutput(word);
+    }
+
     @Override
     public SortedSet<Integer> getLoopBeginIndices() {
         return loopBeginIndices;
@@ -37,6 +37,16 @@ public class DFALassoImpl<I> extends AbstractLasso<I, Boolean> implements DFALas
         super(automaton, inputs, unfoldTimes);
     }
 
+    /**
+     * Computes the output of the lasso by running the original automaton only on the prefix and a single iteration of
+     * the loop. Since acceptance only depends on the reached state, this yields the same output as the unfolded
+     * representation.
+     */
+    @Override
+    protected Boolean computeLassoOutput() {
+        return getAutomaton().computeOutput(getPrefix().concat(getLoop()));
+    }
+
     /**
      * Returns whether the given state is accepting.
      * <p>
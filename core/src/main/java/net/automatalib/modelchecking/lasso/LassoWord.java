@@ -0,0 +1,121 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelchecking.lasso;
+
+import net.automatalib.words.Word;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A virtual view on the word {@code prefix loop^unfolds}. Only the prefix and the loop are stored, every symbol of the
+ * unfolded word is computed on access.
+ *
+ * @param <I>
+ *         symbol type
+ */
+final class LassoWord<I> extends Word<I> {
+
+    private final Word<I> prefix;
+    private final Word<I> loop;
+    private final int unfolds;
+    private final int length;
+
+    /**
+     * Constructor.
+     *
+     * @param prefix
+     *         the prefix of the word
+     * @param loop
+     *         the loop of the word, must not be empty
+     * @param unfolds
+     *         the number of times the loop is repeated
+     *
+     * @throws ArithmeticException
+     *         if the length of the unfolded word exceeds {@link Integer#MAX_VALUE}
+     */
+    LassoWord(Word<I> prefix, Word<I> loop, int unfolds) {
+        assert !loop.isEmpty();
+        this.prefix = prefix;
+        this.loop = loop;
+        this.unfolds = unfolds;
+        this.length = Math.addExact(prefix.length(), Math.multiplyExact(loop.length(), unfolds));
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public I getSymbol(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        final int prefixLength = prefix.length();
+
+        if (index < prefixLength) {
+            return prefix.getSymbol(index);
+        }
+
+        return loop.getSymbol((index - prefixLength) % loop.length());
+    }
+
+    @Override
+    public void writeToArray(int offset, @Nullable Object[] array, int tgtOffset, int length) {
+        final int prefixLength = prefix.length();
+        final int loopLength = loop.length();
+
+        int srcIdx = offset;
+        int tgtIdx = tgtOffset;
+        int remaining = length;
+
+        if (srcIdx < prefixLength) {
+            final int num = Math.min(remaining, prefixLength - srcIdx);
+            prefix.writeToArray(srcIdx, array, tgtIdx, num);
+            srcIdx += num;
+            tgtIdx += num;
+            remaining -= num;
+        }
+
+        // copy (partial) loop blocks
+        while (remaining > 0) {
+            final int loopIdx = (srcIdx - prefixLength) % loopLength;
+            final int num = Math.min(remaining, loopLength - loopIdx);
+            loop.writeToArray(loopIdx, array, tgtIdx, num);
+            srcIdx += num;
+            tgtIdx += num;
+            remaining -= num;
+        }
+    }
+
+    @Override
+    public Word<I> subWordInternal(int fromIndex, int toIndex) {
+        final int prefixLength = prefix.length();
+
+        if (toIndex <= prefixLength) {
+            return prefix.subWord(fromIndex, toIndex);
+        } else if (fromIndex == 0 && toIndex == length) {
+            return this;
+        }
+
+        return super.subWordInternal(fromIndex, toIndex);
+    }
+
+    @Override
+    public Word<I> trimmed() {
+        return this;
+    }
+}
@@ -0,0 +1,128 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelchecking.lasso;
+
+import java.util.AbstractSet;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+
+import net.automatalib.commons.util.collections.IntRangeIterator;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An (immutable) sorted set view on the arithmetic progression {@code start, start + step, ..., start + (size - 1) *
+ * step}. Membership and range queries are answered arithmetically, without storing the individual elements.
+ */
+final class LoopBeginIndices extends AbstractSet<Integer> implements SortedSet<Integer> {
+
+    private final int start;
+    private final int step;
+    private final int size;
+
+    /**
+     * Constructor.
+     *
+     * @param start
+     *         the first element
+     * @param step
+     *         the (positive) distance between two subsequent elements
+     * @param size
+     *         the number of elements
+     */
+    LoopBeginIndices(int start, int step, int size) {
+        assert step > 0 && size >= 0;
+        this.start = start;
+        this.step = step;
+        this.size = size;
+    }
+
+    @Override
+    public IntRangeIterator iterator() {
+        return new IntRangeIterator(start, step, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(@Nullable Object o) {
+        if (!(o instanceof Integer)) {
+            return false;
+        }
+
+        final long aligned = (long) (Integer) o - start;
+        return aligned >= 0 && aligned % step == 0 && aligned / step < size;
+    }
+
+    @Override
+    public @Nullable Comparator<? super Integer> comparator() {
+        return null;
+    }
+
+    @Override
+    public SortedSet<Integer> subSet(Integer fromElement, Integer toElement) {
+        if (fromElement > toElement) {
+            throw new IllegalArgumentException("fromElement > toElement");
+        }
+        return range(ceilIndex(fromElement), ceilIndex(toElement));
+    }
+
+    @Override
+    public SortedSet<Integer> headSet(Integer toElement) {
+        return range(0, ceilIndex(toElement));
+    }
+
+    @Override
+    public SortedSet<Integer> tailSet(Integer fromElement) {
+        return range(ceilIndex(fromElement), size);
+    }
+
+    @Override
+    public Integer first() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return start;
+    }
+
+    @Override
+    public Integer last() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return start + (size - 1) * step;
+    }
+
+    /**
+     * Returns the index of the smallest element that is greater than or equal to the given value, or {@link #size} if
+     * no such element exists.
+     */
+    private int ceilIndex(int value) {
+        if (value <= start) {
+            return 0;
+        }
+
+        final long idx = ((long) value - start + step - 1) / step;
+        return (int) Math.min(idx, size);
+    }
+
+    private LoopBeginIndices range(int fromIdx, int toIdx) {
+        return new LoopBeginIndices(start + fromIdx * step, step, toIdx - fromIdx);
+    }
+}
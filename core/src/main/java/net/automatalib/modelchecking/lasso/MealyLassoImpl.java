@@ -40,6 +40,25 @@ public class MealyLassoImpl<I, O> extends AbstractLasso<I, Word<O>> implements M
         super(automaton, inputs, unfoldTimes);
     }
 
+    /**
+     * Computes the output of the lasso by running the original automaton only on the prefix and a single iteration of
+     * the loop. Since the state reached after the prefix is the same as the one reached after every iteration of the
+     * loop, the outputs of the loop repeat with every unfolding and can be represented by a view.
+     */
+    @Override
+    protected Word<O> computeLassoOutput() {
+        final Word<I> prefix = getPrefix();
+        final Word<I> loop = getLoop();
+        final Word<O> output = getAutomaton().computeOutput(prefix.concat(loop));
+
+        // not a Mealy-like output, fall back to the explicit computation
+        if (output.length() != prefix.length() + loop.length()) {
+            return super.computeLassoOutput();
+        }
+
+        return new LassoWord<>(output.prefix(prefix.length()), output.subWord(prefix.length()), getUnfolds());
+    }
+
     @Override
     public O getTransitionOutput(Integer transition) {
         return getOutput().getSymbol(transition);
@@ -15,12 +15,15 @@
  */
 package net.automatalib.modelchecking.modelchecker.cache;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 
+import com.google.common.collect.Maps;
 import net.automatalib.automata.simple.SimpleAutomaton;
 import net.automatalib.commons.util.Pair;
 import net.automatalib.modelchecking.ModelChecker;
@@ -75,15 +78,54 @@ class SizeModelCheckerCache<I, A extends SimpleAutomaton<?, I>, P, R> implements
      */
     @Override
     public @Nullable R findCounterExample(A automaton, Collection<? extends I> inputs, P property) {
+        updateSize(automaton);
+
+        return counterExamples.computeIfAbsent(
+                Pair.of(inputs, property),
+                key -> Optional.ofNullable(modelChecker.findCounterExample(automaton, inputs, property))).orElse(null);
+    }
+
+    /**
+     * The cached implementation for finding counter examples of multiple properties. Properties whose counter examples
+     * are not cached yet are checked in a single batch.
+     *
+     * @see ModelChecker#findCounterExamples(Object, Collection, Collection)
+     */
+    @Override
+    public Map<P, R> findCounterExamples(A automaton,
+                                         Collection<? extends I> inputs,
+                                         Collection<? extends P> properties) {
+        updateSize(automaton);
+
+        final List<P> uncached = new ArrayList<>(properties.size());
+        for (P property : properties) {
+            if (!counterExamples.containsKey(Pair.of(inputs, property))) {
+                uncached.add(property);
+            }
+        }
+
+        if (!uncached.isEmpty()) {
+            final Map<P, R> uncachedCounterExamples = modelChecker.findCounterExamples(automaton, inputs, uncached);
+            for (P property : uncached) {
+                counterExamples.put(Pair.of(inputs, property),
+                                    Optional.ofNullable(uncachedCounterExamples.get(property)));
+            }
+        }
+
+        final Map<P, R> result = Maps.newLinkedHashMapWithExpectedSize(properties.size());
+        for (P property : properties) {
+            counterExamples.get(Pair.of(inputs, property)).ifPresent(ce -> result.put(property, ce));
+        }
+
+        return result;
+    }
+
+    private void updateSize(A automaton) {
         if (automaton.size() > size) {
             counterExamples.clear();
         }
 
         size = automaton.size();
-
-        return counterExamples.computeIfAbsent(
-                Pair.of(inputs, property),
-                key -> Optional.ofNullable(modelChecker.findCounterExample(automaton, inputs, property))).orElse(null);
     }
 
     @Override
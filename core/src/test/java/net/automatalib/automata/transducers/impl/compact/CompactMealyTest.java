@@ -0,0 +1,114 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.automata.transducers.impl.compact;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class CompactMealyTest {
+
+    private static final Alphabet<Character> ALPHABET = Alphabets.characters('a', 'b');
+    private static final Character A = 'a';
+    private static final Character B = 'b';
+    private static final List<String> OUTPUTS = Arrays.asList("x", "y");
+
+    private CompactMealy<Character, String> mealy;
+
+    @BeforeMethod
+    public void setUp() {
+        this.mealy = new CompactMealy<>(ALPHABET);
+        for (int i = 0; i < 3; i++) {
+            mealy.addState();
+        }
+        mealy.setInitialState(0);
+        mealy.setTransition(0, A, 1, "x");
+    }
+
+    @Test
+    public void testSetTransitions() {
+        // states 1 and 2, where 1 -b-> undefined and 2 -a-> 0 has a null output
+        final IntBuffer successors = IntBuffer.wrap(new int[] {2, -1, 0, 2});
+        final IntBuffer outputIndices = IntBuffer.wrap(new int[] {1, -1, -1, 0});
+
+        mealy.setTransitions(1, successors, outputIndices, OUTPUTS);
+
+        Assert.assertFalse(successors.hasRemaining());
+        Assert.assertFalse(outputIndices.hasRemaining());
+
+        // transitions of other states are unaffected
+        Assert.assertEquals(mealy.getSuccessor(0, A), 1);
+        Assert.assertEquals(mealy.getOutput(0, A), "x");
+        Assert.assertNull(mealy.getTransition(0, B));
+
+        Assert.assertEquals(mealy.getSuccessor(1, A), 2);
+        Assert.assertEquals(mealy.getOutput(1, A), "y");
+        Assert.assertNull(mealy.getTransition(1, B));
+        Assert.assertEquals(mealy.getSuccessor(2, A), 0);
+        Assert.assertNull(mealy.getOutput(2, A));
+        Assert.assertEquals(mealy.getSuccessor(2, B), 2);
+        Assert.assertEquals(mealy.getOutput(2, B), "x");
+
+        // empty buffers are a no-op
+        mealy.setTransitions(3, IntBuffer.allocate(0), IntBuffer.allocate(0), OUTPUTS);
+    }
+
+    @Test
+    public void testSetTransitionsInvalidRange() {
+        // buffers of different sizes
+        Assert.assertThrows(IllegalArgumentException.class,
+                            () -> mealy.setTransitions(0, IntBuffer.allocate(2), IntBuffer.allocate(4), OUTPUTS));
+        // not a multiple of the alphabet size
+        Assert.assertThrows(IllegalArgumentException.class,
+                            () -> mealy.setTransitions(0, IntBuffer.allocate(3), IntBuffer.allocate(3), OUTPUTS));
+        // exceeds the existing states
+        Assert.assertThrows(IllegalArgumentException.class,
+                            () -> mealy.setTransitions(2, IntBuffer.allocate(4), IntBuffer.allocate(4), OUTPUTS));
+        Assert.assertThrows(IllegalArgumentException.class,
+                            () -> mealy.setTransitions(-1, IntBuffer.allocate(2), IntBuffer.allocate(2), OUTPUTS));
+
+        // the existing transitions are unaffected
+        Assert.assertEquals(mealy.getSuccessor(0, A), 1);
+    }
+
+    @Test
+    public void testSetTransitionsInvalidContents() {
+        // invalid successor
+        final IntBuffer outputIndices = IntBuffer.wrap(new int[] {0, 1});
+        Assert.assertThrows(IllegalArgumentException.class,
+                            () -> mealy.setTransitions(0, IntBuffer.wrap(new int[] {1, 3}), outputIndices, OUTPUTS));
+        Assert.assertFalse(outputIndices.hasRemaining());
+
+        // the affected transitions are reset to be undefined
+        Assert.assertNull(mealy.getTransition(0, A));
+        Assert.assertNull(mealy.getTransition(0, B));
+
+        // invalid output index
+        Assert.assertThrows(IllegalArgumentException.class,
+                            () -> mealy.setTransitions(1,
+                                                       IntBuffer.wrap(new int[] {0, 1}),
+                                                       IntBuffer.wrap(new int[] {0, 2}),
+                                                       OUTPUTS));
+        Assert.assertNull(mealy.getTransition(1, A));
+        Assert.assertNull(mealy.getTransition(1, B));
+    }
+}
@@ -92,4 +92,36 @@ public abstract class AbstractLassoTest<L extends AbstractLasso<String, ?>> {
         Assert.assertEquals(lasso3.getLoopBeginIndices(), indices);
     }
 
+    @Test
+    public void testUnfolds() {
+        final L lasso = getLasso(Word.fromSymbols("a"), Word.fromSymbols("a", "a"), 3);
+        final Word<String> expected = Word.fromSymbols("a", "a", "a", "a", "a", "a", "a");
+
+        Assert.assertEquals(lasso.getUnfolds(), 3);
+        Assert.assertEquals(lasso.getWord(), expected);
+        Assert.assertEquals(lasso.getWord().flatten(), expected);
+        Assert.assertEquals(lasso.getWord().subWord(2, 6), expected.subWord(2, 6));
+        Assert.assertEquals(lasso.getWord().hashCode(), expected.hashCode());
+
+        final SortedSet<Integer> indices = new TreeSet<>();
+        indices.add(1);
+        indices.add(3);
+        indices.add(5);
+        indices.add(7);
+
+        final SortedSet<Integer> loopBeginIndices = lasso.getLoopBeginIndices();
+        Assert.assertEquals(loopBeginIndices, indices);
+        Assert.assertEquals(loopBeginIndices.first(), indices.first());
+        Assert.assertEquals(loopBeginIndices.last(), indices.last());
+        Assert.assertEquals(loopBeginIndices.headSet(5), indices.headSet(5));
+        Assert.assertEquals(loopBeginIndices.tailSet(4), indices.tailSet(4));
+        Assert.assertEquals(loopBeginIndices.subSet(2, 7), indices.subSet(2, 7));
+        Assert.assertTrue(loopBeginIndices.contains(5));
+        Assert.assertFalse(loopBeginIndices.contains(4));
+        Assert.assertFalse(loopBeginIndices.contains(9));
+
+        Assert.assertEquals(lasso.getSuccessor(6, "a"), Integer.valueOf(7));
+        Assert.assertNull(lasso.getSuccessor(7, "a"));
+    }
+
 }
@@ -32,7 +32,7 @@ public class MealyLassoTest extends AbstractLassoTest<MealyLassoImpl<String, Str
 
     @Override
     protected MealyLassoImpl<String, String> getLasso(Word<String> prefix, Word<String> loop, int unfoldTimes) {
-        return new MealyLassoImpl<>(new MealyMachineMock(prefix, loop), getAlphabet(), 1);
+        return new MealyLassoImpl<>(new MealyMachineMock(prefix, loop), getAlphabet(), unfoldTimes);
     }
 
     @Test
@@ -41,6 +41,16 @@ public class MealyLassoTest extends AbstractLassoTest<MealyLassoImpl<String, Str
         Assert.assertEquals(lasso.getOutput(), Word.fromSymbols(MealyMachineMock.OUTPUT));
     }
 
+    @Test
+    public void testGetUnfoldedOutput() {
+        final MealyLassoImpl<String, String> lasso = getLasso(Word.fromSymbols("a"), Word.fromSymbols("a", "a"), 3);
+        final Word<String> output = lasso.getOutput();
+
+        Assert.assertEquals(output.length(), lasso.getWord().length());
+        Assert.assertTrue(output.stream().allMatch(MealyMachineMock.OUTPUT::equals));
+        Assert.assertEquals(lasso.getTransitionOutput(6), MealyMachineMock.OUTPUT);
+    }
+
     private static class MealyMachineMock
             implements MealyMachine<Integer, String, MealyTransition<Integer, String>, String> {
 
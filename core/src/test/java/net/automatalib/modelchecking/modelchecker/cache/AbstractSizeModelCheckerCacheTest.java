@@ -16,6 +16,7 @@
 package net.automatalib.modelchecking.modelchecker.cache;
 
 import java.util.Collections;
+import java.util.Map;
 
 import net.automatalib.automata.MutableAutomaton;
 import net.automatalib.modelchecking.Lasso;
@@ -90,6 +91,26 @@ public abstract class AbstractSizeModelCheckerCacheTest<I, R extends Lasso<I, ?>
         Assert.assertEquals(this.modelCheckerMockUp.getChecks(), 3);
     }
 
+    @Test(dependsOnMethods = "testCacheClear")
+    public void testBatch() {
+        this.cache.clear();
+
+        final Map<?, ?> ces1 = this.cache.findCounterExamples(this.automaton,
+                                                              Collections.emptyList(),
+                                                              Collections.singleton(property));
+        Assert.assertEquals(ces1, Collections.singletonMap(property, counterexample));
+        Assert.assertEquals(this.modelCheckerMockUp.getChecks(), 4);
+
+        // batch queries should hit the cache of single queries and vice versa
+        final Map<?, ?> ces2 = this.cache.findCounterExamples(this.automaton,
+                                                              Collections.emptyList(),
+                                                              Collections.singleton(property));
+        final Object ce = this.cache.findCounterExample(this.automaton, Collections.emptyList(), property);
+        Assert.assertEquals(ces2, ces1);
+        Assert.assertSame(ce, counterexample);
+        Assert.assertEquals(this.modelCheckerMockUp.getChecks(), 4);
+    }
+
     protected abstract MC getModelChecker(MA automaton, Object property, R counterexample);
 
     protected abstract C getCache(MC mockup);
@@ -0,0 +1,159 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.examples.graph;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.simple.SimpleDeterministicAutomaton.FullIntAbstraction;
+import net.automatalib.util.automata.copy.AutomatonReordering;
+import net.automatalib.util.graphs.csr.NodeOrdering;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A simple benchmark that measures the effect of renumbering states (see {@link NodeOrdering}) on the performance of
+ * breadth-first traversals over {@link CompactDFA}s. The benchmark constructs a DFA whose transitions connect states
+ * that are close to each other, but whose state IDs are randomly scattered (simulating an unfavorable insertion
+ * order), and compares the traversal times before and after reordering.
+ * <p>
+ * Usage: {@code ReorderingBenchmarkExample [numStates [numInputs [rounds]]]}
+ */
+public final class ReorderingBenchmarkExample {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReorderingBenchmarkExample.class);
+
+    private static final int DEFAULT_NUM_STATES = 2_000_000;
+    private static final int DEFAULT_NUM_INPUTS = 4;
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final int MAX_DISTANCE = 16;
+
+    private ReorderingBenchmarkExample() {}
+
+    public static void main(String[] args) {
+        final int numStates = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_STATES;
+        final int numInputs = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_NUM_INPUTS;
+        final int rounds = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_ROUNDS;
+
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, numInputs - 1);
+        final CompactDFA<Integer> dfa = scatteredDFA(random, numStates, alphabet);
+
+        LOGGER.info("DFA with {} states and {} inputs", numStates, numInputs);
+
+        final long expected = traverse(dfa, alphabet);
+
+        for (NodeOrdering ordering : NodeOrdering.values()) {
+            final CompactDFA<Integer> reordered =
+                    time("Reordering (" + ordering + ')',
+                         () -> AutomatonReordering.reorderDFA(dfa, alphabet, ordering, null));
+
+            for (int r = 0; r < rounds; r++) {
+                final long original = time("BFS (original)", () -> traverse(dfa, alphabet));
+                final long result = time("BFS (" + ordering + ')', () -> traverse(reordered, alphabet));
+
+                if (original != expected || result != expected) {
+                    throw new IllegalStateException("Inconsistent traversal results");
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a DFA whose states (in a hidden, local layout) only have successors within a small distance, but whose
+     * state IDs are a random permutation of this layout.
+     */
+    private static CompactDFA<Integer> scatteredDFA(Random random, int numStates, Alphabet<Integer> alphabet) {
+        final int[] ids = new int[numStates];
+        for (int i = 0; i < numStates; i++) {
+            ids[i] = i;
+        }
+        for (int i = numStates - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int tmp = ids[i];
+            ids[i] = ids[j];
+            ids[j] = tmp;
+        }
+
+        final CompactDFA<Integer> dfa = new CompactDFA<>(alphabet, numStates);
+        for (int i = 0; i < numStates; i++) {
+            dfa.addState(random.nextBoolean());
+        }
+
+        dfa.setInitial(ids[0], true);
+
+        for (int i = 0; i < numStates; i++) {
+            for (int a = 0; a < alphabet.size(); a++) {
+                final int succ = Math.floorMod(i + random.nextInt(2 * MAX_DISTANCE) - MAX_DISTANCE / 2, numStates);
+                dfa.setTransition(ids[i], a, ids[succ]);
+            }
+        }
+
+        return dfa;
+    }
+
+    /**
+     * Performs a breadth-first traversal on the integer abstraction of the given DFA.
+     *
+     * @return a checksum of the traversal (the number of reachable, accepting states times the number of reachable
+     * states)
+     */
+    private static long traverse(CompactDFA<Integer> dfa, Alphabet<Integer> alphabet) {
+        final FullIntAbstraction abs = dfa.fullIntAbstraction(alphabet);
+        final int numInputs = abs.numInputs();
+        final BitSet visited = new BitSet(dfa.size());
+        final int[] queue = new int[dfa.size()];
+
+        int tail = 0;
+        long accepting = 0;
+
+        final int init = abs.getIntInitialState();
+        visited.set(init);
+        queue[tail++] = init;
+
+        for (int head = 0; head < tail; head++) {
+            final int state = queue[head];
+
+            if (dfa.isAccepting(state)) {
+                accepting++;
+            }
+
+            for (int i = 0; i < numInputs; i++) {
+                final int succ = abs.getSuccessor(state, i);
+                if (succ >= 0 && !visited.get(succ)) {
+                    visited.set(succ);
+                    queue[tail++] = succ;
+                }
+            }
+        }
+
+        return accepting * tail;
+    }
+
+    private static <T> T time(String name, Supplier<T> task) {
+        final long start = System.nanoTime();
+        final T result = task.get();
+        final long end = System.nanoTime();
+
+        LOGGER.info("{}: {} ms", name, (end - start) / 1_000_000);
+
+        return result;
+    }
+}
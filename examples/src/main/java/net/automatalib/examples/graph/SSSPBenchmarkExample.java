@@ -0,0 +1,109 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.examples.graph;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+import net.automatalib.graphs.base.compact.CompactEdge;
+import net.automatalib.graphs.base.compact.CompactSimpleGraph;
+import net.automatalib.graphs.concepts.EdgeWeights;
+import net.automatalib.util.graphs.concepts.PropertyEdgeWeights;
+import net.automatalib.util.graphs.csr.CSRGraph;
+import net.automatalib.util.graphs.csr.CSRGraphs;
+import net.automatalib.util.graphs.sssp.DenseDijkstraSSSP;
+import net.automatalib.util.graphs.sssp.DijkstraSSSP;
+import net.automatalib.util.graphs.sssp.SSSPResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A simple benchmark that compares the different single-source shortest path implementations on random graphs:
+ * {@link DijkstraSSSP} (generic binary heap over record objects), {@link DenseDijkstraSSSP} (primitive indexed d-ary
+ * heap over node IDs), {@link CSRGraphs#findSSSP(CSRGraph, int)} (additionally operating on a primitive graph
+ * representation), and single-target queries with early termination.
+ * <p>
+ * Usage: {@code SSSPBenchmarkExample [numNodes [outDegree [rounds]]]}
+ */
+public final class SSSPBenchmarkExample {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SSSPBenchmarkExample.class);
+
+    private static final int DEFAULT_NUM_NODES = 200_000;
+    private static final int DEFAULT_OUT_DEGREE = 8;
+    private static final int DEFAULT_ROUNDS = 5;
+
+    private SSSPBenchmarkExample() {}
+
+    public static void main(String[] args) {
+        final int numNodes = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_NODES;
+        final int outDegree = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_OUT_DEGREE;
+        final int rounds = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_ROUNDS;
+
+        final Random random = new Random(42);
+        final CompactSimpleGraph<Float> graph = new CompactSimpleGraph<>(numNodes);
+
+        for (int i = 0; i < numNodes; i++) {
+            graph.addNode();
+        }
+        for (int i = 0; i < numNodes; i++) {
+            for (int j = 0; j < outDegree; j++) {
+                graph.connect(i, random.nextInt(numNodes), Float.valueOf(random.nextFloat() * 100));
+            }
+        }
+
+        final EdgeWeights<CompactEdge<Float>> weights = new PropertyEdgeWeights<>(graph);
+        final CSRGraph csr = CSRGraph.fromGraph(graph, weights);
+
+        LOGGER.info("Random graph with {} nodes and {} edges", numNodes, csr.getNumEdges());
+
+        for (int r = 0; r < rounds; r++) {
+            final int source = random.nextInt(numNodes);
+            final int target = random.nextInt(numNodes);
+
+            final SSSPResult<Integer, CompactEdge<Float>> generic =
+                    time("DijkstraSSSP", () -> DijkstraSSSP.findSSSP(graph, source, weights));
+            final SSSPResult<Integer, CompactEdge<Float>> dense =
+                    time("DenseDijkstraSSSP", () -> DenseDijkstraSSSP.findSSSP(graph, source, weights));
+            final float[] primitive = time("CSRGraphs#findSSSP", () -> CSRGraphs.findSSSP(csr, source));
+            time("DenseDijkstraSSSP#findShortestPath",
+                 () -> DenseDijkstraSSSP.findShortestPath(graph, source, target, weights));
+            final float distance =
+                    time("CSRGraphs#findShortestPath", () -> CSRGraphs.findShortestPath(csr, source, target, null));
+
+            for (int n = 0; n < numNodes; n++) {
+                final float expected = generic.getShortestPathDistance(n);
+                if (expected != dense.getShortestPathDistance(n) || expected != primitive[n]) {
+                    throw new IllegalStateException("Inconsistent distances for node " + n);
+                }
+            }
+
+            if (distance != primitive[target]) {
+                throw new IllegalStateException("Inconsistent distance for target node " + target);
+            }
+        }
+    }
+
+    private static <T> T time(String name, Supplier<T> task) {
+        final long start = System.nanoTime();
+        final T result = task.get();
+        final long end = System.nanoTime();
+
+        LOGGER.info("{}: {} ms", name, (end - start) / 1_000_000);
+
+        return result;
+    }
+}
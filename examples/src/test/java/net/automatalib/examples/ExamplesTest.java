@@ -29,6 +29,8 @@ import net.automatalib.examples.ads.ADSExample;
 import net.automatalib.examples.brics.SimpleBricsExample;
 import net.automatalib.examples.dot.DOTExample;
 import net.automatalib.examples.graph.DFSExample;
+import net.automatalib.examples.graph.ReorderingBenchmarkExample;
+import net.automatalib.examples.graph.SSSPBenchmarkExample;
 import net.automatalib.examples.incremental.IncrementalDFAExample;
 import net.automatalib.examples.incremental.IncrementalMealyExample;
 import net.automatalib.examples.incremental.IncrementalPCDFAExample;
@@ -91,6 +93,16 @@ public class ExamplesTest {
         SwingUtilities.invokeAndWait(() -> DFSExample.main(new String[0]));
     }
 
+    @Test
+    public void testSSSPBenchmarkExample() {
+        SSSPBenchmarkExample.main(new String[] {"1000", "4", "2"});
+    }
+
+    @Test
+    public void testReorderingBenchmarkExample() {
+        ReorderingBenchmarkExample.main(new String[] {"1000", "3", "2"});
+    }
+
     @Test
     public void testIncrementalDFAExample() throws InvocationTargetException, InterruptedException {
         checkJVMCompatibility();
@@ -17,18 +17,31 @@ package net.automatalib.modelcheckers.ltsmin;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 import net.automatalib.AutomataLibSettings;
 import net.automatalib.commons.util.process.ProcessUtil;
 import net.automatalib.exception.ModelCheckingException;
 import net.automatalib.modelchecking.ModelChecker;
 import net.automatalib.serialization.etf.writer.AbstractETFWriter;
 import net.automatalib.serialization.fsm.parser.AbstractFSMParser;
+import net.automatalib.serialization.fsm.parser.FSMFormatException;
 import org.checkerframework.checker.initialization.qual.UnknownInitialization;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.slf4j.Logger;
@@ -48,6 +61,12 @@ import org.slf4j.LoggerFactory;
  * will write an LTS in GCF format. This LTS will be a subset of the language of the given hypothesis. Next, the GCF is
  * converted to FSM using the ltsmin-convert binary. Lastly, the FSM is read back into an automaton using an {@link
  * AbstractFSMParser}.
+ * <p>
+ * Unless intermediate files should be kept, the files are located in pooled working directories that are re-used
+ * across invocations. The location of these directories can be configured via the property
+ * <b>automatalib.ltsmin.tmpdir</b> (e.g. to point to a memory-backed file system). Setting the property
+ * <b>automatalib.ltsmin.streaming</b> to "true" replaces the ETF and FSM files with named pipes, so that writing the
+ * hypothesis and reading the counterexample happens concurrently to the execution of the LTSmin binaries.
  *
  * @param <I>
  *         the input type.
@@ -66,6 +85,17 @@ public abstract class AbstractLTSmin<I, A, R> implements ModelChecker<I, A, Stri
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractLTSmin.class);
 
+    /**
+     * The executor for feeding (reading) data to (from) the LTSmin binaries in streaming mode.
+     */
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setDaemon(
+            true).setNameFormat("ltsmin-io-%d").build());
+
+    /**
+     * The interval (in milliseconds) in which a blocked peer of a terminated LTSmin process is released.
+     */
+    private static final long RELEASE_INTERVAL_MS = 10;
+
     /**
      * @see #isKeepFiles()
      */
@@ -158,11 +188,12 @@ public abstract class AbstractLTSmin<I, A, R> implements ModelChecker<I, A, Stri
             throw new ModelCheckingException(iae);
         }
 
+        final File tempDirectory = getTempDirectory();
         final File etf;
 
         try {
             // create the ETF that will contain the LTS of the hypothesis
-            etf = File.createTempFile("automaton2etf", ".etf");
+            etf = File.createTempFile("automaton2etf", ".etf", tempDirectory);
 
             try {
                 // write to the ETF file
@@ -181,7 +212,7 @@ public abstract class AbstractLTSmin<I, A, R> implements ModelChecker<I, A, Stri
 
         try {
             // create the GCF that will possibly contain the counterexample
-            gcf = File.createTempFile("etf2gcf", ".gcf");
+            gcf = File.createTempFile("etf2gcf", ".gcf", tempDirectory);
         } catch (IOException ioe) {
             if (!keepFiles && !etf.delete()) {
                 LOGGER.warn("Could not delete file: " + etf.getAbsolutePath());
@@ -189,6 +220,225 @@ public abstract class AbstractLTSmin<I, A, R> implements ModelChecker<I, A, Stri
             throw new ModelCheckingException(ioe);
         }
 
+        try {
+            if (!interpretLTSminExitValue(runCommandLine(buildLTSminCommandLine(etf, gcf, formula)))) {
+                // we have not found a counterexample
+                return null;
+            }
+
+            // we have found a counterexample
+
+            // create a file for the FSM
+            final File fsm;
+            try {
+                fsm = File.createTempFile("gcf2fsm", ".fsm", tempDirectory);
+            } catch (IOException ioe) {
+                throw new ModelCheckingException(ioe);
+            }
+
+            final int convertExitValue = runCommandLine(buildConvertCommandLine(gcf, fsm));
+
+            // check the conversion is successful
+            if (convertExitValue != 0) {
+                throw new ModelCheckingException(
+                        "Could not convert GCF to FSM. Enable debug logging to see LTSmin's debug information.");
+            }
+
+            return fsm;
+        } finally {
+            if (!keepFiles) {
+                if (!etf.delete()) {
+                    LOGGER.warn("Could not delete file: " + etf.getAbsolutePath());
+                }
+                if (!gcf.delete()) {
+                    LOGGER.warn("Could not delete file: " + gcf.getAbsolutePath());
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds a counterexample for the given {@code formula}, and given {@code hypothesis} and reads it by means of the
+     * given {@code fsmReader}.
+     * <p>
+     * If intermediate files should be kept, this method behaves like {@link #findCounterExampleFSM(Object, Collection,
+     * String)}. Otherwise, the LTSmin binaries are run in a pooled working directory (see {@link
+     * LTSminUtil#getTempDirectory()}) whose files are cleaned up automatically. If {@link LTSminUtil#isStreaming()
+     * streaming} is enabled, the hypothesis is written to the etf2lts-mc binary and the counterexample is read from the
+     * ltsmin-convert binary via named pipes, concurrently to the execution of the respective binary.
+     *
+     * @param hypothesis
+     *         the hypothesis to check
+     * @param inputs
+     *         the inputs which should be regarded for checking
+     * @param formula
+     *         the formula that should be checked
+     * @param fsmReader
+     *         the reader for the FSM representation of the found counterexample
+     * @param <T>
+     *         the type of the counterexample
+     *
+     * @return the counterexample read by {@code fsmReader}, or {@code null} if no such counterexample could be found.
+     *
+     * @see AbstractLTSmin
+     */
+    protected final <T> @Nullable T findCounterExampleFSM(A hypothesis,
+                                                          Collection<? extends I> inputs,
+                                                          String formula,
+                                                          FSMReader<T> fsmReader) {
+
+        if (keepFiles) {
+            final File fsm = findCounterExampleFSM(hypothesis, inputs, formula);
+            return fsm == null ? null : readFSM(fsmReader, fsm);
+        }
+
+        try {
+            verifyFormula(formula);
+        } catch (IllegalArgumentException iae) {
+            throw new ModelCheckingException(iae);
+        }
+
+        try (LTSminWorkspace workspace = LTSminWorkspace.acquire()) {
+            final File etf = workspace.getETF();
+
+            if (workspace.isStreaming()) {
+                return checkETF(workspace, etf, () -> automaton2ETF(hypothesis, inputs, etf), formula, fsmReader);
+            }
+
+            automaton2ETF(hypothesis, inputs, etf);
+            return checkETF(workspace, etf, null, formula, fsmReader);
+        } catch (IOException ioe) {
+            throw new ModelCheckingException(ioe);
+        }
+    }
+
+    /**
+     * Converts the FSM representation of a counterexample into the counterexample type of this model checker.
+     *
+     * @param fsm
+     *         the file (or named pipe) containing the FSM representation of the counterexample
+     * @param automaton
+     *         the automaton on which the property has been checked
+     * @param inputs
+     *         the inputs which have been regarded for checking
+     *
+     * @return the counterexample
+     *
+     * @throws IOException
+     *         when {@code fsm} can not be read.
+     * @throws FSMFormatException
+     *         when {@code fsm} is invalid.
+     */
+    protected abstract R readCounterExample(File fsm, A automaton, Collection<? extends I> inputs) throws IOException;
+
+    /**
+     * Converts the FSM file to a counterexample by means of {@link #readCounterExample(File, Object, Collection)}.
+     *
+     * @see #findCounterExampleFSM(Object, Collection, String, FSMReader)
+     */
+    @Override
+    public @Nullable R findCounterExample(A automaton, Collection<? extends I> inputs, String property) {
+        return findCounterExampleFSM(automaton, inputs, property, fsm -> readCounterExample(fsm, automaton, inputs));
+    }
+
+    /**
+     * Converts the given {@code automaton} to ETF only once and checks each of the given {@code properties} on the
+     * same ETF file.
+     *
+     * @see #findCounterExample(Object, Collection, String)
+     */
+    @Override
+    public Map<String, R> findCounterExamples(A automaton,
+                                              Collection<? extends I> inputs,
+                                              Collection<? extends String> properties) {
+
+        if (keepFiles) {
+            return LTSmin.super.findCounterExamples(automaton, inputs, properties);
+        }
+
+        for (String property : properties) {
+            try {
+                verifyFormula(property);
+            } catch (IllegalArgumentException iae) {
+                throw new ModelCheckingException(iae);
+            }
+        }
+
+        final Map<String, R> result = Maps.newLinkedHashMapWithExpectedSize(properties.size());
+
+        try (LTSminWorkspace workspace = LTSminWorkspace.acquire()) {
+            // the ETF is read multiple times, so we cannot use a named pipe here
+            final File etf = workspace.getReusableETF();
+            automaton2ETF(automaton, inputs, etf);
+
+            for (String property : properties) {
+                final R counterExample =
+                        checkETF(workspace, etf, null, property, fsm -> readCounterExample(fsm, automaton, inputs));
+
+                if (counterExample != null) {
+                    result.put(property, counterExample);
+                }
+
+                workspace.clearTrace();
+            }
+        } catch (IOException ioe) {
+            throw new ModelCheckingException(ioe);
+        }
+
+        return result;
+    }
+
+    /**
+     * Checks the given {@code formula} on the given {@code etf} and reads a possible counterexample by means of the
+     * given {@code fsmReader}.
+     *
+     * @param workspace
+     *         the workspace providing the locations of the GCF and FSM files
+     * @param etf
+     *         the ETF file (or named pipe) that contains the hypothesis
+     * @param etfProducer
+     *         the producer that concurrently writes the hypothesis to {@code etf}, or {@code null} if {@code etf} has
+     *         already been written
+     * @param formula
+     *         the formula that should be checked
+     * @param fsmReader
+     *         the reader for the FSM representation of the found counterexample
+     *
+     * @return the counterexample read by {@code fsmReader}, or {@code null} if no such counterexample could be found.
+     */
+    private <T> @Nullable T checkETF(LTSminWorkspace workspace,
+                                     File etf,
+                                     @Nullable ETFProducer etfProducer,
+                                     String formula,
+                                     FSMReader<T> fsmReader) {
+        final File gcf = workspace.getGCF();
+        final File fsm = workspace.getFSM();
+
+        final List<String> ltsminCommandLine = buildLTSminCommandLine(etf, gcf, formula);
+        final int ltsminExitValue = etfProducer == null ?
+                runCommandLine(ltsminCommandLine) :
+                runCommandLineWithInput(ltsminCommandLine, etf, etfProducer);
+
+        if (!interpretLTSminExitValue(ltsminExitValue)) {
+            return null;
+        }
+
+        final List<String> convertCommandLine = buildConvertCommandLine(gcf, fsm);
+
+        if (workspace.isStreaming()) {
+            return runCommandLineWithOutput(convertCommandLine, fsm, fsmReader);
+        }
+
+        // check the conversion is successful
+        if (runCommandLine(convertCommandLine) != 0) {
+            throw new ModelCheckingException(
+                    "Could not convert GCF to FSM. Enable debug logging to see LTSmin's debug information.");
+        }
+
+        return readFSM(fsmReader, fsm);
+    }
+
+    private List<String> buildLTSminCommandLine(File etf, File gcf, String formula) {
         // the command lines for the ProcessBuilder
         final List<String> ltsminCommandLine = Lists.newArrayList(// add the etf2lts-mc binary
                                                                   LTSminUtil.ETF2LTS_MC,
@@ -211,70 +461,219 @@ public abstract class AbstractLTSmin<I, A, R> implements ModelChecker<I, A, Stri
 
         ltsminCommandLine.addAll(getExtraCommandLineOptions());
 
+        return ltsminCommandLine;
+    }
+
+    private static List<String> buildConvertCommandLine(File gcf, File fsm) {
+        final List<String> convertCommandLine = Lists.newArrayList(// add the ltsmin-convert binary
+                                                                   LTSminUtil.LTSMIN_CONVERT,
+                                                                   // use the GCF as input
+                                                                   gcf.getAbsolutePath(),
+                                                                   // use the FSM as output
+                                                                   fsm.getAbsolutePath(),
+                                                                   // required option
+                                                                   "--rdwr");
+
+        if (LTSminUtil.isVerbose()) {
+            convertCommandLine.add("-v");
+        }
+
+        return convertCommandLine;
+    }
+
+    /**
+     * Interprets the exit value of the etf2lts-mc binary.
+     *
+     * @return {@code true} if a counterexample has been found, {@code false} otherwise.
+     */
+    private static boolean interpretLTSminExitValue(int ltsminExitValue) {
+        if (ltsminExitValue == 0) {
+            // we have not found a counterexample
+            return false;
+        } else if (ltsminExitValue == 1) {
+            // we have found a counterexample
+            return true;
+        } else {
+            throw new ModelCheckingException(
+                    "Could not model check ETF. Enable debug logging to see LTSmin's debug information.");
+        }
+    }
+
+    private static <T> T readFSM(FSMReader<T> fsmReader, File fsm) {
         try {
-            final int ltsminExitValue = runCommandLine(ltsminCommandLine);
+            return fsmReader.read(fsm);
+        } catch (IOException | FSMFormatException e) {
+            throw new ModelCheckingException(e);
+        }
+    }
 
-            if (ltsminExitValue == 0) {
-                // we have not found a counterexample
-                return null;
-            } else if (ltsminExitValue == 1) {
-                // we have found a counterexample
-
-                // create a file for the FSM
-                final File fsm;
-                try {
-                    fsm = File.createTempFile("gcf2fsm", ".fsm");
-                } catch (IOException ioe) {
-                    throw new ModelCheckingException(ioe);
-                }
+    private static @Nullable File getTempDirectory() {
+        final Path tempDirectory = LTSminUtil.getTempDirectory();
+        return tempDirectory == null ? null : tempDirectory.toFile();
+    }
 
-                final List<String> convertCommandLine = Lists.newArrayList(// add the ltsmin-convert binary
-                                                                           LTSminUtil.LTSMIN_CONVERT,
-                                                                           // use the GCF as input
-                                                                           gcf.getAbsolutePath(),
-                                                                           // use the FSM as output
-                                                                           fsm.getAbsolutePath(),
-                                                                           // required option
-                                                                           "--rdwr");
-
-                if (LTSminUtil.isVerbose()) {
-                    convertCommandLine.add("-v");
-                }
+    static int runCommandLine(List<String> commandLine) {
+        try {
+            LOGGER.debug("Invoking LTSmin binary as: {}", String.join(" ", commandLine));
+            return ProcessUtil.invokeProcess(commandLine, LOGGER::debug);
+        } catch (IOException | InterruptedException e) {
+            throw new ModelCheckingException(e);
+        }
+    }
 
-                final int convertExitValue = runCommandLine(convertCommandLine);
+    /**
+     * Runs the given command line while concurrently writing its input to the given named pipe.
+     *
+     * @return the exit value of the process
+     */
+    private static int runCommandLineWithInput(List<String> commandLine, File fifo, ETFProducer etfProducer) {
+        final Process process = startProcess(commandLine);
+        final Future<?> writer = EXECUTOR.submit(() -> {
+            etfProducer.write();
+            return null;
+        });
+        // release the writer, if the process terminates without having opened the pipe
+        final Future<?> releaser = releaseOnTermination(process, fifo, writer::isDone);
 
-                // check the conversion is successful
-                if (convertExitValue != 0) {
-                    throw new ModelCheckingException(
-                            "Could not convert GCF to FSM. Enable debug logging to see LTSmin's debug information.");
+        try {
+            try {
+                writer.get();
+            } catch (ExecutionException ee) {
+                // release the process, if the writer failed without having opened the pipe
+                LTSminWorkspace.unblock(fifo);
+                process.waitFor();
+
+                final Throwable cause = ee.getCause();
+                if (cause instanceof ModelCheckingException) {
+                    throw (ModelCheckingException) cause;
                 }
+                throw new ModelCheckingException(ee);
+            }
 
-                return fsm;
-            } else {
+            return process.waitFor();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new ModelCheckingException(ie);
+        } finally {
+            process.destroy();
+            awaitHelper(releaser);
+            awaitHelper(writer);
+        }
+    }
+
+    /**
+     * Runs the given command line while concurrently reading its output from the given named pipe.
+     *
+     * @return the result of the reader
+     */
+    private static <T> T runCommandLineWithOutput(List<String> commandLine, File fifo, FSMReader<T> fsmReader) {
+        final Process process = startProcess(commandLine);
+        final AtomicBoolean readerDone = new AtomicBoolean();
+        // release the reader, if the process terminates without having opened the pipe
+        final Future<?> releaser = releaseOnTermination(process, fifo, readerDone::get);
+
+        try {
+            T result = null;
+            Exception readerException = null;
+
+            try {
+                result = fsmReader.read(fifo);
+            } catch (IOException | FSMFormatException e) {
+                // release the process, if the reader failed without having opened the pipe (or the parser
+                // rejected its contents)
+                LTSminWorkspace.unblock(fifo);
+                readerException = e;
+            } finally {
+                readerDone.set(true);
+            }
+
+            // check the conversion is successful
+            if (process.waitFor() != 0) {
                 throw new ModelCheckingException(
-                        "Could not model check ETF. Enable debug logging to see LTSmin's debug information.");
+                        "Could not convert GCF to FSM. Enable debug logging to see LTSmin's debug information.");
+            }
+
+            if (readerException != null) {
+                throw new ModelCheckingException(readerException);
             }
+
+            return result;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new ModelCheckingException(ie);
         } finally {
-            if (!keepFiles) {
-                if (!etf.delete()) {
-                    LOGGER.warn("Could not delete file: " + etf.getAbsolutePath());
-                }
-                if (!gcf.delete()) {
-                    LOGGER.warn("Could not delete file: " + gcf.getAbsolutePath());
-                }
+            process.destroy();
+            awaitHelper(releaser);
+        }
+    }
+
+    /**
+     * Submits a task that releases the peer of the given process (i.e. the party accessing the other end of the given
+     * named pipe) once the process has terminated. Since the peer may not have reached the pipe at that time, the pipe
+     * is repeatedly unblocked until the peer has finished.
+     */
+    private static Future<?> releaseOnTermination(Process process, File fifo, BooleanSupplier peerDone) {
+        return EXECUTOR.submit(() -> {
+            process.waitFor();
+            while (!peerDone.getAsBoolean()) {
+                LTSminWorkspace.unblock(fifo);
+                Thread.sleep(RELEASE_INTERVAL_MS);
             }
+            return null;
+        });
+    }
+
+    /**
+     * Waits for the termination of a helper task of a (destroyed) process. This guarantees that no helper accesses the
+     * named pipes of a workspace after the workspace has been released and possibly handed to a subsequent run.
+     */
+    private static void awaitHelper(Future<?> helper) {
+        try {
+            Uninterruptibles.getUninterruptibly(helper);
+        } catch (ExecutionException | CancellationException e) {
+            LOGGER.debug("Helper task failed", e);
         }
     }
 
-    static int runCommandLine(List<String> commandLine) {
+    private static Process startProcess(List<String> commandLine) {
         try {
             LOGGER.debug("Invoking LTSmin binary as: {}", String.join(" ", commandLine));
-            return ProcessUtil.invokeProcess(commandLine, LOGGER::debug);
-        } catch (IOException | InterruptedException e) {
-            throw new ModelCheckingException(e);
+            return ProcessUtil.buildProcess(commandLine.toArray(new String[0]), null, LOGGER::debug, LOGGER::debug);
+        } catch (IOException ioe) {
+            throw new ModelCheckingException(ioe);
         }
     }
 
+    /**
+     * A reader for the FSM representation of a counterexample.
+     *
+     * @param <T>
+     *         the type of the counterexample
+     */
+    @FunctionalInterface
+    protected interface FSMReader<T> {
+
+        /**
+         * Reads the counterexample from the given {@code fsm} file. An invalid {@code fsm} file is signaled by the
+         * runtime exception {@link FSMFormatException}.
+         *
+         * @param fsm
+         *         the file (or named pipe) containing the FSM representation of the counterexample
+         *
+         * @return the counterexample
+         *
+         * @throws IOException
+         *         when {@code fsm} can not be read.
+         */
+        T read(File fsm) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ETFProducer {
+
+        void write() throws IOException;
+    }
+
     public static final class BuilderDefaults {
 
         private BuilderDefaults() {
@@ -17,6 +17,7 @@ package net.automatalib.modelcheckers.ltsmin;
 
 import java.io.IOException;
 import java.io.StringWriter;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 
 import net.automatalib.AutomataLibProperty;
@@ -67,6 +68,16 @@ public final class LTSminUtil {
      */
     private static boolean verbose;
 
+    /**
+     * A flag for exchanging data with the LTSmin binaries via named pipes.
+     */
+    private static boolean streaming;
+
+    /**
+     * The directory in which working directories for the LTSmin binaries are created.
+     */
+    private static @Nullable Path tempDirectory;
+
     private static @Nullable LTSminVersion detectedVersion;
 
     static {
@@ -80,6 +91,11 @@ public final class LTSminUtil {
         verbose = !"false".equalsIgnoreCase(settings.getProperty(AutomataLibProperty.LTSMIN_VERBOSE,
                                                                  Boolean.toString(LOGGER.isDebugEnabled())));
 
+        streaming = "true".equalsIgnoreCase(settings.getProperty(AutomataLibProperty.LTSMIN_STREAMING, "false"));
+
+        final String tmpDir = settings.getProperty(AutomataLibProperty.LTSMIN_TMPDIR);
+        tempDirectory = tmpDir == null ? null : Paths.get(tmpDir);
+
         detectLTSmin();
     }
 
@@ -134,6 +150,38 @@ public final class LTSminUtil {
         LTSminUtil.verbose = verbose;
     }
 
+    /**
+     * Returns whether to exchange ETF and FSM data with the LTSmin binaries via named pipes.
+     */
+    public static boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Programmatically set, whether to exchange ETF and FSM data with the LTSmin binaries via named pipes. Streaming
+     * requires a POSIX system with an available {@code mkfifo} binary and falls back to regular files otherwise.
+     */
+    public static void setStreaming(boolean streaming) {
+        LTSminUtil.streaming = streaming;
+    }
+
+    /**
+     * Returns the directory in which working directories for the LTSmin binaries are created. {@code null} if the
+     * default temporary directory is used.
+     */
+    public static @Nullable Path getTempDirectory() {
+        return tempDirectory;
+    }
+
+    /**
+     * Programmatically set the directory in which working directories for the LTSmin binaries are created. Passing a
+     * directory on a memory-backed file system (e.g. {@code /dev/shm}) avoids disk I/O. Passing {@code null} resets
+     * to the default temporary directory.
+     */
+    public static void setTempDirectory(@Nullable Path tempDirectory) {
+        LTSminUtil.tempDirectory = tempDirectory;
+    }
+
     /**
      * (Re-)Checks whether the required binaries for the {@link AbstractLTSmin LTSmin modelchecker} can be executed, by
      * performing a version check. The results to these checks can be accessed by {@link #isInstalled()} and {@link
@@ -0,0 +1,238 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltsmin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import net.automatalib.commons.util.process.ProcessUtil;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A (reusable) working directory for a single invocation chain of the LTSmin binaries.
+ * <p>
+ * Each workspace provides fixed locations for the ETF, GCF and FSM files of a model checking run. Workspaces are
+ * pooled, so that subsequent runs do not need to create (and delete) fresh temporary files. If the workspace is a
+ * streaming workspace, the ETF and FSM locations are named pipes which are created once and then reused by every run.
+ *
+ * @see LTSminUtil#getTempDirectory()
+ * @see LTSminUtil#isStreaming()
+ */
+final class LTSminWorkspace implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LTSminWorkspace.class);
+
+    private static final String ETF_NAME = "hypothesis.etf";
+    private static final String REUSABLE_ETF_NAME = "hypothesis-reusable.etf";
+    private static final String GCF_NAME = "trace.gcf";
+    private static final String FSM_NAME = "trace.fsm";
+
+    private static final String MKFIFO = "mkfifo";
+
+    /**
+     * The maximum number of idle workspaces that are kept for later re-use.
+     */
+    private static final int MAX_IDLE = Runtime.getRuntime().availableProcessors();
+
+    private static final Queue<LTSminWorkspace> POOL = new ConcurrentLinkedQueue<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(LTSminWorkspace::clearPool));
+    }
+
+    private final @Nullable Path baseDirectory;
+    private final Path directory;
+    private final boolean streaming;
+
+    private final File etf;
+    private final File reusableEtf;
+    private final File gcf;
+    private final File fsm;
+
+    private LTSminWorkspace(@Nullable Path baseDirectory, Path directory, boolean streaming) {
+        this.baseDirectory = baseDirectory;
+        this.directory = directory;
+        this.streaming = streaming;
+        this.etf = directory.resolve(ETF_NAME).toFile();
+        this.reusableEtf = directory.resolve(REUSABLE_ETF_NAME).toFile();
+        this.gcf = directory.resolve(GCF_NAME).toFile();
+        this.fsm = directory.resolve(FSM_NAME).toFile();
+    }
+
+    /**
+     * Returns an idle workspace that matches the current {@link LTSminUtil#getTempDirectory() temporary directory}
+     * and {@link LTSminUtil#isStreaming() streaming} configuration, or creates a new one if no such workspace is
+     * available.
+     *
+     * @return the workspace
+     *
+     * @throws IOException
+     *         if a new workspace could not be created
+     */
+    static LTSminWorkspace acquire() throws IOException {
+        final Path base = LTSminUtil.getTempDirectory();
+        final boolean streaming = LTSminUtil.isStreaming();
+
+        LTSminWorkspace ws;
+        while ((ws = POOL.poll()) != null) {
+            if (ws.streaming == streaming && Objects.equals(ws.baseDirectory, base)) {
+                return ws;
+            }
+            ws.delete();
+        }
+
+        return create(base, streaming);
+    }
+
+    private static LTSminWorkspace create(@Nullable Path base, boolean streaming) throws IOException {
+        final Path directory =
+                base == null ? Files.createTempDirectory("ltsmin") : Files.createTempDirectory(base, "ltsmin");
+
+        if (streaming) {
+            final LTSminWorkspace ws = new LTSminWorkspace(base, directory, true);
+            final String[] commandLine = {MKFIFO, ws.etf.getAbsolutePath(), ws.fsm.getAbsolutePath()};
+
+            try {
+                if (ProcessUtil.invokeProcess(commandLine, LOGGER::debug) == 0) {
+                    return ws;
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                ws.delete();
+                throw new IOException(ie);
+            } catch (IOException ioe) {
+                LOGGER.debug("Could not execute '" + MKFIFO + "'", ioe);
+            }
+
+            LOGGER.warn("Could not create named pipes, falling back to regular files");
+            ws.deleteFiles();
+        }
+
+        return new LTSminWorkspace(base, directory, false);
+    }
+
+    /**
+     * Deletes all idle workspaces.
+     */
+    static void clearPool() {
+        LTSminWorkspace ws;
+        while ((ws = POOL.poll()) != null) {
+            ws.delete();
+        }
+    }
+
+    /**
+     * Opens (and immediately closes) the given named pipe for both reading and writing. This releases any peer that is
+     * blocked on opening the other end of the pipe, e.g. because its counterpart terminated prematurely.
+     *
+     * @param fifo
+     *         the named pipe
+     */
+    static void unblock(File fifo) {
+        try {
+            new RandomAccessFile(fifo, "rw").close();
+        } catch (IOException ioe) {
+            LOGGER.warn("Could not release named pipe: " + fifo.getAbsolutePath(), ioe);
+        }
+    }
+
+    /**
+     * Returns whether the ETF and FSM locations of this workspace are named pipes.
+     *
+     * @return {@code true} if this is a streaming workspace, {@code false} otherwise
+     */
+    boolean isStreaming() {
+        return streaming;
+    }
+
+    File getETF() {
+        return etf;
+    }
+
+    /**
+     * Returns an ETF location that is always a regular file (regardless of {@link #isStreaming()}) and thus can be
+     * read by multiple runs.
+     *
+     * @return the ETF location
+     */
+    File getReusableETF() {
+        return reusableEtf;
+    }
+
+    File getGCF() {
+        return gcf;
+    }
+
+    File getFSM() {
+        return fsm;
+    }
+
+    /**
+     * Clears the files of the last run and returns this workspace to the pool of idle workspaces.
+     */
+    @Override
+    public void close() {
+        clearTrace();
+        deleteFile(reusableEtf);
+
+        if (!streaming) {
+            deleteFile(etf);
+        }
+
+        if (POOL.size() < MAX_IDLE) {
+            POOL.offer(this);
+        } else {
+            delete();
+        }
+    }
+
+    /**
+     * Clears the trace files (GCF and FSM) of the last run, so that they can be written by a subsequent run.
+     */
+    void clearTrace() {
+        deleteFile(gcf);
+
+        if (!streaming) {
+            deleteFile(fsm);
+        }
+    }
+
+    private void delete() {
+        deleteFiles();
+        deleteFile(directory.toFile());
+    }
+
+    private void deleteFiles() {
+        deleteFile(etf);
+        deleteFile(reusableEtf);
+        deleteFile(gcf);
+        deleteFile(fsm);
+    }
+
+    private static void deleteFile(File file) {
+        if (file.exists() && !file.delete()) {
+            LOGGER.warn("Could not delete file: " + file.getAbsolutePath());
+        }
+    }
+}
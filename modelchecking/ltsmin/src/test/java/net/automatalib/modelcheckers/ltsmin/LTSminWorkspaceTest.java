@@ -0,0 +1,122 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltsmin;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for the {@link LTSminWorkspace} class.
+ */
+public class LTSminWorkspaceTest {
+
+    private Path tempDirectory;
+    private boolean streaming;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        this.streaming = LTSminUtil.isStreaming();
+        this.tempDirectory = Files.createTempDirectory("ltsmin-workspace-test");
+        LTSminUtil.setTempDirectory(tempDirectory);
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        LTSminUtil.setStreaming(streaming);
+        LTSminUtil.setTempDirectory(null);
+
+        LTSminWorkspace.clearPool();
+        Files.delete(tempDirectory);
+    }
+
+    @Test
+    public void testReuse() throws IOException {
+        LTSminUtil.setStreaming(false);
+
+        final File etf;
+
+        try (LTSminWorkspace ws = LTSminWorkspace.acquire()) {
+            Assert.assertFalse(ws.isStreaming());
+
+            etf = ws.getETF();
+            Assert.assertEquals(etf.getParentFile().getParentFile().toPath(), tempDirectory);
+            Assert.assertTrue(etf.createNewFile());
+        }
+
+        // files of the previous run should have been cleaned up
+        Assert.assertFalse(etf.exists());
+
+        try (LTSminWorkspace ws = LTSminWorkspace.acquire()) {
+            Assert.assertEquals(ws.getETF(), etf);
+        }
+
+        // a different configuration should not re-use the existing workspace
+        LTSminUtil.setTempDirectory(null);
+
+        try (LTSminWorkspace ws = LTSminWorkspace.acquire()) {
+            Assert.assertNotEquals(ws.getETF(), etf);
+        }
+    }
+
+    @Test(timeOut = 10000)
+    public void testStreaming() throws Exception {
+        LTSminUtil.setStreaming(true);
+
+        try (LTSminWorkspace ws = LTSminWorkspace.acquire()) {
+            if (!ws.isStreaming()) {
+                throw new SkipException("Named pipes are not supported on this system");
+            }
+
+            final File fsm = ws.getFSM();
+            Assert.assertTrue(fsm.exists());
+            Assert.assertFalse(fsm.isFile());
+
+            // a reader blocked on opening the pipe should be released
+            final ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                final Future<Integer> reader = executor.submit(() -> {
+                    try (InputStream is = new FileInputStream(fsm)) {
+                        return is.read();
+                    }
+                });
+
+                // the reader may not have opened the pipe yet, so retry until it is released
+                while (!reader.isDone()) {
+                    LTSminWorkspace.unblock(fsm);
+                    Thread.sleep(10);
+                }
+
+                Assert.assertEquals(reader.get(5, TimeUnit.SECONDS).intValue(), -1);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+}
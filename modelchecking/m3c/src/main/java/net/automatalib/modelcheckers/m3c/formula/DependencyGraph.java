@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -27,6 +28,7 @@ import net.automatalib.modelcheckers.m3c.formula.modalmu.AbstractFixedPointFormu
 import net.automatalib.modelcheckers.m3c.formula.modalmu.GfpNode;
 import net.automatalib.modelcheckers.m3c.formula.modalmu.LfpNode;
 import net.automatalib.modelcheckers.m3c.formula.modalmu.VariableNode;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * A dependency graph is used to represent a hierarchical equational system.
@@ -52,12 +54,27 @@ public final class DependencyGraph<L, AP> {
     private final int numVars;
 
     public DependencyGraph(FormulaNode<L, AP> root) {
+        this(root, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param root
+     *         the formula to construct the equational system for
+     * @param shareSubformulas
+     *         if {@code true}, structurally equal closed subformulas that occur multiple times within the same
+     *         equational block are represented by a single variable (and hence are only evaluated once)
+     */
+    public DependencyGraph(FormulaNode<L, AP> root, boolean shareSubformulas) {
         this.formulaNodes = new ArrayList<>();
         this.blocks = new ArrayList<>();
         this.fixedPointVarMap = new HashMap<>();
         this.ast = root.toNNF();
-        this.numVars = setVarNumbers(ast, 0);
-        createEquationalBlocks(ast);
+
+        final SubformulaSharing<L, AP> sharing = shareSubformulas ? new SubformulaSharing<>(ast) : null;
+        createEquationalBlocks(ast, sharing);
+        this.numVars = setVarNumbers(ast, 0, sharing == null ? Collections.emptyMap() : sharing.duplicates);
     }
 
     private void sortBlocks() {
@@ -66,15 +83,22 @@ public final class DependencyGraph<L, AP> {
         }
     }
 
-    private void createEquationalBlocks(FormulaNode<L, AP> root) {
+    private void createEquationalBlocks(FormulaNode<L, AP> root, @Nullable SubformulaSharing<L, AP> sharing) {
         boolean isMax = !(root instanceof LfpNode);
         EquationalBlock<L, AP> block = new EquationalBlock<>(isMax);
         blocks.add(block);
-        createEquationalBlocks(root, 0);
+        createEquationalBlocks(root, 0, sharing);
         sortBlocks();
     }
 
-    private void createEquationalBlocks(FormulaNode<L, AP> node, int blockNumber) {
+    private void createEquationalBlocks(FormulaNode<L, AP> node,
+                                        int blockNumber,
+                                        @Nullable SubformulaSharing<L, AP> sharing) {
+        /* Skip subformulas whose variable is shared with an earlier occurrence in the same block */
+        if (sharing != null && sharing.isDuplicate(node, blockNumber)) {
+            return;
+        }
+
         EquationalBlock<L, AP> currentBlock = blocks.get(blockNumber);
         boolean isMax = currentBlock.isMaxBlock();
 
@@ -98,15 +122,24 @@ public final class DependencyGraph<L, AP> {
         /* Recurse into subtrees */
         if (node instanceof AbstractUnaryFormulaNode) {
             final AbstractUnaryFormulaNode<L, AP> unaryNode = (AbstractUnaryFormulaNode<L, AP>) node;
-            createEquationalBlocks(unaryNode.getChild(), newBlockNumber);
+            createEquationalBlocks(unaryNode.getChild(), newBlockNumber, sharing);
         } else if (node instanceof AbstractBinaryFormulaNode) {
             final AbstractBinaryFormulaNode<L, AP> binaryNode = (AbstractBinaryFormulaNode<L, AP>) node;
-            createEquationalBlocks(binaryNode.getLeftChild(), newBlockNumber);
-            createEquationalBlocks(binaryNode.getRightChild(), newBlockNumber);
+            createEquationalBlocks(binaryNode.getLeftChild(), newBlockNumber, sharing);
+            createEquationalBlocks(binaryNode.getRightChild(), newBlockNumber, sharing);
         }
     }
 
-    private int setVarNumbers(FormulaNode<L, AP> node, int varNumber) {
+    private int setVarNumbers(FormulaNode<L, AP> node,
+                              int varNumber,
+                              Map<FormulaNode<L, AP>, FormulaNode<L, AP>> duplicates) {
+        /* Shared subformulas re-use the variables of their first occurrence (which has already been visited) */
+        final FormulaNode<L, AP> representative = duplicates.get(node);
+        if (representative != null) {
+            copyVarNumbers(representative, node);
+            return varNumber;
+        }
+
         /* Fill fixedPointVarMap */
         if (node instanceof AbstractFixedPointFormulaNode) {
             fixedPointVarMap.put(((AbstractFixedPointFormulaNode<L, AP>) node).getVariable(), node);
@@ -133,16 +166,31 @@ public final class DependencyGraph<L, AP> {
         /* Recurse into subtrees */
         if (node instanceof AbstractUnaryFormulaNode) {
             final AbstractUnaryFormulaNode<L, AP> unaryNode = (AbstractUnaryFormulaNode<L, AP>) node;
-            newVarNumber = setVarNumbers(unaryNode.getChild(), newVarNumber);
+            newVarNumber = setVarNumbers(unaryNode.getChild(), newVarNumber, duplicates);
         } else if (node instanceof AbstractBinaryFormulaNode) {
             final AbstractBinaryFormulaNode<L, AP> binaryNode = (AbstractBinaryFormulaNode<L, AP>) node;
-            newVarNumber = setVarNumbers(binaryNode.getLeftChild(), newVarNumber);
-            newVarNumber = setVarNumbers(binaryNode.getRightChild(), newVarNumber);
+            newVarNumber = setVarNumbers(binaryNode.getLeftChild(), newVarNumber, duplicates);
+            newVarNumber = setVarNumbers(binaryNode.getRightChild(), newVarNumber, duplicates);
         }
 
         return newVarNumber;
     }
 
+    private void copyVarNumbers(FormulaNode<L, AP> source, FormulaNode<L, AP> target) {
+        target.setVarNumber(source.getVarNumber());
+
+        /* Both subformulas are structurally equal, so their subtrees can be traversed simultaneously */
+        if (source instanceof AbstractUnaryFormulaNode) {
+            copyVarNumbers(((AbstractUnaryFormulaNode<L, AP>) source).getChild(),
+                           ((AbstractUnaryFormulaNode<L, AP>) target).getChild());
+        } else if (source instanceof AbstractBinaryFormulaNode) {
+            final AbstractBinaryFormulaNode<L, AP> sourceNode = (AbstractBinaryFormulaNode<L, AP>) source;
+            final AbstractBinaryFormulaNode<L, AP> targetNode = (AbstractBinaryFormulaNode<L, AP>) target;
+            copyVarNumbers(sourceNode.getLeftChild(), targetNode.getLeftChild());
+            copyVarNumbers(sourceNode.getRightChild(), targetNode.getRightChild());
+        }
+    }
+
     /**
      * Returns the equational block for the given index.
      *
@@ -211,4 +259,48 @@ public final class DependencyGraph<L, AP> {
 
         return arr;
     }
+
+    /**
+     * Detects re-occurring closed subformulas. Sharing is restricted to occurrences within the same equational block:
+     * the nested blocks of the first occurrence are solved before the shared block anyway, whereas sharing across
+     * blocks could make a block depend on the variables of a block that is solved later.
+     */
+    private static final class SubformulaSharing<L, AP> {
+
+        private final FormulaFactory<L, AP> factory;
+        private final Map<FormulaNode<L, AP>, FormulaNode<L, AP>> canonicals;
+        private final Map<Integer, Map<FormulaNode<L, AP>, FormulaNode<L, AP>>> representatives;
+        private final Map<FormulaNode<L, AP>, FormulaNode<L, AP>> duplicates;
+
+        SubformulaSharing(FormulaNode<L, AP> ast) {
+            this.factory = new FormulaFactory<>();
+            this.canonicals = factory.internAll(ast);
+            this.representatives = new HashMap<>();
+            this.duplicates = new IdentityHashMap<>();
+        }
+
+        boolean isDuplicate(FormulaNode<L, AP> node, int blockNumber) {
+            if (node instanceof VariableNode) {
+                return false;
+            }
+
+            final FormulaNode<L, AP> canonical = canonicals.get(node);
+            assert canonical != null;
+
+            if (!factory.isClosed(canonical)) {
+                return false;
+            }
+
+            final FormulaNode<L, AP> representative = representatives.computeIfAbsent(blockNumber,
+                                                                                       k -> new IdentityHashMap<>())
+                                                                      .putIfAbsent(canonical, node);
+
+            if (representative == null) {
+                return false;
+            }
+
+            duplicates.put(node, representative);
+            return true;
+        }
+    }
 }
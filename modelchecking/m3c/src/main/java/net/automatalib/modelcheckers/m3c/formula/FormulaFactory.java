@@ -0,0 +1,502 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.m3c.formula;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import com.google.common.base.Preconditions;
+import net.automatalib.modelcheckers.m3c.formula.ctl.AFNode;
+import net.automatalib.modelcheckers.m3c.formula.ctl.AGNode;
+import net.automatalib.modelcheckers.m3c.formula.ctl.AUNode;
+import net.automatalib.modelcheckers.m3c.formula.ctl.AWUNode;
+import net.automatalib.modelcheckers.m3c.formula.ctl.EFNode;
+import net.automatalib.modelcheckers.m3c.formula.ctl.EGNode;
+import net.automatalib.modelcheckers.m3c.formula.ctl.EUNode;
+import net.automatalib.modelcheckers.m3c.formula.ctl.EWUNode;
+import net.automatalib.modelcheckers.m3c.formula.modalmu.AbstractFixedPointFormulaNode;
+import net.automatalib.modelcheckers.m3c.formula.modalmu.GfpNode;
+import net.automatalib.modelcheckers.m3c.formula.modalmu.LfpNode;
+import net.automatalib.modelcheckers.m3c.formula.modalmu.VariableNode;
+import net.automatalib.modelcheckers.m3c.formula.visitor.CTLToMuCalc;
+import net.automatalib.modelcheckers.m3c.formula.visitor.FormulaNodeVisitor;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A hash-consing factory for formulas. Structurally equal (sub-) formulas that are created by (or {@link
+ * #intern(FormulaNode) interned} into) the same factory are represented by the same (canonical) instance. As a
+ * result, formulas created by a factory form a directed acyclic graph in which common subformulas are shared, and
+ * canonical formulas can be compared by identity.
+ * <p>
+ * Additionally, the factory allows to {@link #normalize(FormulaNode) normalize} formulas, so that formulas that only
+ * differ in the (CTL) operators used to express them or in the names of their bound fixed point variables are mapped
+ * to the same canonical formula.
+ * <p>
+ * Note that canonical formulas are shared and therefore must not be modified (e.g. via {@link
+ * FormulaNode#setVarNumber(int)}). Components such as the {@link DependencyGraph} operate on copies of the formulas
+ * anyway.
+ *
+ * @param <L>
+ *         label type
+ * @param <AP>
+ *         atomic proposition type
+ */
+public final class FormulaFactory<L, AP> {
+
+    private static final String CANONICAL_VARIABLE_PREFIX = "X";
+
+    private final Map<Key, FormulaNode<L, AP>> nodes;
+    private final Map<FormulaNode<L, AP>, Set<String>> freeVariables;
+
+    public FormulaFactory() {
+        this.nodes = new HashMap<>();
+        this.freeVariables = new IdentityHashMap<>();
+    }
+
+    public FormulaNode<L, AP> trueNode() {
+        return lookup(new Key(TrueNode.class, null, null, null), TrueNode::new);
+    }
+
+    public FormulaNode<L, AP> falseNode() {
+        return lookup(new Key(FalseNode.class, null, null, null), FalseNode::new);
+    }
+
+    public FormulaNode<L, AP> atomic(AP proposition) {
+        return lookup(new Key(AtomicNode.class, proposition, null, null), () -> new AtomicNode<>(proposition));
+    }
+
+    public FormulaNode<L, AP> not(FormulaNode<L, AP> child) {
+        final FormulaNode<L, AP> c = intern(child);
+        return lookup(new Key(NotNode.class, null, c, null), () -> new NotNode<>(c));
+    }
+
+    public FormulaNode<L, AP> and(FormulaNode<L, AP> left, FormulaNode<L, AP> right) {
+        final FormulaNode<L, AP> l = intern(left);
+        final FormulaNode<L, AP> r = intern(right);
+        return lookup(new Key(AndNode.class, null, l, r), () -> new AndNode<>(l, r));
+    }
+
+    public FormulaNode<L, AP> or(FormulaNode<L, AP> left, FormulaNode<L, AP> right) {
+        final FormulaNode<L, AP> l = intern(left);
+        final FormulaNode<L, AP> r = intern(right);
+        return lookup(new Key(OrNode.class, null, l, r), () -> new OrNode<>(l, r));
+    }
+
+    public FormulaNode<L, AP> box(@Nullable L action, FormulaNode<L, AP> child) {
+        final FormulaNode<L, AP> c = intern(child);
+        return lookup(new Key(BoxNode.class, action, c, null), () -> new BoxNode<>(action, c));
+    }
+
+    public FormulaNode<L, AP> diamond(@Nullable L action, FormulaNode<L, AP> child) {
+        final FormulaNode<L, AP> c = intern(child);
+        return lookup(new Key(DiamondNode.class, action, c, null), () -> new DiamondNode<>(action, c));
+    }
+
+    public FormulaNode<L, AP> variable(String variable) {
+        return lookup(new Key(VariableNode.class, variable, null, null), () -> new VariableNode<>(variable));
+    }
+
+    public FormulaNode<L, AP> lfp(String variable, FormulaNode<L, AP> child) {
+        final FormulaNode<L, AP> c = intern(child);
+        return lookup(new Key(LfpNode.class, variable, c, null), () -> new LfpNode<>(variable, c));
+    }
+
+    public FormulaNode<L, AP> gfp(String variable, FormulaNode<L, AP> child) {
+        final FormulaNode<L, AP> c = intern(child);
+        return lookup(new Key(GfpNode.class, variable, c, null), () -> new GfpNode<>(variable, c));
+    }
+
+    public FormulaNode<L, AP> af(FormulaNode<L, AP> child) {
+        final FormulaNode<L, AP> c = intern(child);
+        return lookup(new Key(AFNode.class, null, c, null), () -> new AFNode<>(c));
+    }
+
+    public FormulaNode<L, AP> ag(FormulaNode<L, AP> child) {
+        final FormulaNode<L, AP> c = intern(child);
+        return lookup(new Key(AGNode.class, null, c, null), () -> new AGNode<>(c));
+    }
+
+    public FormulaNode<L, AP> ef(FormulaNode<L, AP> child) {
+        final FormulaNode<L, AP> c = intern(child);
+        return lookup(new Key(EFNode.class, null, c, null), () -> new EFNode<>(c));
+    }
+
+    public FormulaNode<L, AP> eg(FormulaNode<L, AP> child) {
+        final FormulaNode<L, AP> c = intern(child);
+        return lookup(new Key(EGNode.class, null, c, null), () -> new EGNode<>(c));
+    }
+
+    public FormulaNode<L, AP> au(FormulaNode<L, AP> left, FormulaNode<L, AP> right) {
+        final FormulaNode<L, AP> l = intern(left);
+        final FormulaNode<L, AP> r = intern(right);
+        return lookup(new Key(AUNode.class, null, l, r), () -> new AUNode<>(l, r));
+    }
+
+    public FormulaNode<L, AP> awu(FormulaNode<L, AP> left, FormulaNode<L, AP> right) {
+        final FormulaNode<L, AP> l = intern(left);
+        final FormulaNode<L, AP> r = intern(right);
+        return lookup(new Key(AWUNode.class, null, l, r), () -> new AWUNode<>(l, r));
+    }
+
+    public FormulaNode<L, AP> eu(FormulaNode<L, AP> left, FormulaNode<L, AP> right) {
+        final FormulaNode<L, AP> l = intern(left);
+        final FormulaNode<L, AP> r = intern(right);
+        return lookup(new Key(EUNode.class, null, l, r), () -> new EUNode<>(l, r));
+    }
+
+    public FormulaNode<L, AP> ewu(FormulaNode<L, AP> left, FormulaNode<L, AP> right) {
+        final FormulaNode<L, AP> l = intern(left);
+        final FormulaNode<L, AP> r = intern(right);
+        return lookup(new Key(EWUNode.class, null, l, r), () -> new EWUNode<>(l, r));
+    }
+
+    /**
+     * Returns the canonical instance of the given formula, i.e. the formula of this factory that is structurally equal
+     * to the given one. The given formula is not modified.
+     *
+     * @param formula
+     *         the formula to intern
+     *
+     * @return the canonical instance of the given formula
+     */
+    public FormulaNode<L, AP> intern(FormulaNode<L, AP> formula) {
+        if (isCanonical(formula)) {
+            return formula;
+        }
+        return new Interner(new IdentityHashMap<>()).visit(formula);
+    }
+
+    /**
+     * Interns the given formula and additionally returns the canonical instance of each of its subformulas.
+     *
+     * @param formula
+     *         the formula to intern
+     *
+     * @return a mapping (by identity) from each (sub-) formula of the given formula to its canonical instance
+     */
+    Map<FormulaNode<L, AP>, FormulaNode<L, AP>> internAll(FormulaNode<L, AP> formula) {
+        final IdentityHashMap<FormulaNode<L, AP>, FormulaNode<L, AP>> canonicals = new IdentityHashMap<>();
+        new Interner(canonicals).visit(formula);
+        return canonicals;
+    }
+
+    /**
+     * Normalizes the given formula and returns its canonical instance. Normalization comprises the transformation of
+     * CTL operators into mu-calculus fixed points, the transformation into negation normal form and the renaming of
+     * all bound fixed point variables according to their nesting depth. Hence, two (closed) formulas are mapped to the
+     * same canonical instance if and only if they are equal modulo these transformations.
+     * <p>
+     * Note that free variables of the given formula are not renamed, i.e. normalization is only meaningful for closed
+     * formulas (such as the ones returned by the parser).
+     *
+     * @param formula
+     *         the formula to normalize
+     *
+     * @return the canonical instance of the normalized formula
+     */
+    public FormulaNode<L, AP> normalize(FormulaNode<L, AP> formula) {
+        final FormulaNode<L, AP> nnf = new CTLToMuCalc<L, AP>().toMuCalc(formula).toNNF();
+        return new Interner(new HashMap<>()).visit(nnf);
+    }
+
+    /**
+     * Returns whether the given canonical formula is closed, i.e. does not contain any free variables.
+     *
+     * @param formula
+     *         a canonical formula of this factory
+     *
+     * @return {@code true} if the given formula is closed, {@code false} otherwise
+     *
+     * @throws IllegalArgumentException
+     *         if the given formula is not a canonical formula of this factory
+     */
+    public boolean isClosed(FormulaNode<L, AP> formula) {
+        final Set<String> vars = freeVariables.get(formula);
+        Preconditions.checkArgument(vars != null, "Not a canonical formula of this factory");
+        return vars.isEmpty();
+    }
+
+    /**
+     * Returns the number of distinct canonical (sub-) formulas of this factory.
+     *
+     * @return the number of canonical formulas
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    private boolean isCanonical(FormulaNode<L, AP> formula) {
+        return freeVariables.containsKey(formula);
+    }
+
+    private FormulaNode<L, AP> lookup(Key key, Supplier<? extends FormulaNode<L, AP>> creator) {
+        final FormulaNode<L, AP> existing = nodes.get(key);
+
+        if (existing != null) {
+            return existing;
+        }
+
+        final FormulaNode<L, AP> node = creator.get();
+        nodes.put(key, node);
+        freeVariables.put(node, computeFreeVariables(key, node));
+        return node;
+    }
+
+    private Set<String> computeFreeVariables(Key key, FormulaNode<L, AP> node) {
+        if (node instanceof VariableNode) {
+            return Collections.singleton(((VariableNode<L, AP>) node).getVariable());
+        }
+
+        final Set<String> left = key.left == null ? Collections.emptySet() : freeVariables.get(key.left);
+        final Set<String> right = key.right == null ? Collections.emptySet() : freeVariables.get(key.right);
+
+        if (node instanceof AbstractFixedPointFormulaNode) {
+            final String variable = ((AbstractFixedPointFormulaNode<L, AP>) node).getVariable();
+            if (!left.contains(variable)) {
+                return left;
+            }
+            final Set<String> result = new HashSet<>(left);
+            result.remove(variable);
+            return result.isEmpty() ? Collections.emptySet() : result;
+        } else if (right.isEmpty()) {
+            return left;
+        } else if (left.isEmpty()) {
+            return right;
+        }
+
+        final Set<String> result = new HashSet<>(left);
+        result.addAll(right);
+        return result;
+    }
+
+    /**
+     * The key of a canonical formula. Since the children of a canonical formula are canonical themselves, they are
+     * compared by identity, so that look-ups do not need to traverse the (sub-) formulas.
+     */
+    private static final class Key {
+
+        private final Class<?> type;
+        private final @Nullable Object payload;
+        private final @Nullable FormulaNode<?, ?> left;
+        private final @Nullable FormulaNode<?, ?> right;
+        private final int hashCode;
+
+        Key(Class<?> type,
+            @Nullable Object payload,
+            @Nullable FormulaNode<?, ?> left,
+            @Nullable FormulaNode<?, ?> right) {
+            this.type = type;
+            this.payload = payload;
+            this.left = left;
+            this.right = right;
+
+            int result = type.hashCode();
+            result = 31 * result + Objects.hashCode(payload);
+            result = 31 * result + System.identityHashCode(left);
+            result = 31 * result + System.identityHashCode(right);
+            this.hashCode = result;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            final Key that = (Key) o;
+            return this.type == that.type && this.left == that.left && this.right == that.right &&
+                   Objects.equals(this.payload, that.payload);
+        }
+    }
+
+    /**
+     * A visitor that maps (sub-) formulas to their canonical instances. If constructed with a renaming, bound fixed
+     * point variables are renamed according to their nesting depth. Otherwise, the canonical instances of all visited
+     * (sub-) formulas are memorized.
+     */
+    private final class Interner implements FormulaNodeVisitor<FormulaNode<L, AP>, L, AP> {
+
+        private final Map<FormulaNode<L, AP>, FormulaNode<L, AP>> canonicals;
+        private final @Nullable Map<String, String> renaming;
+        private int depth;
+
+        /**
+         * Constructor for interning without renaming.
+         */
+        Interner(IdentityHashMap<FormulaNode<L, AP>, FormulaNode<L, AP>> canonicals) {
+            this.canonicals = canonicals;
+            this.renaming = null;
+        }
+
+        /**
+         * Constructor for interning with renaming of bound variables.
+         */
+        Interner(HashMap<String, String> renaming) {
+            this.canonicals = Collections.emptyMap();
+            this.renaming = renaming;
+        }
+
+        @Override
+        public FormulaNode<L, AP> visit(FormulaNode<L, AP> node) {
+            // with renaming, the canonical instance of a node depends on its context
+            if (renaming != null) {
+                return node.accept(this);
+            }
+
+            final FormulaNode<L, AP> cached = canonicals.get(node);
+            if (cached != null) {
+                return cached;
+            }
+
+            final FormulaNode<L, AP> result = node.accept(this);
+            canonicals.put(node, result);
+            return result;
+        }
+
+        @Override
+        public FormulaNode<L, AP> visit(AFNode<L, AP> node) {
+            return af(visit(node.getChild()));
+        }
+
+        @Override
+        public FormulaNode<L, AP> visit(AGNode<L, AP> node) {
+            return ag(visit(node.getChild()));
+        }
+
+        @Override
+        public FormulaNode<L, AP> visit(AUNode<L, AP> node) {
+            return au(visit(node.getLeftChild()), visit(node.getRightChild()));
+        }
+
+        @Override
+        public FormulaNode<L, AP> visit(AWUNode<L, AP> node) {
+            return awu(visit(node.getLeftChild()), visit(node.getRightChild()));
+        }
+
+        @Override
+        public FormulaNode<L, AP> visit(EFNode<L, AP> node) {
+            return ef(visit(node.getChild()));
+        }
+
+        @Override
+        public FormulaNode<L, AP> visit(EGNode<L, AP> node) {
+            return eg(visit(node.getChild()));
+        }
+
+        @Override
+        public FormulaNode<L, AP> visit(EUNode<L, AP> node) {
+            return eu(visit(node.getLeftChild()), visit(node.getRightChild()));
+        }
+
+        @Override
+        public FormulaNode<L, AP> visit(EWUNode<L, AP> node) {
+            return ewu(visit(node.getLeftChild()), visit(node.getRightChild()));
+        }
+
+        @Override
+        public FormulaNode<L, AP> visit(AndNode<L, AP> node) {
+            return and(visit(node.getLeftChild()), visit(node.getRightChild()));
+        }
+
+        @Override
+        public FormulaNode<L, AP> visit(AtomicNode<L, AP> node) {
+            return atomic(node.getProposition());
+        }
+
+        @Override
+        public FormulaNode<L, AP> visit(BoxNode<L, AP> node) {
+            return box(node.getAction(), visit(node.getChild()));
+        }
+
+        @Override
+        public FormulaNode<L, AP> visit(DiamondNode<L, AP> node) {
+            return diamond(node.getAction(), visit(node.getChild()));
+        }
+
+        @Override
+        public FormulaNode<L, AP> visit(FalseNode<L, AP> node) {
+            return falseNode();
+        }
+
+        @Override
+        public FormulaNode<L, AP> visit(NotNode<L, AP> node) {
+            return not(visit(node.getChild()));
+        }
+
+        @Override
+        public FormulaNode<L, AP> visit(OrNode<L, AP> node) {
+            return or(visit(node.getLeftChild()), visit(node.getRightChild()));
+        }
+
+        @Override
+        public FormulaNode<L, AP> visit(TrueNode<L, AP> node) {
+            return trueNode();
+        }
+
+        @Override
+        public FormulaNode<L, AP> visit(GfpNode<L, AP> node) {
+            return visitFixedPoint(node, FormulaFactory.this::gfp);
+        }
+
+        @Override
+        public FormulaNode<L, AP> visit(LfpNode<L, AP> node) {
+            return visitFixedPoint(node, FormulaFactory.this::lfp);
+        }
+
+        @Override
+        public FormulaNode<L, AP> visit(VariableNode<L, AP> node) {
+            final String variable = node.getVariable();
+            return variable(renaming == null ? variable : renaming.getOrDefault(variable, variable));
+        }
+
+        private FormulaNode<L, AP> visitFixedPoint(AbstractFixedPointFormulaNode<L, AP> node,
+                                                   BiFunction<String, FormulaNode<L, AP>, FormulaNode<L, AP>> creator) {
+            final String variable = node.getVariable();
+
+            if (renaming == null) {
+                return creator.apply(variable, visit(node.getChild()));
+            }
+
+            final String canonicalName = CANONICAL_VARIABLE_PREFIX + depth++;
+            final String shadowed = renaming.put(variable, canonicalName);
+            final FormulaNode<L, AP> child = visit(node.getChild());
+
+            if (shadowed == null) {
+                renaming.remove(variable);
+            } else {
+                renaming.put(variable, shadowed);
+            }
+            depth--;
+
+            return creator.apply(canonicalName, child);
+        }
+    }
+}
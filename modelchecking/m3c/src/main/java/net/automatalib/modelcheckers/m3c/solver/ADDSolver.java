@@ -43,6 +43,10 @@ public class ADDSolver<L, AP> extends AbstractDDSolver<ADDTransformer<L, AP>, L,
         super(cfmps);
     }
 
+    public ADDSolver(ContextFreeModalProcessSystem<L, AP> cfmps, boolean shareSubformulas) {
+        super(cfmps, shareSubformulas);
+    }
+
     @Override
     protected void initDDManager(DependencyGraph<L, AP> dependencyGraph) {
         this.ddManager = new BooleanVectorLogicDDManager(dependencyGraph.getNumVariables());
@@ -15,18 +15,21 @@
  */
 package net.automatalib.modelcheckers.m3c.solver;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Maps;
@@ -39,6 +42,7 @@ import net.automatalib.modelcheckers.m3c.formula.AtomicNode;
 import net.automatalib.modelcheckers.m3c.formula.BoxNode;
 import net.automatalib.modelcheckers.m3c.formula.DependencyGraph;
 import net.automatalib.modelcheckers.m3c.formula.EquationalBlock;
+import net.automatalib.modelcheckers.m3c.formula.FormulaFactory;
 import net.automatalib.modelcheckers.m3c.formula.FormulaNode;
 import net.automatalib.modelcheckers.m3c.formula.NotNode;
 import net.automatalib.modelcheckers.m3c.formula.OrNode;
@@ -71,8 +75,15 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>, L, AP>
         implements ModelChecker<L, ContextFreeModalProcessSystem<L, AP>, FormulaNode<L, AP>, WitnessTree<L, AP>> {
 
+    private static final int MAX_CACHED_DEPENDENCY_GRAPHS = 64;
+
     // Attributes that are constant for a given CFMPS
     private final @KeyFor("workUnits") L mainProcess;
+    private final boolean shareSubformulas;
+
+    // Attributes that are shared between formulas
+    private FormulaFactory<L, AP> formulaFactory;
+    private final Map<FormulaNode<L, AP>, DependencyGraph<L, AP>> dependencyGraphCache;
 
     // Attributes that change for each formula
     private TransformerSerializer<T, L, AP> serializer;
@@ -85,6 +96,19 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
     private Map<L, T> mayTransformers;
 
     AbstractDDSolver(ContextFreeModalProcessSystem<L, AP> cfmps) {
+        this(cfmps, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param cfmps
+     *         the system to check
+     * @param shareSubformulas
+     *         whether re-occurring closed subformulas should be represented by a single variable, see {@link
+     *         DependencyGraph#DependencyGraph(FormulaNode, boolean)}
+     */
+    AbstractDDSolver(ContextFreeModalProcessSystem<L, AP> cfmps, boolean shareSubformulas) {
         final Map<L, ProceduralModalProcessGraph<?, L, ?, AP, ?>> pmpgs = cfmps.getPMPGs();
 
         this.workUnits = Maps.newHashMapWithExpectedSize(pmpgs.size());
@@ -102,6 +126,9 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
         }
 
         this.mainProcess = mainProcess;
+        this.shareSubformulas = shareSubformulas;
+        this.formulaFactory = new FormulaFactory<>();
+        this.dependencyGraphCache = new IdentityHashMap<>();
     }
 
     private <N> void checkPMPG(@UnderInitialization AbstractDDSolver<T, L, AP> this,
@@ -163,7 +190,7 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
         final FormulaNode<L, AP> ast = ctlToMuCalc(negatedFormula).toNNF();
 
         initialize(ast);
-        this.solveInternal(false, Collections.emptyList());
+        this.solveInternal(null);
 
         final boolean sat = isSat();
 
@@ -173,7 +200,7 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
                 return WitnessTreeExtractor.computeWitness(cfmps,
                                                            units,
                                                            dependencyGraph,
-                                                           ast,
+                                                           dependencyGraph.getAST(),
                                                            getAllAPDeadlockedNode());
             } finally {
                 shutdownDDManager();
@@ -183,11 +210,125 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
         return null;
     }
 
+    /**
+     * Checks the given formula and, if a counterexample exists, passes the symbols of its witness to the given
+     * consumer. In contrast to {@link #findCounterExample(ContextFreeModalProcessSystem, Collection, FormulaNode)},
+     * this method does not materialize the explored tableau as a {@link WitnessTree} but only keeps track of the parent
+     * relation of the explored tableau nodes, which considerably reduces the memory footprint on large systems. Since
+     * the tableau is explored in a breadth-first manner, the symbols are passed to the consumer once the complete
+     * witness has been found.
+     *
+     * @param cfmps
+     *         the system to check
+     * @param inputs
+     *         the inputs which should be regarded for checking
+     * @param formulaNode
+     *         the formula to check
+     * @param witnessConsumer
+     *         the consumer which receives the symbols of the witness (in order)
+     *
+     * @return {@code true} if a counterexample exists, {@code false} otherwise
+     */
+    public boolean findCounterExamplePath(ContextFreeModalProcessSystem<L, AP> cfmps,
+                                          Collection<? extends L> inputs,
+                                          FormulaNode<L, AP> formulaNode,
+                                          Consumer<? super L> witnessConsumer) {
+        final NotNode<L, AP> negatedFormula = new NotNode<>(formulaNode);
+        final FormulaNode<L, AP> ast = ctlToMuCalc(negatedFormula).toNNF();
+
+        initialize(ast);
+
+        try {
+            this.solveInternal(null);
+
+            if (!isSat()) {
+                return false;
+            }
+
+            final Map<L, AbstractDDSolver<?, L, AP>.WorkUnit<?, ?>> units = Collections.unmodifiableMap(workUnits);
+            return WitnessTreeExtractor.computeWitnessPath(cfmps,
+                                                           units,
+                                                           dependencyGraph,
+                                                           dependencyGraph.getAST(),
+                                                           getAllAPDeadlockedNode(),
+                                                           witnessConsumer);
+        } finally {
+            shutdownDDManager();
+        }
+    }
+
+    /**
+     * Checks all given formulas in a single fixed point iteration. To do so, the negations of the formulas are
+     * conjoined to a single equational system whose property transformers are computed only once. The individual
+     * formulas are then evaluated by means of the variables of their respective (top-level) conjuncts.
+     *
+     * @see #findCounterExample(ContextFreeModalProcessSystem, Collection, FormulaNode)
+     */
+    @Override
+    public Map<FormulaNode<L, AP>, WitnessTree<L, AP>> findCounterExamples(ContextFreeModalProcessSystem<L, AP> cfmps,
+                                                                           Collection<? extends L> inputs,
+                                                                           Collection<? extends FormulaNode<L, AP>> formulas) {
+
+        final Map<FormulaNode<L, AP>, WitnessTree<L, AP>> result = Maps.newLinkedHashMapWithExpectedSize(formulas.size());
+
+        if (formulas.isEmpty()) {
+            return result;
+        }
+
+        // use a single transformation so that the fixed point variables of the individual formulas are unique
+        final FormulaNode<L, AP> ast = ctlToMuCalc(conjoinNegations(formulas.iterator(), formulas.size())).toNNF();
+
+        initialize(ast);
+
+        try {
+            this.solveInternal(null);
+
+            final BitSet satisfiedVariables = getSatisfiedVariables(workUnits.get(mainProcess));
+            final Map<L, AbstractDDSolver<?, L, AP>.WorkUnit<?, ?>> units = Collections.unmodifiableMap(workUnits);
+            final BitSet initialContext = getAllAPDeadlockedNode();
+
+            final Iterator<? extends FormulaNode<L, AP>> iter = formulas.iterator();
+            FormulaNode<L, AP> remainder = dependencyGraph.getAST();
+
+            while (iter.hasNext()) {
+                final FormulaNode<L, AP> formula = iter.next();
+                final FormulaNode<L, AP> conjunct;
+
+                // the NNF transformation preserves the (right-nested) spine of conjunctions
+                if (iter.hasNext()) {
+                    final AndNode<L, AP> andNode = (AndNode<L, AP>) remainder;
+                    conjunct = andNode.getLeftChild();
+                    remainder = andNode.getRightChild();
+                } else {
+                    conjunct = remainder;
+                }
+
+                if (satisfiedVariables.get(conjunct.getVarNumber())) {
+                    result.put(formula,
+                               WitnessTreeExtractor.computeWitnessOfSubformula(cfmps,
+                                                                               units,
+                                                                               dependencyGraph,
+                                                                               conjunct,
+                                                                               initialContext));
+                }
+            }
+        } finally {
+            shutdownDDManager();
+        }
+
+        return result;
+    }
+
+    private FormulaNode<L, AP> conjoinNegations(Iterator<? extends FormulaNode<L, AP>> formulas, int size) {
+        final FormulaNode<L, AP> negatedFormula = new NotNode<>(formulas.next());
+        return size == 1 ? negatedFormula : new AndNode<>(negatedFormula, conjoinNegations(formulas, size - 1));
+    }
+
     public boolean solve(FormulaNode<L, AP> formula) {
         final FormulaNode<L, AP> ast = ctlToMuCalc(formula).toNNF();
 
         initialize(ast);
-        this.solveInternal(false, Collections.emptyList());
+        this.solveInternal(null);
 
         final boolean sat = isSat();
         shutdownDDManager();
@@ -205,7 +346,18 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
             data.put(e.getKey(), createProcessData(e.getValue()));
         }
 
-        this.solveInternal(true, history);
+        this.solveInternal(new StepHook<RuntimeException>() {
+
+            @Override
+            <N> void onStep(WorkUnit<N, ?> unit, N node, List<T> compositions) {
+                history.add(new SolverState<>(serializer.serialize(unit.propTransformers.get(node)),
+                                              serializeCompositions(compositions),
+                                              node,
+                                              unit.label,
+                                              copyWorkSet(),
+                                              getSatisfiedSubformulas(unit, node)));
+            }
+        });
 
         final Map<L, List<String>> serializedMustTransformers = serializePropertyTransformerMap(mustTransformers);
         final Map<L, List<String>> serializedMayTransformers = serializePropertyTransformerMap(mayTransformers);
@@ -216,6 +368,53 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
         return new SolverHistory<>(data, serializedMustTransformers, serializedMayTransformers, history, isSat);
     }
 
+    /**
+     * Solves the given formula and records the history of the solving process by means of the given {@link
+     * SolverHistoryRecorder}. In contrast to {@link #solveAndRecordHistory(FormulaNode)}, the history is not kept in
+     * memory but written to the (binary) output of the recorder. Furthermore, the property transformers of a solving
+     * step are only serialized if the step is sampled by the recorder.
+     *
+     * @param formula
+     *         the formula to solve
+     * @param recorder
+     *         the recorder to write the history to
+     *
+     * @return {@code true} if the formula is satisfied, {@code false} otherwise
+     *
+     * @throws IOException
+     *         if writing the history fails
+     * @see SolverHistoryRecorder#read(java.io.InputStream)
+     */
+    public boolean solveAndRecordHistory(FormulaNode<L, AP> formula, SolverHistoryRecorder recorder)
+            throws IOException {
+        final FormulaNode<L, AP> ast = ctlToMuCalc(formula).toNNF();
+
+        initialize(ast);
+
+        try {
+            this.solveInternal(new StepHook<IOException>() {
+
+                @Override
+                <N> void onStep(WorkUnit<N, ?> unit, N node, List<T> compositions) throws IOException {
+                    if (recorder.nextStep()) {
+                        recorder.recordStep(unit.label,
+                                            node,
+                                            serializer.serialize(unit.propTransformers.get(node)),
+                                            serializeCompositions(compositions),
+                                            getSatisfiedVariables(unit, node),
+                                            unit.workSet);
+                    }
+                }
+            });
+
+            final boolean isSat = isSat();
+            recorder.recordResult(isSat);
+            return isSat;
+        } finally {
+            shutdownDDManager();
+        }
+    }
+
     private <N, E> SolverData<N, T, L, AP> createProcessData(WorkUnit<N, E> unit) {
         return new SolverData<>(unit.pmpg, serializePropertyTransformers(unit), computeSatisfiedSubformulas(unit));
     }
@@ -228,38 +427,34 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
         return serializedTransformers;
     }
 
-    private void solveInternal(boolean recordHistory, List<SolverState<?, T, L, AP>> history) {
+    /**
+     * Performs the fixed point iteration until all work sets are empty.
+     *
+     * @param hook
+     *         an (optional) hook that is notified about every update of a node, e.g. for recording the history of the
+     *         iteration
+     */
+    private <X extends Exception> void solveInternal(@Nullable StepHook<X> hook) throws X {
         boolean workSetIsEmpty = false;
         while (!workSetIsEmpty) {
             workSetIsEmpty = true;
-            for (Entry<L, WorkUnit<?, ?>> entry : workUnits.entrySet()) {
-                workSetIsEmpty &= solveInternal(entry.getValue(), recordHistory, history);
+            for (WorkUnit<?, ?> unit : workUnits.values()) {
+                workSetIsEmpty &= solveInternal(unit, hook);
             }
         }
     }
 
-    private <N> boolean solveInternal(WorkUnit<N, ?> unit,
-                                      boolean recordHistory,
-                                      List<SolverState<?, T, L, AP>> history) {
+    private <N, X extends Exception> boolean solveInternal(WorkUnit<N, ?> unit, @Nullable StepHook<X> hook)
+            throws X {
         if (!unit.workSet.isEmpty()) {
             final Iterator<N> iter = unit.workSet.iterator();
             final N node = iter.next();
             iter.remove();
 
-            final L label = unit.label;
             final List<T> compositions = updateNodeAndGetCompositions(unit, node);
 
-            if (recordHistory) {
-                final List<List<String>> serializedCompositions = new ArrayList<>(compositions.size());
-                for (T composition : compositions) {
-                    serializedCompositions.add(serializer.serialize(composition));
-                }
-                history.add(new SolverState<>(serializer.serialize(unit.propTransformers.get(node)),
-                                              serializedCompositions,
-                                              node,
-                                              label,
-                                              copyWorkSet(),
-                                              getSatisfiedSubformulas(unit, node)));
+            if (hook != null) {
+                hook.onStep(unit, node, compositions);
             }
 
             return false;
@@ -268,6 +463,14 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
         return true;
     }
 
+    private List<List<String>> serializeCompositions(List<T> compositions) {
+        final List<List<String>> serializedCompositions = new ArrayList<>(compositions.size());
+        for (T composition : compositions) {
+            serializedCompositions.add(serializer.serialize(composition));
+        }
+        return serializedCompositions;
+    }
+
     private <N> List<T> updateNodeAndGetCompositions(WorkUnit<N, ?> unit, N node) {
         initUpdate(unit, node);
         final T nodeTransformer = getTransformer(unit, node);
@@ -299,9 +502,18 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
         return (MutableMapping<N, List<FormulaNode<L, AP>>>) result;
     }
 
+    private <N> BitSet getSatisfiedVariables(WorkUnit<N, ?> unit) {
+        @SuppressWarnings("nullness") // we have checked non-nullness of initial nodes in the constructor
+        final @NonNull N initialNode = unit.pmpg.getInitialNode();
+        return getSatisfiedVariables(unit, initialNode);
+    }
+
+    private <N> BitSet getSatisfiedVariables(WorkUnit<N, ?> unit, N node) {
+        return unit.propTransformers.get(node).evaluate(dependencyGraph.toBoolArray(getAllAPDeadlockedNode()));
+    }
+
     private <N> List<FormulaNode<L, AP>> getSatisfiedSubformulas(WorkUnit<N, ?> unit, N node) {
-        final BitSet output =
-                unit.propTransformers.get(node).evaluate(dependencyGraph.toBoolArray(getAllAPDeadlockedNode()));
+        final BitSet output = getSatisfiedVariables(unit, node);
         final List<FormulaNode<L, AP>> satisfiedSubFormulas = new ArrayList<>();
         for (FormulaNode<L, AP> n : dependencyGraph.getFormulaNodes()) {
             if (output.get(n.getVarNumber())) {
@@ -516,7 +728,7 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
     }
 
     private void initialize(FormulaNode<L, AP> ast) {
-        this.dependencyGraph = new DependencyGraph<>(ast);
+        this.dependencyGraph = getDependencyGraph(ast);
         this.currentBlockIndex = dependencyGraph.getBlocks().size() - 1;
 
         initDDManager(this.dependencyGraph);
@@ -530,6 +742,21 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
         }
     }
 
+    /**
+     * Returns the dependency graph of the given formula. Dependency graphs are cached by their normalized formula, so
+     * that repeatedly checked (or merely renamed) formulas re-use the equational system of their first occurrence.
+     */
+    private DependencyGraph<L, AP> getDependencyGraph(FormulaNode<L, AP> ast) {
+        if (dependencyGraphCache.size() >= MAX_CACHED_DEPENDENCY_GRAPHS) {
+            // canonical formulas are only unique w.r.t. their factory, so start a new generation for both
+            this.dependencyGraphCache.clear();
+            this.formulaFactory = new FormulaFactory<>();
+        }
+
+        return dependencyGraphCache.computeIfAbsent(formulaFactory.normalize(ast),
+                                                    k -> new DependencyGraph<>(ast, shareSubformulas));
+    }
+
     private <N> void initialize(WorkUnit<N, ?> unit) {
         unit.workSet = newWorkSet(unit.pmpg);
         unit.propTransformers = initTransformers(unit.pmpg);
@@ -598,4 +825,15 @@ abstract class AbstractDDSolver<T extends AbstractPropertyTransformer<T, L, AP>,
         }
     }
 
+    /**
+     * A hook that is notified about every update of a node during the fixed point iteration.
+     *
+     * @param <X>
+     *         the type of exception that may be thrown by the hook
+     */
+    private abstract class StepHook<X extends Exception> {
+
+        abstract <N> void onStep(WorkUnit<N, ?> unit, N node, List<T> compositions) throws X;
+    }
+
 }
@@ -41,6 +41,10 @@ public class BDDSolver<L, AP> extends AbstractDDSolver<BDDTransformer<L, AP>, L,
         super(cfmps);
     }
 
+    public BDDSolver(ContextFreeModalProcessSystem<L, AP> cfmps, boolean shareSubformulas) {
+        super(cfmps, shareSubformulas);
+    }
+
     @Override
     protected void initDDManager(DependencyGraph<L, AP> dependencyGraph) {
         this.bddManager = new BDDManager();
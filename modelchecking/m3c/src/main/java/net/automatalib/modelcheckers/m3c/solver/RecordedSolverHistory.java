@@ -0,0 +1,200 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.m3c.solver;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import net.automatalib.modelcheckers.m3c.transformer.AbstractPropertyTransformer;
+import net.automatalib.modelcheckers.m3c.transformer.TransformerSerializer;
+
+/**
+ * A history of an {@link AbstractDDSolver} that has been recorded by a {@link SolverHistoryRecorder}. Since the
+ * history is read from a binary stream, procedures and nodes are only available via their string representations.
+ *
+ * @see SolverHistoryRecorder#read(java.io.InputStream)
+ */
+public final class RecordedSolverHistory {
+
+    private final int samplingRate;
+    private final int numberOfSteps;
+    private final List<Step> steps;
+    private final boolean isSat;
+
+    RecordedSolverHistory(int samplingRate, int numberOfSteps, List<Step> steps, boolean isSat) {
+        this.samplingRate = samplingRate;
+        this.numberOfSteps = numberOfSteps;
+        this.steps = Collections.unmodifiableList(steps);
+        this.isSat = isSat;
+    }
+
+    /**
+     * Returns the sampling rate with which the history has been recorded.
+     *
+     * @return the sampling rate
+     */
+    public int getSamplingRate() {
+        return samplingRate;
+    }
+
+    /**
+     * Returns the total number of (recorded and non-recorded) updates performed by the solver.
+     *
+     * @return the total number of updates
+     */
+    public int getNumberOfSteps() {
+        return numberOfSteps;
+    }
+
+    /**
+     * Returns the recorded steps.
+     *
+     * @return the recorded steps
+     */
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    /**
+     * Returns whether the solved formula is satisfied.
+     *
+     * @return {@code true} if formula is satisfied, {@code false} otherwise
+     */
+    public boolean isSat() {
+        return isSat;
+    }
+
+    /**
+     * A single recorded update of a node.
+     */
+    public static final class Step {
+
+        private final int index;
+        private final String procedure;
+        private final String node;
+        private final List<String> propertyTransformer;
+        private final List<List<String>> compositions;
+        private final BitSet satisfiedVariables;
+        private final List<String> workSet;
+
+        Step(int index,
+             String procedure,
+             String node,
+             List<String> propertyTransformer,
+             List<List<String>> compositions,
+             BitSet satisfiedVariables,
+             List<String> workSet) {
+            this.index = index;
+            this.procedure = procedure;
+            this.node = node;
+            this.propertyTransformer = propertyTransformer;
+            this.compositions = compositions;
+            this.satisfiedVariables = satisfiedVariables;
+            this.workSet = workSet;
+        }
+
+        /**
+         * Returns the (0-based) index of this update among all updates performed by the solver.
+         *
+         * @return the index of this update
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Returns the string representation of the procedure which contains the node updated in this step.
+         *
+         * @return the string representation of the procedure
+         */
+        public String getProcedure() {
+            return procedure;
+        }
+
+        /**
+         * Returns the string representation of the node updated in this step.
+         *
+         * @return the string representation of the node
+         */
+        public String getNode() {
+            return node;
+        }
+
+        /**
+         * Returns the updated property transformer.
+         *
+         * @param serializer
+         *         used to deserialize a property transformer from a {@link String}.
+         * @param <T>
+         *         property transformer type
+         * @param <L>
+         *         label type
+         * @param <AP>
+         *         atomic proposition type
+         *
+         * @return the updated property transformer
+         */
+        public <T extends AbstractPropertyTransformer<T, L, AP>, L, AP> T getPropertyTransformer(TransformerSerializer<T, L, AP> serializer) {
+            return serializer.deserialize(propertyTransformer);
+        }
+
+        /**
+         * Returns the property transformers representing the compositions of the property transformer of the
+         * outgoing edges and their target nodes.
+         *
+         * @param serializer
+         *         used to deserialize a property transformer from a {@link String}.
+         * @param <T>
+         *         property transformer type
+         * @param <L>
+         *         label type
+         * @param <AP>
+         *         atomic proposition type
+         *
+         * @return the property transformers representing the compositions
+         */
+        public <T extends AbstractPropertyTransformer<T, L, AP>, L, AP> List<T> getCompositions(TransformerSerializer<T, L, AP> serializer) {
+            final List<T> result = new ArrayList<>(compositions.size());
+
+            for (List<String> c : compositions) {
+                result.add(serializer.deserialize(c));
+            }
+
+            return result;
+        }
+
+        /**
+         * Returns the variable numbers of the subformulas that the updated node satisfies after the update.
+         *
+         * @return the variable numbers of the satisfied subformulas
+         */
+        public BitSet getSatisfiedVariables() {
+            return satisfiedVariables;
+        }
+
+        /**
+         * Returns the string representations of the nodes that remain in the work set of the updated procedure after
+         * the update.
+         *
+         * @return the string representations of the nodes of the work set
+         */
+        public List<String> getWorkSet() {
+            return workSet;
+        }
+    }
+}
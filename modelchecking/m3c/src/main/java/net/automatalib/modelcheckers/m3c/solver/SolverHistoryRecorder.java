@@ -0,0 +1,329 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.m3c.solver;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Preconditions;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A recorder that writes the history of an {@link AbstractDDSolver} to a compact binary stream. In contrast to the
+ * {@link SolverHistory}, the recorded history is not kept in memory and can be sampled, i.e. only every {@code n}-th
+ * update of a node is recorded. This allows to keep history recording enabled for large systems.
+ * <p>
+ * All strings (procedures, nodes, serialized property transformers) are stored in a dictionary of the (at most {@value
+ * #DICTIONARY_SIZE}) most recently used strings, so that re-occurring strings (e.g. unchanged property transformers) are
+ * only written once while the memory consumption of the recorder stays bounded. A recorded history can be read via
+ * {@link #read(InputStream)}.
+ *
+ * @see AbstractDDSolver#solveAndRecordHistory(net.automatalib.modelcheckers.m3c.formula.FormulaNode,
+ * SolverHistoryRecorder)
+ */
+public final class SolverHistoryRecorder implements Closeable {
+
+    private static final int MAGIC = 0x4D334348; // "M3CH"
+    private static final int VERSION = 1;
+
+    private static final int TAG_STEP = 1;
+    private static final int TAG_RESULT = 2;
+
+    /**
+     * The maximum number of strings in the dictionary.
+     */
+    static final int DICTIONARY_SIZE = 1024;
+
+    private final DataOutputStream out;
+    private final int samplingRate;
+    private final Map<String, Integer> dictionary;
+
+    private int step;
+
+    /**
+     * Constructor. Records every update.
+     *
+     * @param out
+     *         the output stream to write the history to
+     *
+     * @throws IOException
+     *         if writing to the output stream fails
+     */
+    public SolverHistoryRecorder(OutputStream out) throws IOException {
+        this(out, 1);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param out
+     *         the output stream to write the history to
+     * @param samplingRate
+     *         the sampling rate, i.e. only every {@code samplingRate}-th update (starting with the first one) is
+     *         recorded
+     *
+     * @throws IOException
+     *         if writing to the output stream fails
+     */
+    public SolverHistoryRecorder(OutputStream out, int samplingRate) throws IOException {
+        Preconditions.checkArgument(samplingRate > 0, "The sampling rate must be positive");
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.samplingRate = samplingRate;
+        this.dictionary = new LinkedHashMap<>(DICTIONARY_SIZE, 0.75f, true);
+
+        this.out.writeInt(MAGIC);
+        this.out.writeByte(VERSION);
+        writeVarInt(this.out, samplingRate);
+        writeVarInt(this.out, DICTIONARY_SIZE);
+    }
+
+    /**
+     * Advances the step counter and returns whether the new step should be recorded.
+     *
+     * @return {@code true} if the step should be recorded via {@link #recordStep(Object, Object, List, List, BitSet,
+     * Collection)}, {@code false} otherwise
+     */
+    boolean nextStep() {
+        return step++ % samplingRate == 0;
+    }
+
+    void recordStep(Object procedure,
+                    Object node,
+                    List<String> propertyTransformer,
+                    List<List<String>> compositions,
+                    BitSet satisfiedVariables,
+                    Collection<?> workSet) throws IOException {
+        out.writeByte(TAG_STEP);
+        writeVarInt(out, step - 1);
+        writeString(procedure.toString());
+        writeString(node.toString());
+        writeStrings(propertyTransformer);
+
+        writeVarInt(out, compositions.size());
+        for (List<String> composition : compositions) {
+            writeStrings(composition);
+        }
+
+        final long[] words = satisfiedVariables.toLongArray();
+        writeVarInt(out, words.length);
+        for (long w : words) {
+            out.writeLong(w);
+        }
+
+        writeVarInt(out, workSet.size());
+        for (Object n : workSet) {
+            writeString(n.toString());
+        }
+    }
+
+    void recordResult(boolean isSat) throws IOException {
+        out.writeByte(TAG_RESULT);
+        writeVarInt(out, step);
+        out.writeBoolean(isSat);
+        out.flush();
+    }
+
+    /**
+     * Closes the underlying output stream.
+     */
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void writeStrings(List<String> strings) throws IOException {
+        writeVarInt(out, strings.size());
+        for (String s : strings) {
+            writeString(s);
+        }
+    }
+
+    /**
+     * Writes a string as a reference to its dictionary slot (even values), or as a definition of a dictionary slot
+     * followed by its contents (odd values). If the dictionary is full, the least recently used slot is re-defined.
+     */
+    private void writeString(String string) throws IOException {
+        final Integer slot = dictionary.get(string);
+
+        if (slot != null) {
+            writeVarInt(out, slot << 1);
+        } else {
+            final int newSlot;
+
+            if (dictionary.size() < DICTIONARY_SIZE) {
+                newSlot = dictionary.size();
+            } else {
+                final Iterator<Integer> iter = dictionary.values().iterator();
+                newSlot = iter.next();
+                iter.remove();
+            }
+
+            final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            dictionary.put(string, newSlot);
+            writeVarInt(out, (newSlot << 1) | 1);
+            writeVarInt(out, bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            out.writeByte((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte(v);
+    }
+
+    /**
+     * Reads a history that has been written by a {@link SolverHistoryRecorder}. The given input stream is not closed.
+     *
+     * @param is
+     *         the input stream to read the history from
+     *
+     * @return the recorded history
+     *
+     * @throws IOException
+     *         if reading from the input stream fails or the stream does not contain a (complete) history
+     */
+    public static RecordedSolverHistory read(InputStream is) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(is));
+
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a recorded solver history");
+        }
+
+        final int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported version: " + version);
+        }
+
+        final int samplingRate = readVarInt(in);
+        final int dictionarySize = readVarInt(in);
+
+        if (dictionarySize <= 0 || dictionarySize > DICTIONARY_SIZE) {
+            throw new IOException("Invalid dictionary size: " + dictionarySize);
+        }
+
+        final @Nullable String[] dictionary = new String[dictionarySize];
+        final List<RecordedSolverHistory.Step> steps = new ArrayList<>();
+
+        while (true) {
+            final int tag = in.readUnsignedByte();
+
+            if (tag == TAG_RESULT) {
+                final int numberOfSteps = readVarInt(in);
+                final boolean isSat = in.readBoolean();
+                return new RecordedSolverHistory(samplingRate, numberOfSteps, steps, isSat);
+            } else if (tag != TAG_STEP) {
+                throw new IOException("Unexpected tag: " + tag);
+            }
+
+            final int step = readVarInt(in);
+            final String procedure = readString(in, dictionary);
+            final String node = readString(in, dictionary);
+            final List<String> propertyTransformer = readStrings(in, dictionary);
+
+            final int numCompositions = readVarInt(in);
+            final List<List<String>> compositions = new ArrayList<>(numCompositions);
+            for (int i = 0; i < numCompositions; i++) {
+                compositions.add(readStrings(in, dictionary));
+            }
+
+            final long[] words = new long[readVarInt(in)];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = in.readLong();
+            }
+
+            final int workSetSize = readVarInt(in);
+            final List<String> workSet = new ArrayList<>(workSetSize);
+            for (int i = 0; i < workSetSize; i++) {
+                workSet.add(readString(in, dictionary));
+            }
+
+            steps.add(new RecordedSolverHistory.Step(step,
+                                                     procedure,
+                                                     node,
+                                                     propertyTransformer,
+                                                     compositions,
+                                                     BitSet.valueOf(words),
+                                                     workSet));
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in, @Nullable String[] dictionary) throws IOException {
+        final int size = readVarInt(in);
+        final List<String> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(readString(in, dictionary));
+        }
+        return result;
+    }
+
+    private static String readString(DataInputStream in, @Nullable String[] dictionary) throws IOException {
+        final int value = readVarInt(in);
+        final int slot = value >>> 1;
+
+        if (slot >= dictionary.length) {
+            throw new IOException("Invalid dictionary slot: " + slot);
+        }
+
+        if ((value & 1) == 0) {
+            final String string = dictionary[slot];
+            if (string == null) {
+                throw new IOException("Undefined dictionary slot: " + slot);
+            }
+            return string;
+        }
+
+        final byte[] bytes = new byte[readVarInt(in)];
+        in.readFully(bytes);
+        final String string = new String(bytes, StandardCharsets.UTF_8);
+        dictionary[slot] = string;
+
+        return string;
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            final int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+}
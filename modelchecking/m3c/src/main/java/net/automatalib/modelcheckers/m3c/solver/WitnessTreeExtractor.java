@@ -17,12 +17,14 @@ package net.automatalib.modelcheckers.m3c.solver;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 import net.automatalib.graphs.ContextFreeModalProcessSystem;
 import net.automatalib.graphs.ProceduralModalProcessGraph;
@@ -53,17 +55,27 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  */
 final class WitnessTreeExtractor<L, AP> {
 
-    private final WitnessTree<L, AP> wTree = new WitnessTree<>();
     private final Map<L, AbstractDDSolver<?, L, AP>.WorkUnit<?, ?>> units;
     private final DependencyGraph<L, AP> dg;
     private final BitSet initialContext;
+    private final Recorder<L, AP> recorder;
+    private final boolean displayLabels;
+
+    /**
+     * The id of the tableau node that is currently explored, i.e. the parent id of all generated successors.
+     */
+    private int currentNode = -1;
 
     private WitnessTreeExtractor(Map<L, AbstractDDSolver<?, L, AP>.WorkUnit<?, ?>> units,
                                  DependencyGraph<L, AP> dg,
-                                 BitSet initialContext) {
+                                 BitSet initialContext,
+                                 Recorder<L, AP> recorder,
+                                 boolean displayLabels) {
         this.units = units;
         this.dg = dg;
         this.initialContext = initialContext;
+        this.recorder = recorder;
+        this.displayLabels = displayLabels;
     }
 
     static <L, AP> WitnessTree<L, AP> computeWitness(ContextFreeModalProcessSystem<L, AP> cfmps,
@@ -75,13 +87,53 @@ final class WitnessTreeExtractor<L, AP> {
         // assert that the formula equals the AST (in NNF) so that we can continue to use the AST for its set varNumbers
         assert Objects.equals(dependencyGraph.getAST().toString(), formula.toString());
 
+        return computeWitnessOfSubformula(cfmps, workUnits, dependencyGraph, dependencyGraph.getAST(), initialContext);
+    }
+
+    /**
+     * Computes the witness of a subformula of the {@link DependencyGraph#getAST() AST} of the given dependency graph.
+     * This allows to extract witnesses for the individual conjuncts of a combined equational system.
+     */
+    static <L, AP> WitnessTree<L, AP> computeWitnessOfSubformula(ContextFreeModalProcessSystem<L, AP> cfmps,
+                                                                 Map<L, AbstractDDSolver<?, L, AP>.WorkUnit<?, ?>> workUnits,
+                                                                 DependencyGraph<L, AP> dependencyGraph,
+                                                                 FormulaNode<L, AP> subformula,
+                                                                 BitSet initialContext) {
+
+        final TreeRecorder<L, AP> treeRecorder = new TreeRecorder<>();
         final WitnessTreeExtractor<L, AP> extractor =
-                new WitnessTreeExtractor<>(workUnits, dependencyGraph, initialContext);
+                new WitnessTreeExtractor<>(workUnits, dependencyGraph, initialContext, treeRecorder, true);
+        extractor.computeWitnessStep(cfmps, subformula);
+        return treeRecorder.wTree;
+    }
+
+    /**
+     * Computes the witness of the given formula without materializing the explored tableau as a {@link WitnessTree}.
+     * Only the parent relation of the explored tableau nodes is kept, and once a witness has been found, its symbols
+     * are passed to the given consumer (in order). Note that the witness path is only known at the end of the
+     * (breadth-first) exploration, so the symbols are not passed to the consumer incrementally.
+     *
+     * @return {@code true} if a witness has been found, {@code false} otherwise.
+     */
+    static <L, AP> boolean computeWitnessPath(ContextFreeModalProcessSystem<L, AP> cfmps,
+                                              Map<L, AbstractDDSolver<?, L, AP>.WorkUnit<?, ?>> workUnits,
+                                              DependencyGraph<L, AP> dependencyGraph,
+                                              FormulaNode<L, AP> formula,
+                                              BitSet initialContext,
+                                              Consumer<? super L> consumer) {
+
+        // assert that the formula equals the AST (in NNF) so that we can continue to use the AST for its set varNumbers
+        assert Objects.equals(dependencyGraph.getAST().toString(), formula.toString());
+
+        final WitnessTreeExtractor<L, AP> extractor = new WitnessTreeExtractor<>(workUnits,
+                                                                                 dependencyGraph,
+                                                                                 initialContext,
+                                                                                 new PathRecorder<>(consumer),
+                                                                                 false);
         return extractor.computeWitnessStep(cfmps, dependencyGraph.getAST());
     }
 
-    private WitnessTree<L, AP> computeWitnessStep(ContextFreeModalProcessSystem<L, AP> cfmps,
-                                                  FormulaNode<L, AP> formula) {
+    private boolean computeWitnessStep(ContextFreeModalProcessSystem<L, AP> cfmps, FormulaNode<L, AP> formula) {
 
         final Deque<WitnessTreeState<?, L, ?, AP>> queue = new ArrayDeque<>();
         final AbstractDDSolver<?, L, AP>.WorkUnit<?, ?> mainUnit = units.get(cfmps.getMainProcess());
@@ -92,23 +144,23 @@ final class WitnessTreeExtractor<L, AP> {
 
         while (!queue.isEmpty()) {
             final WitnessTreeState<?, L, ?, AP> queueElement = queue.pop();
-            final int currentNode = wTree.addNode(queueElement);
-
-            if (currentNode > 0) {
-                wTree.connect(queueElement.parentId, currentNode, queueElement.displayLabel);
-            }
+            currentNode = recorder.add(queueElement);
 
             final List<WitnessTreeState<?, L, ?, AP>> nextTreeStates = getNextTreeStates(queueElement);
 
             if (nextTreeStates.isEmpty()) {
-                wTree.computePath(currentNode);
-                break;
+                recorder.finish(currentNode);
+                return true;
             } else {
                 queue.addAll(nextTreeStates);
             }
         }
 
-        return wTree;
+        return false;
+    }
+
+    private String displayLabel(FormulaNode<L, AP> formula) {
+        return displayLabels ? formula.toString() : "";
     }
 
     private List<WitnessTreeState<?, L, ?, AP>> getNextTreeStates(WitnessTreeState<?, L, ?, AP> queueElement) {
@@ -149,9 +201,9 @@ final class WitnessTreeExtractor<L, AP> {
                                               queueElement.state,
                                               leftFormula,
                                               queueElement.context,
-                                              leftFormula.toString(),
+                                              displayLabel(leftFormula),
                                               null,
-                                              wTree.size() - 1));
+                                              currentNode));
         }
         if (queueElement.getSatisfiedSubformulae(dg, queueElement.state).get(rightFormula.getVarNumber())) {
             result.add(new WitnessTreeState<>(queueElement.stack,
@@ -159,9 +211,9 @@ final class WitnessTreeExtractor<L, AP> {
                                               queueElement.state,
                                               rightFormula,
                                               queueElement.context,
-                                              rightFormula.toString(),
+                                              displayLabel(rightFormula),
                                               null,
-                                              wTree.size() - 1));
+                                              currentNode));
         }
 
         return result;
@@ -198,7 +250,7 @@ final class WitnessTreeExtractor<L, AP> {
                                                                                        queueElement.context,
                                                                                        Objects.toString(label),
                                                                                        label,
-                                                                                       wTree.size() - 1);
+                                                                                       currentNode);
                     result.add(toAdd);
                 }
             } else {
@@ -244,7 +296,7 @@ final class WitnessTreeExtractor<L, AP> {
                                                                                        queueElement.context,
                                                                                        Objects.toString(label),
                                                                                        label,
-                                                                                       wTree.size() - 1);
+                                                                                       currentNode);
                     result.add(toAdd);
                 }
             } else {
@@ -287,7 +339,7 @@ final class WitnessTreeExtractor<L, AP> {
                                                                         finalFormulae,
                                                                         Objects.toString(label),
                                                                         null,
-                                                                        wTree.size() - 1);
+                                                                        currentNode);
 
         if (result.getSatisfiedSubformulae(dg, result.state).get(formula.getVarNumber())) {
             return result;
@@ -305,7 +357,7 @@ final class WitnessTreeExtractor<L, AP> {
                                       prev.context,
                                       "return",
                                       null,
-                                      wTree.size() - 1);
+                                      currentNode);
     }
 
     private <N, E> WitnessTreeState<?, L, ?, AP> getInitialTreeState(AbstractDDSolver<?, L, AP>.WorkUnit<N, E> unit,
@@ -314,4 +366,93 @@ final class WitnessTreeExtractor<L, AP> {
         final @NonNull N initialNode = unit.pmpg.getInitialNode();
         return new WitnessTreeState<>(null, unit, initialNode, formula, initialContext, "", null, -1);
     }
+
+    /**
+     * A sink for the explored tableau nodes.
+     */
+    private interface Recorder<L, AP> {
+
+        /**
+         * Adds the given state to the explored tableau and returns its id.
+         */
+        int add(WitnessTreeState<?, L, ?, AP> state);
+
+        /**
+         * Signals that the tableau node with the given id concludes the witness.
+         */
+        void finish(int node);
+    }
+
+    private static final class TreeRecorder<L, AP> implements Recorder<L, AP> {
+
+        private final WitnessTree<L, AP> wTree = new WitnessTree<>();
+
+        @Override
+        public int add(WitnessTreeState<?, L, ?, AP> state) {
+            final int node = wTree.addNode(state);
+
+            if (node > 0) {
+                wTree.connect(state.parentId, node, state.displayLabel);
+            }
+
+            return node;
+        }
+
+        @Override
+        public void finish(int node) {
+            wTree.computePath(node);
+        }
+    }
+
+    /**
+     * A recorder that only keeps the parent id and edge label of each explored tableau node.
+     */
+    private static final class PathRecorder<L, AP> implements Recorder<L, AP> {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final Consumer<? super L> consumer;
+        private final List<@Nullable L> edgeLabels;
+        private int[] parents;
+
+        PathRecorder(Consumer<? super L> consumer) {
+            this.consumer = consumer;
+            this.edgeLabels = new ArrayList<>();
+            this.parents = new int[INITIAL_CAPACITY];
+        }
+
+        @Override
+        public int add(WitnessTreeState<?, L, ?, AP> state) {
+            final int node = edgeLabels.size();
+
+            if (node == parents.length) {
+                parents = Arrays.copyOf(parents, node * 2);
+            }
+
+            parents[node] = state.parentId;
+            edgeLabels.add(state.edgeLabel);
+
+            return node;
+        }
+
+        @Override
+        public void finish(int node) {
+            int depth = 0;
+            for (int n = node; n >= 0; n = parents[n]) {
+                depth++;
+            }
+
+            final int[] path = new int[depth];
+            for (int n = node, i = depth - 1; n >= 0; n = parents[n], i--) {
+                path[i] = n;
+            }
+
+            for (int n : path) {
+                final L label = edgeLabels.get(n);
+                if (label != null) {
+                    consumer.accept(label);
+                }
+            }
+        }
+    }
 }
@@ -44,6 +44,57 @@ public class DependencyGraphTest {
 
     }
 
+    @Test
+    void testSubformulaSharing() throws ParseException {
+        String formula = "(<a>true || <b>\"p\") && [c](<a>true || <b>\"p\")";
+        FormulaNode<String, String> ast = M3CParser.parse(formula);
+
+        DependencyGraph<String, String> plain = new DependencyGraph<>(ast);
+        Assert.assertEquals(plain.getNumVariables(), 12);
+
+        DependencyGraph<String, String> shared = new DependencyGraph<>(ast, true);
+        Assert.assertEquals(shared.getNumVariables(), 7);
+        Assert.assertEquals(shared.getFormulaNodes().size(), shared.getNumVariables());
+        Assert.assertTrue(checkVarNumbering(shared.getFormulaNodes()));
+        Assert.assertEquals(1, shared.getBlocks().size());
+        Assert.assertEquals(7, shared.getBlocks().get(0).getNodes().size());
+        Assert.assertTrue(isMonotonicallyDecreasing(shared.getBlocks().get(0).getNodes()));
+
+        /* Both occurrences of the disjunction refer to the same variable */
+        final AndNode<String, String> and = (AndNode<String, String>) shared.getAST();
+        final BoxNode<String, String> box = (BoxNode<String, String>) and.getRightChild();
+        Assert.assertEquals(and.getLeftChild().getVarNumber(), box.getChild().getVarNumber());
+        Assert.assertEquals(((OrNode<String, String>) and.getLeftChild()).getRightChild().getVarNumber(),
+                            ((OrNode<String, String>) box.getChild()).getRightChild().getVarNumber());
+
+        /* Formulas are not modified */
+        Assert.assertEquals(shared.getAST().toString(), plain.getAST().toString());
+    }
+
+    @Test
+    void testSubformulaSharingAcrossBlocks() throws ParseException {
+        /* <a>true occurs in different blocks and therefore must not be shared */
+        String formula = "mu X.(<a>true || <>X) && nu Y.(<a>true && []Y)";
+        FormulaNode<String, String> ast = M3CParser.parse(formula);
+        DependencyGraph<String, String> dg = new DependencyGraph<>(ast, true);
+
+        Assert.assertEquals(dg.getNumVariables(), 9);
+        Assert.assertEquals(dg.getBlocks().size(), 2);
+        Assert.assertTrue(checkVarNumbering(dg.getFormulaNodes()));
+
+        /* <a>true occurs twice in the same (inner) block and therefore is shared */
+        formula = "nu Y.(mu X.((<a>true || <>X) && (<a>true || <b>X)) && []Y)";
+        ast = M3CParser.parse(formula);
+        dg = new DependencyGraph<>(ast, true);
+
+        Assert.assertEquals(dg.getNumVariables(), new DependencyGraph<>(ast).getNumVariables() - 2);
+        Assert.assertEquals(dg.getBlocks().size(), 2);
+        Assert.assertTrue(checkVarNumbering(dg.getFormulaNodes()));
+        for (EquationalBlock<String, String> block : dg.getBlocks()) {
+            Assert.assertTrue(isMonotonicallyDecreasing(block.getNodes()));
+        }
+    }
+
     private boolean checkVarNumbering(List<FormulaNode<String, String>> nodes) {
         int numVars = nodes.size();
         Set<Integer> vars = new HashSet<>();
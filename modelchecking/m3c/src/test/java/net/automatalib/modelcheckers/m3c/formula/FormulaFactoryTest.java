@@ -0,0 +1,89 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.m3c.formula;
+
+import net.automatalib.modelcheckers.m3c.formula.parser.M3CParser;
+import net.automatalib.modelcheckers.m3c.formula.parser.ParseException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class FormulaFactoryTest {
+
+    @Test
+    public void testHashConsing() throws ParseException {
+        final FormulaFactory<String, String> factory = new FormulaFactory<>();
+
+        final FormulaNode<String, String> f1 = factory.intern(M3CParser.parse("<a>\"p\" && [b]<a>\"p\""));
+        final FormulaNode<String, String> f2 = factory.intern(M3CParser.parse("<a>\"p\" && [b]<a>\"p\""));
+
+        Assert.assertSame(f1, f2);
+        Assert.assertSame(factory.intern(f1), f1);
+
+        final AndNode<String, String> and = (AndNode<String, String>) f1;
+        final BoxNode<String, String> box = (BoxNode<String, String>) and.getRightChild();
+        Assert.assertSame(and.getLeftChild(), box.getChild());
+
+        // and, box, diamond, atomic
+        Assert.assertEquals(factory.size(), 4);
+
+        Assert.assertSame(factory.and(factory.diamond("a", factory.atomic("p")), box), f1);
+        Assert.assertNotSame(factory.diamond("b", factory.atomic("p")), and.getLeftChild());
+        Assert.assertEquals(factory.size(), 5);
+    }
+
+    @Test
+    public void testNormalization() throws ParseException {
+        final FormulaFactory<String, String> factory = new FormulaFactory<>();
+
+        final FormulaNode<String, String> mu1 = factory.normalize(M3CParser.parse("mu X.(<a>X || \"p\")"));
+        final FormulaNode<String, String> mu2 = factory.normalize(M3CParser.parse("mu Y.(<a>Y || \"p\")"));
+        final FormulaNode<String, String> nested = factory.normalize(M3CParser.parse("nu Z.([b]Z && mu Y.(<a>Y || \"p\"))"));
+
+        Assert.assertSame(mu1, mu2);
+        Assert.assertTrue(factory.isClosed(mu1));
+        Assert.assertTrue(factory.isClosed(nested));
+        Assert.assertFalse(factory.isClosed(((AbstractUnaryFormulaNode<String, String>) mu1).getChild()));
+
+        // CTL formulas are normalized to their mu-calculus representation
+        final FormulaNode<String, String> ef1 = factory.normalize(M3CParser.parse("EF \"p\""));
+        final FormulaNode<String, String> ef2 = factory.normalize(M3CParser.parse("! AG ! \"p\""));
+        Assert.assertSame(ef1, ef2);
+
+        // negations are normalized as well
+        Assert.assertSame(factory.normalize(M3CParser.parse("!(<a>true || \"p\")")),
+                          factory.normalize(M3CParser.parse("[a]false && !\"p\"")));
+    }
+
+    @Test
+    public void testShadowing() throws ParseException {
+        final FormulaFactory<String, String> factory = new FormulaFactory<>();
+
+        // the parser rejects shadowed variables, so construct the formula manually
+        final FormulaNode<String, String> shadowed = factory.gfp("X",
+                                                                 factory.and(factory.box("a", factory.variable("X")),
+                                                                             factory.lfp("X",
+                                                                                         factory.or(factory.diamond("b",
+                                                                                                                    factory.variable(
+                                                                                                                            "X")),
+                                                                                                    factory.atomic("p")))));
+        final FormulaNode<String, String> f1 = factory.normalize(shadowed);
+        final FormulaNode<String, String> f2 = factory.normalize(M3CParser.parse("nu Y.([a]Y && mu Z.(<b>Z || \"p\"))"));
+        final FormulaNode<String, String> f3 = factory.normalize(M3CParser.parse("nu Y.([a]Y && mu Z.(<b>Y || \"p\"))"));
+
+        Assert.assertSame(f1, f2);
+        Assert.assertNotSame(f1, f3);
+    }
+}
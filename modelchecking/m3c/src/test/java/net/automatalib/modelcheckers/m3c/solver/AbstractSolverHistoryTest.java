@@ -15,6 +15,9 @@
  */
 package net.automatalib.modelcheckers.m3c.solver;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collections;
@@ -75,6 +78,59 @@ public abstract class AbstractSolverHistoryTest<T extends AbstractPropertyTransf
         testSolverHistory(history, solverData);
     }
 
+    @Test
+    public void testRecordedSolverHistory() throws ParseException, IOException {
+        final FormulaNode<String, String> formula = M3CParser.parse("mu X.(<b><b>true || <>X)");
+        final SolverHistory<T, String, String> history = getSolver().solveAndRecordHistory(formula);
+        final List<SolverState<?, T, String, String>> states = history.getSolverStates();
+
+        // record all steps
+        final RecordedSolverHistory recorded = recordHistory(formula, 1);
+
+        Assert.assertEquals(recorded.isSat(), history.isSat());
+        Assert.assertEquals(recorded.getNumberOfSteps(), states.size());
+        Assert.assertEquals(recorded.getSteps().size(), states.size());
+
+        for (int i = 0; i < states.size(); i++) {
+            final SolverState<?, T, String, String> state = states.get(i);
+            final RecordedSolverHistory.Step step = recorded.getSteps().get(i);
+
+            Assert.assertEquals(step.getIndex(), i);
+            Assert.assertEquals(step.getProcedure(), state.getUpdatedNodePMPG());
+            Assert.assertEquals(step.getNode(), state.getUpdatedNode().toString());
+            Assert.assertEquals(step.getCompositions(serializer).size(), state.getCompositions(serializer).size());
+            Assert.assertEquals(step.getSatisfiedVariables(),
+                                state.getUpdatedNodeSatisfiedSubformula()
+                                     .stream()
+                                     .map(FormulaNode::getVarNumber)
+                                     .collect(BitSet::new, BitSet::set, BitSet::or));
+            Assert.assertEquals(step.getWorkSet().size(),
+                                state.getWorkSet().get(cfmps.getMainProcess()).size());
+        }
+
+        // record only a sample of steps
+        final RecordedSolverHistory sampled = recordHistory(formula, 3);
+
+        Assert.assertEquals(sampled.isSat(), history.isSat());
+        Assert.assertEquals(sampled.getNumberOfSteps(), states.size());
+        Assert.assertEquals(sampled.getSteps().size(), (states.size() + 2) / 3);
+
+        for (int i = 0; i < sampled.getSteps().size(); i++) {
+            Assert.assertEquals(sampled.getSteps().get(i).getIndex(), i * 3);
+        }
+    }
+
+    private RecordedSolverHistory recordHistory(FormulaNode<String, String> formula, int samplingRate)
+            throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+        try (SolverHistoryRecorder recorder = new SolverHistoryRecorder(baos, samplingRate)) {
+            getSolver().solveAndRecordHistory(formula, recorder);
+        }
+
+        return SolverHistoryRecorder.read(new ByteArrayInputStream(baos.toByteArray()));
+    }
+
     private <N> void testSolverHistory(SolverHistory<T, String, String> history,
                                        SolverData<N, T, String, String> data) {
         final ProceduralModalProcessGraph<N, String, ?, String, ?> pmpg = data.getPmpg();
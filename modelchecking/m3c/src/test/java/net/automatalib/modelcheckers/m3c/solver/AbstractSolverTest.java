@@ -50,6 +50,17 @@ public abstract class AbstractSolverTest<T extends AbstractPropertyTransformer<T
         assertSolve(solver, formulaWithNegatedAP, true);
     }
 
+    @Test
+    void testSolveRepeatedFormulas() throws ParseException {
+        final M3CSolver<String> solver = getSolver(Examples.getCfmpsAnBn(Collections.emptySet()));
+
+        // re-uses the (cached) equational system of the first formula
+        assertSolve(solver, "mu X.(<b><b>true || <>X)", true);
+        assertSolve(solver, "mu X.(<b><b>true || <>X)", true);
+        assertSolve(solver, "mu Y.(<b><b>true || <>Y)", true);
+        assertSolve(solver, "!(mu Y.(<b><b>true || <>Y))", false);
+    }
+
     @Test
     void testSolveWithSingleAP() throws ParseException {
         final ContextFreeModalProcessSystem<String, String> cfmps = Examples.getCfmpsAnBn(Collections.singleton("a"));
@@ -0,0 +1,68 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.m3c.solver;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class SolverHistoryRecorderTest {
+
+    @Test
+    public void testDictionaryEviction() throws IOException {
+        final int numSteps = 3 * SolverHistoryRecorder.DICTIONARY_SIZE;
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+        try (SolverHistoryRecorder recorder = new SolverHistoryRecorder(baos)) {
+            for (int i = 0; i < numSteps; i++) {
+                Assert.assertTrue(recorder.nextStep());
+                recorder.recordStep("P", getNode(i), Collections.emptyList(), Collections.emptyList(), new BitSet(),
+                                    getWorkSet(i));
+            }
+            recorder.recordResult(true);
+        }
+
+        final RecordedSolverHistory history = SolverHistoryRecorder.read(new ByteArrayInputStream(baos.toByteArray()));
+        final List<RecordedSolverHistory.Step> steps = history.getSteps();
+
+        Assert.assertTrue(history.isSat());
+        Assert.assertEquals(steps.size(), numSteps);
+
+        for (int i = 0; i < numSteps; i++) {
+            final RecordedSolverHistory.Step step = steps.get(i);
+            Assert.assertEquals(step.getIndex(), i);
+            Assert.assertEquals(step.getProcedure(), "P");
+            Assert.assertEquals(step.getNode(), getNode(i));
+            Assert.assertEquals(step.getWorkSet(), getWorkSet(i));
+        }
+    }
+
+    private static String getNode(int step) {
+        // more distinct strings than fit into the dictionary, which are re-used after eviction
+        return "n" + step % (2 * SolverHistoryRecorder.DICTIONARY_SIZE);
+    }
+
+    private static List<String> getWorkSet(int step) {
+        return Arrays.asList(getNode(step * 7), getNode(step + 1), "P");
+    }
+}
@@ -19,7 +19,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import javax.xml.parsers.ParserConfigurationException;
 
@@ -36,6 +39,7 @@ import net.automatalib.modelcheckers.m3c.visualization.HTMLVisualizationHelper;
 import net.automatalib.modelcheckers.m3c.visualization.NodeVisualizationHelper;
 import net.automatalib.serialization.dot.GraphDOT;
 import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -75,6 +79,24 @@ public class WitnessExtractorTest {
         Assert.assertEquals(tree.getWitness(), expectedWitness);
     }
 
+    @Test(dataProvider = "formulasOnAnCBn")
+    public void checkStreamingOnAnCBn(String formula, Word<String> expectedWitness)
+            throws IOException, ParserConfigurationException, SAXException, ParseException {
+
+        final ContextFreeModalProcessSystem<String, Void> cfmps = parseCFMPS("/cfmps/witness/an_c_bn.xml");
+        final BDDSolver<String, Void> m3c = new BDDSolver<>(cfmps);
+
+        final FormulaNode<String, Void> f = M3CParser.parse(formula, l -> l, ap -> null);
+        final WordBuilder<String> witness = new WordBuilder<>();
+
+        Assert.assertTrue(m3c.findCounterExamplePath(cfmps, Collections.emptyList(), new NotNode<>(f), witness::add));
+        Assert.assertEquals(witness.toWord(), expectedWitness);
+
+        // no counterexample
+        final FormulaNode<String, Void> t = M3CParser.parse("true", l -> l, ap -> null);
+        Assert.assertFalse(m3c.findCounterExamplePath(cfmps, Collections.emptyList(), t, witness::add));
+    }
+
     @Test
     public void checkPalindrome() throws ParseException, IOException, ParserConfigurationException, SAXException {
 
@@ -140,6 +162,40 @@ public class WitnessExtractorTest {
         Assert.assertNull(t4);
     }
 
+    @DataProvider
+    public static Object[][] sharing() {
+        return new Object[][] {{false}, {true}};
+    }
+
+    @Test(dataProvider = "sharing")
+    public void checkBatchOnAnCBn(boolean shareSubformulas)
+            throws ParseException, IOException, ParserConfigurationException, SAXException {
+
+        final ContextFreeModalProcessSystem<String, Void> cfmps = parseCFMPS("/cfmps/witness/an_c_bn.xml");
+        final BDDSolver<String, Void> m3c = new BDDSolver<>(cfmps, shareSubformulas);
+
+        final Object[][] data = formulasOnAnCBn();
+        final List<FormulaNode<String, Void>> formulas = new ArrayList<>(data.length + 1);
+
+        for (Object[] d : data) {
+            formulas.add(new NotNode<>(M3CParser.parse((String) d[0], l -> l, ap -> null)));
+        }
+
+        // a formula without counterexample
+        formulas.add(M3CParser.parse("true", l -> l, ap -> null));
+
+        final Map<FormulaNode<String, Void>, WitnessTree<String, Void>> result =
+                m3c.findCounterExamples(cfmps, Collections.emptyList(), formulas);
+
+        Assert.assertEquals(result.size(), data.length);
+
+        for (int i = 0; i < data.length; i++) {
+            final WitnessTree<String, Void> tree = result.get(formulas.get(i));
+            Assert.assertNotNull(tree);
+            Assert.assertEquals(tree.getWitness(), data[i][1]);
+        }
+    }
+
     private ContextFreeModalProcessSystem<String, Void> parseCFMPS(String name)
             throws IOException, ParserConfigurationException, SAXException {
         try (InputStream is = WitnessExtractorTest.class.getResourceAsStream(name)) {
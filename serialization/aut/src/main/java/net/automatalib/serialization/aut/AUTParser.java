@@ -15,11 +15,13 @@
  */
 package net.automatalib.serialization.aut;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.function.Function;
 
 import net.automatalib.automata.simple.SimpleAutomaton;
+import net.automatalib.commons.util.IOUtil;
 import net.automatalib.serialization.InputModelData;
 
 /**
@@ -44,4 +46,43 @@ public final class AUTParser {
         return new InternalAUTParser(is).parse(inputTransformer);
     }
 
+    public static InputModelData<String, SimpleAutomaton<Integer, String>> readAutomaton(File file)
+            throws IOException {
+        return readAutomaton(file, Function.identity());
+    }
+
+    /**
+     * Reads an automaton from the given file. In contrast to {@link #readAutomaton(InputStream, Function)}, the file is
+     * memory-mapped and its transitions are parsed concurrently, which allows to efficiently read (very) large files.
+     * Compressed files are read sequentially.
+     *
+     * @param file
+     *         the file to read
+     * @param inputTransformer
+     *         the transformer to convert the labels of the file to input symbols
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the parsed automaton
+     *
+     * @throws IOException
+     *         if reading the file fails
+     */
+    public static <I> InputModelData<I, SimpleAutomaton<Integer, I>> readAutomaton(File file,
+                                                                                   Function<String, I> inputTransformer)
+            throws IOException {
+        if (isGZIPCompressed(file)) {
+            try (InputStream is = IOUtil.asBufferedInputStream(file)) {
+                return readAutomaton(is, inputTransformer);
+            }
+        }
+        return ParallelAUTParser.parse(file, inputTransformer);
+    }
+
+    static boolean isGZIPCompressed(File file) throws IOException {
+        try (InputStream is = IOUtil.asBufferedInputStream(file)) {
+            return is.read() == 0x1f && is.read() == 0x8b;
+        }
+    }
+
 }
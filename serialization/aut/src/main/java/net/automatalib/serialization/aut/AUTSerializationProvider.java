@@ -15,6 +15,7 @@
  */
 package net.automatalib.serialization.aut;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -51,4 +52,10 @@ public final class AUTSerializationProvider implements SimpleAutomatonSerializat
             throws IOException {
         return AUTParser.readAutomaton(is, inputTransformer);
     }
+
+    @Override
+    public <I2> InputModelData<I2, SimpleAutomaton<Integer, I2>> readModel(File f, Function<String, I2> inputTransformer)
+            throws IOException {
+        return AUTParser.readAutomaton(f, inputTransformer);
+    }
 }
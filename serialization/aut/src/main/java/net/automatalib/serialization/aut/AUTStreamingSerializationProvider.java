@@ -0,0 +1,109 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.aut;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.automata.simple.SimpleAutomaton;
+import net.automatalib.commons.util.IOUtil;
+import net.automatalib.serialization.InputModelData;
+import net.automatalib.serialization.streaming.AutomatonVisitor;
+import net.automatalib.serialization.streaming.AutomatonWriter;
+import net.automatalib.serialization.streaming.StreamingModelDeserializer;
+import net.automatalib.serialization.streaming.StreamingModelSerializer;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A streaming (de-)serializer for automata in the AUT format, which allows to process AUT files whose automata do not
+ * fit into memory.
+ * <p>
+ * In contrast to the {@link AUTSerializationProvider}, this provider works on the plain (string) labels of the file.
+ * Since the AUT format does not specify state properties, states are reported as non-accepting (like the states of the
+ * {@link net.automatalib.automata.fsa.impl.compact.CompactNFA} returned by {@link AUTParser}) and state properties
+ * are ignored when writing. This allows to directly stream AUT files into (and from) NFAs.
+ */
+public final class AUTStreamingSerializationProvider
+        implements StreamingModelDeserializer<String, Boolean, @Nullable Void>,
+                   StreamingModelSerializer<String, Boolean, @Nullable Void> {
+
+    private static final AUTStreamingSerializationProvider INSTANCE = new AUTStreamingSerializationProvider();
+
+    private AUTStreamingSerializationProvider() {
+        // prevent instantiation
+    }
+
+    public static AUTStreamingSerializationProvider getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Reads the automaton stored in the given file and reports it to the given visitor. The file is read twice, see
+     * {@link AUTParser#readAutomaton(File, java.util.function.Function)} for details on how the file is processed.
+     * Transitions are reported in the order of the file. Compressed files are parsed into memory first.
+     */
+    @Override
+    public void readModel(File f, AutomatonVisitor<String, Boolean, @Nullable Void> visitor)
+            throws IOException {
+        if (AUTParser.isGZIPCompressed(f)) {
+            try (InputStream is = IOUtil.asBufferedInputStream(f)) {
+                final InputModelData<String, SimpleAutomaton<Integer, String>> model = AUTParser.readAutomaton(is);
+                visit(model.model, model.alphabet, visitor);
+            }
+        } else {
+            ParallelAUTParser.stream(f, visitor);
+        }
+    }
+
+    /**
+     * Returns a writer that writes the visited automaton in the AUT format. Transitions may be visited in any order,
+     * but exactly one state needs to be visited as initial.
+     */
+    @Override
+    public AutomatonWriter<String, Boolean, @Nullable Void> createWriter(File f) throws IOException {
+        return new AUTStreamingWriter(f);
+    }
+
+    private static <S> void visit(SimpleAutomaton<S, String> automaton,
+                                  Alphabet<String> alphabet,
+                                  AutomatonVisitor<String, Boolean, @Nullable Void> visitor)
+            throws IOException {
+        final int numStates = automaton.size();
+        final StateIDs<S> ids = automaton.stateIDs();
+        final Set<S> initials = automaton.getInitialStates();
+
+        visitor.begin(alphabet, numStates);
+
+        for (int i = 0; i < numStates; i++) {
+            visitor.visitState(i, initials.contains(ids.getState(i)), Boolean.FALSE);
+        }
+
+        for (int i = 0; i < numStates; i++) {
+            final S state = ids.getState(i);
+            for (String input : alphabet) {
+                for (S succ : automaton.getSuccessors(state, input)) {
+                    visitor.visitTransition(i, input, ids.getStateId(succ), null);
+                }
+            }
+        }
+
+        visitor.end();
+    }
+}
@@ -0,0 +1,143 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.aut;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+import net.automatalib.serialization.streaming.AutomatonWriter;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A streaming writer for automata in the AUT format. Transitions are written as they are visited, so transitions may
+ * be visited in any order. Since the number of transitions is only known after all transitions have been visited, the
+ * writer reserves space for it in the header and patches the header once the visitation has finished.
+ */
+final class AUTStreamingWriter implements AutomatonWriter<String, Boolean, @Nullable Void> {
+
+    /**
+     * The number of characters reserved for the number of transitions (i.e. the length of {@link Long#MAX_VALUE}).
+     */
+    private static final int COUNT_WIDTH = 19;
+
+    private final FileChannel channel;
+    private final Writer writer;
+
+    private int numStates;
+    private int initialState;
+
+    private boolean headerWritten;
+    private long countOffset;
+    private long numTransitions;
+    private boolean closed;
+
+    AUTStreamingWriter(File file) throws IOException {
+        this.channel = FileChannel.open(file.toPath(),
+                                        StandardOpenOption.CREATE,
+                                        StandardOpenOption.WRITE,
+                                        StandardOpenOption.TRUNCATE_EXISTING);
+        this.writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel),
+                                                                StandardCharsets.UTF_8));
+        this.initialState = -1;
+    }
+
+    @Override
+    public void begin(Alphabet<String> alphabet, int numStates) {
+        this.numStates = numStates;
+    }
+
+    @Override
+    public void visitState(int state, boolean initial, Boolean property) {
+        if (headerWritten) {
+            throw new IllegalStateException("States need to be visited before transitions");
+        }
+        if (initial) {
+            if (initialState >= 0) {
+                throw new IllegalArgumentException("Automaton needs to exactly specify a single initial state");
+            }
+            initialState = state;
+        }
+    }
+
+    @Override
+    public void visitTransition(int source, String input, int target, @Nullable Void property) throws IOException {
+        writeHeaderIfNecessary();
+
+        writer.append('(');
+        writer.append(Integer.toString(source));
+        writer.append(", \"");
+        writer.append(input);
+        writer.append("\", ");
+        writer.append(Integer.toString(target));
+        writer.append(')');
+        writer.append(System.lineSeparator());
+
+        numTransitions++;
+    }
+
+    @Override
+    public void end() throws IOException {
+        writeHeaderIfNecessary();
+        writer.flush();
+
+        final String count = Long.toString(numTransitions);
+        channel.write(ByteBuffer.wrap(count.getBytes(StandardCharsets.US_ASCII)), countOffset);
+
+        close();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            writer.close();
+        }
+    }
+
+    private void writeHeaderIfNecessary() throws IOException {
+        if (headerWritten) {
+            return;
+        }
+
+        if (initialState < 0) {
+            throw new IllegalArgumentException("Automaton needs to exactly specify a single initial state");
+        }
+
+        final String prefix = "des (" + initialState + ", ";
+        countOffset = prefix.length();
+
+        writer.append(prefix);
+        // placeholder for the number of transitions, the parsers skip the trailing whitespace of a number
+        for (int i = 0; i < COUNT_WIDTH; i++) {
+            writer.append(' ');
+        }
+        writer.append(", ");
+        writer.append(Integer.toString(numStates));
+        writer.append(')');
+        writer.append(System.lineSeparator());
+
+        headerWritten = true;
+    }
+}
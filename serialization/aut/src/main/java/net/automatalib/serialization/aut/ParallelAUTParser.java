@@ -0,0 +1,668 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.aut;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.automata.simple.SimpleAutomaton;
+import net.automatalib.serialization.InputModelData;
+import net.automatalib.serialization.streaming.AutomatonVisitor;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A parser for (large) AUT files that parses the transitions of a file concurrently. The file is memory-mapped and
+ * split into chunks at line boundaries. Each chunk is parsed into a primitive transition buffer on a worker thread,
+ * where labels are replaced by (chunk-local) identifiers, so that only a single {@link String} is created per distinct
+ * label and chunk. Afterwards, the automaton is assembled in a single sequential pass.
+ * <p>
+ * The parser accepts the same syntax as {@link InternalAUTParser} and constructs the same automaton, with the
+ * exception that unquoted labels are parsed on the byte-level, i.e. all non-ASCII characters are considered valid
+ * identifier characters.
+ */
+final class ParallelAUTParser {
+
+    /**
+     * The default (minimal) size of a chunk in bytes.
+     */
+    private static final int CHUNK_SIZE = 1 << 23;
+    private static final int BOUNDARY_BUFFER_SIZE = 1 << 12;
+
+    private ParallelAUTParser() {
+        // prevent instantiation
+    }
+
+    static <I> InputModelData<I, SimpleAutomaton<Integer, I>> parse(File file, Function<String, I> inputTransformer)
+            throws IOException {
+        return parse(file, inputTransformer, CHUNK_SIZE);
+    }
+
+    static <I> InputModelData<I, SimpleAutomaton<Integer, I>> parse(File file,
+                                                                    Function<String, I> inputTransformer,
+                                                                    int chunkSize) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+
+            final long size = channel.size();
+            final long headerEnd = findLineEnd(channel, 0, size);
+            final long[] boundaries = computeChunkBoundaries(channel, Math.min(size, headerEnd + 1), size, chunkSize);
+
+            final LineCursor header = new LineCursor(map(channel, 0, headerEnd), new LabelTable());
+            header.parseHeader();
+
+            final Chunk[] chunks;
+            try {
+                chunks = IntStream.range(0, boundaries.length - 1)
+                                  .parallel()
+                                  .mapToObj(i -> parseChunk(channel, boundaries[i], boundaries[i + 1]))
+                                  .toArray(Chunk[]::new);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            return assemble(header.initialState, header.numStates, chunks, inputTransformer);
+        }
+    }
+
+    /**
+     * Reports the automaton stored in the given file to the given visitor. The file is read twice: a first
+     * (concurrent) pass only collects the labels of the file, a second (sequential) pass reports the transitions chunk
+     * by chunk. Hence, at most a single chunk of transitions is held in memory at any time.
+     * <p>
+     * Note that, in contrast to {@link #parse(File, Function)}, transitions are reported in the order of the file
+     * without any post-processing, i.e. duplicate transitions and transitions that override previous ones (for the same
+     * source state and label) are reported as well.
+     */
+    static void stream(File file, AutomatonVisitor<String, Boolean, @Nullable Void> visitor)
+            throws IOException {
+        stream(file, visitor, CHUNK_SIZE);
+    }
+
+    static void stream(File file, AutomatonVisitor<String, Boolean, @Nullable Void> visitor, int chunkSize)
+            throws IOException {
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+
+            final long size = channel.size();
+            final long headerEnd = findLineEnd(channel, 0, size);
+            final long[] boundaries = computeChunkBoundaries(channel, Math.min(size, headerEnd + 1), size, chunkSize);
+
+            final LineCursor header = new LineCursor(map(channel, 0, headerEnd), new LabelTable());
+            header.parseHeader();
+
+            final Chunk[] chunks;
+            try {
+                // only keep the labels of the first pass
+                chunks = IntStream.range(0, boundaries.length - 1)
+                                  .parallel()
+                                  .mapToObj(i -> parseChunk(channel, boundaries[i], boundaries[i + 1]))
+                                  .map(Chunk::withoutTransitions)
+                                  .toArray(Chunk[]::new);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            final LabelTable globalLabels = new LabelTable();
+            final int[][] localToGlobal = mergeLabels(chunks, globalLabels);
+
+            final List<String> symbols = new ArrayList<>(globalLabels.size());
+            for (int i = 0; i < globalLabels.size(); i++) {
+                symbols.add(globalLabels.getLabel(i));
+            }
+
+            final int numStates = header.numStates;
+            final int initialState = checkState(header.initialState, numStates);
+
+            visitor.begin(Alphabets.fromCollection(symbols), numStates);
+
+            for (int i = 0; i < numStates; i++) {
+                visitor.visitState(i, i == initialState, Boolean.FALSE);
+            }
+
+            for (int i = 0; i < chunks.length; i++) {
+                final Chunk chunk;
+                try {
+                    chunk = parseChunk(channel, boundaries[i], boundaries[i + 1]);
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+
+                final int[] transitions = chunk.transitions;
+                final int[] mapping = localToGlobal[i];
+
+                for (int j = 0; j < chunk.numTransitions * 3; j += 3) {
+                    final int src = checkState(transitions[j], numStates);
+                    final String input = symbols.get(mapping[transitions[j + 1]]);
+                    final int dest = checkState(transitions[j + 2], numStates);
+
+                    visitor.visitTransition(src, input, dest, null);
+                }
+            }
+
+            visitor.end();
+        }
+    }
+
+    private static <I> InputModelData<I, SimpleAutomaton<Integer, I>> assemble(int initialState,
+                                                                               int numStates,
+                                                                               Chunk[] chunks,
+                                                                               Function<String, I> inputTransformer) {
+
+        final LabelTable globalLabels = new LabelTable();
+        final int[][] localToGlobal = mergeLabels(chunks, globalLabels);
+
+        final List<I> symbols = new ArrayList<>(globalLabels.size());
+        for (int i = 0; i < globalLabels.size(); i++) {
+            symbols.add(inputTransformer.apply(globalLabels.getLabel(i)));
+        }
+
+        final Alphabet<I> alphabet = Alphabets.fromCollection(symbols);
+        final int[] globalToInput = new int[symbols.size()];
+        for (int i = 0; i < globalToInput.length; i++) {
+            globalToInput[i] = alphabet.getSymbolIndex(symbols.get(i));
+        }
+
+        final CompactNFA<I> result = new CompactNFA<>(alphabet, numStates);
+
+        for (int i = 0; i < numStates; i++) {
+            result.addState();
+        }
+
+        for (int i = 0; i < chunks.length; i++) {
+            final int[] transitions = chunks[i].transitions;
+            final int[] mapping = localToGlobal[i];
+
+            for (int j = 0; j < chunks[i].numTransitions * 3; j += 3) {
+                final int src = checkState(transitions[j], numStates);
+                final int input = globalToInput[mapping[transitions[j + 1]]];
+                final int dest = checkState(transitions[j + 2], numStates);
+
+                // a later transition for the same source and label overrides a previous one (like InternalAUTParser)
+                result.removeAllTransitions(src, input);
+                result.addTransition(src, input, dest);
+            }
+        }
+
+        result.setInitial(checkState(initialState, numStates), true);
+
+        return new InputModelData<>(result, alphabet);
+    }
+
+    /**
+     * Merges the chunk-local labels into the given global dictionary.
+     *
+     * @return the mapping of chunk-local label identifiers to global label identifiers for each chunk
+     */
+    private static int[][] mergeLabels(Chunk[] chunks, LabelTable globalLabels) {
+        final int[][] localToGlobal = new int[chunks.length][];
+        int linesBefore = 0;
+
+        for (int i = 0; i < chunks.length; i++) {
+            final Chunk chunk = chunks[i];
+
+            if (chunk.error != null) {
+                throw new IllegalArgumentException("In line " + (linesBefore + chunk.errorLine + 1) + ", col " +
+                                                   chunk.errorCol + ": " + chunk.error);
+            }
+
+            final LabelTable labels = chunk.labels;
+            final int[] mapping = new int[labels.size()];
+            for (int j = 0; j < mapping.length; j++) {
+                mapping[j] = globalLabels.intern(labels.getLabel(j));
+            }
+            localToGlobal[i] = mapping;
+            linesBefore += chunk.numLines;
+        }
+
+        return localToGlobal;
+    }
+
+    private static int checkState(int state, int numStates) {
+        if (state >= numStates) {
+            throw new IllegalArgumentException("Invalid state: " + state);
+        }
+        return state;
+    }
+
+    private static Chunk parseChunk(FileChannel channel, long start, long end) {
+        final LineCursor cursor;
+
+        try {
+            cursor = new LineCursor(map(channel, start, end), new LabelTable());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return cursor.parseTransitions();
+    }
+
+    private static ByteBuffer map(FileChannel channel, long start, long end) throws IOException {
+        return channel.map(MapMode.READ_ONLY, start, end - start);
+    }
+
+    /**
+     * Splits the given range of the file into chunks of at least {@code chunkSize} bytes that end at line boundaries.
+     */
+    private static long[] computeChunkBoundaries(FileChannel channel, long start, long end, int chunkSize)
+            throws IOException {
+        final List<Long> boundaries = new ArrayList<>();
+        long pos = start;
+
+        boundaries.add(pos);
+
+        while (pos < end) {
+            final long lineEnd = findLineEnd(channel, Math.min(end, pos + chunkSize), end);
+            pos = Math.min(end, lineEnd + 1);
+            boundaries.add(pos);
+        }
+
+        final long[] result = new long[boundaries.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = boundaries.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the position of the first line feed at or after the given position, or {@code end} if there is none.
+     */
+    private static long findLineEnd(FileChannel channel, long start, long end) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_BUFFER_SIZE);
+        long pos = start;
+
+        while (pos < end) {
+            buffer.clear();
+            final int read = channel.read(buffer, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return pos + i;
+                }
+            }
+            pos += read;
+        }
+
+        return end;
+    }
+
+    /**
+     * The parsed contents of a chunk.
+     */
+    private static final class Chunk {
+
+        private final LabelTable labels;
+        private final int[] transitions;
+        private final int numTransitions;
+        private final int numLines;
+
+        private final @Nullable String error;
+        private final int errorLine;
+        private final int errorCol;
+
+        Chunk(LabelTable labels,
+              int[] transitions,
+              int numTransitions,
+              int numLines,
+              @Nullable String error,
+              int errorLine,
+              int errorCol) {
+            this.labels = labels;
+            this.transitions = transitions;
+            this.numTransitions = numTransitions;
+            this.numLines = numLines;
+            this.error = error;
+            this.errorLine = errorLine;
+            this.errorCol = errorCol;
+        }
+
+        /**
+         * Returns a copy of this chunk that only retains its labels and (error) metadata.
+         */
+        Chunk withoutTransitions() {
+            return new Chunk(labels, new int[0], 0, numLines, error, errorLine, errorCol);
+        }
+    }
+
+    /**
+     * A byte-level equivalent of the parsing routines of {@link InternalAUTParser}.
+     */
+    private static final class LineCursor {
+
+        private final ByteBuffer buffer;
+        private final LabelTable labels;
+
+        private int lineStart;
+        private int lineEnd;
+        private int pos;
+
+        private int initialState;
+        private int numStates;
+
+        LineCursor(ByteBuffer buffer, LabelTable labels) {
+            this.buffer = buffer;
+            this.labels = labels;
+        }
+
+        void parseHeader() {
+            lineStart = 0;
+            lineEnd = buffer.limit();
+            pos = 0;
+
+            try {
+                shiftToNextNonWhitespace();
+                if (pos >= lineEnd) {
+                    throw new ParseException("Missing description");
+                }
+                verifyDesAndShift();
+                verifySymbolAndShift('(');
+                initialState = parseNumberAndShift();
+                verifySymbolAndShift(',');
+                parseNumberAndShift(); // ignore number of transitions
+                verifySymbolAndShift(',');
+                numStates = parseNumberAndShift(); // store number of states
+                if (numStates < 1) {
+                    throw new IllegalArgumentException("Number of states must be >= 1");
+                }
+                verifySymbolAndShift(')');
+            } catch (ParseException pe) {
+                throw new IllegalArgumentException("In line 0, col " + (pos - lineStart) + ": " + pe.getMessage(),
+                                                   pe);
+            }
+        }
+
+        Chunk parseTransitions() {
+            final int limit = buffer.limit();
+            int[] transitions = new int[3 * 1024];
+            int numTransitions = 0;
+            int numLines = 0;
+
+            lineStart = 0;
+
+            while (lineStart < limit) {
+                lineEnd = lineStart;
+                while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                pos = lineStart;
+
+                if (3 * numTransitions + 3 > transitions.length) {
+                    transitions = Arrays.copyOf(transitions, transitions.length * 2);
+                }
+
+                try {
+                    shiftToNextNonWhitespace();
+                    verifySymbolAndShift('(');
+                    transitions[3 * numTransitions] = parseNumberAndShift();
+                    verifySymbolAndShift(',');
+                    transitions[3 * numTransitions + 1] = parseLabelAndShift();
+                    verifySymbolAndShift(',');
+                    transitions[3 * numTransitions + 2] = parseNumberAndShift();
+                    verifySymbolAndShift(')');
+                } catch (ParseException pe) {
+                    return new Chunk(labels,
+                                     transitions,
+                                     numTransitions,
+                                     numLines,
+                                     pe.getMessage(),
+                                     numLines,
+                                     pos - lineStart);
+                }
+
+                numTransitions++;
+                numLines++;
+                lineStart = lineEnd + 1;
+            }
+
+            return new Chunk(labels, transitions, numTransitions, numLines, null, 0, 0);
+        }
+
+        private void verifyDesAndShift() {
+            if (pos + 3 > lineEnd || buffer.get(pos) != 'd' || buffer.get(pos + 1) != 'e' ||
+                buffer.get(pos + 2) != 's') {
+                throw new ParseException("Missing 'des' keyword");
+            }
+
+            pos += 3;
+            shiftToNextNonWhitespace();
+        }
+
+        private void verifySymbolAndShift(char symbol) {
+            if (pos >= lineEnd || buffer.get(pos) != symbol) {
+                throw new ParseException("Expected: " + symbol);
+            }
+
+            pos++;
+            shiftToNextNonWhitespace();
+        }
+
+        private void shiftToNextNonWhitespace() {
+            while (pos < lineEnd) {
+                switch (buffer.get(pos)) {
+                    case ' ':
+                    case '\t':
+                    case '\r':
+                        pos++;
+                        break;
+                    default:
+                        return;
+                }
+            }
+        }
+
+        private int parseNumberAndShift() {
+            final int start = pos;
+            long result = 0;
+
+            while (pos < lineEnd && isDigit(buffer.get(pos))) {
+                result = result * 10 + buffer.get(pos) - '0';
+                if (result > Integer.MAX_VALUE) {
+                    throw new ParseException("Number too large");
+                }
+                pos++;
+            }
+
+            if (pos == start) {
+                throw new ParseException("Expected a positive number");
+            }
+
+            shiftToNextNonWhitespace();
+            return (int) result;
+        }
+
+        private int parseLabelAndShift() {
+            if (pos < lineEnd && buffer.get(pos) == '"') {
+                return parseQuotedLabelAndShift();
+            } else {
+                return parseNormalLabelAndShift();
+            }
+        }
+
+        private int parseQuotedLabelAndShift() {
+            final int openingIndex = pos;
+            int closingIndex = lineEnd - 1;
+
+            // find terminating "
+            while (buffer.get(closingIndex) != '"') {
+                closingIndex--;
+            }
+
+            if (closingIndex == openingIndex) {
+                throw new ParseException("Unterminated quoted label");
+            }
+
+            pos = closingIndex + 1;
+            shiftToNextNonWhitespace();
+
+            return labels.intern(buffer, openingIndex + 1, closingIndex);
+        }
+
+        private int parseNormalLabelAndShift() {
+            if (pos >= lineEnd) {
+                throw new ParseException("Invalid unquoted label");
+            }
+
+            final byte firstByte = buffer.get(pos);
+
+            if (firstByte == '*') {
+                final int startIdx = pos++;
+                shiftToNextNonWhitespace();
+                return labels.intern(buffer, startIdx, startIdx + 1);
+            } else if (isLetter(firstByte)) {
+                final int startIdx = pos;
+
+                while (pos < lineEnd && isValidIdentifier(buffer.get(pos))) {
+                    pos++;
+                }
+
+                final int endIdx = pos;
+
+                shiftToNextNonWhitespace();
+                return labels.intern(buffer, startIdx, endIdx);
+            } else {
+                throw new ParseException("Invalid unquoted label");
+            }
+        }
+
+        private static boolean isDigit(byte b) {
+            return b >= '0' && b <= '9';
+        }
+
+        private static boolean isLetter(byte b) {
+            // treat all non-ASCII bytes (i.e. parts of multi-byte UTF-8 sequences) as letters
+            return b < 0 || (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z');
+        }
+
+        private static boolean isValidIdentifier(byte b) {
+            return isLetter(b) || isDigit(b) || b == '_';
+        }
+    }
+
+    /**
+     * A dictionary of labels that assigns consecutive identifiers to labels in order of their first occurrence. Labels
+     * can be looked up by their UTF-8 encoded bytes without creating a {@link String}.
+     */
+    private static final class LabelTable {
+
+        private static final int INITIAL_CAPACITY = 64;
+
+        private final List<String> labels = new ArrayList<>();
+        private final List<byte[]> keys = new ArrayList<>();
+        private int[] table = new int[INITIAL_CAPACITY]; // stores id + 1, 0 denotes an empty slot
+
+        int size() {
+            return labels.size();
+        }
+
+        String getLabel(int id) {
+            return labels.get(id);
+        }
+
+        int intern(String label) {
+            final byte[] bytes = label.getBytes(StandardCharsets.UTF_8);
+            return intern(ByteBuffer.wrap(bytes), 0, bytes.length);
+        }
+
+        int intern(ByteBuffer buffer, int from, int to) {
+            int hash = 1;
+            for (int i = from; i < to; i++) {
+                hash = 31 * hash + buffer.get(i);
+            }
+
+            final int mask = table.length - 1;
+            int slot = mix(hash) & mask;
+
+            while (table[slot] != 0) {
+                final int id = table[slot] - 1;
+                if (matches(keys.get(id), buffer, from, to)) {
+                    return id;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            final byte[] key = new byte[to - from];
+            for (int i = 0; i < key.length; i++) {
+                key[i] = buffer.get(from + i);
+            }
+
+            final int id = labels.size();
+            keys.add(key);
+            labels.add(new String(key, StandardCharsets.UTF_8));
+            table[slot] = id + 1;
+
+            if (2 * labels.size() > table.length) {
+                rehash();
+            }
+
+            return id;
+        }
+
+        private void rehash() {
+            table = new int[table.length * 2];
+            final int mask = table.length - 1;
+
+            for (int id = 0; id < keys.size(); id++) {
+                final byte[] key = keys.get(id);
+                int slot = mix(Arrays.hashCode(key)) & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = id + 1;
+            }
+        }
+
+        private static boolean matches(byte[] key, ByteBuffer buffer, int from, int to) {
+            if (key.length != to - from) {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++) {
+                if (key[i] != buffer.get(from + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int mix(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    /**
+     * Signals a syntax error within a line. Line and column information is added by the caller.
+     */
+    private static final class ParseException extends RuntimeException {
+
+        ParseException(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
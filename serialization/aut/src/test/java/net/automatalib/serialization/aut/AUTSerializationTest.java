@@ -17,20 +17,30 @@ package net.automatalib.serialization.aut;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Objects;
 import java.util.Random;
 import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 import com.google.common.io.ByteStreams;
 import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.fsa.NFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
 import net.automatalib.automata.simple.SimpleAutomaton;
 import net.automatalib.commons.util.io.UnclosableInputStream;
 import net.automatalib.commons.util.io.UnclosableOutputStream;
+import net.automatalib.serialization.streaming.AutomatonVisitors;
+import net.automatalib.serialization.streaming.MutableAutomatonVisitor;
+import net.automatalib.util.automata.Automata;
 import net.automatalib.util.automata.random.RandomAutomata;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.impl.Alphabets;
@@ -103,6 +113,151 @@ public class AUTSerializationTest {
         equalityTest(automaton, deserialized, alphabet);
     }
 
+    @Test
+    public void parallelParserTest() throws Exception {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final CompactDFA<Integer> automaton = RandomAutomata.randomDFA(new Random(0), 100, alphabet);
+        final File file = File.createTempFile("automatalib", ".aut");
+
+        try {
+            try (OutputStream os = Files.newOutputStream(file.toPath())) {
+                AUTWriter.writeAutomaton(automaton, alphabet, os);
+            }
+
+            // use tiny chunks to split the file into many chunks
+            for (int chunkSize : new int[] {1, 16, 256, 1 << 20}) {
+                final SimpleAutomaton<Integer, Integer> deserialized =
+                        ParallelAUTParser.parse(file, Integer::parseInt, chunkSize).model;
+                equalityTest(automaton, deserialized, alphabet);
+            }
+
+            final SimpleAutomaton<Integer, Integer> deserialized =
+                    AUTSerializationProvider.getInstance().readModel(file, Integer::parseInt).model;
+            equalityTest(automaton, deserialized, alphabet);
+        } finally {
+            Files.delete(file.toPath());
+        }
+    }
+
+    @Test
+    public void parallelParserResourcesTest() throws Exception {
+        for (String resource : new String[] {"/quotationTest.aut", "/sinkStateTest.aut"}) {
+            final NFA<Integer, String> expected;
+            try (InputStream is = AUTSerializationTest.class.getResourceAsStream(resource)) {
+                expected = (NFA<Integer, String>) AUTParser.readAutomaton(is).model;
+            }
+
+            for (int chunkSize : new int[] {1, 16, 1 << 20}) {
+                final NFA<Integer, String> actual =
+                        (NFA<Integer, String>) ParallelAUTParser.parse(getFile(resource), s -> s, chunkSize).model;
+
+                Assert.assertEquals(actual.size(), expected.size());
+                Assert.assertEquals(actual.getInitialStates(), expected.getInitialStates());
+                for (Integer s : expected.getStates()) {
+                    for (String i : ((CompactNFA<String>) expected).getInputAlphabet()) {
+                        Assert.assertEquals(actual.getSuccessors(s, i), expected.getSuccessors(s, i));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void parallelParserCompressedTest() throws Exception {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final CompactDFA<Integer> automaton = RandomAutomata.randomDFA(new Random(0), 20, alphabet);
+        final File file = File.createTempFile("automatalib", ".aut.gz");
+
+        try {
+            try (OutputStream os = new GZIPOutputStream(Files.newOutputStream(file.toPath()))) {
+                AUTWriter.writeAutomaton(automaton, alphabet, os);
+            }
+
+            final SimpleAutomaton<Integer, Integer> deserialized =
+                    AUTParser.readAutomaton(file, Integer::parseInt).model;
+            equalityTest(automaton, deserialized, alphabet);
+        } finally {
+            Files.delete(file.toPath());
+        }
+    }
+
+    @Test
+    public void parallelParserErrorTest() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            final File file = getFile("/error" + i + ".aut");
+            Assert.assertThrows(IllegalArgumentException.class, () -> AUTParser.readAutomaton(file));
+            Assert.assertThrows(IllegalArgumentException.class, () -> ParallelAUTParser.parse(file, s -> s, 1));
+        }
+    }
+
+    @Test
+    public void streamingTest() throws Exception {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final CompactDFA<Integer> automaton = RandomAutomata.randomDFA(new Random(0), 100, alphabet);
+        final File source = File.createTempFile("automatalib", ".aut");
+        final File target = File.createTempFile("automatalib", ".aut");
+        final AUTStreamingSerializationProvider provider = AUTStreamingSerializationProvider.getInstance();
+
+        try {
+            try (OutputStream os = Files.newOutputStream(source.toPath())) {
+                AUTWriter.writeAutomaton(automaton, alphabet, os);
+            }
+
+            final CompactNFA<String> expected = (CompactNFA<String>) AUTParser.readAutomaton(source).model;
+
+            for (int chunkSize : new int[] {1, 16, 256, 1 << 20}) {
+                final MutableAutomatonVisitor<Integer, String, Boolean, Void, CompactNFA<String>> visitor =
+                        new MutableAutomatonVisitor<>(new CompactNFA.Creator<>());
+                ParallelAUTParser.stream(source, visitor, chunkSize);
+                equalityTest(expected, visitor.getAutomaton(), expected.getInputAlphabet());
+            }
+
+            AutomatonVisitors.convert(provider, source, provider, target);
+            equalityTest(expected, AUTParser.readAutomaton(target).model, expected.getInputAlphabet());
+
+            final CompactNFA<String> streamed = provider.readModel(target, new CompactNFA.Creator<>()).model;
+            equalityTest(expected, streamed, expected.getInputAlphabet());
+        } finally {
+            Files.delete(source.toPath());
+            Files.delete(target.toPath());
+        }
+    }
+
+    @Test
+    public void streamingCompressedTest() throws Exception {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final CompactDFA<Integer> automaton = RandomAutomata.randomDFA(new Random(0), 20, alphabet);
+        final File file = File.createTempFile("automatalib", ".aut.gz");
+
+        try {
+            try (OutputStream os = new GZIPOutputStream(Files.newOutputStream(file.toPath()))) {
+                AUTWriter.writeAutomaton(automaton, alphabet, os);
+            }
+
+            final CompactNFA<String> expected = (CompactNFA<String>) AUTParser.readAutomaton(file).model;
+            final CompactNFA<String> streamed =
+                    AUTStreamingSerializationProvider.getInstance().readModel(file, new CompactNFA.Creator<>()).model;
+
+            equalityTest(expected, streamed, expected.getInputAlphabet());
+        } finally {
+            Files.delete(file.toPath());
+        }
+    }
+
+    @Test
+    public void streamingErrorTest() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            final File file = getFile("/error" + i + ".aut");
+            Assert.assertThrows(IllegalArgumentException.class,
+                                () -> AUTStreamingSerializationProvider.getInstance()
+                                                                      .readModel(file, new CompactNFA.Creator<>()));
+        }
+    }
+
+    private static File getFile(String resource) throws URISyntaxException {
+        return new File(AUTSerializationTest.class.getResource(resource).toURI());
+    }
+
     private <S, I> void equalityTest(SimpleAutomaton<S, I> src, SimpleAutomaton<S, I> target, Alphabet<I> inputs) {
         for (final S s : src.getStates()) {
             for (final I i : inputs) {
@@ -0,0 +1,99 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.streaming;
+
+import java.io.IOException;
+
+import net.automatalib.words.Alphabet;
+
+/**
+ * A push-based consumer of the structure of an automaton. Streaming deserializers report the states and transitions
+ * of a serialized automaton to a visitor one at a time, which allows to process (e.g. convert or filter) automata
+ * that do not fit into memory as a whole.
+ * <p>
+ * States are identified by the integers {@code 0} to {@code numStates - 1}. Implementations of this interface may rely
+ * on the following protocol:
+ * <ol>
+ *     <li>{@link #begin(Alphabet, int)} is called exactly once, before any other method,</li>
+ *     <li>{@link #visitState(int, boolean, Object)} is called exactly once for every state, before any transition is
+ *     visited,</li>
+ *     <li>{@link #visitTransition(int, Object, int, Object)} is called for every transition and</li>
+ *     <li>{@link #end()} is called exactly once, after all states and transitions have been visited.</li>
+ * </ol>
+ * Unless documented otherwise, neither states nor transitions are visited in any particular order.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <SP>
+ *         state property type
+ * @param <TP>
+ *         transition property type
+ */
+public interface AutomatonVisitor<I, SP, TP> {
+
+    /**
+     * Starts the visitation of an automaton.
+     *
+     * @param alphabet
+     *         the input alphabet of the automaton
+     * @param numStates
+     *         the number of states of the automaton
+     *
+     * @throws IOException
+     *         if the visitor fails to process the information
+     */
+    void begin(Alphabet<I> alphabet, int numStates) throws IOException;
+
+    /**
+     * Visits a state of the automaton.
+     *
+     * @param state
+     *         the id of the state
+     * @param initial
+     *         whether the state is initial
+     * @param property
+     *         the state property
+     *
+     * @throws IOException
+     *         if the visitor fails to process the information
+     */
+    void visitState(int state, boolean initial, SP property) throws IOException;
+
+    /**
+     * Visits a transition of the automaton.
+     *
+     * @param source
+     *         the id of the source state
+     * @param input
+     *         the input symbol
+     * @param target
+     *         the id of the target state
+     * @param property
+     *         the transition property
+     *
+     * @throws IOException
+     *         if the visitor fails to process the information
+     */
+    void visitTransition(int source, I input, int target, TP property) throws IOException;
+
+    /**
+     * Ends the visitation of an automaton.
+     *
+     * @throws IOException
+     *         if the visitor fails to process the information
+     */
+    default void end() throws IOException {}
+}
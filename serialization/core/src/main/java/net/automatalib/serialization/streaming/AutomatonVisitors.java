@@ -0,0 +1,118 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.streaming;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Set;
+
+import net.automatalib.automata.UniversalAutomaton;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.words.Alphabet;
+
+/**
+ * Utility methods for {@link AutomatonVisitor}s.
+ */
+public final class AutomatonVisitors {
+
+    private AutomatonVisitors() {
+        // prevent instantiation
+    }
+
+    /**
+     * Reports the structure of an (in-memory) automaton to the given visitor. States are identified by their
+     * {@link UniversalAutomaton#stateIDs() state ids}. States and transitions are visited in ascending order of their
+     * (source) state ids and the transitions of a state are visited in the order of the given alphabet.
+     *
+     * @param automaton
+     *         the automaton to visit
+     * @param alphabet
+     *         the inputs of the automaton to which the visitation should be limited
+     * @param visitor
+     *         the visitor
+     * @param <S>
+     *         state type
+     * @param <I>
+     *         input symbol type
+     * @param <T>
+     *         transition type
+     * @param <SP>
+     *         state property type
+     * @param <TP>
+     *         transition property type
+     *
+     * @throws IOException
+     *         if the visitor throws an {@link IOException}
+     */
+    public static <S, I, T, SP, TP> void visit(UniversalAutomaton<S, I, T, SP, TP> automaton,
+                                               Alphabet<I> alphabet,
+                                               AutomatonVisitor<I, SP, TP> visitor) throws IOException {
+        final int numStates = automaton.size();
+        final StateIDs<S> ids = automaton.stateIDs();
+        final Set<S> initials = automaton.getInitialStates();
+
+        visitor.begin(alphabet, numStates);
+
+        for (int i = 0; i < numStates; i++) {
+            final S state = ids.getState(i);
+            visitor.visitState(i, initials.contains(state), automaton.getStateProperty(state));
+        }
+
+        for (int i = 0; i < numStates; i++) {
+            final S state = ids.getState(i);
+            for (I input : alphabet) {
+                for (T t : automaton.getTransitions(state, input)) {
+                    visitor.visitTransition(i,
+                                            input,
+                                            ids.getStateId(automaton.getSuccessor(t)),
+                                            automaton.getTransitionProperty(t));
+                }
+            }
+        }
+
+        visitor.end();
+    }
+
+    /**
+     * Converts an automaton between two (streaming) formats without materializing it in memory.
+     *
+     * @param deserializer
+     *         the deserializer for the source format
+     * @param source
+     *         the file to read the automaton from
+     * @param serializer
+     *         the serializer for the target format
+     * @param target
+     *         the file to write the automaton to
+     * @param <I>
+     *         input symbol type
+     * @param <SP>
+     *         state property type
+     * @param <TP>
+     *         transition property type
+     *
+     * @throws IOException
+     *         if reading or writing the automaton fails
+     */
+    public static <I, SP, TP> void convert(StreamingModelDeserializer<I, SP, TP> deserializer,
+                                           File source,
+                                           StreamingModelSerializer<I, SP, TP> serializer,
+                                           File target) throws IOException {
+        try (AutomatonWriter<I, SP, TP> writer = serializer.createWriter(target)) {
+            deserializer.readModel(source, writer);
+        }
+    }
+}
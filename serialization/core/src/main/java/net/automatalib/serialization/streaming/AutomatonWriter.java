@@ -0,0 +1,32 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.streaming;
+
+import java.io.Closeable;
+
+/**
+ * An {@link AutomatonVisitor} that writes the visited automaton to an underlying resource. The output is completed by
+ * {@link #end()}. {@link #close() Closing} the writer releases the underlying resource, which allows to use writers in
+ * try-with-resources blocks even if the visitation is aborted.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <SP>
+ *         state property type
+ * @param <TP>
+ *         transition property type
+ */
+public interface AutomatonWriter<I, SP, TP> extends AutomatonVisitor<I, SP, TP>, Closeable {}
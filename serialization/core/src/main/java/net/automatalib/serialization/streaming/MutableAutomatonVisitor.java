@@ -0,0 +1,116 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.streaming;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.automatalib.automata.AutomatonCreator;
+import net.automatalib.automata.MutableAutomaton;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An {@link AutomatonVisitor} that constructs the visited automaton in memory.
+ *
+ * @param <S>
+ *         state type
+ * @param <I>
+ *         input symbol type
+ * @param <SP>
+ *         state property type
+ * @param <TP>
+ *         transition property type
+ * @param <A>
+ *         automaton type
+ */
+public class MutableAutomatonVisitor<S, I, SP, TP, A extends MutableAutomaton<S, I, ?, SP, TP>>
+        implements AutomatonVisitor<I, SP, TP> {
+
+    private final AutomatonCreator<A, I> creator;
+
+    private @Nullable A automaton;
+    private @Nullable Alphabet<I> alphabet;
+    private List<@Nullable S> states;
+
+    public MutableAutomatonVisitor(AutomatonCreator<A, I> creator) {
+        this.creator = creator;
+        this.states = Collections.emptyList();
+    }
+
+    @Override
+    public void begin(Alphabet<I> alphabet, int numStates) {
+        this.alphabet = alphabet;
+        this.automaton = creator.createAutomaton(alphabet, numStates);
+        this.states = new ArrayList<>(Collections.nCopies(numStates, null));
+    }
+
+    @Override
+    public void visitState(int state, boolean initial, SP property) {
+        final A a = getAutomaton();
+        states.set(state, initial ? a.addInitialState(property) : a.addState(property));
+    }
+
+    @Override
+    public void visitTransition(int source, I input, int target, TP property) {
+        getAutomaton().addTransition(getState(source), input, getState(target), property);
+    }
+
+    @Override
+    public void end() {
+        // allow garbage collection
+        states = Collections.emptyList();
+    }
+
+    /**
+     * Returns the constructed automaton.
+     *
+     * @return the constructed automaton
+     *
+     * @throws IllegalStateException
+     *         if no automaton has been visited yet
+     */
+    public A getAutomaton() {
+        if (automaton == null) {
+            throw new IllegalStateException("No automaton has been visited");
+        }
+        return automaton;
+    }
+
+    /**
+     * Returns the alphabet of the constructed automaton.
+     *
+     * @return the alphabet of the constructed automaton
+     *
+     * @throws IllegalStateException
+     *         if no automaton has been visited yet
+     */
+    public Alphabet<I> getAlphabet() {
+        if (alphabet == null) {
+            throw new IllegalStateException("No automaton has been visited");
+        }
+        return alphabet;
+    }
+
+    private S getState(int id) {
+        final S state = states.get(id);
+        if (state == null) {
+            throw new IllegalStateException("State " + id + " has not been visited");
+        }
+        return state;
+    }
+}
@@ -0,0 +1,78 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.streaming;
+
+import java.io.File;
+import java.io.IOException;
+
+import net.automatalib.automata.AutomatonCreator;
+import net.automatalib.automata.MutableAutomaton;
+import net.automatalib.serialization.InputModelData;
+
+/**
+ * A deserializer that reports the structure of a serialized automaton to an {@link AutomatonVisitor} instead of
+ * constructing the automaton in memory.
+ * <p>
+ * Since some formats do not declare all information required by {@link AutomatonVisitor#begin(
+ * net.automatalib.words.Alphabet, int)} upfront, implementations may read the given file multiple times.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <SP>
+ *         state property type
+ * @param <TP>
+ *         transition property type
+ */
+public interface StreamingModelDeserializer<I, SP, TP> {
+
+    /**
+     * Reads the automaton stored in the given file and reports its structure to the given visitor.
+     *
+     * @param f
+     *         the file to read from
+     * @param visitor
+     *         the visitor to report the automaton to
+     *
+     * @throws IOException
+     *         if reading from the file or visiting the automaton fails
+     */
+    void readModel(File f, AutomatonVisitor<I, SP, TP> visitor) throws IOException;
+
+    /**
+     * Reads the automaton stored in the given file into an automaton instantiated by the given creator.
+     *
+     * @param f
+     *         the file to read from
+     * @param creator
+     *         the creator for instantiating the automaton
+     * @param <S>
+     *         state type
+     * @param <A>
+     *         automaton type
+     *
+     * @return the read automaton and its alphabet
+     *
+     * @throws IOException
+     *         if reading from the file fails
+     */
+    default <S, A extends MutableAutomaton<S, I, ?, SP, TP>> InputModelData<I, A> readModel(File f,
+                                                                                             AutomatonCreator<A, I> creator)
+            throws IOException {
+        final MutableAutomatonVisitor<S, I, SP, TP, A> visitor = new MutableAutomatonVisitor<>(creator);
+        readModel(f, visitor);
+        return new InputModelData<>(visitor.getAutomaton(), visitor.getAlphabet());
+    }
+}
@@ -0,0 +1,49 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.streaming;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * A serializer that writes automata whose structure is pushed to an {@link AutomatonWriter}. This allows to write
+ * automata that are not materialized in memory, e.g. when piping the output of a {@link StreamingModelDeserializer}
+ * into a writer for a different format. In-memory automata can be written via {@link AutomatonVisitors#visit(
+ * net.automatalib.automata.UniversalAutomaton, net.automatalib.words.Alphabet, AutomatonVisitor)}.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <SP>
+ *         state property type
+ * @param <TP>
+ *         transition property type
+ */
+public interface StreamingModelSerializer<I, SP, TP> {
+
+    /**
+     * Creates a writer that writes the visited automaton to the given file.
+     *
+     * @param f
+     *         the file to write to
+     *
+     * @return the writer
+     *
+     * @throws IOException
+     *         if the file cannot be opened for writing
+     */
+    AutomatonWriter<I, SP, TP> createWriter(File f) throws IOException;
+
+}
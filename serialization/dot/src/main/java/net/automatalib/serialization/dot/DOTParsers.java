@@ -603,6 +603,70 @@ public final class DOTParsers {
                                                fakeInitialNodeId);
     }
 
+    /**
+     * Fast parser for {@link DFA}s serialized by AutomataLib.
+     * <p>
+     * Behaves like {@link #dfa()} but uses a {@link FastDOTMutableAutomatonParser}, which only supports the subset of
+     * the DOT language written by {@link GraphDOT}.
+     *
+     * @return a {@link FastDOTMutableAutomatonParser} for {@link CompactDFA}s, which also supports streaming.
+     */
+    public static FastDOTMutableAutomatonParser<Integer, @Nullable String, Boolean, @Nullable Void, CompactDFA<@Nullable String>> fastDfa() {
+        return new FastDOTMutableAutomatonParser<>(new CompactDFA.Creator<>(),
+                                                   DEFAULT_FSA_NODE_PARSER,
+                                                   edge -> Pair.of(DEFAULT_EDGE_PARSER.apply(edge), null),
+                                                   Collections.singleton(GraphDOT.initialLabel(0)),
+                                                   true);
+    }
+
+    /**
+     * Fast parser for {@link NFA}s serialized by AutomataLib.
+     * <p>
+     * Behaves like {@link #nfa()} but uses a {@link FastDOTMutableAutomatonParser}, which only supports the subset of
+     * the DOT language written by {@link GraphDOT}.
+     *
+     * @return a {@link FastDOTMutableAutomatonParser} for {@link CompactNFA}s, which also supports streaming.
+     */
+    public static FastDOTMutableAutomatonParser<Integer, @Nullable String, Boolean, @Nullable Void, CompactNFA<@Nullable String>> fastNfa() {
+        return new FastDOTMutableAutomatonParser<>(new CompactNFA.Creator<>(),
+                                                   DEFAULT_FSA_NODE_PARSER,
+                                                   edge -> Pair.of(DEFAULT_EDGE_PARSER.apply(edge), null),
+                                                   Collections.singleton(GraphDOT.initialLabel(0)),
+                                                   true);
+    }
+
+    /**
+     * Fast parser for {@link MealyMachine}s serialized by AutomataLib.
+     * <p>
+     * Behaves like {@link #mealy()} but uses a {@link FastDOTMutableAutomatonParser}, which only supports the subset
+     * of the DOT language written by {@link GraphDOT}.
+     *
+     * @return a {@link FastDOTMutableAutomatonParser} for {@link CompactMealy}s, which also supports streaming.
+     */
+    public static FastDOTMutableAutomatonParser<Integer, @Nullable String, @Nullable Void, @Nullable String, CompactMealy<@Nullable String, @Nullable String>> fastMealy() {
+        return new FastDOTMutableAutomatonParser<>(new CompactMealy.Creator<>(),
+                                                   node -> null,
+                                                   DEFAULT_MEALY_EDGE_PARSER,
+                                                   Collections.singleton(GraphDOT.initialLabel(0)),
+                                                   true);
+    }
+
+    /**
+     * Fast parser for {@link MooreMachine}s serialized by AutomataLib.
+     * <p>
+     * Behaves like {@link #moore()} but uses a {@link FastDOTMutableAutomatonParser}, which only supports the subset
+     * of the DOT language written by {@link GraphDOT}.
+     *
+     * @return a {@link FastDOTMutableAutomatonParser} for {@link CompactMoore}s, which also supports streaming.
+     */
+    public static FastDOTMutableAutomatonParser<Integer, @Nullable String, @Nullable String, @Nullable Void, CompactMoore<@Nullable String, @Nullable String>> fastMoore() {
+        return new FastDOTMutableAutomatonParser<>(new CompactMoore.Creator<>(),
+                                                   DEFAULT_MOORE_NODE_PARSER,
+                                                   edge -> Pair.of(DEFAULT_EDGE_PARSER.apply(edge), null),
+                                                   Collections.singleton(GraphDOT.initialLabel(0)),
+                                                   true);
+    }
+
     /**
      * Default parser for (directed) {@link Graph}s serialized by AutomataLib.
      * <p>
@@ -0,0 +1,188 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.dot;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import net.automatalib.commons.util.IOUtil;
+import net.automatalib.serialization.streaming.AutomatonWriter;
+import net.automatalib.serialization.streaming.StreamingModelSerializer;
+import net.automatalib.visualization.VisualizationHelper.EdgeAttrs;
+import net.automatalib.visualization.VisualizationHelper.NodeAttrs;
+import net.automatalib.visualization.VisualizationHelper.NodeShapes;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A {@link StreamingModelSerializer} that writes automata in the GraphVIZ DOT format. The written documents use the
+ * same layout as the documents written by {@link GraphDOT} (i.e., nodes are named after their state ids and initial
+ * states are marked by artificial {@link GraphDOT#initialLabel(int) initial nodes}), so that they can be read by the
+ * {@link FastDOTMutableAutomatonParser}.
+ * <p>
+ * States and transitions are written as they are visited, so they may be visited in any order. Only the initial states
+ * (one bit per state) are buffered, since their artificial initial nodes are written at the end of the document.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <SP>
+ *         state property type
+ * @param <TP>
+ *         transition property type
+ */
+public final class DOTStreamingSerializer<I, SP, TP> implements StreamingModelSerializer<I, SP, TP> {
+
+    private final Function<SP, Map<String, String>> nodeAttributes;
+    private final BiFunction<I, TP, Map<String, String>> edgeAttributes;
+
+    /**
+     * Constructor.
+     *
+     * @param nodeAttributes
+     *         a function that extracts from a state property the attributes of a node. If no {@link NodeAttrs#LABEL
+     *         label} is provided, the id of the state is used
+     * @param edgeAttributes
+     *         a function that extracts from an input symbol and a transition property the attributes of an edge
+     */
+    public DOTStreamingSerializer(Function<SP, Map<String, String>> nodeAttributes,
+                                  BiFunction<I, TP, Map<String, String>> edgeAttributes) {
+        this.nodeAttributes = nodeAttributes;
+        this.edgeAttributes = edgeAttributes;
+    }
+
+    /**
+     * Returns a serializer for finite state acceptors that renders accepting states as double circles, like {@link
+     * GraphDOT} does. The written documents can be read by {@link DOTParsers#fastDfa()} and {@link
+     * DOTParsers#fastNfa()}.
+     *
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the serializer
+     */
+    public static <I> DOTStreamingSerializer<I, Boolean, @Nullable Void> fsa() {
+        return new DOTStreamingSerializer<>(acc -> Collections.singletonMap(NodeAttrs.SHAPE,
+                                                                            Boolean.TRUE.equals(acc) ?
+                                                                                    NodeShapes.DOUBLECIRCLE :
+                                                                                    NodeShapes.CIRCLE),
+                                            (i, tp) -> Collections.singletonMap(EdgeAttrs.LABEL, String.valueOf(i)));
+    }
+
+    /**
+     * Returns a serializer for Mealy machines that labels transitions with {@code input / output}, like {@link
+     * GraphDOT} does. The written documents can be read by {@link DOTParsers#fastMealy()}.
+     *
+     * @param <I>
+     *         input symbol type
+     * @param <O>
+     *         output symbol type
+     *
+     * @return the serializer
+     */
+    public static <I, O> DOTStreamingSerializer<I, @Nullable Void, O> mealy() {
+        return new DOTStreamingSerializer<>(sp -> Collections.singletonMap(NodeAttrs.SHAPE, NodeShapes.CIRCLE),
+                                            (i, o) -> Collections.singletonMap(EdgeAttrs.LABEL, i + " / " + o));
+    }
+
+    @Override
+    public AutomatonWriter<I, SP, TP> createWriter(File f) throws IOException {
+        return new StreamingWriter(IOUtil.asBufferedUTF8Writer(f));
+    }
+
+    private final class StreamingWriter implements AutomatonWriter<I, SP, TP> {
+
+        private final Writer writer;
+        private final Map<String, String> props;
+        private final BitSet initialStates;
+        private boolean closed;
+
+        StreamingWriter(Writer writer) {
+            this.writer = writer;
+            this.props = new LinkedHashMap<>();
+            this.initialStates = new BitSet();
+        }
+
+        @Override
+        public void begin(Alphabet<I> alphabet, int numStates) throws IOException {
+            GraphDOT.writeRawHeader(writer, true);
+            writer.append(System.lineSeparator());
+        }
+
+        @Override
+        public void visitState(int state, boolean initial, SP property) throws IOException {
+            initialStates.set(state, initial);
+
+            final String id = Integer.toString(state);
+
+            props.clear();
+            props.putAll(nodeAttributes.apply(property));
+            props.putIfAbsent(NodeAttrs.LABEL, id);
+
+            writer.append("\ts").append(id);
+            GraphDOT.appendParams(props, writer);
+            writer.append(';').append(System.lineSeparator());
+        }
+
+        @Override
+        public void visitTransition(int source, I input, int target, TP property) throws IOException {
+            props.clear();
+            props.putAll(edgeAttributes.apply(input, property));
+
+            writer.append("\ts").append(Integer.toString(source)).append(" -> s").append(Integer.toString(target));
+            GraphDOT.appendParams(props, writer);
+            writer.append(';').append(System.lineSeparator());
+        }
+
+        @Override
+        public void end() throws IOException {
+            if (!initialStates.isEmpty()) {
+                writer.append(System.lineSeparator());
+            }
+
+            int initialIdx = 0;
+            for (int i = initialStates.nextSetBit(0); i >= 0; i = initialStates.nextSetBit(i + 1)) {
+                final String label = GraphDOT.initialLabel(initialIdx++);
+                writer.append(label)
+                      .append(" [label=\"\" shape=\"none\" width=\"0\" height=\"0\"];")
+                      .append(System.lineSeparator())
+                      .append(label)
+                      .append(" -> s")
+                      .append(Integer.toString(i))
+                      .append(';')
+                      .append(System.lineSeparator());
+            }
+
+            writer.append(System.lineSeparator());
+            GraphDOT.writeRawFooter(writer);
+            close();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                writer.close();
+            }
+        }
+    }
+}
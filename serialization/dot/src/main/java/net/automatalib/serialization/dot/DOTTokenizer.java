@@ -0,0 +1,312 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.dot;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.automatalib.serialization.FormatException;
+
+/**
+ * A hand-written tokenizer for the DOT language that reads its input through a (re-usable) {@link CharBuffer} window.
+ * Identifiers are interned, so that frequently re-occurring attribute keys, values and node ids only result in a
+ * single {@link String} instance each.
+ * <p>
+ * Quoted identifiers are unescaped in the same way as by {@link net.automatalib.commons.util.strings.StringUtil#unescapeQuotes(String)}.
+ * Line comments ({@code //} and {@code #}) and block comments are skipped.
+ */
+final class DOTTokenizer {
+
+    static final int EOF = -1;
+    static final int ID = 0;
+    static final int LBRACK = '[';
+    static final int RBRACK = ']';
+    static final int LCURLY = '{';
+    static final int RCURLY = '}';
+    static final int SEMICOLON = ';';
+    static final int COMMA = ',';
+    static final int EQUALS = '=';
+    static final int COLON = ':';
+    static final int ARROW = 1;
+    static final int UNDIRECTED = 2;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Reader reader;
+    private final CharBuffer buffer;
+    private final Map<CharBuffer, String> strings;
+
+    private char[] scratch;
+    private int length;
+    private boolean quoted;
+    private int line;
+
+    DOTTokenizer(Reader reader) {
+        this.reader = reader;
+        this.buffer = CharBuffer.allocate(BUFFER_SIZE);
+        this.buffer.flip();
+        this.strings = new HashMap<>();
+        this.scratch = new char[64];
+        this.line = 1;
+    }
+
+    /**
+     * Returns the current line of the input.
+     *
+     * @return the current line of the input
+     */
+    int getLine() {
+        return line;
+    }
+
+    /**
+     * Returns whether the most recently read {@link #ID identifier} was quoted.
+     *
+     * @return {@code true} if the most recently read identifier was quoted, {@code false} otherwise
+     */
+    boolean isQuoted() {
+        return quoted;
+    }
+
+    /**
+     * Returns the (interned) value of the most recently read {@link #ID identifier}.
+     *
+     * @return the value of the most recently read identifier
+     */
+    String getValue() {
+        final CharBuffer key = CharBuffer.wrap(scratch, 0, length);
+        final String cached = strings.get(key);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        final String value = new String(scratch, 0, length);
+        strings.put(CharBuffer.wrap(value), value);
+        return value;
+    }
+
+    /**
+     * Returns whether the most recently read {@link #ID identifier} is the given (unquoted, case-insensitive)
+     * keyword.
+     *
+     * @param keyword
+     *         the (lower-case) keyword
+     *
+     * @return {@code true} if the identifier matches the keyword, {@code false} otherwise
+     */
+    boolean isKeyword(String keyword) {
+        if (quoted || length != keyword.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (Character.toLowerCase(scratch[i]) != keyword.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the next token.
+     *
+     * @return the type of the next token
+     *
+     * @throws IOException
+     *         if reading from the underlying reader fails
+     */
+    int next() throws IOException {
+        int c = skipWhitespaceAndComments();
+
+        switch (c) {
+            case EOF:
+                return EOF;
+            case '[':
+            case ']':
+            case '{':
+            case '}':
+            case ';':
+            case ',':
+            case '=':
+            case ':':
+                return c;
+            case '"':
+                readQuoted();
+                return ID;
+            case '-':
+                c = peek();
+                if (c == '>') {
+                    read();
+                    return ARROW;
+                } else if (c == '-') {
+                    read();
+                    return UNDIRECTED;
+                }
+                readNumeral('-');
+                return ID;
+            default:
+                if (isLetter(c)) {
+                    readUnquoted((char) c);
+                    return ID;
+                } else if (c == '.' || isDigit(c)) {
+                    readNumeral((char) c);
+                    return ID;
+                }
+                throw new FormatException("Unexpected character '" + (char) c + "' in line " + line);
+        }
+    }
+
+    private int skipWhitespaceAndComments() throws IOException {
+        while (true) {
+            final int c = read();
+
+            if (c == '/') {
+                final int n = peek();
+                if (n == '/') {
+                    skipLine();
+                    continue;
+                } else if (n == '*') {
+                    read();
+                    skipBlockComment();
+                    continue;
+                }
+                return c;
+            } else if (c == '#') {
+                skipLine();
+            } else if (c != ' ' && c != '\t' && c != '\r' && c != '\n') {
+                return c;
+            }
+        }
+    }
+
+    private void skipLine() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c != '\n' && c != EOF);
+    }
+
+    private void skipBlockComment() throws IOException {
+        int c = read();
+        while (c != EOF) {
+            final int n = read();
+            if (c == '*' && n == '/') {
+                return;
+            }
+            c = n;
+        }
+        throw new FormatException("Unterminated comment in line " + line);
+    }
+
+    private void readQuoted() throws IOException {
+        length = 0;
+        quoted = true;
+
+        while (true) {
+            int c = read();
+
+            if (c == EOF) {
+                throw new FormatException("Unterminated string in line " + line);
+            } else if (c == '"') {
+                return;
+            } else if (c == '\\') {
+                c = read();
+                if (c == EOF) {
+                    throw new FormatException("Unterminated string in line " + line);
+                } else if (c != '"' && c != '\\') {
+                    append('\\');
+                }
+            }
+            append((char) c);
+        }
+    }
+
+    private void readUnquoted(char first) throws IOException {
+        length = 0;
+        quoted = false;
+        append(first);
+
+        int c = peek();
+        while (isLetter(c) || isDigit(c)) {
+            append((char) read());
+            c = peek();
+        }
+    }
+
+    private void readNumeral(char first) throws IOException {
+        length = 0;
+        quoted = false;
+        append(first);
+
+        int c = peek();
+        while (c == '.' || isDigit(c)) {
+            append((char) read());
+            c = peek();
+        }
+
+        if (length == 1 && !isDigit(first)) {
+            throw new FormatException("Malformed numeral in line " + line);
+        }
+    }
+
+    private void append(char c) {
+        if (length == scratch.length) {
+            scratch = Arrays.copyOf(scratch, length * 2);
+        }
+        scratch[length++] = c;
+    }
+
+    private int read() throws IOException {
+        if (!buffer.hasRemaining() && !fill()) {
+            return EOF;
+        }
+
+        final char c = buffer.get();
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (!buffer.hasRemaining() && !fill()) {
+            return EOF;
+        }
+        return buffer.get(buffer.position());
+    }
+
+    private boolean fill() throws IOException {
+        buffer.clear();
+        int read;
+        do {
+            read = reader.read(buffer);
+        } while (read == 0);
+        buffer.flip();
+        return read > 0;
+    }
+
+    private static boolean isLetter(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || (c >= '\200' && c <= '\377');
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+}
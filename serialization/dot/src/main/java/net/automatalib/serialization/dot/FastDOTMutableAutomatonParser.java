@@ -0,0 +1,487 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.dot;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import net.automatalib.automata.AutomatonCreator;
+import net.automatalib.automata.MutableAutomaton;
+import net.automatalib.commons.util.IOUtil;
+import net.automatalib.commons.util.Pair;
+import net.automatalib.commons.util.mappings.MutableMapping;
+import net.automatalib.serialization.FormatException;
+import net.automatalib.serialization.streaming.AutomatonVisitor;
+import net.automatalib.serialization.streaming.StreamingModelDeserializer;
+import net.automatalib.visualization.VisualizationHelper.NodeAttrs;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A high-throughput DOT parser for {@link MutableAutomaton}s that supports the subset of the DOT language written by
+ * {@link GraphDOT}. In contrast to the general-purpose {@link DOTMutableAutomatonParser}, this parser uses a
+ * hand-written tokenizer and does not construct an intermediate representation of the parsed graph. Instead, edge
+ * attributes are directly passed to the edge parser and the resulting states and transitions are fed into the
+ * automaton obtained from the {@link AutomatonCreator creator}.
+ * <p>
+ * The supported subset comprises
+ * <ul>
+ *     <li>(strict) directed graphs with an optional name,</li>
+ *     <li>default node and edge attributes ({@code node [...]} and {@code edge [...]}),</li>
+ *     <li>node statements ({@code id [...]}),</li>
+ *     <li>single edge statements ({@code id -> id [...]}) and</li>
+ *     <li>graph attributes ({@code graph [...]} and {@code id = id}), which are ignored.</li>
+ * </ul>
+ * Subgraphs, edge chains and ports are not supported and result in a {@link FormatException}. For these documents,
+ * use the general-purpose {@link DOTMutableAutomatonParser}. For the supported subset, both parsers produce the same
+ * automata.
+ *
+ * @param <S>
+ *         automaton state type
+ * @param <I>
+ *         input symbol type
+ * @param <SP>
+ *         state property type
+ * @param <TP>
+ *         transition property type
+ * @param <A>
+ *         automaton type
+ */
+public class FastDOTMutableAutomatonParser<S, I, SP, TP, A extends MutableAutomaton<S, I, ?, SP, TP>>
+        implements DOTInputModelDeserializer<S, I, A>, StreamingModelDeserializer<I, SP, TP> {
+
+    private static final int IN_MEMORY = 0;
+    private static final int COLLECT = 1;
+    private static final int EMIT = 2;
+
+    private final AutomatonCreator<A, I> creator;
+    private final Function<Map<String, String>, SP> nodeParser;
+    private final Function<Map<String, String>, Pair<I, TP>> edgeParser;
+    private final Collection<String> initialNodeIds;
+    private final boolean fakeInitialNodeIds;
+
+    /**
+     * Parser for arbitrary {@link MutableAutomaton}s with a custom automaton instance, custom node and edge attributes
+     * and custom labels for the initial nodes.
+     *
+     * @param creator
+     *         a creator that is used to instantiate the returned automaton
+     * @param nodeParser
+     *         a node parser that extracts from a property map of a node the state property
+     * @param edgeParser
+     *         an edge parser that extracts from a property map of an edge the input symbol and transition property
+     * @param initialNodeIds
+     *         the ids of the initial nodes
+     * @param fakeInitialNodeIds
+     *         a flag indicating whether the {@code initialNodeIds} are artificial or not. See {@link
+     *         DOTMutableAutomatonParser#DOTMutableAutomatonParser(AutomatonCreator, Function, Function, Collection,
+     *         boolean)} for details.
+     */
+    public FastDOTMutableAutomatonParser(AutomatonCreator<A, I> creator,
+                                         Function<Map<String, String>, SP> nodeParser,
+                                         Function<Map<String, String>, Pair<I, TP>> edgeParser,
+                                         Collection<String> initialNodeIds,
+                                         boolean fakeInitialNodeIds) {
+        this.creator = creator;
+        this.nodeParser = nodeParser;
+        this.edgeParser = edgeParser;
+        this.initialNodeIds = initialNodeIds;
+        this.fakeInitialNodeIds = fakeInitialNodeIds;
+    }
+
+    @Override
+    public DOTInputModelData<S, I, A> readModel(InputStream is) throws IOException {
+        try (Reader r = IOUtil.asUncompressedBufferedNonClosingUTF8Reader(is)) {
+            final Parse parse = new Parse(IN_MEMORY);
+            parse.graph(new DOTTokenizer(r));
+            return parse.build();
+        }
+    }
+
+    /**
+     * Reads the automaton stored in the given file and reports it to the given visitor. The file is read twice: The
+     * first pass collects the nodes (and their attributes) and the input symbols, the second pass reports the edges.
+     * Hence, only the nodes of the automaton are kept in memory. States are numbered in the order of their first
+     * occurrence and transitions are reported in the order of the file.
+     * <p>
+     * Note that the visitor does not receive the labels of the nodes that are provided by {@link
+     * #readModel(InputStream)}.
+     */
+    @Override
+    public void readModel(File f, AutomatonVisitor<I, SP, TP> visitor) throws IOException {
+        final Parse parse = new Parse(COLLECT);
+
+        try (InputStream is = IOUtil.asBufferedInputStream(f);
+             Reader r = IOUtil.asUncompressedBufferedNonClosingUTF8Reader(is)) {
+            parse.graph(new DOTTokenizer(r));
+        }
+
+        parse.beginEdges(visitor);
+
+        try (InputStream is = IOUtil.asBufferedInputStream(f);
+             Reader r = IOUtil.asUncompressedBufferedNonClosingUTF8Reader(is)) {
+            parse.graph(new DOTTokenizer(r));
+        }
+
+        visitor.end();
+    }
+
+    /**
+     * The state of a single parse. For streaming, the same instance is used for both passes ({@link #COLLECT} and
+     * {@link #EMIT}) over the input.
+     */
+    private final class Parse {
+
+        private int mode;
+        private DOTTokenizer tokenizer;
+        private @Nullable AutomatonVisitor<I, SP, TP> visitor;
+        private int[] nodeToState = new int[0];
+        private final BitSet initialNodes = new BitSet();
+
+        private final Map<String, Integer> nodeIds = new HashMap<>();
+        private final List<String> nodes = new ArrayList<>();
+        private final List<Map<String, String>> nodeAttributes = new ArrayList<>();
+
+        private final Set<I> inputs = new LinkedHashSet<>();
+        private final List<@Nullable Pair<I, TP>> edgeProperties = new ArrayList<>();
+        private int[] edgeSources = new int[16];
+        private int[] edgeTargets = new int[16];
+
+        private Map<String, String> defaultNodeAttrs = Collections.emptyMap();
+        private Map<String, String> defaultEdgeAttrs = Collections.emptyMap();
+
+        Parse(int mode) {
+            this.mode = mode;
+        }
+
+        void graph(DOTTokenizer tokenizer) throws IOException {
+            this.tokenizer = tokenizer;
+            this.defaultNodeAttrs = Collections.emptyMap();
+            this.defaultEdgeAttrs = Collections.emptyMap();
+
+            int token = tokenizer.next();
+
+            if (token == DOTTokenizer.ID && tokenizer.isKeyword("strict")) {
+                token = tokenizer.next();
+            }
+
+            if (token != DOTTokenizer.ID || !tokenizer.isKeyword("digraph")) {
+                throw error("Expected 'digraph'");
+            }
+
+            token = tokenizer.next();
+            if (token == DOTTokenizer.ID) {
+                token = tokenizer.next();
+            }
+            expect(token, DOTTokenizer.LCURLY);
+
+            token = tokenizer.next();
+            while (token != DOTTokenizer.RCURLY) {
+                token = statement(token);
+                if (token == DOTTokenizer.SEMICOLON) {
+                    token = tokenizer.next();
+                }
+            }
+
+            if (tokenizer.next() != DOTTokenizer.EOF) {
+                throw error("Unexpected content after graph");
+            }
+        }
+
+        /**
+         * Parses a statement starting with the given token and returns the first token after the statement.
+         */
+        private int statement(int token) throws IOException {
+            if (token != DOTTokenizer.ID) {
+                throw error("Unsupported statement");
+            }
+
+            if (tokenizer.isKeyword("node")) {
+                final Map<String, String> attrs = new LinkedHashMap<>(defaultNodeAttrs);
+                final int next = attributes(tokenizer.next(), attrs, true);
+                defaultNodeAttrs = Collections.unmodifiableMap(attrs);
+                return next;
+            } else if (tokenizer.isKeyword("edge")) {
+                final Map<String, String> attrs = new LinkedHashMap<>(defaultEdgeAttrs);
+                final int next = attributes(tokenizer.next(), attrs, true);
+                defaultEdgeAttrs = Collections.unmodifiableMap(attrs);
+                return next;
+            } else if (tokenizer.isKeyword("graph")) {
+                return attributes(tokenizer.next(), new HashMap<>(), true);
+            } else if (tokenizer.isKeyword("subgraph")) {
+                throw error("Subgraphs are not supported");
+            }
+
+            final String id = tokenizer.getValue();
+            final int next = tokenizer.next();
+
+            switch (next) {
+                case DOTTokenizer.EQUALS:
+                    expect(tokenizer.next(), DOTTokenizer.ID);
+                    return tokenizer.next();
+                case DOTTokenizer.ARROW:
+                    expect(tokenizer.next(), DOTTokenizer.ID);
+                    return edge(id, tokenizer.getValue());
+                default:
+                    return node(id, next);
+            }
+        }
+
+        private int node(String id, int token) throws IOException {
+            if (mode == EMIT) {
+                // nodes have already been collected in the first pass
+                return attributes(token, new HashMap<>(), false);
+            }
+
+            final Map<String, String> attrs;
+            final Integer idx = nodeIds.get(id);
+
+            if (idx == null) {
+                attrs = new LinkedHashMap<>(defaultNodeAttrs);
+            } else {
+                attrs = new LinkedHashMap<>(nodeAttributes.get(idx));
+                attrs.putAll(defaultNodeAttrs);
+            }
+
+            final int next = attributes(token, attrs, false);
+
+            if (idx == null) {
+                addNode(id, attrs);
+            } else {
+                nodeAttributes.set(idx, attrs);
+            }
+
+            return next;
+        }
+
+        private int edge(String src, String tgt) throws IOException {
+            final Map<String, String> attrs = new LinkedHashMap<>(defaultEdgeAttrs);
+            final int next = attributes(tokenizer.next(), attrs, false);
+
+            if (next == DOTTokenizer.ARROW) {
+                throw error("Edge chains are not supported");
+            }
+
+            if (mode == EMIT) {
+                emitEdge(src, tgt, attrs);
+                return next;
+            }
+
+            final int srcIdx = getOrAddNode(src);
+            final int tgtIdx = getOrAddNode(tgt);
+
+            if (mode == COLLECT) {
+                if (fakeInitialNodeIds && initialNodeIds.contains(src)) {
+                    initialNodes.set(tgtIdx);
+                } else {
+                    inputs.add(edgeParser.apply(attrs).getFirst());
+                }
+                return next;
+            }
+
+            final int edgeIdx = edgeProperties.size();
+
+            if (edgeIdx == edgeSources.length) {
+                edgeSources = Arrays.copyOf(edgeSources, edgeIdx * 2);
+                edgeTargets = Arrays.copyOf(edgeTargets, edgeIdx * 2);
+            }
+
+            edgeSources[edgeIdx] = srcIdx;
+            edgeTargets[edgeIdx] = tgtIdx;
+
+            if (fakeInitialNodeIds && initialNodeIds.contains(src)) {
+                edgeProperties.add(null);
+            } else {
+                final Pair<I, TP> property = edgeParser.apply(attrs);
+                inputs.add(property.getFirst());
+                edgeProperties.add(property);
+            }
+
+            return next;
+        }
+
+        /**
+         * Parses a (possibly empty) sequence of attribute lists starting with the given token into the given map and
+         * returns the first token after the attribute lists.
+         */
+        private int attributes(int token, Map<String, String> attrs, boolean required) throws IOException {
+            int next = token;
+
+            if (required) {
+                expect(next, DOTTokenizer.LBRACK);
+            }
+
+            while (next == DOTTokenizer.LBRACK) {
+                next = tokenizer.next();
+                while (next != DOTTokenizer.RBRACK) {
+                    expect(next, DOTTokenizer.ID);
+                    final String key = tokenizer.getValue();
+                    expect(tokenizer.next(), DOTTokenizer.EQUALS);
+                    expect(tokenizer.next(), DOTTokenizer.ID);
+                    attrs.put(key, tokenizer.getValue());
+
+                    next = tokenizer.next();
+                    if (next == DOTTokenizer.SEMICOLON || next == DOTTokenizer.COMMA) {
+                        next = tokenizer.next();
+                    }
+                }
+                next = tokenizer.next();
+            }
+
+            if (next == DOTTokenizer.COLON) {
+                throw error("Ports are not supported");
+            } else if (next == DOTTokenizer.UNDIRECTED) {
+                throw error("Undirected edges are not supported");
+            }
+
+            return next;
+        }
+
+        private void emitEdge(String src, String tgt, Map<String, String> attrs) throws IOException {
+            if (fakeInitialNodeIds && initialNodeIds.contains(src)) {
+                return;
+            }
+
+            final Integer srcIdx = nodeIds.get(src);
+            final Integer tgtIdx = nodeIds.get(tgt);
+
+            if (srcIdx == null || tgtIdx == null || visitor == null) {
+                throw error("Input changed between passes");
+            }
+
+            final Pair<I, TP> property = edgeParser.apply(attrs);
+            visitor.visitTransition(nodeToState[srcIdx],
+                                    property.getFirst(),
+                                    nodeToState[tgtIdx],
+                                    property.getSecond());
+        }
+
+        /**
+         * Finishes the {@link #COLLECT} pass, reports the collected states to the given visitor and prepares the
+         * {@link #EMIT} pass.
+         */
+        void beginEdges(AutomatonVisitor<I, SP, TP> visitor) throws IOException {
+            final int numNodes = nodes.size();
+            final boolean[] initial = new boolean[numNodes];
+
+            nodeToState = new int[numNodes];
+            int numStates = 0;
+
+            for (int i = 0; i < numNodes; i++) {
+                final boolean isInitialNode = initialNodeIds.contains(nodes.get(i));
+
+                if (fakeInitialNodeIds && isInitialNode) {
+                    nodeToState[i] = -1;
+                } else {
+                    nodeToState[i] = numStates++;
+                    initial[i] = fakeInitialNodeIds ? initialNodes.get(i) : isInitialNode;
+                }
+            }
+
+            visitor.begin(Alphabets.fromCollection(inputs), numStates);
+
+            for (int i = 0; i < numNodes; i++) {
+                if (nodeToState[i] >= 0) {
+                    visitor.visitState(nodeToState[i], initial[i], nodeParser.apply(nodeAttributes.get(i)));
+                }
+            }
+
+            // only the node ids are required for the second pass
+            nodes.clear();
+            nodeAttributes.clear();
+            inputs.clear();
+
+            this.visitor = visitor;
+            this.mode = EMIT;
+        }
+
+        private int getOrAddNode(String id) {
+            final Integer idx = nodeIds.get(id);
+            return idx == null ? addNode(id, defaultNodeAttrs) : idx;
+        }
+
+        private int addNode(String id, Map<String, String> attrs) {
+            final int idx = nodes.size();
+            nodeIds.put(id, idx);
+            nodes.add(id);
+            nodeAttributes.add(attrs);
+            return idx;
+        }
+
+        DOTInputModelData<S, I, A> build() {
+            final int numNodes = nodes.size();
+            final Alphabet<I> alphabet = Alphabets.fromCollection(inputs);
+            final A automaton = creator.createAutomaton(alphabet, numNodes);
+            final MutableMapping<S, String> labels = automaton.createDynamicStateMapping();
+            final List<@Nullable S> states = new ArrayList<>(numNodes);
+
+            for (int i = 0; i < numNodes; i++) {
+                final String id = nodes.get(i);
+                final boolean initial = initialNodeIds.contains(id);
+
+                if (fakeInitialNodeIds && initial) {
+                    states.add(null);
+                    continue;
+                }
+
+                final Map<String, String> attrs = nodeAttributes.get(i);
+                final SP property = nodeParser.apply(attrs);
+                final S state = initial ? automaton.addInitialState(property) : automaton.addState(property);
+
+                states.add(state);
+                labels.put(state, attrs.getOrDefault(NodeAttrs.LABEL, id));
+            }
+
+            for (int i = 0; i < edgeProperties.size(); i++) {
+                final Pair<I, TP> property = edgeProperties.get(i);
+                final S tgt = states.get(edgeTargets[i]);
+
+                if (property == null) {
+                    automaton.setInitial(tgt, true);
+                } else {
+                    automaton.addTransition(states.get(edgeSources[i]), property.getFirst(), tgt, property.getSecond());
+                }
+            }
+
+            return new DOTInputModelData<>(automaton, alphabet, labels);
+        }
+
+        private void expect(int token, int expected) {
+            if (token != expected) {
+                throw error("Unexpected token");
+            }
+        }
+
+        private FormatException error(String message) {
+            return new FormatException(message + " in line " + tokenizer.getLine());
+        }
+    }
+}
@@ -15,11 +15,18 @@
  */
 package net.automatalib.serialization.dot;
 
+import java.io.BufferedWriter;
 import java.io.Flushable;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -28,6 +35,7 @@ import java.util.Map;
 import java.util.Set;
 
 import net.automatalib.automata.Automaton;
+import net.automatalib.automata.concepts.StateIDs;
 import net.automatalib.automata.graphs.TransitionEdge;
 import net.automatalib.commons.util.mappings.MutableMapping;
 import net.automatalib.commons.util.strings.StringUtil;
@@ -49,6 +57,7 @@ public final class GraphDOT {
     private static final String INITIAL_LABEL = "__start";
     private static final String HTML_START_TAG = "<HTML>";
     private static final String HTML_END_TAG = "</HTML>";
+    private static final int STREAMING_BUFFER_SIZE = 1 << 16;
 
     private GraphDOT() {}
 
@@ -123,6 +132,99 @@ public final class GraphDOT {
         write(automaton.transitionGraphView(inputAlphabet), a, additionalHelpers);
     }
 
+    /**
+     * Renders an {@link Automaton} in the GraphVIZ DOT format. See {@link #writeStreaming(Automaton, Collection,
+     * Appendable, List)} for the characteristics of this method.
+     *
+     * @param automaton
+     *         the automaton to render.
+     * @param inputAlphabet
+     *         the input alphabet to consider
+     * @param a
+     *         the appendable to write to
+     *
+     * @throws IOException
+     *         if writing to {@code a} fails
+     */
+    public static <S, I, T> void writeStreaming(Automaton<S, I, T> automaton,
+                                                Collection<? extends I> inputAlphabet,
+                                                Appendable a) throws IOException {
+        writeStreaming(automaton, inputAlphabet, a, Collections.emptyList());
+    }
+
+    /**
+     * Renders an {@link Automaton} in the GraphVIZ DOT format to the given file. See {@link #writeStreaming(Automaton,
+     * Collection, Appendable, List)} for the characteristics of this method.
+     *
+     * @param automaton
+     *         the automaton to render.
+     * @param inputAlphabet
+     *         the input alphabet to consider
+     * @param path
+     *         the file to write to
+     * @param additionalHelpers
+     *         additional helpers for providing visualization properties.
+     *
+     * @throws IOException
+     *         if writing to {@code path} fails
+     */
+    public static <S, I, T> void writeStreaming(Automaton<S, I, T> automaton,
+                                                Collection<? extends I> inputAlphabet,
+                                                Path path,
+                                                List<VisualizationHelper<S, ? super TransitionEdge<I, T>>> additionalHelpers)
+            throws IOException {
+        try (Writer w = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(path), StandardCharsets.UTF_8),
+                                           STREAMING_BUFFER_SIZE)) {
+            writeStreaming(automaton, inputAlphabet, w, additionalHelpers);
+        }
+    }
+
+    /**
+     * Renders an {@link Automaton} in the GraphVIZ DOT format. In contrast to {@link #write(Automaton, Collection,
+     * Appendable, List)}, this method does not construct a mapping of (rendered) nodes to identifiers but directly
+     * writes states and transitions, using the {@link Automaton#stateIDs() state IDs} of the automaton as node
+     * identifiers. Hence, apart from the state IDs (which, e.g., compact automata provide for free), the required
+     * memory does not depend on the size of the automaton, which allows to export very large automata.
+     * <p>
+     * If no node is hidden by the visualization helpers, the output is identical to the one of {@link
+     * #write(Automaton, Collection, Appendable, List)} for automata whose state IDs reflect their iteration order (such
+     * as compact automata).
+     *
+     * @param automaton
+     *         the automaton to render.
+     * @param inputAlphabet
+     *         the input alphabet to consider
+     * @param a
+     *         the appendable to write to
+     * @param additionalHelpers
+     *         additional helpers for providing visualization properties.
+     *
+     * @throws IOException
+     *         if writing to {@code a} fails
+     */
+    public static <S, I, T> void writeStreaming(Automaton<S, I, T> automaton,
+                                                Collection<? extends I> inputAlphabet,
+                                                Appendable a,
+                                                List<VisualizationHelper<S, ? super TransitionEdge<I, T>>> additionalHelpers)
+            throws IOException {
+
+        final List<VisualizationHelper<S, ? super TransitionEdge<I, T>>> helpers =
+                new ArrayList<>(additionalHelpers.size() + 1);
+
+        helpers.add(automaton.transitionGraphView(inputAlphabet).getVisualizationHelper());
+        helpers.addAll(additionalHelpers);
+
+        final DOTVisualizationHelper<S, ? super TransitionEdge<I, T>> dotHelper = toDOTVisualizationHelper(helpers);
+
+        writeRawHeader(a, true);
+        writeStreamingBody(automaton, inputAlphabet, a, dotHelper);
+        writeRawFooter(a);
+
+        if (a instanceof Flushable) {
+            ((Flushable) a).flush();
+        }
+    }
+
     /**
      * Renders a {@link Graph} in the GraphVIZ DOT format.
      *
@@ -263,7 +365,7 @@ public final class GraphDOT {
         }
     }
 
-    private static void writeRawHeader(Appendable a, boolean directed) throws IOException {
+    static void writeRawHeader(Appendable a, boolean directed) throws IOException {
         if (directed) {
             a.append("di");
         }
@@ -279,23 +381,7 @@ public final class GraphDOT {
 
         Map<String, String> props = new HashMap<>();
 
-        dotHelper.getGlobalNodeProperties(props);
-        if (!props.isEmpty()) {
-            a.append('\t').append("node");
-            appendParams(props, a);
-            a.append(';').append(System.lineSeparator());
-        }
-
-        props.clear();
-        dotHelper.getGlobalEdgeProperties(props);
-        if (!props.isEmpty()) {
-            a.append('\t').append("edge");
-            appendParams(props, a);
-            a.append(';').append(System.lineSeparator());
-        }
-
-        dotHelper.writePreamble(a);
-        a.append(System.lineSeparator());
+        writeGlobalProperties(a, dotHelper, props);
 
         MutableMapping<N, @Nullable String> nodeNames = graph.createStaticNodeMapping();
         Set<String> initialNodes = new HashSet<>();
@@ -367,11 +453,128 @@ public final class GraphDOT {
         dotHelper.writePostamble(a);
     }
 
-    private static void writeRawFooter(Appendable a) throws IOException {
+    private static <S, I, T> void writeStreamingBody(Automaton<S, I, T> automaton,
+                                                     Collection<? extends I> inputAlphabet,
+                                                     Appendable a,
+                                                     DOTVisualizationHelper<S, ? super TransitionEdge<I, T>> dotHelper)
+            throws IOException {
+
+        final Map<String, String> props = new HashMap<>();
+        final StateIDs<S> stateIDs = automaton.stateIDs();
+        final int size = automaton.size();
+
+        writeGlobalProperties(a, dotHelper, props);
+
+        boolean hiddenNodes = false;
+
+        for (int i = 0; i < size; i++) {
+            final S state = stateIDs.getState(i);
+
+            props.clear();
+            if (!dotHelper.getNodeProperties(state, props)) {
+                hiddenNodes = true;
+                continue;
+            }
+
+            // remove potential attributes that are no valid DOT attributes
+            props.remove(NodeAttrs.INITIAL);
+            props.remove(NodeAttrs.ACCEPTING);
+
+            a.append("\ts").append(Integer.toString(i));
+            appendParams(props, a);
+            a.append(';').append(System.lineSeparator());
+        }
+
+        for (int i = 0; i < size; i++) {
+            final S state = stateIDs.getState(i);
+
+            // only re-evaluate the visibility of nodes if there are hidden nodes at all
+            if (hiddenNodes && !isVisible(dotHelper, state, props)) {
+                continue;
+            }
+
+            for (I input : inputAlphabet) {
+                for (T trans : automaton.getTransitions(state, input)) {
+                    final S tgt = automaton.getSuccessor(trans);
+
+                    if (hiddenNodes && !isVisible(dotHelper, tgt, props)) {
+                        continue;
+                    }
+
+                    props.clear();
+                    if (!dotHelper.getEdgeProperties(state, new TransitionEdge<>(input, trans), tgt, props)) {
+                        continue;
+                    }
+
+                    a.append("\ts").append(Integer.toString(i)).append(" -> s");
+                    a.append(Integer.toString(stateIDs.getStateId(tgt)));
+                    appendParams(props, a);
+                    a.append(';').append(System.lineSeparator());
+                }
+            }
+        }
+
+        boolean hasInitialNodes = false;
+        int initialIdx = 0;
+
+        for (S init : automaton.getInitialStates()) {
+            props.clear();
+            if (!dotHelper.getNodeProperties(init, props) || !Boolean.parseBoolean(props.get(NodeAttrs.INITIAL))) {
+                continue;
+            }
+
+            if (!hasInitialNodes) {
+                a.append(System.lineSeparator());
+                hasInitialNodes = true;
+            }
+
+            final String label = initialLabel(initialIdx++);
+            a.append(label)
+             .append(" [label=\"\" shape=\"none\" width=\"0\" height=\"0\"];")
+             .append(System.lineSeparator())
+             .append(label)
+             .append(" -> s")
+             .append(Integer.toString(stateIDs.getStateId(init)))
+             .append(';')
+             .append(System.lineSeparator());
+        }
+
+        a.append(System.lineSeparator());
+        dotHelper.writePostamble(a);
+    }
+
+    private static <N> boolean isVisible(DOTVisualizationHelper<N, ?> dotHelper, N node, Map<String, String> props) {
+        props.clear();
+        return dotHelper.getNodeProperties(node, props);
+    }
+
+    private static void writeGlobalProperties(Appendable a,
+                                              DOTVisualizationHelper<?, ?> dotHelper,
+                                              Map<String, String> props) throws IOException {
+        dotHelper.getGlobalNodeProperties(props);
+        if (!props.isEmpty()) {
+            a.append('\t').append("node");
+            appendParams(props, a);
+            a.append(';').append(System.lineSeparator());
+        }
+
+        props.clear();
+        dotHelper.getGlobalEdgeProperties(props);
+        if (!props.isEmpty()) {
+            a.append('\t').append("edge");
+            appendParams(props, a);
+            a.append(';').append(System.lineSeparator());
+        }
+
+        dotHelper.writePreamble(a);
+        a.append(System.lineSeparator());
+    }
+
+    static void writeRawFooter(Appendable a) throws IOException {
         a.append('}').append(System.lineSeparator());
     }
 
-    private static void appendParams(Map<String, String> params, Appendable a) throws IOException {
+    static void appendParams(Map<String, String> params, Appendable a) throws IOException {
         if (params.isEmpty()) {
             return;
         }
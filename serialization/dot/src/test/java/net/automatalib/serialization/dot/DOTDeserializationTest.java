@@ -19,6 +19,7 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -36,6 +37,7 @@ import net.automatalib.automata.transducers.MealyMachine;
 import net.automatalib.automata.transducers.MooreMachine;
 import net.automatalib.automata.transducers.impl.compact.CompactMealy;
 import net.automatalib.automata.transducers.impl.compact.CompactMoore;
+import net.automatalib.commons.util.Pair;
 import net.automatalib.commons.util.io.UnclosableInputStream;
 import net.automatalib.graphs.UniversalGraph;
 import net.automatalib.serialization.FormatException;
@@ -206,6 +208,134 @@ public class DOTDeserializationTest {
         checkIsomorphism(dfa, parsed, dfa.getInputAlphabet());
     }
 
+    @Test
+    public void testFastDeserialization() throws IOException {
+
+        final CompactDFA<String> dfa = DOTSerializationUtil.DFA;
+        final CompactNFA<String> nfa = DOTSerializationUtil.NFA;
+        final CompactMealy<String, String> mealy = DOTSerializationUtil.MEALY;
+        final CompactMoore<String, String> moore = DOTSerializationUtil.MOORE;
+
+        checkIsomorphism(dfa,
+                         DOTParsers.fastDfa()
+                                   .readModel(DOTSerializationUtil.getResource(DOTSerializationUtil.DFA_RESOURCE)).model,
+                         dfa.getInputAlphabet());
+        checkIsomorphism(nfa,
+                         DOTParsers.fastNfa()
+                                   .readModel(DOTSerializationUtil.getResource(DOTSerializationUtil.NFA_RESOURCE)).model,
+                         nfa.getInputAlphabet());
+        checkIsomorphism(mealy,
+                         DOTParsers.fastMealy()
+                                   .readModel(DOTSerializationUtil.getResource(DOTSerializationUtil.MEALY_RESOURCE)).model,
+                         mealy.getInputAlphabet());
+        checkIsomorphism(moore,
+                         DOTParsers.fastMoore()
+                                   .readModel(DOTSerializationUtil.getResource(DOTSerializationUtil.MOORE_RESOURCE)).model,
+                         moore.getInputAlphabet());
+    }
+
+    @Test
+    public void testFastNFA2Deserialization() throws IOException {
+
+        final CompactNFA<String> parsed = new FastDOTMutableAutomatonParser<>(new CompactNFA.Creator<String>(),
+                                                                              DOTParsers.DEFAULT_FSA_NODE_PARSER,
+                                                                              attr -> Pair.of(DOTParsers.DEFAULT_EDGE_PARSER.apply(
+                                                                                      attr), null),
+                                                                              Arrays.asList("s0", "s1", "s2"),
+                                                                              false).readModel(DOTSerializationUtil.getResource(
+                DOTSerializationUtil.NFA2_RESOURCE)).model;
+
+        final CompactNFA<String> expected = DOTParsers.fsa(new CompactNFA.Creator<>(),
+                                                           DOTParsers.DEFAULT_FSA_NODE_PARSER,
+                                                           DOTParsers.DEFAULT_EDGE_PARSER,
+                                                           Arrays.asList("s0", "s1", "s2"),
+                                                           false)
+                                                      .readModel(DOTSerializationUtil.getResource(DOTSerializationUtil.NFA2_RESOURCE)).model;
+
+        Assert.assertEquals(parsed.size(), expected.size());
+        Assert.assertEquals(parsed.getInitialStates().size(), 3);
+
+        for (Word<String> w : Arrays.asList(Word.fromSymbols("a", "a", "a"),
+                                            Word.fromSymbols("b", "b"),
+                                            Word.fromSymbols("c"),
+                                            Word.fromSymbols("a", "b"),
+                                            Word.fromSymbols("c", "a"))) {
+            Assert.assertEquals(parsed.accepts(w), expected.accepts(w));
+            Assert.assertEquals(parsed.getSuccessors(parsed.getInitialStates(), w).size(),
+                                expected.getSuccessors(expected.getInitialStates(), w).size());
+        }
+    }
+
+    @Test
+    public void testFastDeserializationSemantics() throws IOException {
+        final String dot = "# default attributes and implicit nodes\n" +
+                           "strict digraph \"test\" {\n" +
+                           "  rankdir=LR; graph [splines=true]\n" +
+                           "  node [shape=doublecircle]\n" +
+                           "  s0 -> s1 [label=\"a\"]\n" +
+                           "  /* re-declaration merges attributes */\n" +
+                           "  s0 [shape=\"circle\", label=\"q\\\"0\"]; s0 [color=red];\n" +
+                           "  edge [label=b]\n" +
+                           "  s1 -> s0; s1 -> s1 [label=\"a\"][color=blue]\n" +
+                           "  __start0 [label=\"\" shape=\"none\" width=\"0\" height=\"0\"];\n" +
+                           "  __start0 -> s0;\n" +
+                           "}\n";
+
+        final DOTInputModelData<Integer, String, CompactDFA<String>> expected =
+                DOTParsers.dfa().readModel(dot.getBytes(StandardCharsets.UTF_8));
+        final DOTInputModelData<Integer, String, CompactDFA<String>> actual =
+                DOTParsers.fastDfa().readModel(dot.getBytes(StandardCharsets.UTF_8));
+
+        Assert.assertEquals(actual.model.size(), 2);
+        checkIsomorphism(expected.model, actual.model, expected.alphabet);
+        Assert.assertEquals(new HashSet<>(actual.alphabet), new HashSet<>(expected.alphabet));
+
+        for (Integer s : actual.model) {
+            Assert.assertEquals(actual.stateLabels.get(s), expected.stateLabels.get(s));
+        }
+        Assert.assertEquals(actual.stateLabels.get(actual.model.getInitialState()), "q\"0");
+    }
+
+    @Test
+    public void testFastDuplicateTransitions() throws IOException {
+
+        final CompactDFA<String> dfa = new CompactDFA<>(Alphabets.closedCharStringRange('a', 'b'));
+        final Integer s0 = dfa.addInitialState();
+        final Integer s1 = dfa.addState(true);
+
+        dfa.addTransition(s0, "a", s1);
+        dfa.addTransition(s0, "b", s1);
+        dfa.addTransition(s1, "a", s0);
+        dfa.addTransition(s1, "b", s0);
+
+        final StringWriter w = new StringWriter();
+        GraphDOT.write(dfa, dfa.getInputAlphabet(), w);
+
+        final DFA<?, String> parsed = DOTParsers.fastDfa().readModel(w.toString().getBytes()).model;
+
+        checkIsomorphism(dfa, parsed, dfa.getInputAlphabet());
+    }
+
+    @Test(expectedExceptions = FormatException.class)
+    public void testFastFaultyAutomatonDeserialization() throws IOException {
+        DOTParsers.fastDfa().readModel(DOTSerializationUtil.getResource(DOTSerializationUtil.FAULTY_AUTOMATON_RESOURCE));
+    }
+
+    @Test
+    public void testFastUnsupportedDeserialization() {
+        final String[] unsupported = {"digraph { s0 -> s1 -> s2 }",
+                                      "digraph { subgraph { s0 } }",
+                                      "digraph { s0:n -> s1 }",
+                                      "digraph { s0 -- s1 }",
+                                      "digraph { s0 [label=\"a\" }",
+                                      "digraph { s0 } s1"};
+
+        for (String dot : unsupported) {
+            Assert.assertThrows(FormatException.class,
+                                () -> DOTParsers.fastDfa().readModel(dot.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
     private static <S1, S2, I, T1, T2, SP, TP> void checkIsomorphism(UniversalAutomaton<S1, I, T1, SP, TP> source,
                                                                      UniversalAutomaton<S2, I, T2, SP, TP> target,
                                                                      Alphabet<I> alphabet) {
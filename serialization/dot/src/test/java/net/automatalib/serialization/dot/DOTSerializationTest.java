@@ -19,7 +19,11 @@ import java.io.IOException;
 import java.io.Reader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -42,6 +46,8 @@ import net.automatalib.graphs.ProceduralModalProcessGraph;
 import net.automatalib.graphs.base.DefaultCFMPS;
 import net.automatalib.graphs.base.compact.CompactEdge;
 import net.automatalib.graphs.base.compact.CompactGraph;
+import net.automatalib.serialization.streaming.AutomatonVisitors;
+import net.automatalib.serialization.streaming.AutomatonWriter;
 import net.automatalib.ts.modal.CompactMC;
 import net.automatalib.ts.modal.CompactMTS;
 import net.automatalib.visualization.DefaultVisualizationHelper;
@@ -117,6 +123,131 @@ public class DOTSerializationTest {
         checkDOTOutput(writer, DOTSerializationUtil.MC_RESOURCE);
     }
 
+    @Test
+    public void testStreamingAutomatonExport() throws IOException {
+
+        final CompactDFA<String> dfa = DOTSerializationUtil.DFA;
+        final CompactNFA<String> nfa = DOTSerializationUtil.NFA;
+        final CompactMealy<String, String> mealy = DOTSerializationUtil.MEALY;
+        final CompactMoore<String, String> moore = DOTSerializationUtil.MOORE;
+        final CompactSST<Character, Character> sst = DOTSerializationUtil.SST;
+
+        checkDOTOutput(w -> GraphDOT.writeStreaming(dfa, dfa.getInputAlphabet(), w),
+                       DOTSerializationUtil.DFA_RESOURCE);
+        checkDOTOutput(w -> GraphDOT.writeStreaming(nfa, nfa.getInputAlphabet(), w),
+                       DOTSerializationUtil.NFA_RESOURCE);
+        checkDOTOutput(w -> GraphDOT.writeStreaming(mealy, mealy.getInputAlphabet(), w),
+                       DOTSerializationUtil.MEALY_RESOURCE);
+        checkDOTOutput(w -> GraphDOT.writeStreaming(moore, moore.getInputAlphabet(), w),
+                       DOTSerializationUtil.MOORE_RESOURCE);
+        checkDOTOutput(w -> GraphDOT.writeStreaming(sst, sst.getInputAlphabet(), w),
+                       DOTSerializationUtil.SST_RESOURCE);
+    }
+
+    @Test
+    public void testStreamingFileExport() throws IOException {
+
+        final CompactMealy<String, String> mealy = DOTSerializationUtil.MEALY;
+        final Path file = Files.createTempFile("automatalib", ".dot");
+
+        try {
+            GraphDOT.writeStreaming(mealy, mealy.getInputAlphabet(), file, Collections.emptyList());
+            checkDOTOutput(w -> w.write(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)),
+                           DOTSerializationUtil.MEALY_RESOURCE);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testStreamingSerializer() throws IOException {
+
+        final CompactDFA<String> dfa = DOTSerializationUtil.DFA;
+        final CompactMealy<String, String> mealy = DOTSerializationUtil.MEALY;
+        final Path source = Files.createTempFile("automatalib", ".dot");
+        final Path target = Files.createTempFile("automatalib", ".dot");
+
+        try {
+            final DOTStreamingSerializer<String, Boolean, Void> fsaSerializer = DOTStreamingSerializer.fsa();
+            try (AutomatonWriter<String, Boolean, Void> writer = fsaSerializer.createWriter(source.toFile())) {
+                AutomatonVisitors.visit(dfa, dfa.getInputAlphabet(), writer);
+            }
+            checkDOTOutput(w -> w.write(new String(Files.readAllBytes(source), StandardCharsets.UTF_8)),
+                           DOTSerializationUtil.DFA_RESOURCE);
+
+            final CompactDFA<String> streamedDFA =
+                    DOTParsers.fastDfa().readModel(source.toFile(), new CompactDFA.Creator<String>()).model;
+            Assert.assertEquals(streamedDFA.getInitialState(), dfa.getInitialState());
+            for (Integer state : dfa) {
+                Assert.assertEquals(streamedDFA.isAccepting(state), dfa.isAccepting(state));
+                for (String input : dfa.getInputAlphabet()) {
+                    Assert.assertEquals(streamedDFA.getSuccessor(state, input), dfa.getSuccessor(state, input));
+                }
+            }
+
+            // converting between the streaming DOT formats preserves the document
+            AutomatonVisitors.convert(DOTParsers.fastDfa(), source.toFile(), fsaSerializer, target.toFile());
+            Assert.assertEquals(Files.readAllBytes(target), Files.readAllBytes(source));
+
+            final DOTStreamingSerializer<String, Void, String> mealySerializer = DOTStreamingSerializer.mealy();
+            try (AutomatonWriter<String, Void, String> writer = mealySerializer.createWriter(source.toFile())) {
+                AutomatonVisitors.visit(mealy, mealy.getInputAlphabet(), writer);
+            }
+            checkDOTOutput(w -> w.write(new String(Files.readAllBytes(source), StandardCharsets.UTF_8)),
+                           DOTSerializationUtil.MEALY_RESOURCE);
+
+            final CompactMealy<String, String> streamedMealy =
+                    DOTParsers.fastMealy().readModel(source.toFile(), new CompactMealy.Creator<String, String>()).model;
+            Assert.assertEquals(streamedMealy.getInitialState(), mealy.getInitialState());
+            for (Integer state : mealy) {
+                for (String input : mealy.getInputAlphabet()) {
+                    Assert.assertEquals(streamedMealy.getSuccessor(state, input), mealy.getSuccessor(state, input));
+                    Assert.assertEquals(streamedMealy.getOutput(state, input), mealy.getOutput(state, input));
+                }
+            }
+        } finally {
+            Files.delete(source);
+            Files.delete(target);
+        }
+    }
+
+    @Test
+    public void testStreamingHiddenNodes() throws IOException {
+
+        final CompactDFA<String> dfa = DOTSerializationUtil.DFA;
+
+        final StringWriter writer = new StringWriter();
+        GraphDOT.writeStreaming(dfa,
+                                dfa.getInputAlphabet(),
+                                writer,
+                                Collections.singletonList(new OddNodeFilter()));
+
+        final CompactDFA<String> parsed =
+                DOTParsers.dfa().readModel(writer.toString().getBytes(StandardCharsets.UTF_8)).model;
+
+        int numVisibleTransitions = 0;
+        for (Integer s : dfa) {
+            for (String i : dfa.getInputAlphabet()) {
+                final Integer succ = dfa.getSuccessor(s, i);
+                if (s % 2 == 0 && succ != null && succ % 2 == 0) {
+                    numVisibleTransitions++;
+                }
+            }
+        }
+
+        int numParsedTransitions = 0;
+        for (Integer s : parsed) {
+            for (String i : parsed.getInputAlphabet()) {
+                if (parsed.getSuccessor(s, i) != null) {
+                    numParsedTransitions++;
+                }
+            }
+        }
+
+        Assert.assertEquals(parsed.size(), (dfa.size() + 1) / 2);
+        Assert.assertEquals(numParsedTransitions, numVisibleTransitions);
+    }
+
     @Test
     public void testRegularClusterExport() throws IOException {
 
@@ -235,6 +366,19 @@ public class DOTSerializationTest {
         void write(Writer w) throws IOException;
     }
 
+    private static class OddNodeFilter implements VisualizationHelper<Integer, Object> {
+
+        @Override
+        public boolean getNodeProperties(Integer node, Map<String, String> properties) {
+            return node % 2 == 0;
+        }
+
+        @Override
+        public boolean getEdgeProperties(Integer src, Object edge, Integer tgt, Map<String, String> properties) {
+            return true;
+        }
+    }
+
     private static class RedTransitionHelper<E> implements VisualizationHelper<Integer, E> {
 
         @Override
@@ -15,7 +15,14 @@
  */
 package net.automatalib.serialization.etf.writer;
 
-import java.io.PrintWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
 
 import net.automatalib.automata.Automaton;
 import net.automatalib.serialization.InputModelSerializer;
@@ -23,6 +30,9 @@ import net.automatalib.words.Alphabet;
 
 /**
  * This class provides methods to write automata in LTSmin's ETF format.
+ * <p>
+ * The output is encoded into a single {@link java.nio.ByteBuffer} (see {@link ETFOutput}) which is written to a {@link
+ * WritableByteChannel}. Files (including named pipes) are written through a {@link FileChannel} directly.
  *
  * @see <a href="http://ltsmin.utwente.nl/assets/man/etf.html">the ETF format</a>
  *
@@ -34,42 +44,92 @@ public abstract class AbstractETFWriter<I, A extends Automaton<?, I, ?>> impleme
      * Write the state vector. The state vector contains one variable of type "id", named "id".
      * Valuations for "id" could be identical to the state names of automata.
      *
-     * @param printWriter the Writer.
+     * @param out the output.
      */
-    private void writeState(PrintWriter printWriter) {
-        printWriter.println("begin state");
-        printWriter.println("id:id");
-        printWriter.println("end state");
+    private void writeState(ETFOutput out) throws IOException {
+        out.println("begin state");
+        out.println("id:id");
+        out.println("end state");
     }
 
     /**
      * Write an edge in the LTS. Edges in specializations could be different; e.g. Mealy machines have two edge
      * labels, and DFAs have one edge.
      *
-     * @param printWriter the Writer.
+     * @param out the output.
+     *
+     * @throws IOException if writing to the output fails.
      */
-    protected abstract void writeEdge(PrintWriter printWriter);
+    protected abstract void writeEdge(ETFOutput out) throws IOException;
 
     /**
      * Write parts of the ETF that are dependent on A.
      *
-     * @param printWriter the Writer.
+     * @param out the output.
      * @param a the automaton to write.
      * @param inputs the alphabet.
+     *
+     * @throws IOException if writing to the output fails.
      */
-    protected abstract void writeETF(PrintWriter printWriter, A a, Alphabet<I> inputs);
+    protected abstract void writeETF(ETFOutput out, A a, Alphabet<I> inputs) throws IOException;
 
     /**
      * Write the full ETF.
      *
-     * @param printWriter the Writer.
+     * @param out the output.
      * @param a the automaton to write.
      * @param inputs the alphabet.
+     *
+     * @throws IOException if writing to the output fails.
+     */
+    protected final void write(ETFOutput out, A a, Alphabet<I> inputs) throws IOException {
+        writeState(out);
+        writeEdge(out);
+        writeETF(out, a, inputs);
+    }
+
+    /**
+     * Writes the model to the given channel. The channel is not closed.
+     *
+     * @param channel the channel to write to.
+     * @param model the model to write.
+     * @param alphabet the alphabet.
+     *
+     * @throws IOException if writing to the channel fails.
+     */
+    public void writeModel(WritableByteChannel channel, A model, Alphabet<I> alphabet) throws IOException {
+        final ETFOutput out = new ETFOutput(channel);
+        write(out, model, alphabet);
+        out.flush();
+    }
+
+    /**
+     * Writes the model to the given file, which may also be a named pipe.
+     */
+    @Override
+    public void writeModel(File f, A model, Alphabet<I> alphabet) throws IOException {
+        try (FileChannel channel = FileChannel.open(f.toPath(),
+                                                    StandardOpenOption.WRITE,
+                                                    StandardOpenOption.CREATE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeModel(channel, model, alphabet);
+        }
+    }
+
+    /**
+     * Writes the model to the given output stream. The output stream is not closed.
+     *
+     * @throws UncheckedIOException if writing to the output stream fails.
      */
-    protected final void write(PrintWriter printWriter, A a, Alphabet<I> inputs) {
-        writeState(printWriter);
-        writeEdge(printWriter);
-        writeETF(printWriter, a, inputs);
+    @Override
+    public void writeModel(OutputStream os, A model, Alphabet<I> alphabet) {
+        try {
+            // do not close the channel, as this would close the stream
+            writeModel(Channels.newChannel(os), model, alphabet);
+            os.flush();
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
     }
 
 }
@@ -15,12 +15,10 @@
  */
 package net.automatalib.serialization.etf.writer;
 
-import java.io.OutputStream;
-import java.io.PrintWriter;
+import java.io.IOException;
 
 import net.automatalib.automata.concepts.StateIDs;
 import net.automatalib.automata.fsa.DFA;
-import net.automatalib.commons.util.IOUtil;
 import net.automatalib.words.Alphabet;
 
 /**
@@ -37,13 +35,13 @@ public final class DFA2ETFWriter<I> extends AbstractETFWriter<I, DFA<?, I>> {
     /**
      * Writes the type of the edge. A DFA edge contains one label, named 'letter', of type 'letter.
      *
-     * @param pw the Writer.
+     * @param out the output.
      */
     @Override
-    protected void writeEdge(PrintWriter pw) {
-        pw.println("begin edge");
-        pw.println("letter:letter");
-        pw.println("end edge");
+    protected void writeEdge(ETFOutput out) throws IOException {
+        out.println("begin edge");
+        out.println("letter:letter");
+        out.println("end edge");
     }
 
     /**
@@ -56,76 +54,72 @@ public final class DFA2ETFWriter<I> extends AbstractETFWriter<I, DFA<?, I>> {
      *  - the state labels (rejecting/accepting),
      *  - the mapping from states to state labels.
      *
-     * @param pw the Writer.
+     * @param out the output.
      * @param dfa the DFA to write.
      * @param inputs the alphabet.
      */
     @Override
-    protected void writeETF(PrintWriter pw, DFA<?, I> dfa, Alphabet<I> inputs) {
-        writeETFInternal(pw, dfa, inputs);
+    protected void writeETF(ETFOutput out, DFA<?, I> dfa, Alphabet<I> inputs) throws IOException {
+        writeETFInternal(out, dfa, inputs);
     }
 
-    private <S> void writeETFInternal(PrintWriter pw, DFA<S, I> dfa, Alphabet<I> inputs) {
+    private <S> void writeETFInternal(ETFOutput out, DFA<S, I> dfa, Alphabet<I> inputs) throws IOException {
         final StateIDs<S> stateIDs = dfa.stateIDs();
+        final int numInputs = inputs.size();
 
         // write the initial state
         final S init = dfa.getInitialState();
         if (init != null) {
-            pw.println("begin init");
-            pw.printf("%d%n", stateIDs.getStateId(init));
-            pw.println("end init");
+            out.println("begin init");
+            out.print(stateIDs.getStateId(init));
+            out.println();
+            out.println("end init");
         }
 
         // write the valuations of the state ids
-        pw.println("begin sort id");
-        dfa.getStates().forEach(s -> pw.printf("\"%s\"%n", s));
-        pw.println("end sort");
+        out.println("begin sort id");
+        for (S s : dfa.getStates()) {
+            out.print(ETFOutput.encode(s));
+            out.println();
+        }
+        out.println("end sort");
 
         // write the letters from the alphabet
-        pw.println("begin sort letter");
-        for (I i : inputs) {
-            pw.print("\"");
-            pw.print(i);
-            pw.println("\"");
+        out.println("begin sort letter");
+        for (int i = 0; i < numInputs; i++) {
+            out.print(ETFOutput.encode(inputs.getSymbol(i)));
+            out.println();
         }
-        pw.println("end sort");
+        out.println("end sort");
 
         // write the transitions
-        pw.println("begin trans");
+        out.println("begin trans");
         for (S s : dfa.getStates()) {
-            for (I i : inputs) {
-                S t = dfa.getSuccessor(s, i);
+            final int src = stateIDs.getStateId(s);
+            for (int i = 0; i < numInputs; i++) {
+                final S t = dfa.getSuccessor(s, inputs.getSymbol(i));
                 if (t != null) {
-                    pw.printf(
-                            "%d/%d %d%n",
-                            stateIDs.getStateId(s),
-                            stateIDs.getStateId(t),
-                            inputs.getSymbolIndex(i));
+                    out.printTransition(src, stateIDs.getStateId(t), i);
                 }
             }
         }
-        pw.println("end trans");
+        out.println("end trans");
 
         // write the two state label valuations
-        pw.println("begin sort label");
-        pw.println("\"reject\"");
-        pw.println("\"accept\"");
-        pw.println("end sort");
+        out.println("begin sort label");
+        out.println("\"reject\"");
+        out.println("\"accept\"");
+        out.println("end sort");
 
         // write the state labels for each state, e.g. whether it is accepting/rejecting.
-        pw.println("begin map label:label");
+        out.println("begin map label:label");
         for (S s : dfa.getStates()) {
-            final int stateId = stateIDs.getStateId(s);
-            pw.printf("%d %d%n", stateId, dfa.isAccepting(s) ? 1 : 0);
-        }
-        pw.println("end map");
-    }
-
-    @Override
-    public void writeModel(OutputStream os, DFA<?, I> model, Alphabet<I> alphabet) {
-        try (PrintWriter pw = new PrintWriter(IOUtil.asBufferedNonClosingUTF8Writer(os))) {
-            write(pw, model, alphabet);
+            out.print(stateIDs.getStateId(s));
+            out.print(' ');
+            out.print(dfa.isAccepting(s) ? 1 : 0);
+            out.println();
         }
+        out.println("end map");
     }
 
     @SuppressWarnings("unchecked")
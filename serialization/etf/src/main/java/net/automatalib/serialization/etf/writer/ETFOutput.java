@@ -0,0 +1,228 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.etf.writer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A buffered writer for the (textual) ETF format that encodes its output directly into a {@link ByteBuffer} which is
+ * flushed to a {@link WritableByteChannel}, e.g. a file or a named pipe. Integers are formatted without creating
+ * intermediate {@link String}s and labels can be {@link #encode(Object) encoded} once and then be written repeatedly,
+ * so that writing transitions does not allocate any objects.
+ */
+public final class ETFOutput {
+
+    private static final int BUFFER_SIZE = 1 << 18;
+    private static final int MAX_INT_LENGTH = 11;
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final byte[] digits;
+
+    ETFOutput(WritableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.digits = new byte[MAX_INT_LENGTH];
+    }
+
+    /**
+     * Encodes the given label as a quoted (UTF-8) ETF value, for writing it via {@link #print(byte[])}.
+     *
+     * @param label
+     *         the label, whose {@link Object#toString() string representation} is encoded
+     *
+     * @return the encoded label
+     */
+    public static byte[] encode(Object label) {
+        return ('"' + String.valueOf(label) + '"').getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the given (pre-encoded) bytes.
+     *
+     * @param bytes
+     *         the bytes to write
+     *
+     * @throws IOException
+     *         if flushing the buffer to the underlying channel fails
+     */
+    public void print(byte[] bytes) throws IOException {
+        if (buffer.remaining() < bytes.length) {
+            flushBuffer();
+            if (bytes.length > buffer.capacity()) {
+                writeFully(ByteBuffer.wrap(bytes));
+                return;
+            }
+        }
+        buffer.put(bytes);
+    }
+
+    /**
+     * Writes the given (ASCII) character.
+     *
+     * @param c
+     *         the character to write
+     *
+     * @throws IOException
+     *         if flushing the buffer to the underlying channel fails
+     */
+    public void print(char c) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flushBuffer();
+        }
+        buffer.put((byte) c);
+    }
+
+    /**
+     * Writes the decimal representation of the given integer.
+     *
+     * @param value
+     *         the integer to write
+     *
+     * @throws IOException
+     *         if flushing the buffer to the underlying channel fails
+     */
+    public void print(int value) throws IOException {
+        if (buffer.remaining() < MAX_INT_LENGTH) {
+            flushBuffer();
+        }
+
+        long v = value;
+        if (v < 0) {
+            buffer.put((byte) '-');
+            v = -v;
+        }
+
+        int pos = MAX_INT_LENGTH;
+        do {
+            digits[--pos] = (byte) ('0' + v % 10);
+            v /= 10;
+        } while (v != 0);
+
+        buffer.put(digits, pos, MAX_INT_LENGTH - pos);
+    }
+
+    /**
+     * Writes the given string (encoded in UTF-8).
+     *
+     * @param s
+     *         the string to write
+     *
+     * @throws IOException
+     *         if flushing the buffer to the underlying channel fails
+     */
+    public void print(String s) throws IOException {
+        print(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes the given string (encoded in UTF-8), followed by a line separator.
+     *
+     * @param s
+     *         the string to write
+     *
+     * @throws IOException
+     *         if flushing the buffer to the underlying channel fails
+     */
+    public void println(String s) throws IOException {
+        print(s);
+        println();
+    }
+
+    /**
+     * Writes a line separator.
+     *
+     * @throws IOException
+     *         if flushing the buffer to the underlying channel fails
+     */
+    public void println() throws IOException {
+        print(LINE_SEPARATOR);
+    }
+
+    /**
+     * Writes a transition line of the form {@code src/tgt label}.
+     *
+     * @param src
+     *         the source state
+     * @param tgt
+     *         the target state
+     * @param label
+     *         the (index of the) edge label
+     *
+     * @throws IOException
+     *         if flushing the buffer to the underlying channel fails
+     */
+    public void printTransition(int src, int tgt, int label) throws IOException {
+        print(src);
+        print('/');
+        print(tgt);
+        print(' ');
+        print(label);
+        println();
+    }
+
+    /**
+     * Writes a transition line of the form {@code src/tgt label1 label2}.
+     *
+     * @param src
+     *         the source state
+     * @param tgt
+     *         the target state
+     * @param label1
+     *         the (index of the) first edge label
+     * @param label2
+     *         the (index of the) second edge label
+     *
+     * @throws IOException
+     *         if flushing the buffer to the underlying channel fails
+     */
+    public void printTransition(int src, int tgt, int label1, int label2) throws IOException {
+        print(src);
+        print('/');
+        print(tgt);
+        print(' ');
+        print(label1);
+        print(' ');
+        print(label2);
+        println();
+    }
+
+    /**
+     * Writes all buffered data to the underlying channel.
+     *
+     * @throws IOException
+     *         if writing to the underlying channel fails
+     */
+    void flush() throws IOException {
+        flushBuffer();
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer src) throws IOException {
+        while (src.hasRemaining()) {
+            channel.write(src);
+        }
+    }
+}
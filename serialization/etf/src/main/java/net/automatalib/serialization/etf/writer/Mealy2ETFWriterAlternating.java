@@ -15,15 +15,15 @@
  */
 package net.automatalib.serialization.etf.writer;
 
-import java.io.OutputStream;
-import java.io.PrintWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
+import net.automatalib.automata.concepts.StateIDs;
 import net.automatalib.automata.transducers.MealyMachine;
-import net.automatalib.commons.util.IOUtil;
-import net.automatalib.commons.util.Pair;
 import net.automatalib.words.Alphabet;
 
 /**
@@ -46,13 +46,13 @@ public final class Mealy2ETFWriterAlternating<I, O> extends AbstractETFWriter<I,
      * With alternating edge semantics, there are only edges with one label. Both input and output of the Mealy
      * machine is generalized to a label named 'letter', of type 'letter'.
      *
-     * @param pw the Writer.
+     * @param out the output.
      */
     @Override
-    protected void writeEdge(PrintWriter pw) {
-        pw.println("begin edge");
-        pw.println("letter:letter");
-        pw.println("end edge");
+    protected void writeEdge(ETFOutput out) throws IOException {
+        out.println("begin edge");
+        out.println("letter:letter");
+        out.println("end edge");
     }
 
     /**
@@ -67,110 +67,218 @@ public final class Mealy2ETFWriterAlternating<I, O> extends AbstractETFWriter<I,
      * Note that in this context, the alphabet that is written to ETF is not just the inputs, it is the union of
      * inputs and outputs, of type 'letter'.
      *
-     * @param pw the Writer.
+     * @param out the output.
      * @param mealy the MealyMachine to write to ETF.
      * @param inputs the alphabet, the input alphabet.
      */
     @Override
-    protected void writeETF(PrintWriter pw, MealyMachine<?, I, ?, O> mealy, Alphabet<I> inputs) {
-        writeETFInternal(pw, mealy, inputs);
+    protected void writeETF(ETFOutput out, MealyMachine<?, I, ?, O> mealy, Alphabet<I> inputs) throws IOException {
+        writeETFInternal(out, mealy, inputs);
     }
 
-    private <S, T> void writeETFInternal(PrintWriter pw, MealyMachine<S, I, T, O> mealy, Alphabet<I> inputs) {
+    private <S, T> void writeETFInternal(ETFOutput out, MealyMachine<S, I, T, O> mealy, Alphabet<I> inputs)
+            throws IOException {
 
-        // create a bi-mapping from states to integers
-        final BiMap<S, Integer> oldStates = HashBiMap.create();
-        mealy.getStates().forEach(s -> oldStates.put(s, oldStates.size()));
+        // number the states in the order of their iteration
+        final StateIDs<S> stateIDs = mealy.stateIDs();
+        final List<S> states = new ArrayList<>(mealy.getStates());
+        final int numStates = states.size();
+        final int numInputs = inputs.size();
+        final int[] stateIndices = new int[numStates];
 
-        // write the initial state, using the bi-map
-        pw.println("begin init");
-        pw.printf("%d%n", oldStates.get(mealy.getInitialState()));
-        pw.println("end init");
+        for (int i = 0; i < numStates; i++) {
+            stateIndices[stateIDs.getStateId(states.get(i))] = i;
+        }
+
+        // write the initial state
+        final S init = mealy.getInitialState();
+        if (init != null) {
+            out.println("begin init");
+            out.print(stateIndices[stateIDs.getStateId(init)]);
+            out.println();
+            out.println("end init");
+        }
 
-        // create a bi-map for transitions containing output
-        final BiMap<Pair<O, S>, Integer> outputTransitions = HashBiMap.create();
+        // assign indices to the outputs in the order of their first occurrence
+        final Map<O, Integer> outputIndices = new HashMap<>();
+        final List<O> outputs = new ArrayList<>();
 
-        // create a bi-map that maps output to integers
-        final BiMap<O, Integer> outputIndices = HashBiMap.create();
+        // the intermediate states for each (output, successor) pair
+        final IntermediateStates intermediateStates = new IntermediateStates(numStates);
 
         /*
-         Write the transitions (here is where the horror begins).
-         The key to writing transitions with alternating semantics is that one have of see if appropriate
-         intermediate states, and output transitions have already been created. If this is the case, that state, and
-         output transitions has to be reused.
+         Write the transitions.
+         The key to writing transitions with alternating semantics is that one has to check if the appropriate
+         intermediate state and output transition have already been created. If this is the case, that state and
+         output transition have to be reused.
          */
-        pw.println("begin trans");
-        for (S s : mealy.getStates()) {
-            for (I i : inputs) {
-                T t = mealy.getTransition(s, i);
+        out.println("begin trans");
+        for (int i = 0; i < numStates; i++) {
+            final S s = states.get(i);
+            for (int j = 0; j < numInputs; j++) {
+                final T t = mealy.getTransition(s, inputs.getSymbol(j));
                 if (t != null) {
-                    final S n = mealy.getSuccessor(t);
+                    final int n = stateIndices[stateIDs.getStateId(mealy.getSuccessor(t))];
                     final O o = mealy.getTransitionOutput(t);
 
-                    // construct a triple that serves as a key in the outputTransitions bi-map
-                    final Pair<O, S> outputTransition = Pair.of(o, n);
-
-                    // compute the integer value of the intermediate state (this may be a new state)
-                    final Integer intermediateState = outputTransitions.computeIfAbsent(
-                            outputTransition, ii -> {
-
-                                // the output may also be a new letter in the alphabet.
-                                final Integer outputIndex = outputIndices.computeIfAbsent(
-                                        o,
-                                        iii -> inputs.size() + outputIndices.size());
-
-                                /*
-                                Write the output transition. Note that this will only be done if the output
-                                transition was not written before.
-                                */
-                                final Integer res = oldStates.size() + outputTransitions.size();
-                                pw.printf("%d/%d %d%n", res, oldStates.get(n), outputIndex);
-                                return res;
-                            });
-
-                    // always write the input transition to the output transition
-                    pw.printf(
-                            "%d/%d %d%n",
-                            oldStates.get(s),
-                            intermediateState,
-                            inputs.getSymbolIndex(i));
+                    // the output may be a new letter in the alphabet
+                    Integer outputIndex = outputIndices.get(o);
+                    if (outputIndex == null) {
+                        outputIndex = outputs.size();
+                        outputIndices.put(o, outputIndex);
+                        outputs.add(o);
+                    }
+
+                    // compute the intermediate state (this may be a new state)
+                    int intermediateState = intermediateStates.get(outputIndex, n);
+                    if (intermediateState < 0) {
+                        intermediateState = intermediateStates.add(outputIndex, n);
+
+                        // write the output transition only once, when the intermediate state is created
+                        out.printTransition(intermediateState, n, numInputs + outputIndex);
+                    }
+
+                    // always write the input transition to the intermediate state
+                    out.printTransition(i, intermediateState, j);
                 }
             }
         }
-        pw.println("end trans");
+        out.println("end trans");
 
         // write all state ids, including the newly created intermediate states
-        pw.println("begin sort id");
-        for (int i = 0; i < oldStates.size(); i++) {
-            pw.printf("\"%s\"%n", oldStates.inverse().get(i));
+        out.println("begin sort id");
+        for (S s : states) {
+            out.print(ETFOutput.encode(s));
+            out.println();
         }
-
-        final Map<Integer, Pair<O, S>> inverseTransitions = outputTransitions.inverse();
-        for (int i = 0; i < outputTransitions.size(); i++) {
-            final Pair<O, S> t = inverseTransitions.get(oldStates.size() + i);
-            assert t != null;
-            pw.printf("\"(%s,%s)\"%n", t.getFirst(), t.getSecond());
+        for (int i = 0; i < intermediateStates.size(); i++) {
+            out.print("\"(");
+            out.print(String.valueOf(outputs.get(intermediateStates.getOutput(i))));
+            out.print(',');
+            out.print(String.valueOf(states.get(intermediateStates.getSuccessor(i))));
+            out.print(")\"");
+            out.println();
         }
-        pw.println("end sort");
+        out.println("end sort");
 
         // write all the letters in the new alphabet
-        pw.println("begin sort letter");
-        inputs.forEach(i -> pw.printf("\"%s\"%n", i));
-        for (int i = 0; i < outputIndices.size(); i++) {
-            pw.printf("\"%s\"%n", outputIndices.inverse().get(inputs.size() + i));
+        out.println("begin sort letter");
+        for (int i = 0; i < numInputs; i++) {
+            out.print(ETFOutput.encode(inputs.getSymbol(i)));
+            out.println();
         }
-        pw.println("end sort");
-    }
-
-    @Override
-    public void writeModel(OutputStream os, MealyMachine<?, I, ?, O> model, Alphabet<I> alphabet) {
-        try (PrintWriter pw = new PrintWriter(IOUtil.asBufferedNonClosingUTF8Writer(os))) {
-            write(pw, model, alphabet);
+        for (O o : outputs) {
+            out.print(ETFOutput.encode(o));
+            out.println();
         }
+        out.println("end sort");
     }
 
     @SuppressWarnings("unchecked")
     public static <I, O> Mealy2ETFWriterAlternating<I, O> getInstance() {
         return (Mealy2ETFWriterAlternating<I, O>) INSTANCE;
     }
+
+    /**
+     * An insertion-ordered, open-addressing hash map from (output index, successor index) pairs to the ids of the
+     * intermediate states, which does not require any boxing of its keys or values.
+     */
+    private static final class IntermediateStates {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final int offset;
+        private long[] keys;
+        private int[] table;
+        private int[] outputs;
+        private int[] successors;
+        private int size;
+
+        IntermediateStates(int offset) {
+            this.offset = offset;
+            this.keys = new long[INITIAL_CAPACITY];
+            this.table = new int[INITIAL_CAPACITY];
+            this.outputs = new int[INITIAL_CAPACITY];
+            this.successors = new int[INITIAL_CAPACITY];
+            Arrays.fill(this.table, -1);
+        }
+
+        int size() {
+            return size;
+        }
+
+        int getOutput(int idx) {
+            return outputs[idx];
+        }
+
+        int getSuccessor(int idx) {
+            return successors[idx];
+        }
+
+        /**
+         * Returns the id of the intermediate state of the given pair, or {@code -1} if there exists none.
+         */
+        int get(int output, int successor) {
+            final long key = key(output, successor);
+            final int mask = table.length - 1;
+
+            for (int pos = hash(key) & mask; table[pos] >= 0; pos = (pos + 1) & mask) {
+                if (keys[pos] == key) {
+                    return offset + table[pos];
+                }
+            }
+
+            return -1;
+        }
+
+        /**
+         * Adds a new intermediate state for the given (absent) pair and returns its id.
+         */
+        int add(int output, int successor) {
+            if (size == outputs.length) {
+                outputs = Arrays.copyOf(outputs, size * 2);
+                successors = Arrays.copyOf(successors, size * 2);
+            }
+            if (2 * (size + 1) > table.length) {
+                rehash(table.length * 2);
+            }
+
+            outputs[size] = output;
+            successors[size] = successor;
+            insert(key(output, successor), size);
+
+            return offset + size++;
+        }
+
+        private void insert(long key, int idx) {
+            final int mask = table.length - 1;
+            int pos = hash(key) & mask;
+
+            while (table[pos] >= 0) {
+                pos = (pos + 1) & mask;
+            }
+
+            keys[pos] = key;
+            table[pos] = idx;
+        }
+
+        private void rehash(int capacity) {
+            keys = new long[capacity];
+            table = new int[capacity];
+            Arrays.fill(table, -1);
+
+            for (int i = 0; i < size; i++) {
+                insert(key(outputs[i], successors[i]), i);
+            }
+        }
+
+        private static long key(int output, int successor) {
+            return ((long) output << Integer.SIZE) | (successor & 0xFFFFFFFFL);
+        }
+
+        private static int hash(long key) {
+            final long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
 }
@@ -15,14 +15,14 @@
  */
 package net.automatalib.serialization.etf.writer;
 
-import java.io.OutputStream;
-import java.io.PrintWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
 import net.automatalib.automata.concepts.StateIDs;
 import net.automatalib.automata.transducers.MealyMachine;
-import net.automatalib.commons.util.IOUtil;
 import net.automatalib.words.Alphabet;
 
 /**
@@ -40,14 +40,14 @@ public final class Mealy2ETFWriterIO<I, O> extends AbstractETFWriter<I, MealyMac
     /**
      * Write the edge type. An edge has two edge labels: input of type input, and output of type output.
      *
-     * @param pw the Writer.
+     * @param out the output.
      */
     @Override
-    protected void writeEdge(PrintWriter pw) {
-        pw.println("begin edge");
-        pw.println("input:input");
-        pw.println("output:output");
-        pw.println("end edge");
+    protected void writeEdge(ETFOutput out) throws IOException {
+        out.println("begin edge");
+        out.println("input:input");
+        out.println("output:output");
+        out.println("end edge");
     }
 
     /**
@@ -60,71 +60,77 @@ public final class Mealy2ETFWriterIO<I, O> extends AbstractETFWriter<I, MealyMac
      *  - the input alphabet (for the input labels on edges),
      *  - the output alphabet (for the output labels on edges).
      *
-     * @param pw the Writer.
+     * @param out the output.
      * @param mealy the Mealy machine to write.
      * @param inputs the alphabet.
      */
     @Override
-    protected void writeETF(PrintWriter pw, MealyMachine<?, I, ?, O> mealy, Alphabet<I> inputs) {
-        writeETFInternal(pw, mealy, inputs);
+    protected void writeETF(ETFOutput out, MealyMachine<?, I, ?, O> mealy, Alphabet<I> inputs) throws IOException {
+        writeETFInternal(out, mealy, inputs);
     }
 
-    private <S, T> void writeETFInternal(PrintWriter pw, MealyMachine<S, I, T, O> mealy, Alphabet<I> inputs) {
+    private <S, T> void writeETFInternal(ETFOutput out, MealyMachine<S, I, T, O> mealy, Alphabet<I> inputs)
+            throws IOException {
         final StateIDs<S> stateIDs = mealy.stateIDs();
+        final int numInputs = inputs.size();
 
         // write the initial state
         final S init = mealy.getInitialState();
         if (init != null) {
-            pw.println("begin init");
-            pw.printf("%d%n", stateIDs.getStateId(init));
-            pw.println("end init");
+            out.println("begin init");
+            out.print(stateIDs.getStateId(init));
+            out.println();
+            out.println("end init");
         }
 
         // write the state ids
-        pw.println("begin sort id");
-        mealy.getStates().forEach(s -> pw.printf("\"%s\"%n", s));
-        pw.println("end sort");
+        out.println("begin sort id");
+        for (S s : mealy.getStates()) {
+            out.print(ETFOutput.encode(s));
+            out.println();
+        }
+        out.println("end sort");
 
-        // create a new bi-map that contains indices for the output alphabet
-        final BiMap<O, Integer> outputIndices = HashBiMap.create();
+        // assign indices to the outputs in the order of their first occurrence
+        final Map<O, Integer> outputIndices = new HashMap<>();
+        final List<O> outputs = new ArrayList<>();
 
         // write the transitions
-        pw.println("begin trans");
+        out.println("begin trans");
         for (S s : mealy.getStates()) {
-            for (I i : inputs) {
-                final T t = mealy.getTransition(s, i);
+            final int src = stateIDs.getStateId(s);
+            for (int i = 0; i < numInputs; i++) {
+                final T t = mealy.getTransition(s, inputs.getSymbol(i));
                 if (t != null) {
                     final O o = mealy.getTransitionOutput(t);
-                    outputIndices.computeIfAbsent(o, ii -> outputIndices.size());
+                    Integer outIdx = outputIndices.get(o);
+                    if (outIdx == null) {
+                        outIdx = outputs.size();
+                        outputIndices.put(o, outIdx);
+                        outputs.add(o);
+                    }
                     final S n = mealy.getSuccessor(t);
-                    pw.printf("%s/%s %d %d%n",
-                              stateIDs.getStateId(s),
-                              stateIDs.getStateId(n),
-                              inputs.getSymbolIndex(i),
-                              outputIndices.get(o));
+                    out.printTransition(src, stateIDs.getStateId(n), i, outIdx);
                 }
             }
         }
-        pw.println("end trans");
+        out.println("end trans");
 
         // write the letters in the input alphabet
-        pw.println("begin sort input");
-        inputs.forEach(i -> pw.printf("\"%s\"%n", i));
-        pw.println("end sort");
-
-        // write the letters in the output alphabet
-        pw.println("begin sort output");
-        for (int i = 0; i < outputIndices.size(); i++) {
-            pw.printf("\"%s\"%n", outputIndices.inverse().get(i));
+        out.println("begin sort input");
+        for (int i = 0; i < numInputs; i++) {
+            out.print(ETFOutput.encode(inputs.getSymbol(i)));
+            out.println();
         }
-        pw.println("end sort");
-    }
+        out.println("end sort");
 
-    @Override
-    public void writeModel(OutputStream os, MealyMachine<?, I, ?, O> model, Alphabet<I> alphabet) {
-        try (PrintWriter pw = new PrintWriter(IOUtil.asBufferedNonClosingUTF8Writer(os))) {
-            write(pw, model, alphabet);
+        // write the letters in the output alphabet
+        out.println("begin sort output");
+        for (O o : outputs) {
+            out.print(ETFOutput.encode(o));
+            out.println();
         }
+        out.println("end sort");
     }
 
     @SuppressWarnings("unchecked")
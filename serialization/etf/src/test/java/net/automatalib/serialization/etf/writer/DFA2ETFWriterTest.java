@@ -16,9 +16,14 @@
 package net.automatalib.serialization.etf.writer;
 
 import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 
 import com.google.common.io.ByteStreams;
 import com.google.common.io.CharStreams;
@@ -83,4 +88,29 @@ public class DFA2ETFWriterTest {
                                                           automaton,
                                                           alphabet);
     }
+
+    @Test
+    public void testWriteChannel() throws Exception {
+        final Alphabet<Character> alphabet = Alphabets.characters('a', 'c');
+        // large enough to exceed the internal buffer of the writer
+        final DFA<?, Character> automaton = RandomAutomata.randomDFA(new Random(0), 20000, alphabet);
+
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DFA2ETFWriter.<Character>getInstance().writeModel(baos, automaton, alphabet);
+
+        final Pipe pipe = Pipe.open();
+        final CompletableFuture<byte[]> result = CompletableFuture.supplyAsync(() -> {
+            try (InputStream is = Channels.newInputStream(pipe.source())) {
+                return ByteStreams.toByteArray(is);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        try (WritableByteChannel sink = pipe.sink()) {
+            DFA2ETFWriter.<Character>getInstance().writeModel(sink, automaton, alphabet);
+        }
+
+        Assert.assertEquals(result.get(), baos.toByteArray());
+    }
 }
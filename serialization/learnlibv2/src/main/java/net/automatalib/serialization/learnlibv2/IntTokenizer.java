@@ -0,0 +1,115 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.learnlibv2;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import net.automatalib.serialization.FormatException;
+
+/**
+ * A tokenizer for whitespace-separated (decimal) integers that operates directly on the bytes of an {@link
+ * InputStream}. In contrast to {@link java.util.Scanner}, no intermediate {@link String}s or regular expressions are
+ * involved, which makes it suitable for reading large files.
+ */
+final class IntTokenizer {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final InputStream is;
+    private final byte[] buffer;
+
+    private int pos;
+    private int limit;
+
+    IntTokenizer(InputStream is) {
+        this.is = is;
+        this.buffer = new byte[BUFFER_SIZE];
+    }
+
+    /**
+     * Reads the next integer.
+     *
+     * @return the next integer
+     *
+     * @throws IOException
+     *         if reading from the underlying stream fails
+     * @throws FormatException
+     *         if the input ends before the next integer or the next token is not a valid integer
+     */
+    int nextInt() throws IOException {
+        int c = read();
+        while (isWhitespace(c)) {
+            c = read();
+        }
+
+        if (c < 0) {
+            throw new FormatException("Unexpected end of input");
+        }
+
+        final boolean negative = c == '-';
+        if (negative || c == '+') {
+            c = read();
+        }
+
+        if (!isDigit(c)) {
+            throw new FormatException("Invalid integer");
+        }
+
+        long result = 0;
+        do {
+            result = result * 10 + (c - '0');
+            if (result > Integer.MAX_VALUE + 1L) {
+                throw new FormatException("Integer out of range");
+            }
+            c = read();
+        } while (isDigit(c));
+
+        if (c >= 0 && !isWhitespace(c)) {
+            throw new FormatException("Invalid integer");
+        }
+
+        if (negative) {
+            result = -result;
+        }
+
+        if (result > Integer.MAX_VALUE) {
+            throw new FormatException("Integer out of range");
+        }
+
+        return (int) result;
+    }
+
+    private int read() throws IOException {
+        if (pos == limit) {
+            limit = is.read(buffer);
+            pos = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[pos++] & 0xFF;
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\f' || c == 0x0B;
+    }
+}
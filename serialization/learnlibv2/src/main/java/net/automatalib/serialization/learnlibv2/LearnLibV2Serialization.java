@@ -19,15 +19,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintWriter;
-import java.nio.charset.StandardCharsets;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
 
 import net.automatalib.automata.concepts.StateIDs;
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.commons.util.IOUtil;
+import net.automatalib.serialization.FormatException;
 import net.automatalib.serialization.InputModelData;
 import net.automatalib.serialization.InputModelSerializationProvider;
 import net.automatalib.util.automata.Automata;
@@ -39,6 +39,11 @@ public class LearnLibV2Serialization
 
     private static final LearnLibV2Serialization INSTANCE = new LearnLibV2Serialization();
 
+    /**
+     * The (maximum) number of transitions that are parsed before they are passed to the automaton.
+     */
+    private static final int TRANSITION_CHUNK_SIZE = 8192;
+
     public static LearnLibV2Serialization getInstance() {
         return INSTANCE;
     }
@@ -58,35 +63,57 @@ public class LearnLibV2Serialization
         return new InputModelData<>(automaton, automaton.getInputAlphabet());
     }
 
+    /**
+     * Reads a DFA from the given input stream. The input is tokenized on the byte-level and the transitions are set in
+     * bulk, see {@link CompactDFA#setTransitions(int, IntBuffer)}.
+     *
+     * @param is
+     *         the input stream to read from
+     *
+     * @return the parsed DFA
+     *
+     * @throws IOException
+     *         if reading from the stream fails
+     * @throws FormatException
+     *         if the contents of the stream do not describe a valid DFA
+     */
     public CompactDFA<Integer> readGenericDFA(InputStream is) throws IOException {
-        try (Scanner sc = new Scanner(IOUtil.asUncompressedBufferedNonClosingInputStream(is),
-                                      StandardCharsets.UTF_8.toString())) {
-
-            int numStates = sc.nextInt();
-            int numSymbols = sc.nextInt();
+        try (InputStream stream = IOUtil.asUncompressedBufferedNonClosingInputStream(is)) {
+            final IntTokenizer tokenizer = new IntTokenizer(stream);
 
-            Alphabet<Integer> alphabet = Alphabets.integers(0, numSymbols - 1);
+            final int numStates = tokenizer.nextInt();
+            final int numSymbols = tokenizer.nextInt();
 
-            CompactDFA<Integer> result = new CompactDFA<>(alphabet, numStates);
+            if (numStates <= 0 || numSymbols < 0) {
+                throw new FormatException("Invalid number of states or symbols");
+            }
 
-            // This is redundant in practice, but it is in fact not specified by CompactDFA
-            // how state IDs are assigned
-            int[] states = new int[numStates];
+            final Alphabet<Integer> alphabet = Alphabets.integers(0, numSymbols - 1);
+            final CompactDFA<Integer> result = new CompactDFA<>(alphabet, numStates);
 
-            // Parse states
-            states[0] = result.addIntInitialState(sc.nextInt() != 0);
+            // Parse states. The first state is the initial one and states are numbered consecutively by CompactDFA
+            result.addIntInitialState(tokenizer.nextInt() != 0);
 
             for (int i = 1; i < numStates; i++) {
-                states[i] = result.addIntState(sc.nextInt() != 0);
+                result.addIntState(tokenizer.nextInt() != 0);
             }
 
             // Parse transitions
-            for (int i = 0; i < numStates; i++) {
-                int state = states[i];
-                for (int j = 0; j < numSymbols; j++) {
-                    int succ = states[sc.nextInt()];
-                    result.setTransition(state, j, succ);
+            final int statesPerChunk = Math.max(1, TRANSITION_CHUNK_SIZE / Math.max(1, numSymbols));
+            final int[] chunk = new int[Math.min(statesPerChunk, numStates) * numSymbols];
+
+            try {
+                for (int i = 0; i < numStates; i += statesPerChunk) {
+                    final int length = Math.min(statesPerChunk, numStates - i) * numSymbols;
+                    for (int j = 0; j < length; j++) {
+                        chunk[j] = tokenizer.nextInt();
+                    }
+                    result.setTransitions(i, IntBuffer.wrap(chunk, 0, length));
                 }
+            } catch (FormatException fe) {
+                throw fe;
+            } catch (IllegalArgumentException iae) {
+                throw new FormatException(iae);
             }
 
             return result;
@@ -19,12 +19,14 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Random;
 
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.commons.util.io.UnclosableInputStream;
 import net.automatalib.commons.util.io.UnclosableOutputStream;
+import net.automatalib.serialization.FormatException;
 import net.automatalib.serialization.InputModelData;
 import net.automatalib.util.automata.Automata;
 import net.automatalib.util.automata.random.RandomAutomata;
@@ -82,6 +84,36 @@ public class LearnLibV2SerializationTest {
         serializer.readModel(new UnclosableInputStream(is));
     }
 
+    @Test
+    public void whitespaceTest() throws IOException {
+        final String input = "3\t2\r\n  1 0\n1\n\n1 2\t\t0 0\r\n2   1\n";
+        final CompactDFA<Integer> dfa = read(input);
+
+        Assert.assertEquals(dfa.size(), 3);
+        Assert.assertEquals(dfa.getInitialState(), Integer.valueOf(0));
+        Assert.assertTrue(dfa.isAccepting(0));
+        Assert.assertFalse(dfa.isAccepting(1));
+        Assert.assertTrue(dfa.isAccepting(2));
+        Assert.assertEquals(dfa.getSuccessor(0, 0), 1);
+        Assert.assertEquals(dfa.getSuccessor(0, 1), 2);
+        Assert.assertEquals(dfa.getSuccessor(1, 0), 0);
+        Assert.assertEquals(dfa.getSuccessor(1, 1), 0);
+        Assert.assertEquals(dfa.getSuccessor(2, 0), 2);
+        Assert.assertEquals(dfa.getSuccessor(2, 1), 1);
+    }
+
+    @Test
+    public void malformedInputTest() {
+        // truncated
+        Assert.assertThrows(FormatException.class, () -> read("2 1 0 1 1"));
+        // invalid token
+        Assert.assertThrows(FormatException.class, () -> read("2 1 0 1 1 x"));
+        // invalid successor
+        Assert.assertThrows(FormatException.class, () -> read("2 1 0 1 1 2"));
+        // overflow
+        Assert.assertThrows(FormatException.class, () -> read("2 1 0 1 1 99999999999"));
+    }
+
     private InputModelData<Integer, DFA<Integer, Integer>> writeAndRead(DFA<Integer, Integer> automaton,
                                                                         Alphabet<Integer> alphabet) throws IOException {
         LearnLibV2Serialization serializer = LearnLibV2Serialization.getInstance();
@@ -92,4 +124,9 @@ public class LearnLibV2SerializationTest {
         final InputStream is = new ByteArrayInputStream(baos.toByteArray());
         return serializer.readModel(is);
     }
+
+    private CompactDFA<Integer> read(String input) throws IOException {
+        final InputStream is = new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+        return LearnLibV2Serialization.getInstance().readGenericDFA(is);
+    }
 }
@@ -18,7 +18,9 @@ package net.automatalib.serialization.saf;
 enum AutomatonType {
     DFA(true),
     NFA(false),
-    MEALY(true);
+    MEALY(true),
+    MOORE(true),
+    SST(true);
 
     private final boolean deterministic;
 
@@ -0,0 +1,299 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import net.automatalib.serialization.FormatException;
+
+/**
+ * Encoding and decoding of the transition blocks of the (compressed) SAF v2 format.
+ * <p>
+ * The transitions of an automaton are partitioned into blocks of consecutive states, each of which can be encoded
+ * and decoded independently. A block covers the (state-major) sequence of {@code (state, input)} pairs of its states
+ * and consists of
+ * <ol>
+ *     <li>the run-length encoded bitmap of undefined (empty) pairs, i.e. alternating lengths of runs of defined and
+ *     undefined pairs (starting with a possibly empty run of defined pairs), followed by</li>
+ *     <li>the successors of all defined pairs. For deterministic automata, a successor is stored as the zig-zag
+ *     encoded difference to the source state. For non-deterministic automata, the number of successors (minus one) is
+ *     stored first, followed by the difference of the smallest successor to the source state and the (non-negative)
+ *     gaps between the remaining, ascendingly sorted, successors.</li>
+ * </ol>
+ * All numbers are stored as variable-length integers. In the file, each block is framed by the length of its payload
+ * and its {@link CRC32 CRC-32} checksum.
+ */
+final class SAFBlockCodec {
+
+    private static final int MAX_VARINT_BYTES = 5;
+
+    private SAFBlockCodec() {
+        // prevent instantiation
+    }
+
+    /**
+     * Encodes the successors of a deterministic automaton.
+     *
+     * @param successors
+     *         the successors of each {@code (state, input)} pair of the states {@code fromState} (inclusive) to {@code
+     *         toState} (exclusive) in state-major order, negative values denote undefined pairs
+     */
+    static byte[] encodeDeterministic(int[] successors, int fromState, int toState, int numInputs) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final int length = (toState - fromState) * numInputs;
+
+        encodeRuns(out, successors, 0, length);
+
+        for (int i = 0; i < length; i++) {
+            final int succ = successors[i];
+            if (succ >= 0) {
+                writeVarInt(out, zigZag(succ - (fromState + i / numInputs)));
+            }
+        }
+
+        return out.toByteArray();
+    }
+
+    static int[] decodeDeterministic(ByteBuffer payload, int fromState, int toState, int numInputs) {
+        final int length = (toState - fromState) * numInputs;
+        final int[] result = new int[length];
+
+        try {
+            decodeRuns(payload, result, length);
+
+            for (int i = 0; i < length; i++) {
+                if (result[i] >= 0) {
+                    result[i] = fromState + i / numInputs + unZigZag(readVarInt(payload));
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            throw new FormatException("Truncated block", e);
+        }
+
+        checkConsumed(payload);
+        return result;
+    }
+
+    /**
+     * Encodes the successors of a non-deterministic automaton.
+     *
+     * @param successors
+     *         the successors of each {@code (state, input)} pair of the states {@code fromState} (inclusive) to {@code
+     *         toState} (exclusive) in state-major order, {@code null} or empty arrays denote undefined pairs. The arrays
+     *         are sorted by this method
+     */
+    static byte[] encodeNondeterministic(int[][] successors, int fromState, int toState, int numInputs) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final int length = (toState - fromState) * numInputs;
+
+        final int[] counts = new int[length];
+        for (int i = 0; i < length; i++) {
+            final int[] succs = successors[i];
+            counts[i] = succs == null || succs.length == 0 ? -1 : succs.length;
+        }
+
+        encodeRuns(out, counts, 0, length);
+
+        for (int i = 0; i < length; i++) {
+            final int[] succs = successors[i];
+            if (counts[i] > 0) {
+                Arrays.sort(succs);
+                writeVarInt(out, succs.length - 1);
+                writeVarInt(out, zigZag(succs[0] - (fromState + i / numInputs)));
+                for (int j = 1; j < succs.length; j++) {
+                    writeVarInt(out, succs[j] - succs[j - 1]);
+                }
+            }
+        }
+
+        return out.toByteArray();
+    }
+
+    static int[][] decodeNondeterministic(ByteBuffer payload, int fromState, int toState, int numInputs) {
+        final int length = (toState - fromState) * numInputs;
+        final int[] defined = new int[length];
+        final int[][] result = new int[length][];
+
+        try {
+            decodeRuns(payload, defined, length);
+
+            for (int i = 0; i < length; i++) {
+                if (defined[i] >= 0) {
+                    final int count = readVarInt(payload) + 1;
+                    if (count <= 0 || count > payload.remaining()) {
+                        throw new FormatException("Invalid number of successors: " + count);
+                    }
+                    final int[] succs = new int[count];
+                    succs[0] = fromState + i / numInputs + unZigZag(readVarInt(payload));
+                    for (int j = 1; j < count; j++) {
+                        succs[j] = succs[j - 1] + readVarInt(payload);
+                    }
+                    result[i] = succs;
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            throw new FormatException("Truncated block", e);
+        }
+
+        checkConsumed(payload);
+        return result;
+    }
+
+    /**
+     * Writes the given block payload, framed by its length and checksum.
+     */
+    static void writeBlock(DataOutput out, byte[] payload) throws IOException {
+        final CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        writeVarInt(out, payload.length);
+        out.writeInt((int) crc.getValue());
+        out.write(payload);
+    }
+
+    /**
+     * Reads a framed block payload and verifies its checksum.
+     */
+    static ByteBuffer readBlock(DataInput in) throws IOException {
+        final int length = readVarInt(in);
+        final int checksum = in.readInt();
+        final ByteBuffer payload;
+
+        if (in instanceof ByteBufferDataInput) {
+            final ByteBuffer buffer = ((ByteBufferDataInput) in).getBuffer();
+            if (length > buffer.remaining()) {
+                throw new FormatException("Truncated block");
+            }
+            payload = buffer.slice();
+            payload.limit(length);
+            buffer.position(buffer.position() + length);
+        } else {
+            final byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            payload = ByteBuffer.wrap(bytes);
+        }
+
+        final CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+
+        if ((int) crc.getValue() != checksum) {
+            throw new FormatException("Checksum mismatch");
+        }
+
+        return payload;
+    }
+
+    private static void encodeRuns(ByteArrayOutputStream out, int[] values, int offset, int length) {
+        boolean defined = true;
+        int run = 0;
+
+        for (int i = offset; i < offset + length; i++) {
+            if (values[i] >= 0 == defined) {
+                run++;
+            } else {
+                writeVarInt(out, run);
+                defined = !defined;
+                run = 1;
+            }
+        }
+
+        writeVarInt(out, run);
+    }
+
+    /**
+     * Decodes the run-length encoded bitmap of undefined pairs into the given array, marking undefined pairs with
+     * {@code -1} and defined pairs with {@code 0}.
+     */
+    private static void decodeRuns(ByteBuffer in, int[] values, int length) {
+        boolean defined = true;
+        int pos = 0;
+
+        do {
+            final int run = readVarInt(in);
+            if (run < 0 || run > length - pos) {
+                throw new FormatException("Invalid run length: " + run);
+            }
+            if (!defined) {
+                Arrays.fill(values, pos, pos + run, -1);
+            }
+            pos += run;
+            defined = !defined;
+        } while (pos < length);
+    }
+
+    private static void checkConsumed(ByteBuffer payload) {
+        if (payload.hasRemaining()) {
+            throw new FormatException("Unexpected data at the end of block");
+        }
+    }
+
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static void writeVarInt(ByteArrayOutputStream out, int value) {
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            out.write((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.write(v);
+    }
+
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            out.writeByte((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte(v);
+    }
+
+    static int readVarInt(ByteBuffer in) {
+        int result = 0;
+        for (int i = 0; i < MAX_VARINT_BYTES; i++) {
+            final int b = in.get();
+            result |= (b & 0x7F) << (7 * i);
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new FormatException("Malformed variable-length integer");
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        int result = 0;
+        for (int i = 0; i < MAX_VARINT_BYTES; i++) {
+            final int b = in.readByte();
+            result |= (b & 0x7F) << (7 * i);
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new FormatException("Malformed variable-length integer");
+    }
+}
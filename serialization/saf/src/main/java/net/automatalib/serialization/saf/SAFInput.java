@@ -18,20 +18,38 @@ package net.automatalib.serialization.saf;
 import java.io.ByteArrayInputStream;
 import java.io.DataInput;
 import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import net.automatalib.automata.AutomatonCreator;
 import net.automatalib.automata.MutableAutomaton;
+import net.automatalib.automata.base.compact.AbstractCompact;
+import net.automatalib.automata.base.compact.AbstractCompactSimpleDeterministic;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.automata.transducers.impl.compact.CompactMoore;
+import net.automatalib.automata.transducers.impl.compact.CompactSST;
 import net.automatalib.commons.util.IOUtil;
 import net.automatalib.serialization.FormatException;
+import net.automatalib.serialization.streaming.AutomatonVisitor;
 import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
 import net.automatalib.words.impl.Alphabets;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Deserializer for the SAF (simple automaton format).
@@ -40,7 +58,30 @@ import net.automatalib.words.impl.Alphabets;
  */
 class SAFInput {
 
+    /**
+     * The flag of the type byte that denotes a versioned header, i.e. a header whose type byte is followed by a version
+     * byte.
+     */
+    static final int VERSIONED_TYPE_FLAG = 0x80;
+    /**
+     * The version of the compressed format.
+     *
+     * @see SAFBlockCodec
+     */
+    static final int COMPRESSED_VERSION = 2;
+
     private static final AutomatonType[] TYPES = AutomatonType.values();
+    private static final int HEADER_SIZE = 4;
+
+    /**
+     * The maximum size (in bytes) of files that are read into a heap buffer instead of being memory-mapped.
+     */
+    static final int MAX_READ_SIZE = 1 << 20;
+
+    /**
+     * The (maximum) number of transitions that are decoded at once when reading from a stream.
+     */
+    private static final int TRANSITION_CHUNK_SIZE = 8192;
 
     private final DataInput in;
 
@@ -60,12 +101,60 @@ class SAFInput {
         this(IOUtil.asBufferedInputStream(file));
     }
 
+    SAFInput(ByteBuffer buffer) {
+        this(new ByteBufferDataInput(buffer));
+    }
+
+    /**
+     * Loads the contents of the given file for reading it via {@link #SAFInput(ByteBuffer)}. Files of up to {@value
+     * #MAX_READ_SIZE} bytes are read into a heap buffer, larger files are memory-mapped.
+     * <p>
+     * Note that a memory-mapped buffer is only released once it has been garbage-collected. On some platforms (e.g.
+     * Windows), the file cannot be deleted or replaced until then.
+     *
+     * @param file
+     *         the file to load
+     *
+     * @return the contents of the file, or {@code null} if the file does not start with a (non-gzipped) SAF header or
+     * is too large to be mapped as a whole
+     *
+     * @throws IOException
+     *         if the file cannot be read
+     */
+    static @Nullable ByteBuffer map(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long size = channel.size();
+
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                return null;
+            }
+
+            final ByteBuffer buffer;
+
+            if (size <= MAX_READ_SIZE) {
+                buffer = ByteBuffer.allocate((int) size);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        throw new EOFException();
+                    }
+                }
+                buffer.flip();
+            } else {
+                // the mapping remains valid after the channel has been closed
+                buffer = channel.map(MapMode.READ_ONLY, 0, size);
+            }
+
+            return buffer.get(0) == 'S' && buffer.get(1) == 'A' && buffer.get(2) == 'F' ? buffer : null;
+        }
+    }
+
     public <I> CompactDFA<I> readDFA(Alphabet<I> alphabet) throws IOException {
-        return readAutomaton(AutomatonType.DFA,
-                             alphabet,
-                             new CompactDFA.Creator<>(),
-                             new AcceptanceDecoder(),
-                             SinglePropertyDecoder.nullDecoder());
+        if (readHeader(AutomatonType.DFA)) {
+            checkAlphabetSize(alphabet, SAFBlockCodec.readVarInt(in));
+            return readCompressedDFABody(alphabet);
+        }
+        checkAlphabetSize(alphabet, in.readInt());
+        return readCompactDFABody(alphabet);
     }
 
     public <I, SP, TP, A extends MutableAutomaton<?, I, ?, SP, TP>> A readAutomaton(AutomatonType expectedType,
@@ -74,29 +163,65 @@ class SAFInput {
                                                                                     BlockPropertyDecoder<? extends SP> spDecoder,
                                                                                     SinglePropertyDecoder<? extends TP> tpDecoder)
             throws IOException {
-        AutomatonType type = readHeader();
-        if (type != expectedType) {
+        readUncompressedHeader(expectedType);
+        checkAlphabetSize(alphabet, in.readInt());
+        return readAutomatonBody(alphabet, expectedType.isDeterministic(), creator, spDecoder, tpDecoder);
+    }
+
+    /**
+     * Reads the header of a SAF file.
+     *
+     * @param expectedType
+     *         the expected automaton type
+     *
+     * @return {@code true} if the file uses the compressed format, {@code false} otherwise
+     *
+     * @throws IOException
+     *         if reading the header fails or the header does not match the expected type
+     */
+    private boolean readHeader(AutomatonType expectedType) throws IOException {
+        byte[] header = new byte[HEADER_SIZE];
+        in.readFully(header);
+        if (header[0] != 'S' || header[1] != 'A' || header[2] != 'F') {
             throw new FormatException();
         }
-        int alphabetSize = in.readInt();
-        if (alphabetSize != alphabet.size()) {
+
+        int type = header[3] & 0xFF;
+        boolean compressed = false;
+
+        if ((type & VERSIONED_TYPE_FLAG) != 0) {
+            int version = in.readUnsignedByte();
+            if (version != COMPRESSED_VERSION) {
+                throw new FormatException("Unsupported version: " + version);
+            }
+            type &= ~VERSIONED_TYPE_FLAG;
+            compressed = true;
+        }
+
+        if (type >= TYPES.length || TYPES[type] != expectedType) {
             throw new FormatException();
         }
-        return readAutomatonBody(alphabet, type.isDeterministic(), creator, spDecoder, tpDecoder);
+
+        return compressed;
     }
 
-    private AutomatonType readHeader() throws IOException {
-        final int headerSize = 4;
-        byte[] header = new byte[headerSize];
-        in.readFully(header);
-        if (header[0] != 'S' || header[1] != 'A' || header[2] != 'F') {
+    private void readUncompressedHeader(AutomatonType expectedType) throws IOException {
+        if (readHeader(expectedType)) {
+            throw new FormatException("The compressed format is only supported for DFAs and NFAs");
+        }
+    }
+
+    private static void checkAlphabetSize(Alphabet<?> alphabet, int alphabetSize) {
+        if (alphabetSize != alphabet.size()) {
             throw new FormatException();
         }
-        byte type = header[3];
-        if (type < 0 || type >= TYPES.length) {
+    }
+
+    private static Alphabet<Integer> toNativeAlphabet(int alphabetSize) {
+        if (alphabetSize <= 0) {
             throw new FormatException();
         }
-        return TYPES[type];
+        return Alphabets.integers(0, alphabetSize - 1);
     }
 
     private <I, SP, TP, A extends MutableAutomaton<?, I, ?, SP, TP>> A readAutomatonBody(Alphabet<I> alphabet,
@@ -231,6 +356,214 @@ class SAFInput {
         return stateList;
     }
 
+    private <I> CompactDFA<I> readCompactDFABody(Alphabet<I> alphabet) throws IOException {
+        int numStates = readNumStates();
+        CompactDFA<I> result = new CompactDFA<>(alphabet, numStates);
+
+        int initStateId = in.readInt();
+        decodeStateProperties(result, numStates, new AcceptanceDecoder());
+        result.setInitialState(checkStateId(initStateId, numStates));
+
+        decodeTransitionsDet(result, numStates, alphabet.size());
+
+        return result;
+    }
+
+    private <I> CompactNFA<I> readCompactNFABody(Alphabet<I> alphabet) throws IOException {
+        int numStates = readNumStates();
+        CompactNFA<I> result = new CompactNFA<>(alphabet, numStates);
+
+        int[] initStates = readInts(in);
+        decodeStateProperties(result, numStates, new AcceptanceDecoder());
+        for (int initId : initStates) {
+            result.setInitial(checkStateId(initId, numStates), true);
+        }
+
+        int numInputs = alphabet.size();
+
+        for (int i = 0; i < numStates; i++) {
+            for (int j = 0; j < numInputs; j++) {
+                int numTgts = in.readInt();
+                for (int k = 0; k < numTgts; k++) {
+                    result.addTransition(i, j, checkStateId(in.readInt(), numStates));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private int readNumStates() throws IOException {
+        int numStates = in.readInt();
+        if (numStates < 0) {
+            throw new FormatException();
+        }
+        return numStates;
+    }
+
+    private <SP> void decodeStateProperties(AbstractCompact<?, ?, SP, ?> result,
+                                            int numStates,
+                                            BlockPropertyDecoder<? extends SP> decoder) throws IOException {
+        decoder.start(in);
+        for (int i = 0; i < numStates; i++) {
+            result.addIntState(decoder.readProperty(in));
+        }
+        decoder.finish(in);
+    }
+
+    /**
+     * Decodes the transitions of a compact deterministic automaton. Since the transition block of a deterministic
+     * automaton without transition properties is a plain (row-major) array of successor ids, it is copied in bulk into
+     * the transition table of the automaton rather than being decoded transition by transition.
+     */
+    private void decodeTransitionsDet(AbstractCompactSimpleDeterministic<?, ?> result, int numStates, int numInputs)
+            throws IOException {
+        if (numInputs == 0) {
+            return;
+        }
+
+        try {
+            if (in instanceof ByteBufferDataInput) {
+                final ByteBuffer buffer = ((ByteBufferDataInput) in).getBuffer();
+                final long numBytes = (long) numStates * numInputs * Integer.BYTES;
+
+                if (buffer.remaining() < numBytes) {
+                    throw new EOFException();
+                }
+
+                final ByteBuffer block = buffer.slice();
+                block.limit((int) numBytes);
+                result.setTransitions(0, block.asIntBuffer());
+                buffer.position(buffer.position() + (int) numBytes);
+            } else {
+                final int statesPerChunk = Math.max(1, TRANSITION_CHUNK_SIZE / numInputs);
+                final byte[] chunk = new byte[Math.min(statesPerChunk, numStates) * numInputs * Integer.BYTES];
+
+                for (int i = 0; i < numStates; i += statesPerChunk) {
+                    final int length = Math.min(statesPerChunk, numStates - i) * numInputs * Integer.BYTES;
+                    in.readFully(chunk, 0, length);
+                    result.setTransitions(i, ByteBuffer.wrap(chunk, 0, length).asIntBuffer());
+                }
+            }
+        } catch (IllegalArgumentException iae) {
+            throw new FormatException(iae);
+        }
+    }
+
+    private <I> CompactDFA<I> readCompressedDFABody(Alphabet<I> alphabet) throws IOException {
+        int numStates = readCompressedNumStates();
+        CompactDFA<I> result = new CompactDFA<>(alphabet, numStates);
+
+        int initStateId = SAFBlockCodec.readVarInt(in);
+        decodeAcceptanceBitmap(result, numStates);
+        result.setInitialState(checkStateId(initStateId, numStates));
+
+        int numInputs = alphabet.size();
+        int statesPerBlock = readStatesPerBlock();
+        ByteBuffer[] blocks = readBlocks(numStates, statesPerBlock);
+
+        try {
+            IntStream.range(0, blocks.length).parallel().forEach(b -> {
+                int from = b * statesPerBlock;
+                int to = Math.min(numStates, from + statesPerBlock);
+                int[] succs = SAFBlockCodec.decodeDeterministic(blocks[b], from, to, numInputs);
+                result.setTransitions(from, IntBuffer.wrap(succs));
+            });
+        } catch (FormatException fe) {
+            throw fe;
+        } catch (IllegalArgumentException iae) {
+            throw new FormatException(iae);
+        }
+
+        return result;
+    }
+
+    private <I> CompactNFA<I> readCompressedNFABody(Alphabet<I> alphabet) throws IOException {
+        int numStates = readCompressedNumStates();
+        CompactNFA<I> result = new CompactNFA<>(alphabet, numStates);
+
+        int numInitStates = SAFBlockCodec.readVarInt(in);
+        if (numInitStates < 0 || numInitStates > numStates) {
+            throw new FormatException("Invalid number of initial states: " + numInitStates);
+        }
+        int[] initStates = new int[numInitStates];
+        for (int i = 0; i < initStates.length; i++) {
+            initStates[i] = SAFBlockCodec.readVarInt(in);
+        }
+
+        decodeAcceptanceBitmap(result, numStates);
+        for (int initId : initStates) {
+            result.setInitial(checkStateId(initId, numStates), true);
+        }
+
+        int numInputs = alphabet.size();
+        int statesPerBlock = readStatesPerBlock();
+        ByteBuffer[] blocks = readBlocks(numStates, statesPerBlock);
+
+        // the automaton itself is not thread-safe, so only decode the blocks in parallel
+        int[][][] decoded = IntStream.range(0, blocks.length).parallel().mapToObj(b -> {
+            int from = b * statesPerBlock;
+            int to = Math.min(numStates, from + statesPerBlock);
+            return SAFBlockCodec.decodeNondeterministic(blocks[b], from, to, numInputs);
+        }).toArray(int[][][]::new);
+
+        for (int b = 0; b < decoded.length; b++) {
+            int offset = b * statesPerBlock * numInputs;
+            int[][] succs = decoded[b];
+            for (int i = 0; i < succs.length; i++) {
+                if (succs[i] != null) {
+                    int state = (offset + i) / numInputs;
+                    int input = (offset + i) % numInputs;
+                    for (int succ : succs[i]) {
+                        result.addTransition(state, input, checkStateId(succ, numStates));
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private int readCompressedNumStates() throws IOException {
+        int numStates = SAFBlockCodec.readVarInt(in);
+        if (numStates < 0) {
+            throw new FormatException();
+        }
+        return numStates;
+    }
+
+    private int readStatesPerBlock() throws IOException {
+        int statesPerBlock = SAFBlockCodec.readVarInt(in);
+        if (statesPerBlock <= 0) {
+            throw new FormatException("Invalid block size: " + statesPerBlock);
+        }
+        return statesPerBlock;
+    }
+
+    private void decodeAcceptanceBitmap(AbstractCompact<?, ?, Boolean, ?> result, int numStates) throws IOException {
+        byte[] bitmap = new byte[(int) (((long) numStates + Byte.SIZE - 1) / Byte.SIZE)];
+        in.readFully(bitmap);
+        for (int i = 0; i < numStates; i++) {
+            result.addIntState((bitmap[i / Byte.SIZE] & (1 << (i % Byte.SIZE))) != 0);
+        }
+    }
+
+    private ByteBuffer[] readBlocks(int numStates, int statesPerBlock) throws IOException {
+        int numBlocks = (int) (((long) numStates + statesPerBlock - 1) / statesPerBlock);
+        ByteBuffer[] blocks = new ByteBuffer[numBlocks];
+        for (int i = 0; i < numBlocks; i++) {
+            blocks[i] = SAFBlockCodec.readBlock(in);
+        }
+        return blocks;
+    }
+
+    private static int checkStateId(int stateId, int numStates) {
+        if (stateId < 0 || stateId >= numStates) {
+            throw new FormatException("Invalid state id: " + stateId);
+        }
+        return stateId;
+    }
+
     private static int[] readInts(DataInput in) throws IOException {
         int n = in.readInt();
         int[] result = new int[n];
@@ -241,10 +574,10 @@ class SAFInput {
     }
 
     public CompactDFA<Integer> readNativeDFA() throws IOException {
-        return readNativeAutomaton(AutomatonType.DFA,
-                                   new CompactDFA.Creator<>(),
-                                   new AcceptanceDecoder(),
-                                   SinglePropertyDecoder.nullDecoder());
+        if (readHeader(AutomatonType.DFA)) {
+            return readCompressedDFABody(toNativeAlphabet(SAFBlockCodec.readVarInt(in)));
+        }
+        return readCompactDFABody(toNativeAlphabet(in.readInt()));
     }
 
     public <SP, TP, A extends MutableAutomaton<?, Integer, ?, SP, TP>> A readNativeAutomaton(AutomatonType expectedType,
@@ -252,30 +585,344 @@ class SAFInput {
                                                                                              BlockPropertyDecoder<? extends SP> spDecoder,
                                                                                              SinglePropertyDecoder<? extends TP> tpDecoder)
             throws IOException {
-        AutomatonType type = readHeader();
-        if (type != expectedType) {
-            throw new FormatException();
+        readUncompressedHeader(expectedType);
+        return readAutomatonBody(toNativeAlphabet(in.readInt()),
+                                 expectedType.isDeterministic(),
+                                 creator,
+                                 spDecoder,
+                                 tpDecoder);
+    }
+
+    public <I> CompactNFA<I> readNFA(Alphabet<I> alphabet) throws IOException {
+        if (readHeader(AutomatonType.NFA)) {
+            checkAlphabetSize(alphabet, SAFBlockCodec.readVarInt(in));
+            return readCompressedNFABody(alphabet);
         }
-        int alphabetSize = in.readInt();
-        if (alphabetSize <= 0) {
-            throw new FormatException();
+        checkAlphabetSize(alphabet, in.readInt());
+        return readCompactNFABody(alphabet);
+    }
+
+    /**
+     * Reads an automaton of the given type (either {@link AutomatonType#DFA} or {@link AutomatonType#NFA}) in either
+     * format and reports its structure to the given visitor. States are visited in ascending order, followed by their
+     * transitions, which are visited in ascending order of their source states.
+     *
+     * @param expectedType
+     *         the expected automaton type
+     * @param visitor
+     *         the visitor to report the automaton to
+     *
+     * @throws IOException
+     *         if reading from the input or visiting the automaton fails
+     */
+    void readNativeAutomaton(AutomatonType expectedType, AutomatonVisitor<Integer, Boolean, @Nullable Void> visitor)
+            throws IOException {
+        final boolean compressed = readHeader(expectedType);
+        final boolean deterministic = expectedType.isDeterministic();
+        final Alphabet<Integer> alphabet = toNativeAlphabet(compressed ? SAFBlockCodec.readVarInt(in) : in.readInt());
+        final int numInputs = alphabet.size();
+        final int numStates = compressed ? readCompressedNumStates() : readNumStates();
+        final BitSet initials = new BitSet();
+
+        if (deterministic) {
+            initials.set(checkStateId(compressed ? SAFBlockCodec.readVarInt(in) : in.readInt(), numStates));
+        } else {
+            final int numInitStates = compressed ? SAFBlockCodec.readVarInt(in) : in.readInt();
+            if (numInitStates < 0 || numInitStates > numStates) {
+                throw new FormatException("Invalid number of initial states: " + numInitStates);
+            }
+            for (int i = 0; i < numInitStates; i++) {
+                initials.set(checkStateId(compressed ? SAFBlockCodec.readVarInt(in) : in.readInt(), numStates));
+            }
         }
-        Alphabet<Integer> alphabet = Alphabets.integers(0, alphabetSize - 1);
-        return readAutomatonBody(alphabet, type.isDeterministic(), creator, spDecoder, tpDecoder);
+
+        visitor.begin(alphabet, numStates);
+
+        if (compressed) {
+            for (int i = 0; i < numStates; i += Byte.SIZE) {
+                final int bits = in.readUnsignedByte();
+                for (int j = 0; j < Byte.SIZE && i + j < numStates; j++) {
+                    visitor.visitState(i + j, initials.get(i + j), (bits & (1 << j)) != 0);
+                }
+            }
+
+            final int statesPerBlock = readStatesPerBlock();
+            int from = 0;
+
+            while (from < numStates) {
+                final int to = (int) Math.min(numStates, (long) from + statesPerBlock);
+                final ByteBuffer block = SAFBlockCodec.readBlock(in);
+
+                if (deterministic) {
+                    final int[] succs = SAFBlockCodec.decodeDeterministic(block, from, to, numInputs);
+                    for (int i = 0; i < succs.length; i++) {
+                        if (succs[i] >= 0) {
+                            visitor.visitTransition(from + i / numInputs,
+                                                    i % numInputs,
+                                                    checkStateId(succs[i], numStates),
+                                                    null);
+                        }
+                    }
+                } else {
+                    final int[][] succs = SAFBlockCodec.decodeNondeterministic(block, from, to, numInputs);
+                    for (int i = 0; i < succs.length; i++) {
+                        if (succs[i] != null) {
+                            for (int succ : succs[i]) {
+                                visitor.visitTransition(from + i / numInputs,
+                                                        i % numInputs,
+                                                        checkStateId(succ, numStates),
+                                                        null);
+                            }
+                        }
+                    }
+                }
+
+                from = to;
+            }
+        } else {
+            final AcceptanceDecoder decoder = new AcceptanceDecoder();
+            decoder.start(in);
+            for (int i = 0; i < numStates; i++) {
+                visitor.visitState(i, initials.get(i), decoder.readProperty(in));
+            }
+            decoder.finish(in);
+
+            for (int i = 0; i < numStates; i++) {
+                for (int j = 0; j < numInputs; j++) {
+                    if (deterministic) {
+                        final int succ = in.readInt();
+                        if (succ >= 0) {
+                            visitor.visitTransition(i, j, checkStateId(succ, numStates), null);
+                        }
+                    } else {
+                        final int numSuccs = in.readInt();
+                        for (int k = 0; k < numSuccs; k++) {
+                            visitor.visitTransition(i, j, checkStateId(in.readInt(), numStates), null);
+                        }
+                    }
+                }
+            }
+        }
+
+        visitor.end();
     }
 
-    public <I> CompactNFA<I> readNFA(Alphabet<I> alphabet) throws IOException {
-        return readAutomaton(AutomatonType.NFA,
-                             alphabet,
-                             new CompactNFA.Creator<>(),
-                             new AcceptanceDecoder(),
-                             SinglePropertyDecoder.nullDecoder());
+    public <I, O> CompactMealy<I, O> readMealy(Alphabet<I> alphabet, SinglePropertyDecoder<? extends O> outputDecoder)
+            throws IOException {
+        readUncompressedHeader(AutomatonType.MEALY);
+        checkAlphabetSize(alphabet, in.readInt());
+        return readCompactMealyBody(alphabet, outputDecoder);
+    }
+
+    public <O> CompactMealy<Integer, O> readNativeMealy(SinglePropertyDecoder<? extends O> outputDecoder)
+            throws IOException {
+        readUncompressedHeader(AutomatonType.MEALY);
+        return readCompactMealyBody(toNativeAlphabet(in.readInt()), outputDecoder);
+    }
+
+    public <I, O> CompactMoore<I, O> readMoore(Alphabet<I> alphabet, SinglePropertyDecoder<? extends O> outputDecoder)
+            throws IOException {
+        readUncompressedHeader(AutomatonType.MOORE);
+        checkAlphabetSize(alphabet, in.readInt());
+        return readCompactMooreBody(alphabet, outputDecoder);
+    }
+
+    public <O> CompactMoore<Integer, O> readNativeMoore(SinglePropertyDecoder<? extends O> outputDecoder)
+            throws IOException {
+        readUncompressedHeader(AutomatonType.MOORE);
+        return readCompactMooreBody(toNativeAlphabet(in.readInt()), outputDecoder);
+    }
+
+    public <I, O> CompactSST<I, O> readSST(Alphabet<I> alphabet, SinglePropertyDecoder<? extends O> outputDecoder)
+            throws IOException {
+        readUncompressedHeader(AutomatonType.SST);
+        checkAlphabetSize(alphabet, in.readInt());
+        return readCompactSSTBody(alphabet, outputDecoder);
+    }
+
+    public <O> CompactSST<Integer, O> readNativeSST(SinglePropertyDecoder<? extends O> outputDecoder)
+            throws IOException {
+        readUncompressedHeader(AutomatonType.SST);
+        return readCompactSSTBody(toNativeAlphabet(in.readInt()), outputDecoder);
+    }
+
+    /**
+     * Decodes the body of a Mealy machine. The successor and output index tables are read in bulk and passed to the
+     * automaton as a whole, so that the transition outputs are resolved against the output dictionary without
+     * creating intermediate transition objects.
+     */
+    private <I, O> CompactMealy<I, O> readCompactMealyBody(Alphabet<I> alphabet,
+                                                           SinglePropertyDecoder<? extends O> outputDecoder)
+            throws IOException {
+        List<O> outputs = readOutputDictionary(outputDecoder);
+        int numStates = readNumStates();
+        CompactMealy<I, O> result = new CompactMealy<>(alphabet, numStates);
+
+        int initStateId = in.readInt();
+        for (int i = 0; i < numStates; i++) {
+            result.addIntState(null);
+        }
+        result.setInitialState(checkStateId(initStateId, numStates));
+
+        int numTransitions = checkTableSize(numStates, alphabet.size());
+        IntBuffer successors = readIntTable(numTransitions);
+        IntBuffer outputIndices = readIntTable(numTransitions);
+
+        try {
+            result.setTransitions(0, successors, outputIndices, outputs);
+        } catch (IllegalArgumentException iae) {
+            throw new FormatException(iae);
+        }
+
+        return result;
+    }
+
+    private <I, O> CompactMoore<I, O> readCompactMooreBody(Alphabet<I> alphabet,
+                                                           SinglePropertyDecoder<? extends O> outputDecoder)
+            throws IOException {
+        List<O> outputs = readOutputDictionary(outputDecoder);
+        int numStates = readNumStates();
+        CompactMoore<I, O> result = new CompactMoore.Creator<I, O>().createAutomaton(alphabet, numStates);
+
+        int initStateId = in.readInt();
+        IntBuffer outputIndices = readIntTable(numStates);
+        for (int i = 0; i < numStates; i++) {
+            result.addIntState(resolveOutput(outputs, outputIndices.get()));
+        }
+        result.setInitialState(checkStateId(initStateId, numStates));
+
+        IntBuffer successors = readIntTable(checkTableSize(numStates, alphabet.size()));
+
+        try {
+            result.setTransitions(0, successors);
+        } catch (IllegalArgumentException iae) {
+            throw new FormatException(iae);
+        }
+
+        return result;
+    }
+
+    private <I, O> CompactSST<I, O> readCompactSSTBody(Alphabet<I> alphabet,
+                                                       SinglePropertyDecoder<? extends O> outputDecoder)
+            throws IOException {
+        List<O> outputs = readOutputDictionary(outputDecoder);
+        int numStates = readNumStates();
+        CompactSST<I, O> result = new CompactSST<>(alphabet, numStates);
+
+        int initStateId = in.readInt();
+        for (int i = 0; i < numStates; i++) {
+            result.addIntState(readWord(outputs));
+        }
+        result.setInitialState(checkStateId(initStateId, numStates));
+
+        int numInputs = alphabet.size();
+
+        for (int i = 0; i < numStates; i++) {
+            for (int j = 0; j < numInputs; j++) {
+                int tgt = in.readInt();
+                if (tgt != -1) {
+                    result.setTransition(i, j, checkStateId(tgt, numStates), readWord(outputs));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private <O> List<O> readOutputDictionary(SinglePropertyDecoder<? extends O> decoder) throws IOException {
+        int size = in.readInt();
+        if (size < 0) {
+            throw new FormatException("Invalid size of output dictionary: " + size);
+        }
+
+        // do not trust the size for pre-allocation, as each entry requires at least one byte
+        List<O> result = new ArrayList<>(Math.min(size, TRANSITION_CHUNK_SIZE));
+        for (int i = 0; i < size; i++) {
+            result.add(decoder.readProperty(in));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private <O> Word<O> readWord(List<O> outputs) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new FormatException("Invalid word length: " + length);
+        }
+        if (length == 0) {
+            return Word.epsilon();
+        }
+
+        WordBuilder<O> builder = new WordBuilder<>(Math.min(length, TRANSITION_CHUNK_SIZE));
+        for (int i = 0; i < length; i++) {
+            int idx = in.readInt();
+            if (idx < 0 || idx >= outputs.size()) {
+                throw new FormatException("Invalid output index: " + idx);
+            }
+            builder.append(outputs.get(idx));
+        }
+        return builder.toWord();
+    }
+
+    private static <O> @Nullable O resolveOutput(List<O> outputs, int idx) {
+        if (idx >= outputs.size()) {
+            throw new FormatException("Invalid output index: " + idx);
+        }
+        return idx < 0 ? null : outputs.get(idx);
+    }
+
+    /**
+     * Checks that the transition table of an automaton with the given number of states and inputs can be addressed by
+     * (non-negative) integers.
+     *
+     * @return the size of the transition table
+     *
+     * @throws FormatException
+     *         if the transition table is too large
+     */
+    static int checkTableSize(int numStates, int numInputs) {
+        long size = (long) numStates * numInputs;
+        if (size > Integer.MAX_VALUE) {
+            throw new FormatException("Transition table too large: " + size);
+        }
+        return (int) size;
+    }
+
+    /**
+     * Reads a table of the given number of integers. For buffer-backed (e.g. memory-mapped) input, the returned
+     * buffer is a view of the underlying memory, otherwise the table is read in chunks.
+     */
+    private IntBuffer readIntTable(int length) throws IOException {
+        long numBytes = (long) length * Integer.BYTES;
+
+        if (in instanceof ByteBufferDataInput) {
+            ByteBuffer buffer = ((ByteBufferDataInput) in).getBuffer();
+
+            if (buffer.remaining() < numBytes) {
+                throw new EOFException();
+            }
+
+            ByteBuffer block = buffer.slice();
+            block.limit((int) numBytes);
+            buffer.position(buffer.position() + (int) numBytes);
+            return block.asIntBuffer();
+        }
+
+        int[] result = new int[length];
+        byte[] chunk = new byte[Math.min(length, TRANSITION_CHUNK_SIZE) * Integer.BYTES];
+
+        for (int i = 0; i < length; i += TRANSITION_CHUNK_SIZE) {
+            int n = Math.min(TRANSITION_CHUNK_SIZE, length - i);
+            in.readFully(chunk, 0, n * Integer.BYTES);
+            ByteBuffer.wrap(chunk, 0, n * Integer.BYTES).asIntBuffer().get(result, i, n);
+        }
+
+        return IntBuffer.wrap(result);
     }
 
     public CompactNFA<Integer> readNativeNFA() throws IOException {
-        return readNativeAutomaton(AutomatonType.NFA,
-                                   new CompactNFA.Creator<>(),
-                                   new AcceptanceDecoder(),
-                                   SinglePropertyDecoder.nullDecoder());
+        if (readHeader(AutomatonType.NFA)) {
+            return readCompressedNFABody(toNativeAlphabet(SAFBlockCodec.readVarInt(in)));
+        }
+        return readCompactNFABody(toNativeAlphabet(in.readInt()));
     }
 }
@@ -0,0 +1,193 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.serialization.InputModelData;
+import net.automatalib.serialization.InputModelDeserializer;
+import net.automatalib.serialization.InputModelSerializer;
+import net.automatalib.util.automata.equivalence.Fingerprints;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A file-backed, content-addressed store for deterministic automata. Each model is stored (in the SAF format) in a
+ * file of the store's directory that is named after the {@link Fingerprints canonical fingerprint} of the model.
+ * Hence, models with isomorphic reachable parts are only stored once, and looking up a model by its fingerprint
+ * amounts to a single file access.
+ * <p>
+ * Since fingerprints only reflect the reachable part of an automaton, automata should be minimized (and trimmed)
+ * before being stored, if language-equivalent automata should share a single entry.
+ * <p>
+ * Models are written to a temporary file first and atomically moved to their final location afterwards, so that
+ * (concurrent) readers never observe partially written models.
+ *
+ * @param <M>
+ *         model type
+ */
+public final class SAFModelStore<M extends UniversalDeterministicAutomaton<?, Integer, ?, ?, ?>> {
+
+    private static final String SUFFIX = ".saf";
+    private static final int FINGERPRINT_LENGTH = 64;
+
+    private final Path directory;
+    private final InputModelSerializer<Integer, ? super M> serializer;
+    private final InputModelDeserializer<Integer, ? extends M> deserializer;
+
+    /**
+     * Constructor.
+     *
+     * @param directory
+     *         the directory in which the models are stored. The directory is created, if it does not exist
+     * @param serializer
+     *         the serializer for writing models
+     * @param deserializer
+     *         the deserializer for reading models
+     *
+     * @throws IOException
+     *         if the directory cannot be created
+     */
+    public SAFModelStore(File directory,
+                         InputModelSerializer<Integer, ? super M> serializer,
+                         InputModelDeserializer<Integer, ? extends M> deserializer) throws IOException {
+        this.directory = Files.createDirectories(directory.toPath());
+        this.serializer = serializer;
+        this.deserializer = deserializer;
+    }
+
+    /**
+     * Creates a store for DFAs, which are stored in the compressed SAF format.
+     *
+     * @param directory
+     *         the directory in which the models are stored
+     *
+     * @return the store
+     *
+     * @throws IOException
+     *         if the directory cannot be created
+     */
+    public static SAFModelStore<DFA<?, Integer>> forDFAs(File directory) throws IOException {
+        final SAFSerializationDFA serialization = SAFSerializationDFA.getCompressedInstance();
+        return new SAFModelStore<>(directory, serialization, serialization);
+    }
+
+    /**
+     * Creates a store for Mealy machines with {@link String} outputs.
+     *
+     * @param directory
+     *         the directory in which the models are stored
+     *
+     * @return the store
+     *
+     * @throws IOException
+     *         if the directory cannot be created
+     */
+    public static SAFModelStore<MealyMachine<?, Integer, ?, String>> forMealyMachines(File directory)
+            throws IOException {
+        final SAFSerializationMealy<String> serialization = SAFSerializationMealy.getInstance();
+        return new SAFModelStore<>(directory, serialization, serialization);
+    }
+
+    /**
+     * Stores the given model, unless an isomorphic model has already been stored.
+     *
+     * @param model
+     *         the model to store
+     * @param alphabet
+     *         the alphabet of the model
+     *
+     * @return the fingerprint of the model, which can be used to {@link #get(String) retrieve} it
+     *
+     * @throws IOException
+     *         if writing the model fails
+     */
+    public String put(M model, Alphabet<Integer> alphabet) throws IOException {
+        final String fingerprint = Fingerprints.fingerprint(model, alphabet);
+        final Path target = resolve(fingerprint);
+
+        if (Files.exists(target)) {
+            return fingerprint;
+        }
+
+        final Path tmp = Files.createTempFile(directory, fingerprint, ".tmp");
+
+        try {
+            serializer.writeModel(tmp.toFile(), model, alphabet);
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // stored concurrently, the existing file has the same content
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+
+        return fingerprint;
+    }
+
+    /**
+     * Returns whether a model with the given fingerprint has been stored.
+     *
+     * @param fingerprint
+     *         the fingerprint
+     *
+     * @return {@code true} if a model with the given fingerprint has been stored, {@code false} otherwise
+     */
+    public boolean contains(String fingerprint) {
+        return Files.exists(resolve(fingerprint));
+    }
+
+    /**
+     * Returns the model with the given fingerprint.
+     *
+     * @param fingerprint
+     *         the fingerprint
+     *
+     * @return the model with the given fingerprint, or {@code null} if no such model has been stored
+     *
+     * @throws IOException
+     *         if reading the model fails
+     */
+    public @Nullable InputModelData<Integer, ? extends M> get(String fingerprint) throws IOException {
+        final Path file = resolve(fingerprint);
+
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        return deserializer.readModel(file.toFile());
+    }
+
+    private Path resolve(String fingerprint) {
+        if (fingerprint.length() != FINGERPRINT_LENGTH) {
+            throw new IllegalArgumentException("Invalid fingerprint: " + fingerprint);
+        }
+        for (int i = 0; i < FINGERPRINT_LENGTH; i++) {
+            final char c = fingerprint.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                throw new IllegalArgumentException("Invalid fingerprint: " + fingerprint);
+            }
+        }
+        return directory.resolve(fingerprint + SUFFIX);
+    }
+}
@@ -22,14 +22,23 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.IntPredicate;
 
 import net.automatalib.automata.UniversalAutomaton;
+import net.automatalib.automata.concepts.StateIDs;
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.automata.fsa.NFA;
+import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.automata.transducers.MooreMachine;
+import net.automatalib.automata.transducers.SubsequentialTransducer;
 import net.automatalib.commons.util.IOUtil;
 import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Serializer for the SAF (simple automaton format).
@@ -38,6 +47,11 @@ import net.automatalib.words.Alphabet;
  */
 public class SAFOutput {
 
+    /**
+     * The (approximate) number of transitions per block of the compressed format.
+     */
+    private static final int BLOCK_TRANSITIONS = 1 << 16;
+
     private final DataOutput out;
 
     SAFOutput(OutputStream os) {
@@ -77,6 +91,151 @@ public class SAFOutput {
         out.writeByte(type.ordinal());
     }
 
+    /**
+     * Writes the given DFA in the compressed (version 2) format of SAF.
+     *
+     * @param automaton
+     *         the automaton to write
+     * @param alphabet
+     *         the alphabet of the automaton
+     * @param <S>
+     *         state type
+     * @param <I>
+     *         input symbol type
+     *
+     * @throws IOException
+     *         if writing to the underlying output fails
+     * @see SAFBlockCodec
+     */
+    public <S, I> void writeCompressedDFA(DFA<S, I> automaton, Alphabet<I> alphabet) throws IOException {
+        final int numStates = automaton.size();
+        final int numInputs = alphabet.size();
+
+        // make sure that the written automaton can be read again
+        SAFInput.checkTableSize(numStates, numInputs);
+
+        final StateIDs<S> ids = automaton.stateIDs();
+        final S init = automaton.getInitialState();
+
+        if (init == null) {
+            throw new IllegalArgumentException("No initial state");
+        }
+
+        writeCompressedHeader(AutomatonType.DFA, numInputs, numStates);
+        SAFBlockCodec.writeVarInt(out, ids.getStateId(init));
+        writeBitmap(numStates, i -> automaton.isAccepting(ids.getState(i)));
+        writeBlocks(numStates, numInputs, (from, to) -> {
+            final int[] successors = new int[(to - from) * numInputs];
+
+            for (int i = from; i < to; i++) {
+                final S state = ids.getState(i);
+                for (int j = 0; j < numInputs; j++) {
+                    final S succ = automaton.getSuccessor(state, alphabet.getSymbol(j));
+                    successors[(i - from) * numInputs + j] = succ == null ? -1 : ids.getStateId(succ);
+                }
+            }
+
+            return SAFBlockCodec.encodeDeterministic(successors, from, to, numInputs);
+        });
+    }
+
+    /**
+     * Writes the given NFA in the compressed (version 2) format of SAF.
+     *
+     * @param automaton
+     *         the automaton to write
+     * @param alphabet
+     *         the alphabet of the automaton
+     * @param <S>
+     *         state type
+     * @param <I>
+     *         input symbol type
+     *
+     * @throws IOException
+     *         if writing to the underlying output fails
+     * @see SAFBlockCodec
+     */
+    public <S, I> void writeCompressedNFA(NFA<S, I> automaton, Alphabet<I> alphabet) throws IOException {
+        final int numStates = automaton.size();
+        final int numInputs = alphabet.size();
+
+        // make sure that the written automaton can be read again
+        SAFInput.checkTableSize(numStates, numInputs);
+
+        final StateIDs<S> ids = automaton.stateIDs();
+        final Set<S> initials = automaton.getInitialStates();
+
+        writeCompressedHeader(AutomatonType.NFA, numInputs, numStates);
+        SAFBlockCodec.writeVarInt(out, initials.size());
+        for (S init : initials) {
+            SAFBlockCodec.writeVarInt(out, ids.getStateId(init));
+        }
+        writeBitmap(numStates, i -> automaton.isAccepting(ids.getState(i)));
+        writeBlocks(numStates, numInputs, (from, to) -> {
+            final int[][] successors = new int[(to - from) * numInputs][];
+
+            for (int i = from; i < to; i++) {
+                final S state = ids.getState(i);
+                for (int j = 0; j < numInputs; j++) {
+                    final Collection<S> succs = automaton.getSuccessors(state, alphabet.getSymbol(j));
+                    final int[] succIds = new int[succs.size()];
+                    int k = 0;
+                    for (S succ : succs) {
+                        succIds[k++] = ids.getStateId(succ);
+                    }
+                    successors[(i - from) * numInputs + j] = succIds;
+                }
+            }
+
+            return SAFBlockCodec.encodeNondeterministic(successors, from, to, numInputs);
+        });
+    }
+
+    private void writeCompressedHeader(AutomatonType type, int numInputs, int numStates) throws IOException {
+        out.writeByte('S');
+        out.writeByte('A');
+        out.writeByte('F');
+        out.writeByte(type.ordinal() | SAFInput.VERSIONED_TYPE_FLAG);
+        out.writeByte(SAFInput.COMPRESSED_VERSION);
+        SAFBlockCodec.writeVarInt(out, numInputs);
+        SAFBlockCodec.writeVarInt(out, numStates);
+    }
+
+    private void writeBitmap(int size, IntPredicate bits) throws IOException {
+        int current = 0;
+
+        for (int i = 0; i < size; i++) {
+            if (bits.test(i)) {
+                current |= 1 << (i % Byte.SIZE);
+            }
+            if (i % Byte.SIZE == Byte.SIZE - 1) {
+                out.write(current);
+                current = 0;
+            }
+        }
+
+        if (size % Byte.SIZE != 0) {
+            out.write(current);
+        }
+    }
+
+    /**
+     * Encodes the transition blocks and writes each block as soon as it has been encoded, so that only the transitions
+     * of a single block need to be kept in memory.
+     */
+    private void writeBlocks(int numStates, int numInputs, BlockEncoder encoder) throws IOException {
+        final int statesPerBlock = Math.max(1, BLOCK_TRANSITIONS / Math.max(1, numInputs));
+
+        SAFBlockCodec.writeVarInt(out, statesPerBlock);
+
+        int from = 0;
+        while (from < numStates) {
+            final int to = (int) Math.min(numStates, (long) from + statesPerBlock);
+            SAFBlockCodec.writeBlock(out, encoder.encode(from, to));
+            from = to;
+        }
+    }
+
     private <I, SP, TP> void writeAutomatonBody(UniversalAutomaton<?, I, ?, SP, TP> automaton,
                                                 Alphabet<I> alphabet,
                                                 boolean deterministic,
@@ -219,4 +378,251 @@ public class SAFOutput {
                        new AcceptanceEncoder(),
                        SinglePropertyEncoder.nullEncoder());
     }
+
+    /**
+     * Writes the given Mealy machine. The distinct transition outputs are written once (using the given encoder) in an
+     * output dictionary, transitions only store the index of their output in this dictionary. The successors and output
+     * indices are each written as a plain (state-major) table.
+     *
+     * @param automaton
+     *         the automaton to write
+     * @param alphabet
+     *         the alphabet of the automaton
+     * @param outputEncoder
+     *         the encoder for the entries of the output dictionary
+     * @param <S>
+     *         state type
+     * @param <I>
+     *         input symbol type
+     * @param <T>
+     *         transition type
+     * @param <O>
+     *         output symbol type
+     *
+     * @throws IOException
+     *         if writing to the underlying output fails
+     */
+    public <S, I, T, O> void writeMealy(MealyMachine<S, I, T, O> automaton,
+                                        Alphabet<I> alphabet,
+                                        SinglePropertyEncoder<? super O> outputEncoder) throws IOException {
+        final int numStates = automaton.size();
+        final int numInputs = alphabet.size();
+
+        // make sure that the written automaton can be read again
+        final int tableSize = SAFInput.checkTableSize(numStates, numInputs);
+
+        final StateIDs<S> ids = automaton.stateIDs();
+        final OutputDictionary<O> dictionary = new OutputDictionary<>();
+
+        final int[] successors = new int[tableSize];
+        final int[] outputs = new int[tableSize];
+
+        for (int i = 0; i < numStates; i++) {
+            final S state = ids.getState(i);
+            for (int j = 0; j < numInputs; j++) {
+                final T trans = automaton.getTransition(state, alphabet.getSymbol(j));
+                final int idx = i * numInputs + j;
+                if (trans == null) {
+                    successors[idx] = -1;
+                    outputs[idx] = -1;
+                } else {
+                    successors[idx] = ids.getStateId(automaton.getSuccessor(trans));
+                    outputs[idx] = dictionary.indexOf(automaton.getTransitionOutput(trans));
+                }
+            }
+        }
+
+        writeHeader(AutomatonType.MEALY);
+        out.writeInt(numInputs);
+        dictionary.write(out, outputEncoder);
+        out.writeInt(numStates);
+        out.writeInt(getInitialStateId(automaton.getInitialState(), ids));
+        writeInts(successors);
+        writeInts(outputs);
+    }
+
+    /**
+     * Writes the given Moore machine. The distinct state outputs are written once (using the given encoder) in an
+     * output dictionary, states only store the index of their output in this dictionary.
+     *
+     * @param automaton
+     *         the automaton to write
+     * @param alphabet
+     *         the alphabet of the automaton
+     * @param outputEncoder
+     *         the encoder for the entries of the output dictionary
+     * @param <S>
+     *         state type
+     * @param <I>
+     *         input symbol type
+     * @param <O>
+     *         output symbol type
+     *
+     * @throws IOException
+     *         if writing to the underlying output fails
+     */
+    public <S, I, O> void writeMoore(MooreMachine<S, I, ?, O> automaton,
+                                     Alphabet<I> alphabet,
+                                     SinglePropertyEncoder<? super O> outputEncoder) throws IOException {
+        final int numStates = automaton.size();
+        final int numInputs = alphabet.size();
+
+        // make sure that the written automaton can be read again
+        final int tableSize = SAFInput.checkTableSize(numStates, numInputs);
+
+        final StateIDs<S> ids = automaton.stateIDs();
+        final OutputDictionary<O> dictionary = new OutputDictionary<>();
+
+        final int[] outputs = new int[numStates];
+        final int[] successors = new int[tableSize];
+
+        for (int i = 0; i < numStates; i++) {
+            final S state = ids.getState(i);
+            outputs[i] = dictionary.indexOf(automaton.getStateOutput(state));
+            for (int j = 0; j < numInputs; j++) {
+                final S succ = automaton.getSuccessor(state, alphabet.getSymbol(j));
+                successors[i * numInputs + j] = succ == null ? -1 : ids.getStateId(succ);
+            }
+        }
+
+        writeHeader(AutomatonType.MOORE);
+        out.writeInt(numInputs);
+        dictionary.write(out, outputEncoder);
+        out.writeInt(numStates);
+        out.writeInt(getInitialStateId(automaton.getInitialState(), ids));
+        writeInts(outputs);
+        writeInts(successors);
+    }
+
+    /**
+     * Writes the given subsequential transducer. The distinct output symbols of all state and transition outputs are
+     * written once (using the given encoder) in an output dictionary, output words are stored as their length followed
+     * by the indices of their symbols in this dictionary.
+     *
+     * @param automaton
+     *         the automaton to write
+     * @param alphabet
+     *         the alphabet of the automaton
+     * @param outputEncoder
+     *         the encoder for the entries of the output dictionary
+     * @param <S>
+     *         state type
+     * @param <I>
+     *         input symbol type
+     * @param <T>
+     *         transition type
+     * @param <O>
+     *         output symbol type
+     *
+     * @throws IOException
+     *         if writing to the underlying output fails
+     */
+    public <S, I, T, O> void writeSST(SubsequentialTransducer<S, I, T, O> automaton,
+                                      Alphabet<I> alphabet,
+                                      SinglePropertyEncoder<? super O> outputEncoder) throws IOException {
+        final int numStates = automaton.size();
+        final int numInputs = alphabet.size();
+        final StateIDs<S> ids = automaton.stateIDs();
+        final OutputDictionary<O> dictionary = new OutputDictionary<>();
+
+        // collect the dictionary first, so that the body can be streamed
+        for (S state : automaton) {
+            dictionary.addAll(automaton.getStateProperty(state));
+            for (int j = 0; j < numInputs; j++) {
+                final T trans = automaton.getTransition(state, alphabet.getSymbol(j));
+                if (trans != null) {
+                    dictionary.addAll(automaton.getTransitionProperty(trans));
+                }
+            }
+        }
+
+        writeHeader(AutomatonType.SST);
+        out.writeInt(numInputs);
+        dictionary.write(out, outputEncoder);
+        out.writeInt(numStates);
+        out.writeInt(getInitialStateId(automaton.getInitialState(), ids));
+
+        for (int i = 0; i < numStates; i++) {
+            writeWord(automaton.getStateProperty(ids.getState(i)), dictionary);
+        }
+
+        for (int i = 0; i < numStates; i++) {
+            final S state = ids.getState(i);
+            for (int j = 0; j < numInputs; j++) {
+                final T trans = automaton.getTransition(state, alphabet.getSymbol(j));
+                if (trans == null) {
+                    out.writeInt(-1);
+                } else {
+                    out.writeInt(ids.getStateId(automaton.getSuccessor(trans)));
+                    writeWord(automaton.getTransitionProperty(trans), dictionary);
+                }
+            }
+        }
+    }
+
+    private static <S> int getInitialStateId(@Nullable S init, StateIDs<S> ids) {
+        if (init == null) {
+            throw new IllegalArgumentException("No initial state");
+        }
+        return ids.getStateId(init);
+    }
+
+    private void writeInts(int[] values) throws IOException {
+        for (int v : values) {
+            out.writeInt(v);
+        }
+    }
+
+    private <O> void writeWord(Word<O> word, OutputDictionary<O> dictionary) throws IOException {
+        out.writeInt(word.length());
+        for (O symbol : word) {
+            out.writeInt(dictionary.indexOf(symbol));
+        }
+    }
+
+    @FunctionalInterface
+    private interface BlockEncoder {
+
+        /**
+         * Collects and encodes the transitions of the states {@code fromState} (inclusive) to {@code toState}
+         * (exclusive).
+         */
+        byte[] encode(int fromState, int toState);
+    }
+
+    /**
+     * A dictionary that assigns consecutive indices to the distinct outputs of an automaton. The {@code null} output is
+     * not stored in the dictionary but is represented by the index {@code -1}.
+     *
+     * @param <O>
+     *         output symbol type
+     */
+    private static final class OutputDictionary<O> {
+
+        private final Map<O, Integer> indices = new HashMap<>();
+        private final List<O> outputs = new ArrayList<>();
+
+        int indexOf(@Nullable O output) {
+            if (output == null) {
+                return -1;
+            }
+            return indices.computeIfAbsent(output, o -> {
+                outputs.add(o);
+                return outputs.size() - 1;
+            });
+        }
+
+        void addAll(Word<O> word) {
+            for (O symbol : word) {
+                indexOf(symbol);
+            }
+        }
+
+        void write(DataOutput out, SinglePropertyEncoder<? super O> encoder) throws IOException {
+            out.writeInt(outputs.size());
+            for (O output : outputs) {
+                encoder.writeProperty(out, output);
+            }
+        }
+    }
 }
@@ -15,28 +15,68 @@
  */
 package net.automatalib.serialization.saf;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.commons.util.IOUtil;
 import net.automatalib.serialization.InputModelData;
 import net.automatalib.serialization.InputModelSerializationProvider;
+import net.automatalib.serialization.streaming.AutomatonVisitor;
+import net.automatalib.serialization.streaming.AutomatonWriter;
+import net.automatalib.serialization.streaming.StreamingModelDeserializer;
+import net.automatalib.serialization.streaming.StreamingModelSerializer;
 import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public final class SAFSerializationDFA
-        implements InputModelSerializationProvider<Integer, DFA<?, Integer>, DFA<Integer, Integer>> {
+        implements InputModelSerializationProvider<Integer, DFA<?, Integer>, DFA<Integer, Integer>>,
+                   StreamingModelDeserializer<Integer, Boolean, @Nullable Void>,
+                   StreamingModelSerializer<Integer, Boolean, @Nullable Void> {
 
-    private static final SAFSerializationDFA INSTANCE = new SAFSerializationDFA();
+    private static final SAFSerializationDFA INSTANCE = new SAFSerializationDFA(false);
+    private static final SAFSerializationDFA COMPRESSED_INSTANCE = new SAFSerializationDFA(true);
 
-    private SAFSerializationDFA() {}
+    private final boolean compressed;
+
+    private SAFSerializationDFA(boolean compressed) {
+        this.compressed = compressed;
+    }
 
     public static SAFSerializationDFA getInstance() {
         return INSTANCE;
     }
 
+    /**
+     * Returns an instance that writes models in the compressed (version 2) format of SAF. Both instances can read
+     * either format.
+     *
+     * @return an instance that writes models in the compressed format
+     */
+    public static SAFSerializationDFA getCompressedInstance() {
+        return COMPRESSED_INSTANCE;
+    }
+
+    /**
+     * Reads the model from the given file. If the file is not gzip-compressed, its contents are loaded into (or, for
+     * large files, memory-mapped to) a buffer and decoded directly from memory.
+     */
+    @Override
+    public InputModelData<Integer, DFA<Integer, Integer>> readModel(File f) throws IOException {
+        final ByteBuffer buffer = SAFInput.map(f);
+
+        if (buffer == null) {
+            return InputModelSerializationProvider.super.readModel(f);
+        }
+
+        final CompactDFA<Integer> automaton = new SAFInput(buffer).readNativeDFA();
+        return new InputModelData<>(automaton, automaton.getInputAlphabet());
+    }
+
     @Override
     public InputModelData<Integer, DFA<Integer, Integer>> readModel(InputStream is) throws IOException {
         try (InputStream stream = IOUtil.asUncompressedBufferedNonClosingInputStream(is)) {
@@ -49,6 +89,32 @@ public final class SAFSerializationDFA
     @Override
     public void writeModel(OutputStream os, DFA<?, Integer> model, Alphabet<Integer> alphabet) throws IOException {
         SAFOutput out = new SAFOutput(os);
-        out.writeDFA(model, alphabet);
+        if (compressed) {
+            out.writeCompressedDFA(model, alphabet);
+        } else {
+            out.writeDFA(model, alphabet);
+        }
+    }
+
+    /**
+     * Reads the DFA stored in the given file (in either format) and reports its states and transitions to the given
+     * visitor, without constructing the automaton in memory.
+     */
+    @Override
+    public void readModel(File f, AutomatonVisitor<Integer, Boolean, @Nullable Void> visitor) throws IOException {
+        try (InputStream is = IOUtil.asBufferedInputStream(f);
+             InputStream stream = IOUtil.asUncompressedBufferedNonClosingInputStream(is)) {
+            new SAFInput(stream).readNativeAutomaton(AutomatonType.DFA, visitor);
+        }
+    }
+
+    /**
+     * Returns a writer that writes the visited DFA in the uncompressed format of SAF (regardless of whether this is
+     * the {@link #getCompressedInstance() compressed instance}). The transition table is memory-mapped, so transitions
+     * may be visited in any order.
+     */
+    @Override
+    public AutomatonWriter<Integer, Boolean, @Nullable Void> createWriter(File f) throws IOException {
+        return new SAFStreamingDFAWriter(f);
     }
 }
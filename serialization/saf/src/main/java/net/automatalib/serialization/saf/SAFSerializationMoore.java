@@ -0,0 +1,111 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import net.automatalib.automata.transducers.MooreMachine;
+import net.automatalib.automata.transducers.impl.compact.CompactMoore;
+import net.automatalib.commons.util.IOUtil;
+import net.automatalib.serialization.InputModelData;
+import net.automatalib.serialization.InputModelSerializationProvider;
+import net.automatalib.words.Alphabet;
+
+/**
+ * Serialization provider for Moore machines in the SAF (simple automaton format). State outputs are stored in an
+ * output dictionary, so that each distinct output is encoded only once.
+ *
+ * @param <O>
+ *         output symbol type
+ */
+public final class SAFSerializationMoore<O>
+        implements InputModelSerializationProvider<Integer, MooreMachine<?, Integer, ?, O>,
+                                                   MooreMachine<Integer, Integer, ?, O>> {
+
+    private static final SAFSerializationMoore<String> INSTANCE =
+            new SAFSerializationMoore<>(DataOutput::writeUTF, DataInput::readUTF);
+
+    private final SinglePropertyEncoder<? super O> outputEncoder;
+    private final SinglePropertyDecoder<? extends O> outputDecoder;
+
+    private SAFSerializationMoore(SinglePropertyEncoder<? super O> outputEncoder,
+                                  SinglePropertyDecoder<? extends O> outputDecoder) {
+        this.outputEncoder = outputEncoder;
+        this.outputDecoder = outputDecoder;
+    }
+
+    /**
+     * Returns an instance for Moore machines with {@link String} outputs.
+     *
+     * @return an instance for Moore machines with {@link String} outputs
+     */
+    public static SAFSerializationMoore<String> getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns an instance that uses the given encoder and decoder for the entries of the output dictionary.
+     *
+     * @param outputEncoder
+     *         the encoder for the outputs
+     * @param outputDecoder
+     *         the decoder for the outputs
+     * @param <O>
+     *         output symbol type
+     *
+     * @return an instance for Moore machines with outputs of the given type
+     */
+    public static <O> SAFSerializationMoore<O> getInstance(SinglePropertyEncoder<? super O> outputEncoder,
+                                                           SinglePropertyDecoder<? extends O> outputDecoder) {
+        return new SAFSerializationMoore<>(outputEncoder, outputDecoder);
+    }
+
+    /**
+     * Reads the model from the given file. If the file is not gzip-compressed, its contents are loaded into (or, for
+     * large files, memory-mapped to) a buffer and decoded directly from memory.
+     */
+    @Override
+    public InputModelData<Integer, MooreMachine<Integer, Integer, ?, O>> readModel(File f) throws IOException {
+        final ByteBuffer buffer = SAFInput.map(f);
+
+        if (buffer == null) {
+            return InputModelSerializationProvider.super.readModel(f);
+        }
+
+        final CompactMoore<Integer, O> automaton = new SAFInput(buffer).readNativeMoore(outputDecoder);
+        return new InputModelData<>(automaton, automaton.getInputAlphabet());
+    }
+
+    @Override
+    public InputModelData<Integer, MooreMachine<Integer, Integer, ?, O>> readModel(InputStream is) throws IOException {
+        try (InputStream stream = IOUtil.asUncompressedBufferedNonClosingInputStream(is)) {
+            final CompactMoore<Integer, O> automaton = new SAFInput(stream).readNativeMoore(outputDecoder);
+            return new InputModelData<>(automaton, automaton.getInputAlphabet());
+        }
+    }
+
+    @Override
+    public void writeModel(OutputStream os, MooreMachine<?, Integer, ?, O> model, Alphabet<Integer> alphabet)
+            throws IOException {
+        new SAFOutput(os).writeMoore(model, alphabet, outputEncoder);
+    }
+}
@@ -15,28 +15,68 @@
  */
 package net.automatalib.serialization.saf;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 
 import net.automatalib.automata.fsa.NFA;
 import net.automatalib.automata.fsa.impl.compact.CompactNFA;
 import net.automatalib.commons.util.IOUtil;
 import net.automatalib.serialization.InputModelData;
 import net.automatalib.serialization.InputModelSerializationProvider;
+import net.automatalib.serialization.streaming.AutomatonVisitor;
+import net.automatalib.serialization.streaming.AutomatonWriter;
+import net.automatalib.serialization.streaming.StreamingModelDeserializer;
+import net.automatalib.serialization.streaming.StreamingModelSerializer;
 import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public final class SAFSerializationNFA
-        implements InputModelSerializationProvider<Integer, NFA<?, Integer>, NFA<Integer, Integer>> {
+        implements InputModelSerializationProvider<Integer, NFA<?, Integer>, NFA<Integer, Integer>>,
+                   StreamingModelDeserializer<Integer, Boolean, @Nullable Void>,
+                   StreamingModelSerializer<Integer, Boolean, @Nullable Void> {
 
-    private static final SAFSerializationNFA INSTANCE = new SAFSerializationNFA();
+    private static final SAFSerializationNFA INSTANCE = new SAFSerializationNFA(false);
+    private static final SAFSerializationNFA COMPRESSED_INSTANCE = new SAFSerializationNFA(true);
 
-    private SAFSerializationNFA() {}
+    private final boolean compressed;
+
+    private SAFSerializationNFA(boolean compressed) {
+        this.compressed = compressed;
+    }
 
     public static SAFSerializationNFA getInstance() {
         return INSTANCE;
     }
 
+    /**
+     * Returns an instance that writes models in the compressed (version 2) format of SAF. Both instances can read
+     * either format.
+     *
+     * @return an instance that writes models in the compressed format
+     */
+    public static SAFSerializationNFA getCompressedInstance() {
+        return COMPRESSED_INSTANCE;
+    }
+
+    /**
+     * Reads the model from the given file. If the file is not gzip-compressed, its contents are loaded into (or, for
+     * large files, memory-mapped to) a buffer and decoded directly from memory.
+     */
+    @Override
+    public InputModelData<Integer, NFA<Integer, Integer>> readModel(File f) throws IOException {
+        final ByteBuffer buffer = SAFInput.map(f);
+
+        if (buffer == null) {
+            return InputModelSerializationProvider.super.readModel(f);
+        }
+
+        final CompactNFA<Integer> automaton = new SAFInput(buffer).readNativeNFA();
+        return new InputModelData<>(automaton, automaton.getInputAlphabet());
+    }
+
     @Override
     public InputModelData<Integer, NFA<Integer, Integer>> readModel(InputStream is) throws IOException {
         try (InputStream stream = IOUtil.asUncompressedBufferedNonClosingInputStream(is)) {
@@ -49,6 +89,32 @@ public final class SAFSerializationNFA
     @Override
     public void writeModel(OutputStream os, NFA<?, Integer> model, Alphabet<Integer> alphabet) throws IOException {
         SAFOutput out = new SAFOutput(os);
-        out.writeNFA(model, alphabet);
+        if (compressed) {
+            out.writeCompressedNFA(model, alphabet);
+        } else {
+            out.writeNFA(model, alphabet);
+        }
+    }
+
+    /**
+     * Reads the NFA stored in the given file (in either format) and reports its states and transitions to the given
+     * visitor, without constructing the automaton in memory.
+     */
+    @Override
+    public void readModel(File f, AutomatonVisitor<Integer, Boolean, @Nullable Void> visitor) throws IOException {
+        try (InputStream is = IOUtil.asBufferedInputStream(f);
+             InputStream stream = IOUtil.asUncompressedBufferedNonClosingInputStream(is)) {
+            new SAFInput(stream).readNativeAutomaton(AutomatonType.NFA, visitor);
+        }
+    }
+
+    /**
+     * Returns a writer that writes the visited NFA in the uncompressed format of SAF (regardless of whether this is
+     * the {@link #getCompressedInstance() compressed instance}). Transitions need to be visited in ascending order of
+     * their source states.
+     */
+    @Override
+    public AutomatonWriter<Integer, Boolean, @Nullable Void> createWriter(File f) throws IOException {
+        return new SAFStreamingNFAWriter(f);
     }
-}
\ No newline at end of file
+}
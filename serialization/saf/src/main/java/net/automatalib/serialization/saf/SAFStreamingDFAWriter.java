@@ -0,0 +1,172 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+import net.automatalib.serialization.streaming.AutomatonWriter;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A streaming writer for DFAs in the (uncompressed) SAF format. Since the transition table of the format has a fixed
+ * size, the writer memory-maps the table and stores transitions at their respective position as they are visited.
+ * This allows to write transitions in any order, without keeping the transition table on the heap. Only the initial
+ * state and the acceptance of the states are buffered (one bit per state) and written upon {@link #end()}.
+ */
+final class SAFStreamingDFAWriter implements AutomatonWriter<Integer, Boolean, @Nullable Void> {
+
+    /**
+     * The number of transitions (ints) per mapped segment of the transition table.
+     */
+    private static final int SEGMENT_SHIFT = 28;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private final FileChannel channel;
+
+    private @Nullable Alphabet<Integer> alphabet;
+    private int numStates;
+    private int initialState;
+    private final BitSet accepting;
+    private MappedByteBuffer[] segments;
+
+    SAFStreamingDFAWriter(File file) throws IOException {
+        this.channel = FileChannel.open(file.toPath(),
+                                        StandardOpenOption.CREATE,
+                                        StandardOpenOption.TRUNCATE_EXISTING,
+                                        StandardOpenOption.READ,
+                                        StandardOpenOption.WRITE);
+        this.initialState = -1;
+        this.accepting = new BitSet();
+        this.segments = new MappedByteBuffer[0];
+    }
+
+    @Override
+    public void begin(Alphabet<Integer> alphabet, int numStates) throws IOException {
+        this.alphabet = alphabet;
+        this.numStates = numStates;
+
+        final long numTransitions = (long) numStates * alphabet.size();
+        final long offset = getHeaderSize();
+        final int numSegments = (int) ((numTransitions + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+
+        this.segments = new MappedByteBuffer[numSegments];
+
+        for (int i = 0; i < numSegments; i++) {
+            final long start = (long) i << SEGMENT_SHIFT;
+            final long length = Math.min(numTransitions - start, 1L << SEGMENT_SHIFT);
+            final MappedByteBuffer segment =
+                    channel.map(MapMode.READ_WRITE, offset + start * Integer.BYTES, length * Integer.BYTES);
+
+            // mark all transitions as undefined
+            while (segment.hasRemaining()) {
+                segment.putInt(-1);
+            }
+
+            segments[i] = segment;
+        }
+    }
+
+    @Override
+    public void visitState(int state, boolean initial, Boolean property) {
+        if (initial) {
+            if (initialState >= 0) {
+                throw new IllegalArgumentException("Automaton needs to exactly specify a single initial state");
+            }
+            initialState = state;
+        }
+        if (Boolean.TRUE.equals(property)) {
+            accepting.set(state);
+        }
+    }
+
+    @Override
+    public void visitTransition(int source, Integer input, int target, @Nullable Void property) {
+        final long index = (long) source * getAlphabet().size() + getAlphabet().getSymbolIndex(input);
+        final MappedByteBuffer segment = segments[(int) (index >>> SEGMENT_SHIFT)];
+        final int position = (int) (index & SEGMENT_MASK) * Integer.BYTES;
+        final int existing = segment.getInt(position);
+
+        if (existing >= 0 && existing != target) {
+            throw new IllegalArgumentException("Not deterministic");
+        }
+
+        segment.putInt(position, target);
+    }
+
+    @Override
+    public void end() throws IOException {
+        if (initialState < 0) {
+            throw new IllegalArgumentException("Automaton needs to exactly specify a single initial state");
+        }
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+
+        new SAFOutput((DataOutput) out).writeHeader(AutomatonType.DFA);
+        out.writeInt(getAlphabet().size());
+        out.writeInt(numStates);
+        out.writeInt(initialState);
+
+        final AcceptanceEncoder encoder = new AcceptanceEncoder();
+        encoder.start(out);
+        for (int i = 0; i < numStates; i++) {
+            encoder.encodeProperty(out, accepting.get(i));
+        }
+        encoder.finish(out);
+
+        assert bytes.size() == getHeaderSize();
+
+        final ByteBuffer header = ByteBuffer.wrap(bytes.toByteArray());
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+
+        close();
+    }
+
+    @Override
+    public void close() throws IOException {
+        segments = new MappedByteBuffer[0];
+        channel.close();
+    }
+
+    /**
+     * Returns the size of the format's data before the transition table, i.e. the header, the alphabet size, the
+     * number of states, the initial state and the (int-packed) acceptance bitmap.
+     */
+    private long getHeaderSize() {
+        final long numAcceptanceInts = Math.max(1, ((long) numStates + Integer.SIZE - 1) / Integer.SIZE);
+        return (4 + numAcceptanceInts) * Integer.BYTES;
+    }
+
+    private Alphabet<Integer> getAlphabet() {
+        if (alphabet == null) {
+            throw new IllegalStateException("begin() has not been called");
+        }
+        return alphabet;
+    }
+}
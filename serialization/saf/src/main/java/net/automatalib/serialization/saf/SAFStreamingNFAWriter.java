@@ -0,0 +1,156 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import net.automatalib.commons.util.IOUtil;
+import net.automatalib.serialization.streaming.AutomatonWriter;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A streaming writer for NFAs in the (uncompressed) SAF format. Since the format stores the transitions of each state
+ * consecutively, the writer requires the transitions to be visited in ascending order of their source states (as
+ * done, e.g., by the streaming SAF and TAF deserializers). Only the transitions of the current source state, the
+ * initial states and the acceptance of the states (one bit per state) are buffered.
+ */
+final class SAFStreamingNFAWriter implements AutomatonWriter<Integer, Boolean, @Nullable Void> {
+
+    private final DataOutputStream out;
+
+    private @Nullable Alphabet<Integer> alphabet;
+    private int numStates;
+    private final BitSet initials;
+    private final BitSet accepting;
+
+    private boolean headerWritten;
+    private int currentState;
+    private int[][] successors;
+    private int[] numSuccessors;
+
+    SAFStreamingNFAWriter(File file) throws IOException {
+        this.out = new DataOutputStream(IOUtil.asBufferedOutputStream(file));
+        this.initials = new BitSet();
+        this.accepting = new BitSet();
+        this.successors = new int[0][];
+        this.numSuccessors = new int[0];
+    }
+
+    @Override
+    public void begin(Alphabet<Integer> alphabet, int numStates) {
+        this.alphabet = alphabet;
+        this.numStates = numStates;
+        this.successors = new int[alphabet.size()][4];
+        this.numSuccessors = new int[alphabet.size()];
+    }
+
+    @Override
+    public void visitState(int state, boolean initial, Boolean property) {
+        if (headerWritten) {
+            throw new IllegalStateException("States need to be visited before transitions");
+        }
+        initials.set(state, initial);
+        accepting.set(state, Boolean.TRUE.equals(property));
+    }
+
+    @Override
+    public void visitTransition(int source, Integer input, int target, @Nullable Void property) throws IOException {
+        writeHeaderIfNecessary();
+
+        if (source < currentState) {
+            throw new IllegalStateException("Transitions need to be visited in ascending order of their source states");
+        }
+
+        while (currentState < source) {
+            flushCurrentState();
+        }
+
+        final int idx = getAlphabet().getSymbolIndex(input);
+        final int num = numSuccessors[idx];
+
+        if (num == successors[idx].length) {
+            successors[idx] = Arrays.copyOf(successors[idx], num * 2);
+        }
+
+        successors[idx][num] = target;
+        numSuccessors[idx] = num + 1;
+    }
+
+    @Override
+    public void end() throws IOException {
+        writeHeaderIfNecessary();
+
+        while (currentState < numStates) {
+            flushCurrentState();
+        }
+
+        close();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void writeHeaderIfNecessary() throws IOException {
+        if (headerWritten) {
+            return;
+        }
+
+        new SAFOutput((DataOutput) out).writeHeader(AutomatonType.NFA);
+        out.writeInt(getAlphabet().size());
+        out.writeInt(numStates);
+
+        out.writeInt(initials.cardinality());
+        for (int i = initials.nextSetBit(0); i >= 0; i = initials.nextSetBit(i + 1)) {
+            out.writeInt(i);
+        }
+
+        final AcceptanceEncoder encoder = new AcceptanceEncoder();
+        encoder.start(out);
+        for (int i = 0; i < numStates; i++) {
+            encoder.encodeProperty(out, accepting.get(i));
+        }
+        encoder.finish(out);
+
+        headerWritten = true;
+    }
+
+    private void flushCurrentState() throws IOException {
+        for (int i = 0; i < numSuccessors.length; i++) {
+            final int num = numSuccessors[i];
+            out.writeInt(num);
+            for (int j = 0; j < num; j++) {
+                out.writeInt(successors[i][j]);
+            }
+            numSuccessors[i] = 0;
+        }
+        currentState++;
+    }
+
+    private Alphabet<Integer> getAlphabet() {
+        if (alphabet == null) {
+            throw new IllegalStateException("begin() has not been called");
+        }
+        return alphabet;
+    }
+}
@@ -0,0 +1,125 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.serialization.InputModelData;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class SAFModelStoreTest {
+
+    private static final Alphabet<Integer> ALPHABET = Alphabets.integers(0, 4);
+    private static final int AUTOMATON_SIZE = 20;
+
+    private Path directory;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("automatalib");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path p : (Iterable<Path>) files::iterator) {
+                Files.delete(p);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testDFAStore() throws IOException {
+        final Random random = new Random(0);
+        final CompactDFA<Integer> dfa1 = RandomAutomata.randomDFA(random, AUTOMATON_SIZE, ALPHABET);
+        final CompactDFA<Integer> dfa2 = RandomAutomata.randomDFA(random, AUTOMATON_SIZE, ALPHABET);
+
+        final SAFModelStore<DFA<?, Integer>> store = SAFModelStore.forDFAs(directory.toFile());
+
+        final String fp1 = store.put(dfa1, ALPHABET);
+        final String fp2 = store.put(dfa2, ALPHABET);
+
+        Assert.assertNotEquals(fp1, fp2);
+        Assert.assertTrue(store.contains(fp1));
+        Assert.assertTrue(store.contains(fp2));
+
+        // storing a copy does not create a new entry
+        Assert.assertEquals(store.put(new CompactDFA<>(dfa1), ALPHABET), fp1);
+        Assert.assertEquals(countFiles(), 2);
+
+        final InputModelData<Integer, ? extends DFA<?, Integer>> data = store.get(fp1);
+        Assert.assertNotNull(data);
+        Assert.assertTrue(Automata.testEquivalence(dfa1, data.model, ALPHABET));
+
+        // a re-opened store sees the same entries
+        final SAFModelStore<DFA<?, Integer>> reopened = SAFModelStore.forDFAs(directory.toFile());
+        Assert.assertTrue(reopened.contains(fp2));
+    }
+
+    @Test
+    public void testMealyStore() throws IOException {
+        final Random random = new Random(0);
+        final CompactMealy<Integer, String> mealy =
+                RandomAutomata.randomMealy(random, AUTOMATON_SIZE, ALPHABET, Arrays.asList("a", "b"));
+
+        final SAFModelStore<MealyMachine<?, Integer, ?, String>> store =
+                SAFModelStore.forMealyMachines(directory.toFile());
+
+        final String fp = store.put(mealy, ALPHABET);
+
+        final InputModelData<Integer, ? extends MealyMachine<?, Integer, ?, String>> data = store.get(fp);
+        Assert.assertNotNull(data);
+        Assert.assertTrue(Automata.testEquivalence(mealy, data.model, ALPHABET));
+    }
+
+    @Test
+    public void testInvalidFingerprints() throws IOException {
+        final SAFModelStore<DFA<?, Integer>> store = SAFModelStore.forDFAs(directory.toFile());
+        final char[] missing = new char[64];
+        Arrays.fill(missing, '0');
+
+        Assert.assertFalse(store.contains(new String(missing)));
+        Assert.assertNull(store.get(new String(missing)));
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> store.contains("abc"));
+        Assert.assertThrows(IllegalArgumentException.class,
+                            () -> store.get(".." + File.separator + new String(missing, 0, 61)));
+    }
+
+    private long countFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
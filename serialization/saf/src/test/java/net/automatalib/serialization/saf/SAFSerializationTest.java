@@ -17,8 +17,22 @@ package net.automatalib.serialization.saf;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
 import java.util.Random;
 
 import net.automatalib.automata.UniversalAutomaton;
@@ -26,15 +40,26 @@ import net.automatalib.automata.fsa.DFA;
 import net.automatalib.automata.fsa.NFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.automata.transducers.MooreMachine;
+import net.automatalib.automata.transducers.SubsequentialTransducer;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.automata.transducers.impl.compact.CompactMoore;
+import net.automatalib.automata.transducers.impl.compact.CompactSST;
 import net.automatalib.commons.util.io.UnclosableInputStream;
 import net.automatalib.commons.util.io.UnclosableOutputStream;
+import net.automatalib.serialization.FormatException;
 import net.automatalib.serialization.InputModelDeserializer;
 import net.automatalib.serialization.InputModelSerializer;
+import net.automatalib.serialization.streaming.AutomatonVisitors;
+import net.automatalib.serialization.streaming.AutomatonWriter;
 import net.automatalib.util.automata.Automata;
 import net.automatalib.util.automata.fsa.NFAs;
 import net.automatalib.util.automata.random.RandomAutomata;
 import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
 import net.automatalib.words.impl.Alphabets;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -46,9 +71,13 @@ public class SAFSerializationTest {
 
     private static final Alphabet<Integer> ALPHABET = Alphabets.integers(0, 4);
     private static final int AUTOMATON_SIZE = 20;
+    private static final List<String> OUTPUTS = Arrays.asList("a", "b", "c");
 
     private CompactDFA<Integer> dfa;
     private CompactNFA<Integer> nfa;
+    private CompactMealy<Integer, String> mealy;
+    private CompactMoore<Integer, String> moore;
+    private CompactSST<Integer, Character> sst;
 
     @BeforeMethod
     public void setUp() {
@@ -74,6 +103,30 @@ public class SAFSerializationTest {
                                    random.nextInt(ALPHABET.size()),
                                    random.nextInt(AUTOMATON_SIZE));
         }
+
+        this.mealy = RandomAutomata.randomMealy(random, AUTOMATON_SIZE, ALPHABET, OUTPUTS);
+        this.moore = RandomAutomata.randomMoore(random, AUTOMATON_SIZE, ALPHABET, OUTPUTS);
+        this.sst = new CompactSST<>(ALPHABET, AUTOMATON_SIZE);
+
+        // remove some transitions for partiality
+        for (int i = 0; i < AUTOMATON_SIZE; i++) {
+            this.mealy.removeAllTransitions(random.nextInt(AUTOMATON_SIZE), random.nextInt(ALPHABET.size()));
+            this.moore.removeAllTransitions(random.nextInt(AUTOMATON_SIZE), random.nextInt(ALPHABET.size()));
+        }
+
+        for (int i = 0; i < AUTOMATON_SIZE; i++) {
+            this.sst.addState(randomWord(random));
+        }
+        this.sst.setInitialState(0);
+
+        for (int i = 0; i < AUTOMATON_SIZE * ALPHABET.size(); i++) {
+            if (random.nextBoolean()) {
+                this.sst.setTransition(i / ALPHABET.size(),
+                                       i % ALPHABET.size(),
+                                       random.nextInt(AUTOMATON_SIZE),
+                                       randomWord(random));
+            }
+        }
     }
 
     @Test
@@ -120,6 +173,374 @@ public class SAFSerializationTest {
         serializer.readModel(new UnclosableInputStream(is));
     }
 
+    @Test
+    public void testMappedDFASerialization() throws Exception {
+        final SAFSerializationDFA serializer = SAFSerializationDFA.getInstance();
+        final File file = File.createTempFile("automatalib", ".saf");
+
+        try {
+            serializer.writeModel(file, this.dfa, ALPHABET);
+
+            // small files are read into a heap buffer
+            final ByteBuffer buffer = SAFInput.map(file);
+            Assert.assertNotNull(buffer);
+            Assert.assertFalse(buffer.isDirect());
+
+            final DFA<Integer, Integer> deserializedModel = serializer.readModel(file).model;
+            Assert.assertTrue(Automata.testEquivalence(this.dfa, deserializedModel, ALPHABET));
+        } finally {
+            Files.delete(file.toPath());
+        }
+    }
+
+    @Test
+    public void testLargeMappedDFASerialization() throws Exception {
+        final CompactDFA<Integer> largeDFA = RandomAutomata.randomDFA(new Random(42), 100_000, ALPHABET);
+        final SAFSerializationDFA serializer = SAFSerializationDFA.getInstance();
+        final File file = File.createTempFile("automatalib", ".saf");
+
+        try {
+            serializer.writeModel(file, largeDFA, ALPHABET);
+            Assert.assertTrue(file.length() > SAFInput.MAX_READ_SIZE);
+
+            final ByteBuffer buffer = SAFInput.map(file);
+            Assert.assertNotNull(buffer);
+            Assert.assertTrue(buffer.isDirect());
+
+            final DFA<Integer, Integer> deserializedModel = serializer.readModel(file).model;
+            Assert.assertTrue(Automata.testEquivalence(largeDFA, deserializedModel, ALPHABET));
+        } finally {
+            Files.delete(file.toPath());
+        }
+    }
+
+    @Test
+    public void testMappedNFASerialization() throws Exception {
+        final SAFSerializationNFA serializer = SAFSerializationNFA.getInstance();
+        final File file = File.createTempFile("automatalib", ".saf");
+
+        try {
+            serializer.writeModel(file, this.nfa, ALPHABET);
+            Assert.assertNotNull(SAFInput.map(file));
+
+            final NFA<Integer, Integer> deserializedModel = serializer.readModel(file).model;
+            Assert.assertTrue(Automata.testEquivalence(NFAs.determinize(this.nfa, ALPHABET),
+                                                       NFAs.determinize(deserializedModel, ALPHABET),
+                                                       ALPHABET));
+        } finally {
+            Files.delete(file.toPath());
+        }
+    }
+
+    @Test
+    public void testCompressedFileFallback() throws Exception {
+        final SAFSerializationDFA serializer = SAFSerializationDFA.getInstance();
+        final File file = File.createTempFile("automatalib", ".saf.gz");
+
+        try {
+            try (OutputStream os = new GZIPOutputStream(new FileOutputStream(file))) {
+                serializer.writeModel(os, this.dfa, ALPHABET);
+            }
+            Assert.assertNull(SAFInput.map(file));
+
+            final DFA<Integer, Integer> deserializedModel = serializer.readModel(file).model;
+            Assert.assertTrue(Automata.testEquivalence(this.dfa, deserializedModel, ALPHABET));
+        } finally {
+            Files.delete(file.toPath());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("deprecation") // DataInputStream#readLine is the reference implementation
+    public void testReadLine() throws IOException {
+        final byte[] bytes = "a\nbc\r\n\rd\re\u00e4".getBytes(StandardCharsets.ISO_8859_1);
+        final DataInput expected = new DataInputStream(new ByteArrayInputStream(bytes));
+        final DataInput actual = new ByteBufferDataInput(ByteBuffer.wrap(bytes));
+
+        String line;
+        do {
+            line = expected.readLine();
+            Assert.assertEquals(actual.readLine(), line);
+        } while (line != null);
+    }
+
+    @Test
+    public void testInvalidSuccessor() throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        SAFSerializationDFA.getInstance().writeModel(baos, this.dfa, ALPHABET);
+
+        final byte[] bytes = baos.toByteArray();
+        // corrupt the successor of the very last transition
+        ByteBuffer.wrap(bytes).putInt(bytes.length - Integer.BYTES, AUTOMATON_SIZE);
+
+        Assert.assertThrows(FormatException.class, () -> new SAFInput(ByteBuffer.wrap(bytes)).readNativeDFA());
+        Assert.assertThrows(FormatException.class,
+                            () -> new SAFInput(new ByteArrayInputStream(bytes)).readNativeDFA());
+    }
+
+    @Test
+    public void testTruncatedInput() throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        SAFSerializationDFA.getInstance().writeModel(baos, this.dfa, ALPHABET);
+
+        final ByteBuffer buffer = ByteBuffer.wrap(baos.toByteArray());
+        buffer.limit(buffer.limit() - 1);
+
+        Assert.assertThrows(IOException.class, () -> new SAFInput(buffer).readNativeDFA());
+    }
+
+    @Test
+    public void testCompressedDFASerialization() throws Exception {
+        final SAFSerializationDFA serializer = SAFSerializationDFA.getCompressedInstance();
+
+        final DFA<Integer, Integer> deserializedModel = writeAndReadModel(this.dfa, ALPHABET, serializer, serializer);
+        Assert.assertTrue(Automata.testEquivalence(this.dfa, deserializedModel, ALPHABET));
+
+        // the uncompressed instance should be able to read the compressed format as well
+        final DFA<Integer, Integer> deserializedModel2 =
+                writeAndReadModel(this.dfa, ALPHABET, serializer, SAFSerializationDFA.getInstance());
+        Assert.assertTrue(Automata.testEquivalence(this.dfa, deserializedModel2, ALPHABET));
+    }
+
+    @Test
+    public void testCompressedNFASerialization() throws Exception {
+        final SAFSerializationNFA serializer = SAFSerializationNFA.getCompressedInstance();
+
+        final NFA<Integer, Integer> deserializedModel = writeAndReadModel(this.nfa, ALPHABET, serializer, serializer);
+
+        Assert.assertTrue(Automata.testEquivalence(NFAs.determinize(this.nfa, ALPHABET),
+                                                   NFAs.determinize(deserializedModel, ALPHABET),
+                                                   ALPHABET));
+    }
+
+    @Test
+    public void testCompressedMultiBlockSerialization() throws Exception {
+        final Random random = new Random(42);
+        final CompactDFA<Integer> largeDFA = RandomAutomata.randomDFA(random, 50_000, ALPHABET);
+
+        // remove transitions of consecutive states to get runs of undefined transitions
+        for (int i = 1000; i < 2000; i++) {
+            largeDFA.removeAllTransitions(i);
+        }
+
+        final SAFSerializationDFA serializer = SAFSerializationDFA.getCompressedInstance();
+        final File file = File.createTempFile("automatalib", ".saf");
+
+        try {
+            serializer.writeModel(file, largeDFA, ALPHABET);
+
+            final DFA<Integer, Integer> mapped = serializer.readModel(file).model;
+            Assert.assertTrue(Automata.testEquivalence(largeDFA, mapped, ALPHABET));
+
+            final DFA<Integer, Integer> streamed =
+                    serializer.readModel(Files.readAllBytes(file.toPath())).model;
+            Assert.assertTrue(Automata.testEquivalence(largeDFA, streamed, ALPHABET));
+        } finally {
+            Files.delete(file.toPath());
+        }
+    }
+
+    @Test
+    public void testCompressedTableSizeOverflow() {
+        // the transition table of the automaton cannot be addressed by integers
+        final int numStates = Integer.MAX_VALUE / ALPHABET.size() + 1;
+        final DFA<Integer, Integer> dfa = new OversizedDFA(numStates);
+        final SAFOutput output = new SAFOutput(new ByteArrayOutputStream());
+
+        Assert.assertThrows(FormatException.class, () -> output.writeCompressedDFA(dfa, ALPHABET));
+    }
+
+    @Test
+    public void testTransducerTableSizeOverflow() {
+        // the transition tables of the automata cannot be addressed by integers
+        final int numStates = Integer.MAX_VALUE / ALPHABET.size() + 1;
+        final SAFOutput output = new SAFOutput(new ByteArrayOutputStream());
+
+        Assert.assertThrows(FormatException.class,
+                            () -> output.writeMealy(new OversizedMealy(numStates), ALPHABET, DataOutput::writeInt));
+        Assert.assertThrows(FormatException.class,
+                            () -> output.writeMoore(new OversizedMoore(numStates), ALPHABET, DataOutput::writeInt));
+    }
+
+    @Test
+    public void testCompressedSize() throws IOException {
+        final ByteArrayOutputStream uncompressed = new ByteArrayOutputStream();
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        SAFSerializationDFA.getInstance().writeModel(uncompressed, this.dfa, ALPHABET);
+        SAFSerializationDFA.getCompressedInstance().writeModel(compressed, this.dfa, ALPHABET);
+
+        Assert.assertTrue(compressed.size() * 3 < uncompressed.size());
+    }
+
+    @Test
+    public void testCompressedChecksum() throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        SAFSerializationNFA.getCompressedInstance().writeModel(baos, this.nfa, ALPHABET);
+
+        final byte[] bytes = baos.toByteArray();
+        bytes[bytes.length - 1] ^= 1;
+
+        Assert.assertThrows(FormatException.class, () -> new SAFInput(ByteBuffer.wrap(bytes)).readNativeNFA());
+        Assert.assertThrows(FormatException.class,
+                            () -> new SAFInput(new ByteArrayInputStream(bytes)).readNativeNFA());
+    }
+
+    @Test
+    public void testStreamingDFASerialization() throws Exception {
+        final File source = File.createTempFile("automatalib", ".saf");
+        final File target = File.createTempFile("automatalib", ".saf");
+
+        try {
+            for (SAFSerializationDFA serializer : new SAFSerializationDFA[] {SAFSerializationDFA.getInstance(),
+                                                                              SAFSerializationDFA.getCompressedInstance()}) {
+                serializer.writeModel(source, this.dfa, ALPHABET);
+
+                final CompactDFA<Integer> streamed = serializer.readModel(source, new CompactDFA.Creator<>()).model;
+                Assert.assertTrue(Automata.testEquivalence(this.dfa, streamed, ALPHABET));
+
+                AutomatonVisitors.convert(serializer, source, serializer, target);
+                Assert.assertTrue(Automata.testEquivalence(this.dfa, serializer.readModel(target).model, ALPHABET));
+            }
+
+            // the mapped transition table allows to write transitions in arbitrary order
+            try (AutomatonWriter<Integer, Boolean, Void> writer = SAFSerializationDFA.getInstance()
+                                                                                     .createWriter(target)) {
+                writer.begin(ALPHABET, this.dfa.size());
+                for (Integer s : this.dfa) {
+                    writer.visitState(s, s.equals(this.dfa.getInitialState()), this.dfa.isAccepting(s));
+                }
+                for (int s = this.dfa.size() - 1; s >= 0; s--) {
+                    for (Integer i : ALPHABET) {
+                        final Integer succ = this.dfa.getSuccessor(s, i);
+                        if (succ != null) {
+                            writer.visitTransition(s, i, succ, null);
+                        }
+                    }
+                }
+                writer.end();
+            }
+
+            final DFA<Integer, Integer> deserializedModel = SAFSerializationDFA.getInstance().readModel(target).model;
+            Assert.assertTrue(Automata.testEquivalence(this.dfa, deserializedModel, ALPHABET));
+        } finally {
+            Files.delete(source.toPath());
+            Files.delete(target.toPath());
+        }
+    }
+
+    @Test
+    public void testStreamingNFASerialization() throws Exception {
+        final File source = File.createTempFile("automatalib", ".saf");
+        final File target = File.createTempFile("automatalib", ".saf");
+
+        try {
+            for (SAFSerializationNFA serializer : new SAFSerializationNFA[] {SAFSerializationNFA.getInstance(),
+                                                                              SAFSerializationNFA.getCompressedInstance()}) {
+                serializer.writeModel(source, this.nfa, ALPHABET);
+
+                final CompactNFA<Integer> streamed = serializer.readModel(source, new CompactNFA.Creator<>()).model;
+                Assert.assertTrue(Automata.testEquivalence(NFAs.determinize(this.nfa, ALPHABET),
+                                                           NFAs.determinize(streamed, ALPHABET),
+                                                           ALPHABET));
+
+                AutomatonVisitors.convert(serializer, source, serializer, target);
+                Assert.assertTrue(Automata.testEquivalence(NFAs.determinize(this.nfa, ALPHABET),
+                                                           NFAs.determinize(serializer.readModel(target).model,
+                                                                            ALPHABET),
+                                                           ALPHABET));
+            }
+
+            try (AutomatonWriter<Integer, Boolean, Void> writer = SAFSerializationNFA.getInstance()
+                                                                                     .createWriter(target)) {
+                writer.begin(ALPHABET, 2);
+                writer.visitState(0, true, false);
+                writer.visitState(1, false, true);
+                writer.visitTransition(1, 0, 0, null);
+                Assert.assertThrows(IllegalStateException.class, () -> writer.visitTransition(0, 0, 1, null));
+            }
+        } finally {
+            Files.delete(source.toPath());
+            Files.delete(target.toPath());
+        }
+    }
+
+    @Test
+    public void testMealySerialization() throws Exception {
+        final SAFSerializationMealy<String> serializer = SAFSerializationMealy.getInstance();
+
+        final MealyMachine<Integer, Integer, ?, String> deserializedModel =
+                writeAndReadModel(this.mealy, ALPHABET, serializer, serializer);
+
+        Assert.assertTrue(Automata.testEquivalence(this.mealy, deserializedModel, ALPHABET));
+    }
+
+    @Test
+    public void testMooreSerialization() throws Exception {
+        final SAFSerializationMoore<String> serializer = SAFSerializationMoore.getInstance();
+
+        final MooreMachine<Integer, Integer, ?, String> deserializedModel =
+                writeAndReadModel(this.moore, ALPHABET, serializer, serializer);
+
+        Assert.assertTrue(Automata.testEquivalence(this.moore, deserializedModel, ALPHABET));
+    }
+
+    @Test
+    public void testSSTSerialization() throws Exception {
+        final SAFSerializationSST<Character> serializer =
+                SAFSerializationSST.getInstance((out, c) -> out.writeChar(c), DataInput::readChar);
+
+        final SubsequentialTransducer<Integer, Integer, ?, Character> deserializedModel =
+                writeAndReadModel(this.sst, ALPHABET, serializer, serializer);
+
+        Assert.assertTrue(Automata.testEquivalence(this.sst, deserializedModel, ALPHABET));
+    }
+
+    @Test
+    public void testMappedTransducerSerialization() throws Exception {
+        final File file = File.createTempFile("automatalib", ".saf");
+
+        try {
+            final SAFSerializationMealy<String> mealySerializer = SAFSerializationMealy.getInstance();
+            mealySerializer.writeModel(file, this.mealy, ALPHABET);
+            Assert.assertTrue(Automata.testEquivalence(this.mealy, mealySerializer.readModel(file).model, ALPHABET));
+
+            final SAFSerializationMoore<String> mooreSerializer = SAFSerializationMoore.getInstance();
+            mooreSerializer.writeModel(file, this.moore, ALPHABET);
+            Assert.assertTrue(Automata.testEquivalence(this.moore, mooreSerializer.readModel(file).model, ALPHABET));
+        } finally {
+            Files.delete(file.toPath());
+        }
+    }
+
+    @Test
+    public void testOutputDictionary() throws IOException {
+        final String output = String.join("", Collections.nCopies(100, "x"));
+        final CompactMealy<Integer, String> constant =
+                RandomAutomata.randomMealy(new Random(0), AUTOMATON_SIZE, ALPHABET, Collections.singleton(output));
+
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        SAFSerializationMealy.getInstance().writeModel(baos, constant, ALPHABET);
+
+        // the output is stored once, each transition only references it by its index
+        Assert.assertTrue(baos.size() < output.length() + 2 * Integer.BYTES * AUTOMATON_SIZE * ALPHABET.size() + 64);
+
+        final byte[] bytes = baos.toByteArray();
+        bytes[bytes.length - 1] = 1; // reference a non-existing output
+
+        Assert.assertThrows(FormatException.class,
+                            () -> new SAFInput(ByteBuffer.wrap(bytes)).readNativeMealy(DataInput::readUTF));
+    }
+
+    private static Word<Character> randomWord(Random random) {
+        final int length = random.nextInt(4);
+        final Character[] symbols = new Character[length];
+        for (int i = 0; i < length; i++) {
+            symbols[i] = (char) ('a' + random.nextInt(3));
+        }
+        return Word.fromSymbols(symbols);
+    }
+
     private <I, IN extends UniversalAutomaton<?, I, ?, ?, ?>, OUT extends UniversalAutomaton<?, I, ?, ?, ?>> OUT writeAndReadModel(
             IN source,
             Alphabet<I> alphabet,
@@ -134,4 +555,119 @@ public class SAFSerializationTest {
         return deserializer.readModel(is).model;
     }
 
+
+    /**
+     * A DFA that only reports a (huge) number of states.
+     */
+    private static final class OversizedDFA implements DFA<Integer, Integer> {
+
+        private final int size;
+
+        OversizedDFA(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Collection<Integer> getStates() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Integer getInitialState() {
+            return 0;
+        }
+
+        @Override
+        public @Nullable Integer getTransition(Integer state, Integer input) {
+            return null;
+        }
+
+        @Override
+        public boolean isAccepting(Integer state) {
+            return false;
+        }
+    }
+
+    private static final class OversizedMealy implements MealyMachine<Integer, Integer, Integer, Integer> {
+
+        private final int size;
+
+        OversizedMealy(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Collection<Integer> getStates() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Integer getInitialState() {
+            return 0;
+        }
+
+        @Override
+        public @Nullable Integer getTransition(Integer state, Integer input) {
+            return null;
+        }
+
+        @Override
+        public Integer getSuccessor(Integer transition) {
+            return transition;
+        }
+
+        @Override
+        public Integer getTransitionOutput(Integer transition) {
+            return transition;
+        }
+    }
+
+    private static final class OversizedMoore implements MooreMachine<Integer, Integer, Integer, Integer> {
+
+        private final int size;
+
+        OversizedMoore(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Collection<Integer> getStates() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Integer getInitialState() {
+            return 0;
+        }
+
+        @Override
+        public @Nullable Integer getTransition(Integer state, Integer input) {
+            return null;
+        }
+
+        @Override
+        public Integer getSuccessor(Integer transition) {
+            return transition;
+        }
+
+        @Override
+        public Integer getStateOutput(Integer state) {
+            return state;
+        }
+    }
 }
@@ -15,6 +15,7 @@
  */
 package net.automatalib.serialization.taf;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -25,13 +26,20 @@ import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.commons.util.IOUtil;
 import net.automatalib.serialization.InputModelData;
 import net.automatalib.serialization.InputModelSerializationProvider;
+import net.automatalib.serialization.streaming.AutomatonVisitor;
+import net.automatalib.serialization.streaming.AutomatonWriter;
+import net.automatalib.serialization.streaming.StreamingModelDeserializer;
+import net.automatalib.serialization.streaming.StreamingModelSerializer;
 import net.automatalib.serialization.taf.parser.PrintStreamDiagnosticListener;
 import net.automatalib.serialization.taf.parser.TAFParser;
 import net.automatalib.serialization.taf.writer.TAFWriter;
 import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public final class TAFSerializationDFA
-        implements InputModelSerializationProvider<String, DFA<?, String>, DFA<Integer, String>> {
+        implements InputModelSerializationProvider<String, DFA<?, String>, DFA<Integer, String>>,
+                   StreamingModelDeserializer<String, Boolean, @Nullable Void>,
+                   StreamingModelSerializer<String, Boolean, @Nullable Void> {
 
     private static final TAFSerializationDFA INSTANCE = new TAFSerializationDFA();
 
@@ -54,4 +62,18 @@ public final class TAFSerializationDFA
                 TAFParser.parseDFA(is, PrintStreamDiagnosticListener.getStderrDiagnosticListener());
         return new InputModelData<>(automaton, automaton.getInputAlphabet());
     }
+
+    @Override
+    public void readModel(File f, AutomatonVisitor<String, Boolean, @Nullable Void> visitor) throws IOException {
+        TAFParser.parseDFA(f, PrintStreamDiagnosticListener.getStderrDiagnosticListener(), visitor);
+    }
+
+    /**
+     * Returns a writer that writes the visited DFA in the TAF format. Transitions need to be visited in ascending
+     * order of their source states, see {@link TAFWriter#createDFAWriter(File)}.
+     */
+    @Override
+    public AutomatonWriter<String, Boolean, @Nullable Void> createWriter(File f) throws IOException {
+        return TAFWriter.createDFAWriter(f);
+    }
 }
@@ -15,6 +15,7 @@
  */
 package net.automatalib.serialization.taf;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -25,13 +26,20 @@ import net.automatalib.automata.transducers.impl.compact.CompactMealy;
 import net.automatalib.commons.util.IOUtil;
 import net.automatalib.serialization.InputModelData;
 import net.automatalib.serialization.InputModelSerializationProvider;
+import net.automatalib.serialization.streaming.AutomatonVisitor;
+import net.automatalib.serialization.streaming.AutomatonWriter;
+import net.automatalib.serialization.streaming.StreamingModelDeserializer;
+import net.automatalib.serialization.streaming.StreamingModelSerializer;
 import net.automatalib.serialization.taf.parser.PrintStreamDiagnosticListener;
 import net.automatalib.serialization.taf.parser.TAFParser;
 import net.automatalib.serialization.taf.writer.TAFWriter;
 import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public final class TAFSerializationMealy
-        implements InputModelSerializationProvider<String, MealyMachine<?, String, ?, ?>, MealyMachine<?, String, ?, String>> {
+        implements InputModelSerializationProvider<String, MealyMachine<?, String, ?, ?>, MealyMachine<?, String, ?, String>>,
+                   StreamingModelDeserializer<String, @Nullable Void, String>,
+                   StreamingModelSerializer<String, @Nullable Void, String> {
 
     private static final TAFSerializationMealy INSTANCE = new TAFSerializationMealy();
 
@@ -55,4 +63,18 @@ public final class TAFSerializationMealy
                 TAFParser.parseMealy(is, PrintStreamDiagnosticListener.getStderrDiagnosticListener());
         return new InputModelData<>(automaton, automaton.getInputAlphabet());
     }
+
+    @Override
+    public void readModel(File f, AutomatonVisitor<String, @Nullable Void, String> visitor) throws IOException {
+        TAFParser.parseMealy(f, PrintStreamDiagnosticListener.getStderrDiagnosticListener(), visitor);
+    }
+
+    /**
+     * Returns a writer that writes the visited Mealy machine in the TAF format. Transitions need to be visited in ascending
+     * order of their source states, see {@link TAFWriter#createMealyWriter(File)}.
+     */
+    @Override
+    public AutomatonWriter<String, @Nullable Void, String> createWriter(File f) throws IOException {
+        return TAFWriter.createMealyWriter(f);
+    }
 }
@@ -0,0 +1,239 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.taf.parser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import net.automatalib.commons.util.strings.StringUtil;
+import net.automatalib.serialization.streaming.AutomatonVisitor;
+import net.automatalib.words.Alphabet;
+
+/**
+ * A {@link TAFBuilder} that reports the parsed automaton to an {@link AutomatonVisitor} instead of constructing it.
+ * The builder is used in two passes over the same TAF description: The first pass collects the states (and their
+ * properties), the second pass reports the transitions. Only the names of the states are kept in memory.
+ * <p>
+ * States are numbered in the order of their declaration, followed by the states that are only referenced as targets
+ * of transitions. Since the transitions of a state are declared in a single block, the transitions are reported in
+ * ascending order of their source states.
+ *
+ * @param <SP>
+ *         state property type
+ * @param <TP>
+ *         transition property type
+ */
+@SuppressWarnings("nullness")
+abstract class AbstractStreamingTAFBuilder<SP, TP> implements TAFBuilder {
+
+    private static final Pattern ID_PATTERN = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+
+    private final AutomatonVisitor<String, SP, TP> visitor;
+    private final Map<String, Integer> stateMap = new HashMap<>();
+    private final List<SP> stateProperties = new ArrayList<>();
+    private final Set<String> undeclaredStates = new LinkedHashSet<>();
+    private InternalTAFParser parser;
+    private Alphabet<String> alphabet;
+    private int initialState = -1;
+
+    private boolean collecting = true;
+    private int currentState;
+    private int[] currentTargets;
+    private Object[] currentProperties;
+
+    AbstractStreamingTAFBuilder(AutomatonVisitor<String, SP, TP> visitor) {
+        this.visitor = visitor;
+    }
+
+    void setParser(InternalTAFParser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * Finishes the first pass and reports the collected states to the visitor.
+     */
+    void beginTransitions() throws IOException {
+        final SP defaultProperty = getStateProperty(new HashSet<>());
+
+        for (String identifier : undeclaredStates) {
+            stateMap.put(identifier, stateProperties.size());
+            stateProperties.add(defaultProperty);
+        }
+
+        visitor.begin(alphabet, stateProperties.size());
+
+        for (int i = 0; i < stateProperties.size(); i++) {
+            visitor.visitState(i, i == initialState, stateProperties.get(i));
+        }
+
+        collecting = false;
+        stateProperties.clear();
+        undeclaredStates.clear();
+        currentTargets = new int[alphabet.size()];
+        currentProperties = new Object[alphabet.size()];
+    }
+
+    /**
+     * Finishes the second pass.
+     */
+    void end() throws IOException {
+        visitor.end();
+    }
+
+    @Override
+    public void init(Alphabet<String> alphabet) {
+        this.alphabet = alphabet;
+    }
+
+    @Override
+    public void declareState(String identifier, Set<String> options) {
+        if (collecting) {
+            collectState(identifier, options);
+        } else {
+            currentState = stateMap.get(identifier);
+            Arrays.fill(currentTargets, -1);
+            Arrays.fill(currentProperties, null);
+        }
+    }
+
+    private void collectState(String identifier, Set<String> options) {
+        final Integer existing = stateMap.get(identifier);
+        final int state;
+
+        if (existing == null) {
+            state = stateProperties.size();
+            stateMap.put(identifier, state);
+            stateProperties.add(null);
+            undeclaredStates.remove(identifier);
+        } else {
+            error("State {0} declared twice", identifier);
+            state = existing;
+        }
+
+        boolean init = options.remove("initial") | options.remove("init");
+        if (init && initialState >= 0) {
+            error("Duplicate initial state {0}", identifier);
+            init = false;
+        }
+        if (init) {
+            initialState = state;
+        }
+
+        stateProperties.set(state, getStateProperty(options));
+
+        if (!options.isEmpty()) {
+            warning("Unrecognized options for state {0}: {1}", identifier, options);
+        }
+    }
+
+    /**
+     * Returns the state property described by the given options and removes the respective options from the set.
+     */
+    protected abstract SP getStateProperty(Set<String> options);
+
+    protected void doAddTransitions(String source, Collection<String> symbols, String target, TP transProperty) {
+        final int tgt = lookupState(target);
+
+        if (collecting) {
+            return;
+        }
+
+        final List<String> invalidSymbols = new ArrayList<>();
+        for (String s : symbols) {
+            if (!alphabet.containsSymbol(s)) {
+                invalidSymbols.add(StringUtil.enquoteIfNecessary(s, ID_PATTERN));
+                continue;
+            }
+            final int idx = alphabet.getSymbolIndex(s);
+            if (currentTargets[idx] >= 0) {
+                if (currentTargets[idx] != tgt) {
+                    error("Duplicate transition from {0} on input {1} to differing target {2}" +
+                          " would introduce non-determinism",
+                          source,
+                          StringUtil.enquoteIfNecessary(s, ID_PATTERN),
+                          target);
+                } else if (!Objects.equals(transProperty, currentProperties[idx])) {
+                    error("Duplicate transition from {0} on input {1} to {2} with " +
+                          "differing property '{3}' would introduce non-determinism",
+                          source,
+                          StringUtil.enquoteIfNecessary(s, ID_PATTERN),
+                          target,
+                          transProperty);
+                }
+            } else {
+                addTransition(idx, s, tgt, transProperty);
+            }
+        }
+        if (!invalidSymbols.isEmpty()) {
+            error("Invalid symbols for transition from {0} to {1}: {2}", source, target, invalidSymbols);
+        }
+    }
+
+    protected void doAddWildcardTransitions(String source, String target, TP transProperty) {
+        final int tgt = lookupState(target);
+
+        if (collecting) {
+            return;
+        }
+
+        for (int i = 0; i < currentTargets.length; i++) {
+            if (currentTargets[i] < 0) {
+                addTransition(i, alphabet.getSymbol(i), tgt, transProperty);
+            }
+        }
+    }
+
+    private void addTransition(int idx, String input, int target, TP transProperty) {
+        currentTargets[idx] = target;
+        currentProperties[idx] = transProperty;
+
+        try {
+            visitor.visitTransition(currentState, input, target, transProperty);
+        } catch (IOException e) {
+            // the generated parser does not allow checked exceptions, unwrapped by TAFParser
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int lookupState(String identifier) {
+        if (collecting) {
+            if (!stateMap.containsKey(identifier)) {
+                undeclaredStates.add(identifier);
+            }
+            return -1;
+        }
+        return stateMap.get(identifier);
+    }
+
+    protected void error(String msgFmt, Object... args) {
+        parser.error(msgFmt, args);
+    }
+
+    protected void warning(String msgFmt, Object... args) {
+        parser.warning(msgFmt, args);
+    }
+}
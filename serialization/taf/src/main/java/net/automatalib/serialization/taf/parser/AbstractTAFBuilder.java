@@ -85,7 +85,6 @@ abstract class AbstractTAFBuilder<S, I, T, SP, TP, M extends MutableDeterministi
         }
     }
 
-    @Override
     public M finish() {
         checkState();
 
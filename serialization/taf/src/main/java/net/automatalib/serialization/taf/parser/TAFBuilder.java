@@ -29,6 +29,4 @@ interface TAFBuilder {
     void init(Alphabet<String> alphabet);
 
     void declareState(String identifer, Set<String> options);
-
-    Object finish();
 }
@@ -17,8 +17,6 @@ package net.automatalib.serialization.taf.parser;
 
 import java.util.Collection;
 
-import net.automatalib.automata.fsa.DFA;
-
 /**
  * Interface for a {@link TAFBuilder} that builds DFAs.
  *
@@ -29,7 +27,4 @@ interface TAFBuilderDFA extends TAFBuilder {
     void addTransitions(String source, Collection<String> symbols, String targetId);
 
     void addWildcardTransitions(String source, String targetId);
-
-    @Override
-    DFA<?, ?> finish();
 }
@@ -17,8 +17,6 @@ package net.automatalib.serialization.taf.parser;
 
 import java.util.Collection;
 
-import net.automatalib.automata.transducers.MealyMachine;
-
 /**
  * Interface for a {@link TAFBuilder} that builds Mealy machines.
  *
@@ -29,7 +27,4 @@ interface TAFBuilderMealy extends TAFBuilder {
     void addTransitions(String source, Collection<String> symbols, String output, String targetId);
 
     void addWildcardTransitions(String source, String output, String targetId);
-
-    @Override
-    MealyMachine<?, ?, ?, ?> finish();
 }
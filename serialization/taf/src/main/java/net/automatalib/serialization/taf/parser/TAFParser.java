@@ -20,11 +20,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
+import java.io.UncheckedIOException;
 
 import net.automatalib.automata.FiniteAlphabetAutomaton;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.transducers.impl.compact.CompactMealy;
 import net.automatalib.commons.util.IOUtil;
+import net.automatalib.serialization.streaming.AutomatonVisitor;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Facade for TAF parsing. This class provides several static methods to read TAF descriptions for DFA and Mealy
@@ -65,6 +68,27 @@ public final class TAFParser {
         return parseDFA(new StringReader(string), listener);
     }
 
+    /**
+     * Parses the DFA described in the given file and reports it to the given visitor, without constructing the DFA in
+     * memory. The file is read twice: the first pass collects the states, the second pass reports the transitions.
+     * Hence, only the (names of the) states of the DFA are kept in memory.
+     *
+     * @param file
+     *         the file to read
+     * @param listener
+     *         the listener for reporting diagnostics
+     * @param visitor
+     *         the visitor to report the DFA to
+     *
+     * @throws IOException
+     *         if reading the file or visiting the DFA fails
+     */
+    public static void parseDFA(File file,
+                                TAFParseDiagnosticListener listener,
+                                AutomatonVisitor<String, Boolean, @Nullable Void> visitor) throws IOException {
+        parseStreaming(file, listener, new StreamingTAFBuilderDFA(visitor), InternalTAFParser::dfa);
+    }
+
     public static CompactMealy<String, String> parseMealy(InputStream stream, TAFParseDiagnosticListener listener)
             throws IOException {
         try (Reader r = IOUtil.asUncompressedBufferedNonClosingUTF8Reader(stream)) {
@@ -95,6 +119,27 @@ public final class TAFParser {
         return parseMealy(new StringReader(string), listener);
     }
 
+    /**
+     * Parses the Mealy machine described in the given file and reports it to the given visitor, without constructing
+     * the Mealy machine in memory. See {@link #parseDFA(File, TAFParseDiagnosticListener, AutomatonVisitor)} for
+     * details.
+     *
+     * @param file
+     *         the file to read
+     * @param listener
+     *         the listener for reporting diagnostics
+     * @param visitor
+     *         the visitor to report the Mealy machine to
+     *
+     * @throws IOException
+     *         if reading the file or visiting the Mealy machine fails
+     */
+    public static void parseMealy(File file,
+                                  TAFParseDiagnosticListener listener,
+                                  AutomatonVisitor<String, @Nullable Void, String> visitor) throws IOException {
+        parseStreaming(file, listener, new StreamingTAFBuilderMealy(visitor), InternalTAFParser::mealy);
+    }
+
     public static FiniteAlphabetAutomaton<?, String, ?> parseAny(InputStream stream,
                                                                  TAFParseDiagnosticListener listener)
             throws IOException {
@@ -137,4 +182,36 @@ public final class TAFParser {
     public static FiniteAlphabetAutomaton<?, String, ?> parseAny(String string, TAFParseDiagnosticListener listener) {
         return parseAny(new StringReader(string), listener);
     }
+
+    private static <B extends AbstractStreamingTAFBuilder<?, ?>> void parseStreaming(File file,
+                                                                                     TAFParseDiagnosticListener l,
+                                                                                     B builder,
+                                                                                     ParseFunction<B> function)
+            throws IOException {
+        try {
+            for (int pass = 0; pass < 2; pass++) {
+                try (InputStream is = IOUtil.asBufferedInputStream(file);
+                     Reader r = IOUtil.asUncompressedBufferedNonClosingUTF8Reader(is)) {
+                    InternalTAFParser parser = new InternalTAFParser(r);
+                    parser.setDiagnosticListener(l);
+                    builder.setParser(parser);
+                    function.parse(parser, builder);
+                }
+                if (pass == 0) {
+                    builder.beginTransitions();
+                }
+            }
+            builder.end();
+        } catch (ParseException ex) {
+            throw new TAFFormatException(ex);
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ParseFunction<B> {
+
+        void parse(InternalTAFParser parser, B builder) throws ParseException;
+    }
 }
@@ -19,14 +19,17 @@ import java.io.File;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
 import com.google.common.collect.Maps;
@@ -39,6 +42,8 @@ import net.automatalib.automata.transducers.MealyMachine;
 import net.automatalib.commons.util.IOUtil;
 import net.automatalib.commons.util.Pair;
 import net.automatalib.commons.util.strings.StringUtil;
+import net.automatalib.serialization.streaming.AutomatonWriter;
+import net.automatalib.words.Alphabet;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
@@ -97,6 +102,40 @@ public final class TAFWriter {
         }
     }
 
+    /**
+     * Returns a writer that writes the visited DFA in the TAF format to the given file. Since the TAF format stores
+     * the transitions of each state in a single block, the writer requires the transitions to be visited in ascending
+     * order of their source states (as done, e.g., by the streaming TAF deserializers). Only the transitions of the
+     * current source state and the initial and accepting states are buffered.
+     *
+     * @param out
+     *         the file to write to
+     *
+     * @return the writer
+     *
+     * @throws IOException
+     *         if the file cannot be opened for writing
+     */
+    public static AutomatonWriter<String, Boolean, @Nullable Void> createDFAWriter(File out) throws IOException {
+        return new StreamingWriter<>(IOUtil.asBufferedUTF8Writer(out), "dfa", Boolean.TRUE::equals);
+    }
+
+    /**
+     * Returns a writer that writes the visited Mealy machine in the TAF format to the given file. See
+     * {@link #createDFAWriter(File)} for the requirements on the order of visitation.
+     *
+     * @param out
+     *         the file to write to
+     *
+     * @return the writer
+     *
+     * @throws IOException
+     *         if the file cannot be opened for writing
+     */
+    public static AutomatonWriter<String, @Nullable Void, String> createMealyWriter(File out) throws IOException {
+        return new StreamingWriter<>(IOUtil.asBufferedUTF8Writer(out), "mealy", sp -> false);
+    }
+
     private <S, I, T, TP> void doWriteAutomaton(UniversalDeterministicAutomaton<S, I, T, ?, TP> automaton,
                                                 Collection<? extends I> inputs,
                                                 String type,
@@ -232,4 +271,102 @@ public final class TAFWriter {
         }
     }
 
+    private static final class StreamingWriter<SP, TP> implements AutomatonWriter<String, SP, TP> {
+
+        private final Writer writer;
+        private final TAFWriter taf;
+        private final String type;
+        private final Predicate<SP> acceptance;
+
+        private final BitSet accepting;
+        private int initialState;
+        private int numStates;
+
+        private boolean transitionsStarted;
+        private int currentState;
+        private final Map<Pair<Integer, TP>, List<String>> groupedTransitions;
+        private boolean closed;
+
+        StreamingWriter(Writer writer, String type, Predicate<SP> acceptance) {
+            this.writer = writer;
+            this.taf = new TAFWriter(writer);
+            this.type = type;
+            this.acceptance = acceptance;
+            this.accepting = new BitSet();
+            this.initialState = -1;
+            this.groupedTransitions = new LinkedHashMap<>();
+        }
+
+        @Override
+        public void begin(Alphabet<String> alphabet, int numStates) throws IOException {
+            this.numStates = numStates;
+            taf.begin(type, alphabet);
+        }
+
+        @Override
+        public void visitState(int state, boolean initial, SP property) {
+            if (transitionsStarted) {
+                throw new IllegalStateException("States need to be visited before transitions");
+            }
+            if (initial) {
+                initialState = state;
+            }
+            accepting.set(state, acceptance.test(property));
+        }
+
+        @Override
+        public void visitTransition(int source, String input, int target, TP property) throws IOException {
+            transitionsStarted = true;
+
+            if (source < currentState) {
+                throw new IllegalStateException(
+                        "Transitions need to be visited in ascending order of their source states");
+            }
+
+            while (currentState < source) {
+                flushCurrentState();
+            }
+
+            groupedTransitions.computeIfAbsent(Pair.of(target, property), k -> new ArrayList<>()).add(input);
+        }
+
+        @Override
+        public void end() throws IOException {
+            while (currentState < numStates) {
+                flushCurrentState();
+            }
+
+            taf.end();
+            close();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                writer.close();
+            }
+        }
+
+        private void flushCurrentState() throws IOException {
+            final Set<String> options = new HashSet<>();
+            if (accepting.get(currentState)) {
+                options.add("accepting");
+            }
+            if (currentState == initialState) {
+                options.add("initial");
+            }
+
+            taf.beginState("s" + currentState, options);
+
+            for (Map.Entry<Pair<Integer, TP>, List<String>> group : groupedTransitions.entrySet()) {
+                taf.writeTransition(group.getValue(), "s" + group.getKey().getFirst(), group.getKey().getSecond());
+            }
+
+            taf.endState();
+
+            groupedTransitions.clear();
+            currentState++;
+        }
+    }
 }
@@ -17,8 +17,10 @@ package net.automatalib.serialization.taf;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.Random;
 
 import net.automatalib.automata.MutableDeterministic;
@@ -31,6 +33,8 @@ import net.automatalib.commons.util.io.UnclosableInputStream;
 import net.automatalib.commons.util.io.UnclosableOutputStream;
 import net.automatalib.serialization.InputModelDeserializer;
 import net.automatalib.serialization.InputModelSerializer;
+import net.automatalib.serialization.streaming.AutomatonVisitors;
+import net.automatalib.serialization.streaming.AutomatonWriter;
 import net.automatalib.util.automata.Automata;
 import net.automatalib.util.automata.random.RandomAutomata;
 import net.automatalib.words.Alphabet;
@@ -93,6 +97,62 @@ public class TAFSerializationTest {
         writeAndReadUnclosableModel(this.mealy, INPUT_ALPHABET, serializer, serializer);
     }
 
+    @Test
+    public void testStreamingDFASerialization() throws Exception {
+        final TAFSerializationDFA serializer = TAFSerializationDFA.getInstance();
+        final File source = File.createTempFile("automatalib", ".taf");
+        final File target = File.createTempFile("automatalib", ".taf");
+
+        try {
+            serializer.writeModel(source, this.dfa, INPUT_ALPHABET);
+
+            final CompactDFA<String> streamed = serializer.readModel(source, new CompactDFA.Creator<>()).model;
+            Assert.assertTrue(Automata.testEquivalence(this.dfa, streamed, INPUT_ALPHABET));
+
+            AutomatonVisitors.convert(serializer, source, serializer, target);
+            Assert.assertTrue(Automata.testEquivalence(this.dfa, serializer.readModel(target).model, INPUT_ALPHABET));
+
+            try (AutomatonWriter<String, Boolean, Void> writer = serializer.createWriter(target)) {
+                AutomatonVisitors.visit(this.dfa, INPUT_ALPHABET, writer);
+            }
+            Assert.assertTrue(Automata.testEquivalence(this.dfa, serializer.readModel(target).model, INPUT_ALPHABET));
+        } finally {
+            Files.delete(source.toPath());
+            Files.delete(target.toPath());
+        }
+    }
+
+    @Test
+    public void testStreamingMealySerialization() throws Exception {
+        final TAFSerializationMealy serializer = TAFSerializationMealy.getInstance();
+        final File source = File.createTempFile("automatalib", ".taf");
+        final File target = File.createTempFile("automatalib", ".taf");
+
+        try {
+            serializer.writeModel(source, this.mealy, INPUT_ALPHABET);
+
+            final CompactMealy<String, String> streamed =
+                    serializer.readModel(source, new CompactMealy.Creator<String, String>()).model;
+            Assert.assertTrue(Automata.testEquivalence(this.mealy, streamed, INPUT_ALPHABET));
+
+            AutomatonVisitors.convert(serializer, source, serializer, target);
+            Assert.assertTrue(Automata.testEquivalence(this.mealy,
+                                                       serializer.readModel(target).model,
+                                                       INPUT_ALPHABET));
+
+            try (AutomatonWriter<String, Void, String> writer = serializer.createWriter(target)) {
+                writer.begin(INPUT_ALPHABET, 2);
+                writer.visitState(0, true, null);
+                writer.visitState(1, false, null);
+                writer.visitTransition(1, "0", 0, "Hello");
+                Assert.assertThrows(IllegalStateException.class, () -> writer.visitTransition(0, "0", 1, "World"));
+            }
+        } finally {
+            Files.delete(source.toPath());
+            Files.delete(target.toPath());
+        }
+    }
+
     private <T, A extends MutableDeterministic<Integer, String, T, ?, ?>> void weedOutTransitions(A automaton) {
 
         final Random random = new Random(0);
@@ -32,6 +32,7 @@ import net.automatalib.commons.util.collections.CollectionsUtil;
 import net.automatalib.graphs.Graph;
 import net.automatalib.graphs.UniversalGraph;
 import net.automatalib.util.automata.cover.Covers;
+import net.automatalib.util.automata.equivalence.BidirectionalEquivalenceTest;
 import net.automatalib.util.automata.equivalence.CharacterizingSets;
 import net.automatalib.util.automata.equivalence.DeterministicEquivalenceTest;
 import net.automatalib.util.automata.equivalence.NearLinearEquivalenceTest;
@@ -179,7 +180,7 @@ public class Automata extends TS {
     public static <I> @Nullable Word<I> findShortestSeparatingWord(UniversalDeterministicAutomaton<?, I, ?, ?, ?> reference,
                                                                    UniversalDeterministicAutomaton<?, I, ?, ?, ?> other,
                                                                    Collection<? extends I> inputs) {
-        return DeterministicEquivalenceTest.findSeparatingWordLarge(reference, other, inputs);
+        return BidirectionalEquivalenceTest.findSeparatingWord(reference, other, inputs);
     }
 
     public static <I> boolean testEquivalence(UniversalDeterministicAutomaton<?, I, ?, ?, ?> reference,
@@ -22,6 +22,7 @@ import java.util.function.Predicate;
 import net.automatalib.automata.Automaton;
 import net.automatalib.automata.MutableAutomaton;
 import net.automatalib.ts.TransitionPredicate;
+import net.automatalib.util.graphs.csr.NodeOrdering;
 import net.automatalib.util.traversal.TraversalOrder;
 
 public interface AutomatonCopyMethod {
@@ -29,6 +30,27 @@ public interface AutomatonCopyMethod {
     AutomatonCopyMethod STATE_BY_STATE = PlainAutomatonCopy::new;
     AutomatonCopyMethod DFS = new TraversalAutomatonCopy.CopyMethod(TraversalOrder.DEPTH_FIRST);
     AutomatonCopyMethod BFS = new TraversalAutomatonCopy.CopyMethod(TraversalOrder.BREADTH_FIRST);
+    /**
+     * Copies the states in BFS level order, where the reachable states are discovered by a parallel BFS. Unlike for
+     * the other copy methods, the order of the states within a single BFS level (and therefore the state numbering of
+     * the output automaton) depends on the thread scheduling and may differ between runs. The state and transition
+     * filters are evaluated concurrently and need to be thread-safe.
+     */
+    AutomatonCopyMethod PARALLEL_BFS = ParallelAutomatonCopy::new;
+
+    /**
+     * Returns a copy method that creates the states of the output automaton in the order determined by the given
+     * {@link NodeOrdering}. For output automata whose state IDs follow the order of creation (e.g., the compact
+     * automata), this renumbers the states for better cache locality.
+     *
+     * @param ordering
+     *         the ordering of the states
+     *
+     * @return the copy method
+     */
+    static AutomatonCopyMethod reordering(NodeOrdering ordering) {
+        return new ReorderingAutomatonCopy.CopyMethod(ordering);
+    }
 
     <S1, I1, T1, S2, I2, T2, SP2, TP2> LowLevelAutomatonCopier<S1, S2> createLowLevelCopier(Automaton<S1, ? super I1, T1> in,
                                                                                             Collection<? extends I1> inputs,
@@ -0,0 +1,105 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.copy;
+
+import net.automatalib.automata.MutableAutomaton;
+import net.automatalib.automata.UniversalAutomaton;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.commons.util.mappings.Mapping;
+import net.automatalib.util.graphs.csr.NodeOrdering;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Utility methods for renumbering the states of automata, such that states that are accessed together during
+ * traversals are stored close to each other. See {@link NodeOrdering} for the available strategies.
+ */
+public final class AutomatonReordering {
+
+    private AutomatonReordering() {
+        // prevent instantiation
+    }
+
+    /**
+     * Returns a copy of the given DFA whose states are numbered according to the given ordering.
+     *
+     * @param dfa
+     *         the DFA
+     * @param alphabet
+     *         the input alphabet
+     * @param ordering
+     *         the ordering of the states
+     * @param permutation
+     *         if non-null, an array of at least {@code dfa.size()} elements in which the permutation of the states is
+     *         stored, i.e., {@code permutation[oldId] = newId}, where {@code oldId} refers to the {@link
+     *         DFA#stateIDs() state IDs} of the given DFA
+     *
+     * @return the reordered DFA
+     */
+    public static <I> CompactDFA<I> reorderDFA(DFA<?, I> dfa,
+                                               Alphabet<I> alphabet,
+                                               NodeOrdering ordering,
+                                               int @Nullable [] permutation) {
+        final CompactDFA<I> result = new CompactDFA<>(alphabet, dfa.size());
+        reorder(dfa, alphabet, ordering, result, permutation);
+        return result;
+    }
+
+    /**
+     * Returns a copy of the given Mealy machine whose states are numbered according to the given ordering.
+     *
+     * @param mealy
+     *         the Mealy machine
+     * @param alphabet
+     *         the input alphabet
+     * @param ordering
+     *         the ordering of the states
+     * @param permutation
+     *         if non-null, an array of at least {@code mealy.size()} elements in which the permutation of the states
+     *         is stored, i.e., {@code permutation[oldId] = newId}, where {@code oldId} refers to the {@link
+     *         MealyMachine#stateIDs() state IDs} of the given Mealy machine
+     *
+     * @return the reordered Mealy machine
+     */
+    public static <I, O> CompactMealy<I, O> reorderMealy(MealyMachine<?, I, ?, O> mealy,
+                                                         Alphabet<I> alphabet,
+                                                         NodeOrdering ordering,
+                                                         int @Nullable [] permutation) {
+        final CompactMealy<I, O> result = new CompactMealy<>(alphabet, mealy.size());
+        reorder(mealy, alphabet, ordering, result, permutation);
+        return result;
+    }
+
+    private static <S, I, T, SP, TP, T2> void reorder(UniversalAutomaton<S, I, T, SP, TP> in,
+                                                       Alphabet<I> alphabet,
+                                                       NodeOrdering ordering,
+                                                       MutableAutomaton<Integer, I, T2, SP, TP> out,
+                                                       int @Nullable [] permutation) {
+        final Mapping<S, Integer> mapping =
+                AutomatonLowLevelCopy.copy(AutomatonCopyMethod.reordering(ordering), in, alphabet, out);
+
+        if (permutation != null) {
+            final StateIDs<S> stateIDs = in.stateIDs();
+            for (S s : in) {
+                permutation[stateIDs.getStateId(s)] = mapping.get(s);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.copy;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import net.automatalib.automata.Automaton;
+import net.automatalib.automata.MutableAutomaton;
+import net.automatalib.commons.util.Holder;
+import net.automatalib.ts.TransitionPredicate;
+import net.automatalib.util.ts.traversal.ParallelTSTraversal;
+import net.automatalib.util.ts.traversal.TSTraversal;
+import net.automatalib.util.ts.traversal.TSTraversalAction;
+import net.automatalib.util.ts.traversal.TSTraversalVisitor;
+
+/**
+ * A copier that first determines the reachable states of the input automaton via a {@link ParallelTSTraversal parallel
+ * BFS} and then copies them (and their transitions) sequentially in BFS level order. The order of the states within a
+ * single level is not deterministic, so the states of the output automaton may be created in a different order on each
+ * run. The state and transition filters are evaluated concurrently and therefore need to be thread-safe.
+ */
+final class ParallelAutomatonCopy<S1, I1, T1, S2, I2, T2, SP2, TP2>
+        extends AbstractLowLevelAutomatonCopier<S1, I1, T1, S2, I2, T2, SP2, TP2, Automaton<S1, ? super I1, T1>>
+        implements TSTraversalVisitor<S1, I1, T1, Void> {
+
+    ParallelAutomatonCopy(Automaton<S1, ? super I1, T1> in,
+                          Collection<? extends I1> inputs,
+                          MutableAutomaton<S2, I2, T2, ? super SP2, ? super TP2> out,
+                          Function<? super I1, ? extends I2> inputsMapping,
+                          Function<? super S1, ? extends SP2> spMapping,
+                          Function<? super T1, ? extends TP2> tpMapping,
+                          Predicate<? super S1> stateFilter,
+                          TransitionPredicate<? super S1, ? super I1, ? super T1> transFilter) {
+        super(in, inputs, out, inputsMapping, spMapping, tpMapping, stateFilter, transFilter);
+    }
+
+    @Override
+    public void doCopy() {
+        final List<S1> states = ParallelTSTraversal.breadthFirstOrder(in, TSTraversal.NO_LIMIT, inputs, this);
+
+        for (S1 s1 : states) {
+            copyState(s1);
+        }
+
+        for (S1 s1 : states) {
+            S2 s2 = stateMapping.get(s1);
+
+            for (I1 i1 : inputs) {
+                I2 i2 = inputsMapping.apply(i1);
+                Collection<? extends T1> transitions1 = in.getTransitions(s1, i1);
+                copyTransitions(s2, i2, transitions1.stream().filter(t -> transFilter.apply(s1, i1, t)).iterator());
+            }
+        }
+
+        updateInitials();
+    }
+
+    @Override
+    public TSTraversalAction processInitial(S1 state, Holder<Void> outData) {
+        return stateFilter.test(state) ? TSTraversalAction.EXPLORE : TSTraversalAction.IGNORE;
+    }
+
+    @Override
+    public boolean startExploration(S1 state, Void data) {
+        return true;
+    }
+
+    @Override
+    public TSTraversalAction processTransition(S1 source,
+                                               Void srcData,
+                                               I1 input,
+                                               T1 transition,
+                                               S1 succ,
+                                               Holder<Void> outData) {
+        if (transFilter.apply(source, input, transition) && stateFilter.test(succ)) {
+            return TSTraversalAction.EXPLORE;
+        }
+        return TSTraversalAction.IGNORE;
+    }
+}
@@ -0,0 +1,120 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.copy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import net.automatalib.automata.Automaton;
+import net.automatalib.automata.MutableAutomaton;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.ts.TransitionPredicate;
+import net.automatalib.util.graphs.csr.CSRGraph;
+import net.automatalib.util.graphs.csr.NodeOrdering;
+
+/**
+ * A copier that copies the states of the input automaton in the order determined by a {@link NodeOrdering}. The order
+ * is computed on the {@link CSRGraph#fromAutomaton(net.automatalib.automata.simple.SimpleAutomaton, Collection)
+ * transition graph} of the input automaton, starting from its initial states. For output automata that number their
+ * states in the order of their creation (such as the compact automata), this renumbers the states accordingly.
+ */
+final class ReorderingAutomatonCopy<S1, I1, T1, S2, I2, T2, SP2, TP2>
+        extends AbstractLowLevelAutomatonCopier<S1, I1, T1, S2, I2, T2, SP2, TP2, Automaton<S1, ? super I1, T1>> {
+
+    private final NodeOrdering ordering;
+
+    ReorderingAutomatonCopy(NodeOrdering ordering,
+                            Automaton<S1, ? super I1, T1> in,
+                            Collection<? extends I1> inputs,
+                            MutableAutomaton<S2, I2, T2, ? super SP2, ? super TP2> out,
+                            Function<? super I1, ? extends I2> inputsMapping,
+                            Function<? super S1, ? extends SP2> spMapping,
+                            Function<? super T1, ? extends TP2> tpMapping,
+                            Predicate<? super S1> stateFilter,
+                            TransitionPredicate<? super S1, ? super I1, ? super T1> transFilter) {
+        super(in, inputs, out, inputsMapping, spMapping, tpMapping, stateFilter, transFilter);
+        this.ordering = ordering;
+    }
+
+    @Override
+    public void doCopy() {
+        final StateIDs<S1> stateIDs = in.stateIDs();
+        final Collection<S1> initials = in.getInitialStates();
+        final int[] roots = new int[initials.size()];
+
+        int idx = 0;
+        for (S1 init : initials) {
+            roots[idx++] = stateIDs.getStateId(init);
+        }
+
+        final int[] order = ordering.computeOrder(CSRGraph.fromAutomaton(in, inputs), roots);
+        final List<S1> states = new ArrayList<>(order.length);
+
+        for (int id : order) {
+            final S1 s1 = stateIDs.getState(id);
+            if (stateFilter.test(s1)) {
+                copyState(s1);
+                states.add(s1);
+            }
+        }
+
+        for (S1 s1 : states) {
+            S2 s2 = stateMapping.get(s1);
+
+            for (I1 i1 : inputs) {
+                I2 i2 = inputsMapping.apply(i1);
+                Collection<? extends T1> transitions1 = in.getTransitions(s1, i1);
+                copyTransitions(s2, i2, transitions1.stream().filter(t -> transFilter.apply(s1, i1, t)).iterator());
+            }
+        }
+
+        updateInitials();
+    }
+
+    static final class CopyMethod implements AutomatonCopyMethod {
+
+        private final NodeOrdering ordering;
+
+        CopyMethod(NodeOrdering ordering) {
+            this.ordering = ordering;
+        }
+
+        @Override
+        public <S1, I1, T1, S2, I2, T2, SP2, TP2> LowLevelAutomatonCopier<S1, S2> createLowLevelCopier(
+                Automaton<S1, ? super I1, T1> in,
+                Collection<? extends I1> inputs,
+                MutableAutomaton<S2, I2, T2, ? super SP2, ? super TP2> out,
+                Function<? super I1, ? extends I2> inputsMapping,
+                Function<? super S1, ? extends SP2> spMapping,
+                Function<? super T1, ? extends TP2> tpMapping,
+                Predicate<? super S1> stateFilter,
+                TransitionPredicate<? super S1, ? super I1, ? super T1> transitionFilter) {
+            return new ReorderingAutomatonCopy<>(ordering,
+                                                 in,
+                                                 inputs,
+                                                 out,
+                                                 inputsMapping,
+                                                 spMapping,
+                                                 tpMapping,
+                                                 stateFilter,
+                                                 transitionFilter);
+        }
+
+    }
+}
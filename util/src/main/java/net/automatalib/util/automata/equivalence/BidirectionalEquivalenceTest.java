@@ -0,0 +1,646 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A bidirectional search for shortest separating words of two deterministic automata.
+ * <p>
+ * In contrast to {@link DeterministicEquivalenceTest}, which explores the product automaton breadth-first from the
+ * pair of initial states, this search additionally grows a backward frontier from the distinguishing pairs of the
+ * product (pairs with differing state properties and pairs with differing outgoing transitions) along the reverse
+ * transitions of both automata. In each step, the smaller of the two frontiers is expanded by a full BFS level, and
+ * the search terminates as soon as the two frontiers meet. For automata whose shortest separating word is long, this
+ * usually explores only a fraction of the product states.
+ * <p>
+ * The initial backward frontier is not materialized before it is expanded for the first time. Until then, the forward
+ * search checks the distinguishing pairs directly, so that for automata with many distinguishing pairs the search
+ * behaves like a plain forward BFS.
+ */
+public final class BidirectionalEquivalenceTest {
+
+    private static final long NONE = -1L;
+
+    private BidirectionalEquivalenceTest() {
+        // prevent instantiation
+    }
+
+    /**
+     * Computes a shortest separating word for the two given automata. A separating word is a word that exposes a
+     * difference (differing state or transition properties, or a transition undefined in only one of the automata)
+     * between the two automata.
+     *
+     * @param reference
+     *         the one automaton to consider
+     * @param other
+     *         the other automaton to consider
+     * @param inputs
+     *         the input symbols to consider
+     * @param <I>
+     *         input symbol type
+     *
+     * @return a shortest separating word for the two automata, or {@code null} if no such word could be found.
+     */
+    public static <I> @Nullable Word<I> findSeparatingWord(UniversalDeterministicAutomaton<?, I, ?, ?, ?> reference,
+                                                           UniversalDeterministicAutomaton<?, I, ?, ?, ?> other,
+                                                           Collection<? extends I> inputs) {
+        final Object refInit = reference.getInitialState();
+        final Object otherInit = other.getInitialState();
+
+        if (refInit == null || otherInit == null) {
+            return refInit == null && otherInit == null ? null : Word.epsilon();
+        }
+
+        final List<I> inputList = new ArrayList<>(inputs);
+        final Tables refTables = Tables.of(reference, inputList);
+        final Tables otherTables = Tables.of(other, inputList);
+
+        return new Search<>(refTables, otherTables, inputList).findSeparatingWord();
+    }
+
+    private static final class Search<I> {
+
+        private final Tables ref;
+        private final Tables other;
+        private final List<I> inputs;
+        private final long otherSize;
+
+        private final Grouping stateGrouping;
+        private final Grouping[] transGroupings;
+
+        private final PairMap forward;
+        private final PairMap backward;
+
+        private int fwdDepth;
+        private int bwdDepth;
+        private LongList fwdFrontier;
+        private @Nullable LongList bwdFrontier;
+
+        // the currently best meeting point
+        private int candLength = Integer.MAX_VALUE;
+        private long candFwd;
+        private int candSymbol;
+        private long candBwd;
+
+        Search(Tables ref, Tables other, List<I> inputs) {
+            this.ref = ref;
+            this.other = other;
+            this.inputs = inputs;
+            this.otherSize = other.size;
+
+            this.stateGrouping = Grouping.of(ref.stateProps, other.stateProps);
+            this.transGroupings = new Grouping[inputs.size()];
+            for (int i = 0; i < transGroupings.length; i++) {
+                transGroupings[i] = Grouping.of(ref.transitionKeys(i), other.transitionKeys(i));
+            }
+
+            this.forward = new PairMap();
+            this.backward = new PairMap();
+            this.fwdFrontier = new LongList();
+        }
+
+        @Nullable Word<I> findSeparatingWord() {
+            final int refInit = ref.init;
+            final int otherInit = other.init;
+
+            if (isDistinguishing(refInit, otherInit)) {
+                return Word.epsilon();
+            }
+
+            // the (estimated) size of the initial backward frontier
+            long bwdSize = stateGrouping.mismatches;
+            for (Grouping g : transGroupings) {
+                bwdSize += g.mismatches;
+            }
+
+            if (bwdSize == 0) {
+                return null;
+            }
+
+            final long init = key(refInit, otherInit);
+            forward.put(init, NONE, -1, 0);
+            fwdFrontier.add(init);
+
+            while (true) {
+                if (fwdFrontier.size <= bwdSize) {
+                    expandForward();
+                    fwdDepth++;
+                } else {
+                    expandBackward();
+                    bwdDepth++;
+                }
+
+                // the best meeting point of a fully expanded level yields a shortest word
+                if (candLength < Integer.MAX_VALUE) {
+                    return buildWord();
+                }
+
+                final LongList bwd = bwdFrontier;
+                if (fwdFrontier.size == 0 || bwd != null && bwd.size == 0) {
+                    return null;
+                } else if (bwd != null) {
+                    bwdSize = bwd.size;
+                }
+            }
+        }
+
+        /**
+         * Expands the current forward frontier by one level. Returns early, if an optimal meeting point has been
+         * found.
+         */
+        private void expandForward() {
+            final int lowerBound = fwdDepth + bwdDepth + 1;
+            final int succDepth = fwdDepth + 1;
+            final LongList next = new LongList();
+
+            for (int j = 0; j < fwdFrontier.size; j++) {
+                final long u = fwdFrontier.data[j];
+                final int r = (int) (u / otherSize);
+                final int o = (int) (u % otherSize);
+
+                for (int i = 0; i < inputs.size(); i++) {
+                    final int rSucc = ref.getSuccessor(r, i);
+                    final int oSucc = other.getSuccessor(o, i);
+
+                    if (rSucc < 0 || oSucc < 0) {
+                        if (rSucc != oSucc && offer(u, i, NONE, succDepth, lowerBound)) {
+                            return;
+                        }
+                        continue;
+                    }
+
+                    if (!Objects.equals(ref.getTransitionProperty(r, i), other.getTransitionProperty(o, i)) ||
+                        isDistinguishing(rSucc, oSucc)) {
+                        if (offer(u, i, NONE, succDepth, lowerBound)) {
+                            return;
+                        }
+                        continue;
+                    }
+
+                    final long v = key(rSucc, oSucc);
+                    if (forward.indexOf(v) >= 0) {
+                        continue;
+                    }
+
+                    forward.put(v, u, i, succDepth);
+                    next.add(v);
+
+                    final int slot = backward.indexOf(v);
+                    if (slot >= 0 && offer(u, i, v, succDepth + backward.depths[slot], lowerBound)) {
+                        return;
+                    }
+                }
+            }
+
+            fwdFrontier = next;
+        }
+
+        /**
+         * Expands the current backward frontier by one level. Returns early, if an optimal meeting point has been
+         * found. The first expansion enumerates the initial frontier.
+         */
+        private void expandBackward() {
+            final int lowerBound = fwdDepth + bwdDepth + 1;
+            final LongList next = new LongList();
+
+            if (bwdFrontier == null) {
+                // pairs that are distinguished by a single transition
+                for (int i = 0; i < transGroupings.length; i++) {
+                    final Grouping grouping = transGroupings[i];
+                    for (int r = 0; r < ref.size; r++) {
+                        final int group = grouping.refGroups[r];
+                        for (int g = 0; g < grouping.numGroups; g++) {
+                            if (g == group) {
+                                continue;
+                            }
+                            for (int m = grouping.offsets[g]; m < grouping.offsets[g + 1]; m++) {
+                                final int o = grouping.members[m];
+                                if (isDistinguishing(r, o)) {
+                                    continue;
+                                }
+                                final long p = key(r, o);
+                                if (backward.indexOf(p) < 0) {
+                                    backward.put(p, NONE, i, 1);
+                                    next.add(p);
+                                    if (meetBackward(p, 1, lowerBound)) {
+                                        return;
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+
+                // predecessors of pairs with differing state properties
+                final Grouping grouping = stateGrouping;
+                for (int r = 0; r < ref.size; r++) {
+                    final int group = grouping.refGroups[r];
+                    for (int g = 0; g < grouping.numGroups; g++) {
+                        if (g == group) {
+                            continue;
+                        }
+                        for (int m = grouping.offsets[g]; m < grouping.offsets[g + 1]; m++) {
+                            if (expandPredecessors(r, grouping.members[m], 0, next, lowerBound)) {
+                                return;
+                            }
+                        }
+                    }
+                }
+            } else {
+                for (int j = 0; j < bwdFrontier.size; j++) {
+                    final long v = bwdFrontier.data[j];
+                    if (expandPredecessors((int) (v / otherSize), (int) (v % otherSize), bwdDepth, next, lowerBound)) {
+                        return;
+                    }
+                }
+            }
+
+            bwdFrontier = next;
+        }
+
+        private boolean expandPredecessors(int r, int o, int depth, LongList next, int lowerBound) {
+            final long v = key(r, o);
+            final int predDepth = depth + 1;
+
+            for (int i = 0; i < inputs.size(); i++) {
+                final int refBegin = ref.getPredecessorsBegin(r, i);
+                final int refEnd = ref.getPredecessorsEnd(r, i);
+                final int otherBegin = other.getPredecessorsBegin(o, i);
+                final int otherEnd = other.getPredecessorsEnd(o, i);
+
+                for (int rp = refBegin; rp < refEnd; rp++) {
+                    final int rPred = ref.revSources[rp];
+                    final Object rProp = ref.getTransitionProperty(rPred, i);
+
+                    for (int op = otherBegin; op < otherEnd; op++) {
+                        final int oPred = other.revSources[op];
+
+                        // pairs with differing transitions are already part of the first backward level
+                        if (!Objects.equals(rProp, other.getTransitionProperty(oPred, i)) ||
+                            isDistinguishing(rPred, oPred)) {
+                            continue;
+                        }
+
+                        final long p = key(rPred, oPred);
+                        if (backward.indexOf(p) >= 0) {
+                            continue;
+                        }
+
+                        backward.put(p, v, i, predDepth);
+                        next.add(p);
+                        if (meetBackward(p, predDepth, lowerBound)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+
+            return false;
+        }
+
+        private boolean meetBackward(long p, int depth, int lowerBound) {
+            final int slot = forward.indexOf(p);
+            return slot >= 0 && offer(p, -1, p, forward.depths[slot] + depth, lowerBound);
+        }
+
+        private boolean offer(long fwd, int symbol, long bwd, int length, int lowerBound) {
+            if (length < candLength) {
+                candLength = length;
+                candFwd = fwd;
+                candSymbol = symbol;
+                candBwd = bwd;
+            }
+            return candLength == lowerBound;
+        }
+
+        private Word<I> buildWord() {
+            final WordBuilder<I> wb = new WordBuilder<>(candLength);
+
+            long curr = candFwd;
+            int slot;
+            while ((slot = forward.indexOf(curr)) >= 0 && forward.links[slot] != NONE) {
+                wb.append(inputs.get(forward.symbols[slot]));
+                curr = forward.links[slot];
+            }
+            wb.reverse();
+
+            if (candSymbol >= 0) {
+                wb.append(inputs.get(candSymbol));
+            }
+
+            // pairs of the initial backward frontier are not stored
+            curr = candBwd;
+            while (curr != NONE && (slot = backward.indexOf(curr)) >= 0) {
+                wb.append(inputs.get(backward.symbols[slot]));
+                curr = backward.links[slot];
+            }
+
+            assert wb.size() == candLength;
+            return wb.toWord();
+        }
+
+        private boolean isDistinguishing(int r, int o) {
+            return !Objects.equals(ref.stateProps[r], other.stateProps[o]);
+        }
+
+        private long key(int r, int o) {
+            return r * otherSize + o;
+        }
+    }
+
+    /**
+     * Array-based representation of the (forward and reverse) transitions of an automaton, based on its state ids.
+     */
+    private static final class Tables {
+
+        private static final Object UNDEFINED = new Object();
+
+        final int size;
+        final int numInputs;
+        final int init;
+        final @Nullable Object[] stateProps;
+        final int[] successors;
+        final @Nullable Object[] transProps;
+        final int[] revOffsets;
+        final int[] revSources;
+
+        private Tables(int size,
+                       int numInputs,
+                       int init,
+                       @Nullable Object[] stateProps,
+                       int[] successors,
+                       @Nullable Object[] transProps) {
+            this.size = size;
+            this.numInputs = numInputs;
+            this.init = init;
+            this.stateProps = stateProps;
+            this.successors = successors;
+            this.transProps = transProps;
+
+            // counting sort of all transitions by (input, target)
+            this.revOffsets = new int[numInputs * size + 1];
+            int numTransitions = 0;
+            for (int s = 0; s < size; s++) {
+                for (int i = 0; i < numInputs; i++) {
+                    final int succ = successors[s * numInputs + i];
+                    if (succ >= 0) {
+                        revOffsets[i * size + succ + 1]++;
+                        numTransitions++;
+                    }
+                }
+            }
+            for (int k = 1; k < revOffsets.length; k++) {
+                revOffsets[k] += revOffsets[k - 1];
+            }
+
+            this.revSources = new int[numTransitions];
+            final int[] pos = Arrays.copyOf(revOffsets, revOffsets.length - 1);
+            for (int s = 0; s < size; s++) {
+                for (int i = 0; i < numInputs; i++) {
+                    final int succ = successors[s * numInputs + i];
+                    if (succ >= 0) {
+                        revSources[pos[i * size + succ]++] = s;
+                    }
+                }
+            }
+        }
+
+        static <S, I, T> Tables of(UniversalDeterministicAutomaton<S, I, T, ?, ?> automaton, List<I> inputs) {
+            final int size = automaton.size();
+            final int numInputs = inputs.size();
+            final StateIDs<S> stateIds = automaton.stateIDs();
+
+            final @Nullable Object[] stateProps = new Object[size];
+            final int[] successors = new int[size * numInputs];
+            final @Nullable Object[] transProps = new Object[size * numInputs];
+
+            for (S s : automaton) {
+                final int id = stateIds.getStateId(s);
+                stateProps[id] = automaton.getStateProperty(s);
+
+                for (int i = 0; i < numInputs; i++) {
+                    final T trans = automaton.getTransition(s, inputs.get(i));
+                    final int idx = id * numInputs + i;
+                    if (trans == null) {
+                        successors[idx] = -1;
+                    } else {
+                        successors[idx] = stateIds.getStateId(automaton.getSuccessor(trans));
+                        transProps[idx] = automaton.getTransitionProperty(trans);
+                    }
+                }
+            }
+
+            final S init = automaton.getInitialState();
+            assert init != null;
+
+            return new Tables(size, numInputs, stateIds.getStateId(init), stateProps, successors, transProps);
+        }
+
+        int getSuccessor(int state, int input) {
+            return successors[state * numInputs + input];
+        }
+
+        @Nullable Object getTransitionProperty(int state, int input) {
+            return transProps[state * numInputs + input];
+        }
+
+        int getPredecessorsBegin(int state, int input) {
+            return revOffsets[input * size + state];
+        }
+
+        int getPredecessorsEnd(int state, int input) {
+            return revOffsets[input * size + state + 1];
+        }
+
+        /**
+         * Returns for each state the key of its outgoing transition for the given input. Two states have the same key
+         * iff they have equivalent (i.e. both undefined, or both defined with equal properties) transitions.
+         */
+        @Nullable Object[] transitionKeys(int input) {
+            final @Nullable Object[] keys = new Object[size];
+            for (int s = 0; s < size; s++) {
+                keys[s] = getSuccessor(s, input) < 0 ? UNDEFINED : getTransitionProperty(s, input);
+            }
+            return keys;
+        }
+    }
+
+    /**
+     * A partition of the states of both automata by a key, used for enumerating all pairs of states with differing
+     * keys.
+     */
+    private static final class Grouping {
+
+        final int numGroups;
+        final int[] refGroups;
+        final int[] offsets;
+        final int[] members;
+        final long mismatches;
+
+        private Grouping(int numGroups, int[] refGroups, int[] offsets, int[] members, long mismatches) {
+            this.numGroups = numGroups;
+            this.refGroups = refGroups;
+            this.offsets = offsets;
+            this.members = members;
+            this.mismatches = mismatches;
+        }
+
+        static Grouping of(@Nullable Object[] refKeys, @Nullable Object[] otherKeys) {
+            final Map<@Nullable Object, Integer> groupIds = new HashMap<>();
+            final int[] refGroups = new int[refKeys.length];
+            final int[] otherGroups = new int[otherKeys.length];
+
+            for (int s = 0; s < refKeys.length; s++) {
+                refGroups[s] = groupIds.computeIfAbsent(refKeys[s], k -> groupIds.size());
+            }
+            for (int s = 0; s < otherKeys.length; s++) {
+                otherGroups[s] = groupIds.computeIfAbsent(otherKeys[s], k -> groupIds.size());
+            }
+
+            final int numGroups = groupIds.size();
+            final long[] refCounts = new long[numGroups];
+            final int[] offsets = new int[numGroups + 1];
+
+            for (int g : refGroups) {
+                refCounts[g]++;
+            }
+            for (int g : otherGroups) {
+                offsets[g + 1]++;
+            }
+
+            long mismatches = (long) refKeys.length * otherKeys.length;
+            for (int g = 0; g < numGroups; g++) {
+                mismatches -= refCounts[g] * offsets[g + 1];
+                offsets[g + 1] += offsets[g];
+            }
+
+            final int[] members = new int[otherKeys.length];
+            final int[] pos = Arrays.copyOf(offsets, numGroups);
+            for (int s = 0; s < otherKeys.length; s++) {
+                members[pos[otherGroups[s]]++] = s;
+            }
+
+            return new Grouping(numGroups, refGroups, offsets, members, mismatches);
+        }
+    }
+
+    /**
+     * An open-addressing hash map from (non-negative) pair keys to the link information of the respective search.
+     */
+    private static final class PairMap {
+
+        private static final int INITIAL_BITS = 6;
+
+        long[] keys;
+        long[] links;
+        int[] symbols;
+        int[] depths;
+        private int bits;
+        private int size;
+
+        PairMap() {
+            final int capacity = 1 << INITIAL_BITS;
+            this.bits = INITIAL_BITS;
+            this.keys = new long[capacity];
+            this.links = new long[capacity];
+            this.symbols = new int[capacity];
+            this.depths = new int[capacity];
+            Arrays.fill(keys, NONE);
+        }
+
+        int indexOf(long key) {
+            final int mask = keys.length - 1;
+            int idx = hash(key);
+            long k;
+            while ((k = keys[idx]) != NONE) {
+                if (k == key) {
+                    return idx;
+                }
+                idx = (idx + 1) & mask;
+            }
+            return -1;
+        }
+
+        void put(long key, long link, int symbol, int depth) {
+            if (2 * (size + 1) > keys.length) {
+                rehash();
+            }
+
+            final int mask = keys.length - 1;
+            int idx = hash(key);
+            while (keys[idx] != NONE) {
+                idx = (idx + 1) & mask;
+            }
+
+            keys[idx] = key;
+            links[idx] = link;
+            symbols[idx] = symbol;
+            depths[idx] = depth;
+            size++;
+        }
+
+        private int hash(long key) {
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> (64 - bits));
+        }
+
+        private void rehash() {
+            final long[] oldKeys = keys;
+            final long[] oldLinks = links;
+            final int[] oldSymbols = symbols;
+            final int[] oldDepths = depths;
+
+            final int capacity = 1 << ++bits;
+            keys = new long[capacity];
+            links = new long[capacity];
+            symbols = new int[capacity];
+            depths = new int[capacity];
+            Arrays.fill(keys, NONE);
+            size = 0;
+
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != NONE) {
+                    put(oldKeys[i], oldLinks[i], oldSymbols[i], oldDepths[i]);
+                }
+            }
+        }
+    }
+
+    private static final class LongList {
+
+        long[] data = new long[16];
+        int size;
+
+        void add(long value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+    }
+}
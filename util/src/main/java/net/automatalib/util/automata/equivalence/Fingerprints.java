@@ -0,0 +1,203 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Queue;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.commons.util.mappings.MutableMapping;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Computes canonical fingerprints of deterministic automata. Two automata have the same fingerprint if (and, up to
+ * collisions of the underlying hash function, only if) their reachable parts are isomorphic with respect to the given
+ * input order, i.e. they only differ in the identity of their states.
+ * <p>
+ * The canonical form is obtained by a breadth-first traversal from the initial state that explores the inputs in the
+ * given order and numbers the states in the order of their discovery. The resulting sequence of (state property,
+ * successor number, transition property) records is hashed using SHA-256. Properties are encoded by their
+ * {@link Object#toString() string representation}, so fingerprints are stable across different executions as long as
+ * the string representations of the properties are (which is the case for, e.g., {@link Boolean}s, {@link String}s and
+ * {@link net.automatalib.words.Word}s thereof).
+ * <p>
+ * Note that unreachable states do not contribute to the fingerprint and that language-equivalent automata only share
+ * their fingerprint if they are both minimal.
+ */
+public final class Fingerprints {
+
+    private static final String ALGORITHM = "SHA-256";
+    private static final int BUFFER_SIZE = 8192;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private Fingerprints() {
+        // prevent instantiation
+    }
+
+    /**
+     * Computes the canonical fingerprint of the given automaton.
+     *
+     * @param automaton
+     *         the automaton
+     * @param inputs
+     *         the inputs (in order) to consider for the canonical form
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the canonical fingerprint of the automaton, as a lower-case hexadecimal string
+     */
+    public static <I> String fingerprint(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                         Collection<? extends I> inputs) {
+        return toHexString(fingerprintBytes(automaton, inputs));
+    }
+
+    /**
+     * Computes the canonical fingerprint of the given automaton.
+     *
+     * @param automaton
+     *         the automaton
+     * @param inputs
+     *         the inputs (in order) to consider for the canonical form
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the canonical fingerprint of the automaton, as the raw bytes of the hash
+     */
+    public static <I> byte[] fingerprintBytes(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                              Collection<? extends I> inputs) {
+        final Digest digest = new Digest();
+        computeCanonicalForm(automaton, inputs, digest);
+        return digest.finish();
+    }
+
+    private static <S, I, T> void computeCanonicalForm(UniversalDeterministicAutomaton<S, I, T, ?, ?> automaton,
+                                                       Collection<? extends I> inputs,
+                                                       Digest digest) {
+        digest.putInt(inputs.size());
+
+        final S init = automaton.getInitialState();
+
+        if (init == null) {
+            digest.putInt(0);
+            return;
+        }
+
+        final MutableMapping<S, @Nullable Integer> ids = automaton.createStaticStateMapping();
+        final Queue<S> queue = new ArrayDeque<>();
+        int numStates = 0;
+
+        ids.put(init, numStates++);
+        queue.add(init);
+
+        S curr;
+        while ((curr = queue.poll()) != null) {
+            digest.putProperty(automaton.getStateProperty(curr));
+
+            for (I sym : inputs) {
+                final T trans = automaton.getTransition(curr, sym);
+
+                if (trans == null) {
+                    digest.putInt(-1);
+                    continue;
+                }
+
+                final S succ = automaton.getSuccessor(trans);
+                Integer succId = ids.get(succ);
+
+                if (succId == null) {
+                    succId = numStates++;
+                    ids.put(succ, succId);
+                    queue.add(succ);
+                }
+
+                digest.putInt(succId);
+                digest.putProperty(automaton.getTransitionProperty(trans));
+            }
+        }
+
+        digest.putInt(numStates);
+    }
+
+    private static String toHexString(byte[] bytes) {
+        final char[] result = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            result[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            result[2 * i + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(result);
+    }
+
+    /**
+     * A buffered wrapper around a {@link MessageDigest}.
+     */
+    private static final class Digest {
+
+        private final MessageDigest md;
+        private final ByteBuffer buffer;
+
+        Digest() {
+            try {
+                this.md = MessageDigest.getInstance(ALGORITHM);
+            } catch (NoSuchAlgorithmException e) {
+                // every Java platform is required to support SHA-256
+                throw new IllegalStateException(e);
+            }
+            this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        }
+
+        void putInt(int value) {
+            if (buffer.remaining() < Integer.BYTES) {
+                flush();
+            }
+            buffer.putInt(value);
+        }
+
+        void putProperty(@Nullable Object property) {
+            if (property == null) {
+                putInt(-1);
+                return;
+            }
+
+            final byte[] bytes = property.toString().getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+
+            if (buffer.remaining() < bytes.length) {
+                flush();
+                if (bytes.length > buffer.capacity()) {
+                    md.update(bytes);
+                    return;
+                }
+            }
+            buffer.put(bytes);
+        }
+
+        byte[] finish() {
+            flush();
+            return md.digest();
+        }
+
+        private void flush() {
+            buffer.flip();
+            md.update(buffer);
+            buffer.clear();
+        }
+    }
+}
@@ -15,21 +15,24 @@
  */
 package net.automatalib.util.automata.fsa;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
+import net.automatalib.automata.UniversalDeterministicAutomaton;
 import net.automatalib.automata.concepts.InputAlphabetHolder;
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.automata.fsa.MutableDFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
-import net.automatalib.ts.acceptors.DeterministicAcceptorTS;
+import net.automatalib.automata.simple.SimpleDeterministicAutomaton.IntAbstraction;
 import net.automatalib.util.automata.copy.AutomatonCopyMethod;
 import net.automatalib.util.automata.copy.AutomatonLowLevelCopy;
 import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization;
 import net.automatalib.util.ts.acceptors.AcceptanceCombiner;
 import net.automatalib.util.ts.acceptors.Acceptors;
-import net.automatalib.util.ts.copy.TSCopy;
-import net.automatalib.util.ts.traversal.TSTraversal;
-import net.automatalib.util.ts.traversal.TSTraversalMethod;
+import net.automatalib.util.ts.comp.ProductStateEncoder;
+import net.automatalib.util.ts.comp.ProductStateSet;
 import net.automatalib.words.Alphabet;
 
 /**
@@ -92,12 +95,102 @@ public final class DFAs {
                                                                Collection<? extends I> inputs,
                                                                A out,
                                                                AcceptanceCombiner combiner) {
-        DeterministicAcceptorTS<?, I> acc = Acceptors.combine(dfa1, dfa2, combiner);
+        final List<? extends I> inputList = new ArrayList<>(inputs);
+        final int numInputs = inputList.size();
 
-        TSCopy.copy(TSTraversalMethod.DEPTH_FIRST, acc, TSTraversal.NO_LIMIT, inputs, out);
+        combine(dfa1.fullIntAbstraction(numInputs, inputList::get),
+                dfa2.fullIntAbstraction(numInputs, inputList::get),
+                inputList,
+                out,
+                combiner);
         return out;
     }
 
+    /**
+     * Explores the (reachable part of the) product of the two given abstractions. Product states are encoded as
+     * primitive keys, so no intermediate objects are allocated for them. Once all reachable keys are known, output
+     * states are created in key order, which allows to resolve successors via binary search instead of a (boxed) map.
+     */
+    private static <I, S> void combine(UniversalDeterministicAutomaton.FullIntAbstraction<?, Boolean, ?> abs1,
+                                       UniversalDeterministicAutomaton.FullIntAbstraction<?, Boolean, ?> abs2,
+                                       List<? extends I> inputs,
+                                       MutableDFA<S, I> out,
+                                       AcceptanceCombiner combiner) {
+        final int numInputs = inputs.size();
+        final ProductStateEncoder encoder = new ProductStateEncoder(abs1.size(), abs2.size());
+        final ProductStateSet visited = encoder.createStateSet();
+
+        final long init = encoder.encode(abs1.getIntInitialState(), abs2.getIntInitialState());
+        long[] queue = new long[16];
+        int tail = 0;
+
+        visited.add(init);
+        queue[tail++] = init;
+
+        for (int head = 0; head < tail; head++) {
+            final long key = queue[head];
+            final int s1 = encoder.getFirst(key);
+            final int s2 = encoder.getSecond(key);
+
+            // only the initial state may have undefined components, which then has no successors
+            if (s1 < 0 || s2 < 0) {
+                continue;
+            }
+
+            for (int i = 0; i < numInputs; i++) {
+                final int succ1 = abs1.getSuccessor(s1, i);
+                final int succ2 = succ1 < 0 ? IntAbstraction.INVALID_STATE : abs2.getSuccessor(s2, i);
+
+                if (succ2 >= 0) {
+                    final long succ = encoder.encode(succ1, succ2);
+                    if (visited.add(succ)) {
+                        if (tail == queue.length) {
+                            queue = Arrays.copyOf(queue, tail * 2);
+                        }
+                        queue[tail++] = succ;
+                    }
+                }
+            }
+        }
+
+        final long[] keys = Arrays.copyOf(queue, tail);
+        Arrays.sort(keys);
+
+        final List<S> states = new ArrayList<>(keys.length);
+        for (long key : keys) {
+            final boolean acc1 = isAccepting(abs1, encoder.getFirst(key));
+            final boolean acc2 = isAccepting(abs2, encoder.getSecond(key));
+            final boolean acc = combiner.combine(acc1, acc2);
+            states.add(key == init ? out.addInitialState(acc) : out.addState(acc));
+        }
+
+        for (int idx = 0; idx < keys.length; idx++) {
+            final int s1 = encoder.getFirst(keys[idx]);
+            final int s2 = encoder.getSecond(keys[idx]);
+
+            if (s1 < 0 || s2 < 0) {
+                continue;
+            }
+
+            final S state = states.get(idx);
+
+            for (int i = 0; i < numInputs; i++) {
+                final int succ1 = abs1.getSuccessor(s1, i);
+                final int succ2 = succ1 < 0 ? IntAbstraction.INVALID_STATE : abs2.getSuccessor(s2, i);
+
+                if (succ2 >= 0) {
+                    final int succIdx = Arrays.binarySearch(keys, encoder.encode(succ1, succ2));
+                    out.setTransition(state, inputs.get(i), states.get(succIdx));
+                }
+            }
+        }
+    }
+
+    private static boolean isAccepting(UniversalDeterministicAutomaton.FullIntAbstraction<?, Boolean, ?> abs,
+                                       int state) {
+        return state >= 0 && abs.getStateProperty(state);
+    }
+
     /**
      * Calculates the conjunction ("and") of two DFA, and returns the result as a new DFA.
      *
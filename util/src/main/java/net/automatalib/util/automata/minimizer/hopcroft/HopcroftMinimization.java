@@ -26,7 +26,10 @@ import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.transducers.MealyMachine;
 import net.automatalib.automata.transducers.MutableMealyMachine;
 import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.util.automata.copy.AutomatonCopyMethod;
+import net.automatalib.util.automata.copy.AutomatonLowLevelCopy;
 import net.automatalib.util.automata.minimizer.paigetarjan.PaigeTarjanMinimization;
+import net.automatalib.util.graphs.csr.NodeOrdering;
 import net.automatalib.util.partitionrefinement.AutomatonInitialPartitioning;
 import net.automatalib.util.partitionrefinement.PaigeTarjan;
 import net.automatalib.util.partitionrefinement.PaigeTarjanExtractors;
@@ -120,6 +123,33 @@ public final class HopcroftMinimization {
         return minimizeDFA(dfa, alphabet, pruningMode, new CompactDFA.Creator<>());
     }
 
+    /**
+     * Minimizes the given DFA and renumbers the states of the result according to the given ordering. The result is
+     * returned in the form of a {@link CompactDFA}.
+     *
+     * @param dfa
+     *         the DFA to minimize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the returned DFA)
+     * @param pruningMode
+     *         the pruning mode (see above)
+     * @param ordering
+     *         the ordering of the states of the minimized DFA
+     *
+     * @return a minimized version of the specified DFA
+     */
+    public static <I> CompactDFA<I> minimizeDFA(DFA<?, I> dfa,
+                                                Alphabet<I> alphabet,
+                                                PruningMode pruningMode,
+                                                NodeOrdering ordering) {
+        return minimizeUniversal(dfa,
+                                 alphabet,
+                                 new CompactDFA.Creator<>(),
+                                 AutomatonInitialPartitioning.BY_STATE_PROPERTY,
+                                 pruningMode,
+                                 ordering);
+    }
+
     /**
      * Minimizes the given DFA. The result is returned in the form of a {@link CompactDFA}.
      *
@@ -206,6 +236,33 @@ public final class HopcroftMinimization {
         return minimizeMealy(mealy, alphabet, pruningMode, new CompactMealy.Creator<>());
     }
 
+    /**
+     * Minimizes the given Mealy machine and renumbers the states of the result according to the given ordering. The
+     * result is returned in the form of a {@link CompactMealy}.
+     *
+     * @param mealy
+     *         the Mealy machine to minimize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the resulting Mealy machine)
+     * @param pruningMode
+     *         the pruning mode (see above)
+     * @param ordering
+     *         the ordering of the states of the minimized Mealy machine
+     *
+     * @return a minimized version of the specified Mealy machine
+     */
+    public static <I, O> CompactMealy<I, O> minimizeMealy(MealyMachine<?, I, ?, O> mealy,
+                                                          Alphabet<I> alphabet,
+                                                          PruningMode pruningMode,
+                                                          NodeOrdering ordering) {
+        return minimizeUniversal(mealy,
+                                 alphabet,
+                                 new CompactMealy.Creator<>(),
+                                 AutomatonInitialPartitioning.BY_TRANSITION_PROPERTIES,
+                                 pruningMode,
+                                 ordering);
+    }
+
     /**
      * Minimizes the given Mealy machine. The result is returned in the form of a {@link CompactMealy}.
      *
@@ -276,6 +333,52 @@ public final class HopcroftMinimization {
         return result;
     }
 
+    /**
+     * Minimizes the given automaton depending on the given partitioning function and renumbers the states of the
+     * minimized automaton according to the given ordering (see {@link AutomatonCopyMethod#reordering(NodeOrdering)}),
+     * which may improve the cache locality of subsequent traversals.
+     *
+     * @param automaton
+     *         the automaton to minimize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the resulting Mealy machine)
+     * @param creator
+     *         the creator for constructing the automata instance to return
+     * @param ap
+     *         the initial partitioning function, determining how states will be distinguished
+     * @param pruningMode
+     *         the pruning mode (see above)
+     * @param ordering
+     *         the ordering of the states of the minimized automaton
+     *
+     * @return the minimized automaton, initially constructed from the given {@code creator}.
+     *
+     * @see #minimizeUniversal(UniversalDeterministicAutomaton, Alphabet, AutomatonCreator,
+     * AutomatonInitialPartitioning, PruningMode)
+     */
+    public static <I, T, SP, TP, A extends MutableDeterministic<?, I, ?, SP, TP>> A minimizeUniversal(
+            UniversalDeterministicAutomaton<?, I, T, SP, TP> automaton,
+            Alphabet<I> alphabet,
+            AutomatonCreator<A, I> creator,
+            AutomatonInitialPartitioning ap,
+            PruningMode pruningMode,
+            NodeOrdering ordering) {
+
+        final A minimized = minimizeUniversal(automaton, alphabet, creator, ap, pruningMode);
+        final A result = creator.createAutomaton(alphabet, minimized.size());
+
+        copyReordered(ordering, minimized, alphabet, result);
+
+        return result;
+    }
+
+    private static <I, SP, TP> void copyReordered(NodeOrdering ordering,
+                                                  MutableDeterministic<?, I, ?, SP, TP> in,
+                                                  Alphabet<I> alphabet,
+                                                  MutableDeterministic<?, I, ?, SP, TP> out) {
+        AutomatonLowLevelCopy.copy(AutomatonCopyMethod.reordering(ordering), in, alphabet, out);
+    }
+
     /**
      * Allows for controlling how automata are pruned during minimization.
      *
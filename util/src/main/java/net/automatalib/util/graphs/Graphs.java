@@ -27,11 +27,10 @@ import net.automatalib.graphs.Graph;
 import net.automatalib.graphs.IndefiniteGraph;
 import net.automatalib.graphs.concepts.EdgeWeights;
 import net.automatalib.util.graphs.apsp.APSPResult;
-import net.automatalib.util.graphs.apsp.FloydWarshallAPSP;
+import net.automatalib.util.graphs.apsp.ParallelAPSP;
 import net.automatalib.util.graphs.scc.SCCListener;
 import net.automatalib.util.graphs.scc.SCCs;
-import net.automatalib.util.graphs.scc.TarjanSCCVisitor;
-import net.automatalib.util.graphs.sssp.DijkstraSSSP;
+import net.automatalib.util.graphs.sssp.DenseDijkstraSSSP;
 import net.automatalib.util.graphs.sssp.SSSPResult;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -109,8 +108,10 @@ public final class Graphs {
     }
 
     /**
-     * Computes the shortest paths between all pairs of nodes in a graph, using the Floyd-Warshall dynamic programming
-     * algorithm. Note that the result is only correct if the graph contains no cycles with negative edge weight sums.
+     * Computes the shortest paths between all pairs of nodes in a graph, using either a (parallel, cache-blocked)
+     * version of the Floyd-Warshall dynamic programming algorithm or repeated single-source shortest path searches,
+     * depending on the edge weights and the density of the graph. Note that the result is only correct if the graph
+     * contains no cycles with negative edge weight sums.
      *
      * @param graph
      *         the graph
@@ -119,10 +120,10 @@ public final class Graphs {
      *
      * @return the all pairs shortest paths result
      *
-     * @see FloydWarshallAPSP
+     * @see ParallelAPSP
      */
     public static <N, E> APSPResult<N, E> findAPSP(Graph<N, E> graph, EdgeWeights<E> edgeWeights) {
-        return FloydWarshallAPSP.findAPSP(graph, edgeWeights);
+        return ParallelAPSP.findAPSP(graph, edgeWeights);
     }
 
     /**
@@ -138,24 +139,49 @@ public final class Graphs {
      *
      * @return the single-source shortest paths result
      *
-     * @see DijkstraSSSP
+     * @see DenseDijkstraSSSP
      */
     public static <N, E> SSSPResult<N, E> findSSSP(Graph<N, E> graph, N init, EdgeWeights<E> edgeWeights) {
-        return DijkstraSSSP.findSSSP(graph, init, edgeWeights);
+        return DenseDijkstraSSSP.findSSSP(graph, init, edgeWeights);
+    }
+
+    /**
+     * Computes the shortest path between two nodes in a graph, using Dijkstra's algorithm. The search terminates as
+     * soon as the shortest path to the target node has been determined. Note that the result is only correct if the
+     * graph contains no edges with negative weights.
+     *
+     * @param graph
+     *         the graph
+     * @param init
+     *         the source node
+     * @param target
+     *         the target node
+     * @param edgeWeights
+     *         the edge weights
+     *
+     * @return the list of edges forming the shortest path from the source to the target node, or {@code null} if the
+     * target node is not reachable from the source node
+     *
+     * @see DenseDijkstraSSSP
+     */
+    public static <N, E> @Nullable List<E> findShortestPath(Graph<N, E> graph,
+                                                            N init,
+                                                            N target,
+                                                            EdgeWeights<E> edgeWeights) {
+        return DenseDijkstraSSSP.findShortestPath(graph, init, target, edgeWeights);
     }
 
     /**
      * Collects all strongly-connected components in a graph. The SCCs are returned as a list of lists.
      * <p>
-     * Tarjan's algorithm is used for realizing the SCC search.
+     * An iterative, array-based version of Tarjan's algorithm is used for realizing the SCC search.
      *
      * @param graph
      *         the graph
      *
      * @return a list of all SCCs, each represented as a list of its nodes
      *
-     * @see TarjanSCCVisitor
-     * @see SCCs
+     * @see SCCs#collectSCCs(Graph)
      */
     public static <N, E> List<List<N>> collectSCCs(Graph<N, E> graph) {
         return SCCs.collectSCCs(graph);
@@ -165,17 +191,50 @@ public final class Graphs {
      * Find all strongly-connected components in a graph. When a new SCC is found, the {@link
      * SCCListener#foundSCC(java.util.Collection)} method is invoked. The listener object may hence not be null.
      * <p>
-     * Tarjan's algorithm is used for realizing the SCC search.
+     * An iterative, array-based version of Tarjan's algorithm is used for realizing the SCC search.
      *
      * @param graph
      *         the graph
      * @param sccListener
      *         the SCC listener
      *
-     * @see TarjanSCCVisitor
-     * @see SCCs
+     * @see SCCs#findSCCs(Graph, SCCListener)
      */
     public static <N, E> void findSCCs(Graph<N, E> graph, SCCListener<N> sccListener) {
         SCCs.findSCCs(graph, sccListener);
     }
+
+    /**
+     * Collects all strongly-connected components in a graph, using a parallel algorithm. The SCCs are returned as a
+     * list of lists.
+     * <p>
+     * The parallel forward-backward algorithm is used for realizing the SCC search.
+     *
+     * @param graph
+     *         the graph
+     *
+     * @return a list of all SCCs, each represented as a list of its nodes
+     *
+     * @see SCCs#collectSCCsParallel(Graph)
+     */
+    public static <N, E> List<List<N>> collectSCCsParallel(Graph<N, E> graph) {
+        return SCCs.collectSCCsParallel(graph);
+    }
+
+    /**
+     * Find all strongly-connected components in a graph, using a parallel algorithm. When a new SCC is found, the
+     * {@link SCCListener#foundSCC(java.util.Collection)} method is invoked. The listener object may hence not be null.
+     * <p>
+     * The parallel forward-backward algorithm is used for realizing the SCC search.
+     *
+     * @param graph
+     *         the graph
+     * @param sccListener
+     *         the SCC listener
+     *
+     * @see SCCs#findSCCsParallel(Graph, SCCListener)
+     */
+    public static <N, E> void findSCCsParallel(Graph<N, E> graph, SCCListener<N> sccListener) {
+        SCCs.findSCCsParallel(graph, sccListener);
+    }
 }
@@ -0,0 +1,368 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.apsp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import net.automatalib.graphs.Graph;
+import net.automatalib.graphs.concepts.EdgeWeights;
+import net.automatalib.graphs.concepts.NodeIDs;
+import net.automatalib.util.graphs.Graphs;
+import net.automatalib.util.graphs.csr.CSRGraph;
+import net.automatalib.util.graphs.csr.CSRGraphs;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An all pairs shortest paths implementation that stores its results in primitive distance and predecessor matrices
+ * and computes them in parallel. Two strategies are supported:
+ * <ul>
+ *     <li>{@link Strategy#FLOYD_WARSHALL}: a cache-blocked (tiled) version of the Floyd-Warshall algorithm, whose
+ *     independent tiles of each phase are relaxed in parallel. This strategy supports negative edge weights (but no
+ *     cycles with negative edge weight sums).</li>
+ *     <li>{@link Strategy#REPEATED_SSSP}: a single-source shortest paths search from every node (in parallel), using a
+ *     breadth-first search if all edges have the same weight and Dijkstra's algorithm otherwise. This strategy does not
+ *     support negative edge weights, but is considerably faster on sparse graphs.</li>
+ * </ul>
+ * If no strategy is given explicitly, it is chosen based on the edge weights and the density of the graph.
+ * <p>
+ * Note that the matrices require {@code 8 * n^2} bytes of memory for a graph with {@code n} nodes.
+ *
+ * @param <N>
+ *         node class
+ * @param <E>
+ *         edge class
+ */
+public class ParallelAPSP<N, E> implements APSPResult<N, E> {
+
+    /**
+     * The width (and height) of the tiles of the blocked Floyd-Warshall algorithm. 64x64 floats (and ints) fit
+     * comfortably into the L1/L2 cache.
+     */
+    private static final int BLOCK_SIZE = 64;
+
+    /**
+     * The estimated cost of processing an edge in Dijkstra's algorithm relative to a single (cache-friendly) relaxation
+     * of the Floyd-Warshall algorithm.
+     */
+    private static final int SSSP_COST_FACTOR = 8;
+
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private final NodeIDs<N> ids;
+    private final int size;
+    private final List<E> edges;
+    private final int[] sources;
+    private final CSRGraph csr;
+    private final Strategy strategy;
+
+    private final float[] distances;
+    private final int[] predecessors;
+
+    private boolean computed;
+
+    /**
+     * Constructor. Automatically chooses the strategy for computing the shortest paths.
+     *
+     * @param graph
+     *         the graph
+     * @param edgeWeights
+     *         the edge weights
+     */
+    public ParallelAPSP(Graph<N, E> graph, EdgeWeights<E> edgeWeights) {
+        this(graph, edgeWeights, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param graph
+     *         the graph
+     * @param edgeWeights
+     *         the edge weights
+     * @param strategy
+     *         the strategy for computing the shortest paths, or {@code null} to choose it automatically
+     *
+     * @throws IllegalArgumentException
+     *         if the graph is too large for the distance matrix to fit into an array
+     */
+    public ParallelAPSP(Graph<N, E> graph, EdgeWeights<E> edgeWeights, @Nullable Strategy strategy) {
+        this.ids = graph.nodeIDs();
+        this.size = graph.size();
+
+        if ((long) size * size > MAX_ARRAY_SIZE) {
+            throw new IllegalArgumentException("Graph with " + size + " nodes is too large for the distance matrix");
+        }
+
+        this.csr = CSRGraph.fromGraph(graph, ids, edgeWeights);
+        this.edges = new ArrayList<>(csr.getNumEdges());
+        this.sources = new int[csr.getNumEdges()];
+
+        // the edges of the CSR graph are indexed in the same order
+        for (int i = 0; i < size; i++) {
+            edges.addAll(graph.getOutgoingEdges(ids.getNode(i)));
+            Arrays.fill(sources, csr.getEdgesBegin(i), csr.getEdgesEnd(i), i);
+        }
+
+        this.strategy = strategy == null ? chooseStrategy(csr) : strategy;
+
+        this.distances = new float[size * size];
+        this.predecessors = new int[size * size];
+    }
+
+    /**
+     * Computes the shortest paths between all pairs of nodes in a graph, choosing the strategy automatically.
+     *
+     * @param graph
+     *         the graph
+     * @param edgeWeights
+     *         the edge weights
+     *
+     * @return the all pairs shortest paths result
+     */
+    public static <N, E> APSPResult<N, E> findAPSP(Graph<N, E> graph, EdgeWeights<E> edgeWeights) {
+        return findAPSP(graph, edgeWeights, null);
+    }
+
+    /**
+     * Computes the shortest paths between all pairs of nodes in a graph, using the given strategy.
+     *
+     * @param graph
+     *         the graph
+     * @param edgeWeights
+     *         the edge weights
+     * @param strategy
+     *         the strategy for computing the shortest paths, or {@code null} to choose it automatically
+     *
+     * @return the all pairs shortest paths result
+     */
+    public static <N, E> APSPResult<N, E> findAPSP(Graph<N, E> graph,
+                                                   EdgeWeights<E> edgeWeights,
+                                                   @Nullable Strategy strategy) {
+        final ParallelAPSP<N, E> apsp = new ParallelAPSP<>(graph, edgeWeights, strategy);
+        apsp.findAPSP();
+        return apsp;
+    }
+
+    /**
+     * Returns the strategy that is used for computing the shortest paths.
+     *
+     * @return the strategy
+     */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Start the search. This method may only be invoked once.
+     */
+    public void findAPSP() {
+        if (computed) {
+            throw new IllegalStateException("Search has already been performed!");
+        }
+        computed = true;
+
+        switch (strategy) {
+            case FLOYD_WARSHALL:
+                floydWarshall();
+                break;
+            case REPEATED_SSSP:
+                repeatedSSSP();
+                break;
+            default:
+                throw new IllegalStateException("Unknown strategy: " + strategy);
+        }
+    }
+
+    @Override
+    public float getShortestPathDistance(N src, N tgt) {
+        final float dist = distances[ids.getNodeId(src) * size + ids.getNodeId(tgt)];
+        return dist == Float.POSITIVE_INFINITY ? Graphs.INVALID_DISTANCE : dist;
+    }
+
+    @Override
+    public @Nullable List<E> getShortestPath(N src, N tgt) {
+        final int srcId = ids.getNodeId(src);
+        final int row = srcId * size;
+        int node = ids.getNodeId(tgt);
+
+        if (node == srcId) {
+            return Collections.emptyList();
+        } else if (predecessors[row + node] < 0) {
+            return null;
+        }
+
+        final List<E> result = new ArrayList<>();
+
+        while (node != srcId) {
+            final int edge = predecessors[row + node];
+            result.add(edges.get(edge));
+            node = sources[edge];
+        }
+
+        Collections.reverse(result);
+        return result;
+    }
+
+    private void floydWarshall() {
+        Arrays.fill(distances, Float.POSITIVE_INFINITY);
+        Arrays.fill(predecessors, -1);
+
+        for (int i = 0; i < size; i++) {
+            distances[i * size + i] = 0;
+
+            for (int e = csr.getEdgesBegin(i); e < csr.getEdgesEnd(i); e++) {
+                final int j = csr.getTarget(e);
+                final float w = csr.getWeight(e);
+                final int idx = i * size + j;
+                if (i != j && w < distances[idx]) {
+                    distances[idx] = w;
+                    predecessors[idx] = e;
+                }
+            }
+        }
+
+        final int numBlocks = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+        for (int k = 0; k < numBlocks; k++) {
+            final int kb = k;
+
+            // phase 1: the diagonal tile only depends on itself
+            relaxTile(kb, kb, kb);
+
+            // phase 2: the tiles in the row and column of the diagonal tile depend on themselves and the diagonal tile
+            IntStream.range(0, 2 * numBlocks).parallel().forEach(t -> {
+                final int b = t >> 1;
+                if (b != kb) {
+                    if ((t & 1) == 0) {
+                        relaxTile(kb, b, kb);
+                    } else {
+                        relaxTile(b, kb, kb);
+                    }
+                }
+            });
+
+            // phase 3: the remaining tiles only depend on the tiles of phase 2
+            IntStream.range(0, numBlocks * numBlocks).parallel().forEach(t -> {
+                final int ib = t / numBlocks;
+                final int jb = t % numBlocks;
+                if (ib != kb && jb != kb) {
+                    relaxTile(ib, jb, kb);
+                }
+            });
+        }
+    }
+
+    private void relaxTile(int ib, int jb, int kb) {
+        final int iEnd = Math.min((ib + 1) * BLOCK_SIZE, size);
+        final int jBegin = jb * BLOCK_SIZE;
+        final int jEnd = Math.min(jBegin + BLOCK_SIZE, size);
+        final int kEnd = Math.min((kb + 1) * BLOCK_SIZE, size);
+
+        for (int k = kb * BLOCK_SIZE; k < kEnd; k++) {
+            final int rowK = k * size;
+            for (int i = ib * BLOCK_SIZE; i < iEnd; i++) {
+                final int rowI = i * size;
+                final float distIK = distances[rowI + k];
+
+                if (distIK == Float.POSITIVE_INFINITY) {
+                    continue;
+                }
+
+                for (int j = jBegin; j < jEnd; j++) {
+                    final float total = distIK + distances[rowK + j];
+                    if (total < distances[rowI + j]) {
+                        distances[rowI + j] = total;
+                        predecessors[rowI + j] = predecessors[rowK + j];
+                    }
+                }
+            }
+        }
+    }
+
+    private void repeatedSSSP() {
+        final boolean uniform = hasUniformWeights(csr);
+        final float weight = csr.getNumEdges() > 0 ? csr.getWeight(0) : 0;
+
+        IntStream.range(0, size).parallel().forEach(src -> {
+            final int row = src * size;
+            final int[] preds = new int[size];
+
+            if (uniform) {
+                final int[] hops = CSRGraphs.findDistances(csr, src, preds);
+                for (int i = 0; i < size; i++) {
+                    distances[row + i] = hops[i] < 0 ? Float.POSITIVE_INFINITY : hops[i] * weight;
+                }
+            } else {
+                final float[] dists = CSRGraphs.findSSSP(csr, src, preds);
+                for (int i = 0; i < size; i++) {
+                    distances[row + i] = dists[i] == Graphs.INVALID_DISTANCE ? Float.POSITIVE_INFINITY : dists[i];
+                }
+            }
+
+            System.arraycopy(preds, 0, predecessors, row, size);
+        });
+    }
+
+    private static Strategy chooseStrategy(CSRGraph graph) {
+        final int numEdges = graph.getNumEdges();
+        boolean uniform = true;
+
+        for (int e = 0; e < numEdges; e++) {
+            final float w = graph.getWeight(e);
+            if (w < 0) {
+                return Strategy.FLOYD_WARSHALL;
+            }
+            uniform &= w == graph.getWeight(0);
+        }
+
+        if (uniform) {
+            return Strategy.REPEATED_SSSP;
+        }
+
+        final long size = graph.size();
+        final long ssspCost = SSSP_COST_FACTOR * (numEdges + size * (64 - Long.numberOfLeadingZeros(size)));
+
+        return ssspCost < size * size ? Strategy.REPEATED_SSSP : Strategy.FLOYD_WARSHALL;
+    }
+
+    private static boolean hasUniformWeights(CSRGraph graph) {
+        for (int e = 1; e < graph.getNumEdges(); e++) {
+            if (graph.getWeight(e) != graph.getWeight(0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The strategies for computing the all pairs shortest paths.
+     */
+    public enum Strategy {
+        /**
+         * A cache-blocked, parallel version of the Floyd-Warshall algorithm. Supports negative edge weights.
+         */
+        FLOYD_WARSHALL,
+        /**
+         * A parallel single-source shortest paths search (breadth-first search or Dijkstra's algorithm) from every
+         * node. Does not support negative edge weights.
+         */
+        REPEATED_SSSP
+    }
+}
@@ -0,0 +1,459 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.csr;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.automata.simple.SimpleAutomaton;
+import net.automatalib.automata.simple.SimpleDeterministicAutomaton;
+import net.automatalib.graphs.Graph;
+import net.automatalib.graphs.concepts.EdgeWeights;
+import net.automatalib.graphs.concepts.NodeIDs;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An immutable graph in compressed sparse row (CSR) format. Nodes are identified by the integers {@code 0} to {@link
+ * #size()}{@code  - 1} and edges by the integers {@code 0} to {@link #getNumEdges()}{@code  - 1}. The outgoing edges
+ * of a node {@code n} are the edges {@link #getEdgesBegin(int) getEdgesBegin(n)} (inclusive) to {@link
+ * #getEdgesEnd(int) getEdgesEnd(n)} (exclusive).
+ * <p>
+ * The whole structure is stored in (at most) three primitive arrays: the offsets of the edges of each node, the
+ * targets of each edge and (optionally) the weights of each edge. This makes it suitable for analyzing very large
+ * graphs in a cache-friendly way and without any per-node or per-edge objects. See {@link CSRGraphs} for algorithms
+ * operating on this representation.
+ */
+public final class CSRGraph {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final float @Nullable [] weights;
+
+    private CSRGraph(int[] offsets, int[] targets, float @Nullable [] weights) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Constructs an (unweighted) graph from the given edge list.
+     *
+     * @param numNodes
+     *         the number of nodes of the graph
+     * @param sources
+     *         the source node of each edge
+     * @param targets
+     *         the target node of each edge
+     *
+     * @return the graph
+     *
+     * @see #of(int, int[], int[], float[])
+     */
+    public static CSRGraph of(int numNodes, int[] sources, int[] targets) {
+        return of(numNodes, sources, targets, null);
+    }
+
+    /**
+     * Constructs a graph from the given edge list. The outgoing edges of each node retain their relative order of the
+     * given edge list.
+     *
+     * @param numNodes
+     *         the number of nodes of the graph
+     * @param sources
+     *         the source node of each edge
+     * @param targets
+     *         the target node of each edge
+     * @param weights
+     *         the weight of each edge, may be {@code null} for an unweighted graph
+     *
+     * @return the graph
+     *
+     * @throws IllegalArgumentException
+     *         if the given arrays differ in length or contain invalid node ids
+     */
+    public static CSRGraph of(int numNodes, int[] sources, int[] targets, float @Nullable [] weights) {
+        final int numEdges = sources.length;
+
+        if (targets.length != numEdges || (weights != null && weights.length != numEdges)) {
+            throw new IllegalArgumentException("Edge arrays differ in length");
+        }
+
+        final int[] offsets = new int[numNodes + 1];
+
+        for (int i = 0; i < numEdges; i++) {
+            checkNode(sources[i], numNodes);
+            checkNode(targets[i], numNodes);
+            offsets[sources[i] + 1]++;
+        }
+
+        return sortEdges(offsets, sources, targets, weights);
+    }
+
+    /**
+     * Constructs an (unweighted) graph from the given graph. The node ids of the constructed graph correspond to the
+     * {@link Graph#nodeIDs() node ids} of the given graph and the outgoing edges of each node retain the order of
+     * {@link Graph#getOutgoingEdges(Object)}.
+     *
+     * @param graph
+     *         the graph
+     * @param <N>
+     *         node type
+     * @param <E>
+     *         edge type
+     *
+     * @return the graph in CSR format
+     */
+    public static <N, E> CSRGraph fromGraph(Graph<N, E> graph) {
+        return fromGraph(graph, graph.nodeIDs(), null);
+    }
+
+    /**
+     * Constructs an (unweighted) graph from the given graph. The node ids of the constructed graph correspond to the
+     * given node ids, which allows callers to re-use them for mapping the results back to the nodes of the given graph.
+     * The outgoing edges of each node retain the order of {@link Graph#getOutgoingEdges(Object)}.
+     *
+     * @param graph
+     *         the graph
+     * @param nodeIDs
+     *         the node ids of the given graph
+     * @param <N>
+     *         node type
+     * @param <E>
+     *         edge type
+     *
+     * @return the graph in CSR format
+     */
+    public static <N, E> CSRGraph fromGraph(Graph<N, E> graph, NodeIDs<N> nodeIDs) {
+        return fromGraph(graph, nodeIDs, null);
+    }
+
+    /**
+     * Constructs a weighted graph from the given graph. The node ids of the constructed graph correspond to the {@link
+     * Graph#nodeIDs() node ids} of the given graph and the outgoing edges of each node retain the order of {@link
+     * Graph#getOutgoingEdges(Object)}.
+     *
+     * @param graph
+     *         the graph
+     * @param edgeWeights
+     *         the edge weights, may be {@code null} for an unweighted graph
+     * @param <N>
+     *         node type
+     * @param <E>
+     *         edge type
+     *
+     * @return the graph in CSR format
+     */
+    public static <N, E> CSRGraph fromGraph(Graph<N, E> graph, @Nullable EdgeWeights<E> edgeWeights) {
+        return fromGraph(graph, graph.nodeIDs(), edgeWeights);
+    }
+
+    /**
+     * Constructs a weighted graph from the given graph. The node ids of the constructed graph correspond to the given
+     * node ids, which allows callers to re-use them for mapping the results back to the nodes of the given graph. The
+     * outgoing edges of each node retain the order of {@link Graph#getOutgoingEdges(Object)}.
+     *
+     * @param graph
+     *         the graph
+     * @param nodeIDs
+     *         the node ids of the given graph
+     * @param edgeWeights
+     *         the edge weights, may be {@code null} for an unweighted graph
+     * @param <N>
+     *         node type
+     * @param <E>
+     *         edge type
+     *
+     * @return the graph in CSR format
+     */
+    public static <N, E> CSRGraph fromGraph(Graph<N, E> graph,
+                                            NodeIDs<N> nodeIDs,
+                                            @Nullable EdgeWeights<E> edgeWeights) {
+        final int numNodes = graph.size();
+        final int[] offsets = new int[numNodes + 1];
+
+        int[] targets = new int[Math.max(numNodes, INITIAL_CAPACITY)];
+        float[] weights = new float[edgeWeights == null ? 0 : targets.length];
+        int numEdges = 0;
+
+        for (int n = 0; n < numNodes; n++) {
+            final Collection<E> edges = graph.getOutgoingEdges(nodeIDs.getNode(n));
+
+            if (numEdges + edges.size() > targets.length) {
+                final int capacity = grow(targets.length, numEdges + edges.size());
+                targets = Arrays.copyOf(targets, capacity);
+                if (edgeWeights != null) {
+                    weights = Arrays.copyOf(weights, capacity);
+                }
+            }
+
+            for (E e : edges) {
+                targets[numEdges] = nodeIDs.getNodeId(graph.getTarget(e));
+                if (edgeWeights != null) {
+                    weights[numEdges] = edgeWeights.getEdgeWeight(e);
+                }
+                numEdges++;
+            }
+
+            offsets[n + 1] = numEdges;
+        }
+
+        return new CSRGraph(offsets, trim(targets, numEdges), edgeWeights == null ? null : trim(weights, numEdges));
+    }
+
+    /**
+     * Constructs an (unweighted) graph from the transition structure of the given automaton. The node ids of the
+     * constructed graph correspond to the {@link SimpleAutomaton#stateIDs() state ids} of the given automaton. For each
+     * state, the graph contains an edge to each successor of each of the given input symbols (in the order of the
+     * given inputs).
+     *
+     * @param automaton
+     *         the automaton
+     * @param inputs
+     *         the input symbols to consider
+     * @param <S>
+     *         state type
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the graph in CSR format
+     */
+    public static <S, I> CSRGraph fromAutomaton(SimpleAutomaton<S, I> automaton, Collection<? extends I> inputs) {
+        final StateIDs<S> stateIDs = automaton.stateIDs();
+        final int numStates = automaton.size();
+        final int[] offsets = new int[numStates + 1];
+
+        int[] targets = new int[Math.max(numStates, INITIAL_CAPACITY)];
+        int numEdges = 0;
+
+        if (automaton instanceof SimpleDeterministicAutomaton) {
+            @SuppressWarnings("unchecked")
+            final SimpleDeterministicAutomaton<S, I> detAutomaton = (SimpleDeterministicAutomaton<S, I>) automaton;
+
+            for (int s = 0; s < numStates; s++) {
+                final S state = stateIDs.getState(s);
+                if (numEdges + inputs.size() > targets.length) {
+                    targets = Arrays.copyOf(targets, grow(targets.length, numEdges + inputs.size()));
+                }
+                for (I i : inputs) {
+                    final S succ = detAutomaton.getSuccessor(state, i);
+                    if (succ != null) {
+                        targets[numEdges++] = stateIDs.getStateId(succ);
+                    }
+                }
+                offsets[s + 1] = numEdges;
+            }
+        } else {
+            for (int s = 0; s < numStates; s++) {
+                final S state = stateIDs.getState(s);
+                for (I i : inputs) {
+                    final Collection<S> succs = automaton.getSuccessors(state, i);
+                    if (numEdges + succs.size() > targets.length) {
+                        targets = Arrays.copyOf(targets, grow(targets.length, numEdges + succs.size()));
+                    }
+                    for (S succ : succs) {
+                        targets[numEdges++] = stateIDs.getStateId(succ);
+                    }
+                }
+                offsets[s + 1] = numEdges;
+            }
+        }
+
+        return new CSRGraph(offsets, trim(targets, numEdges), null);
+    }
+
+    /**
+     * Returns the number of nodes of this graph.
+     *
+     * @return the number of nodes
+     */
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Returns the number of edges of this graph.
+     *
+     * @return the number of edges
+     */
+    public int getNumEdges() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the index of the first outgoing edge of the given node.
+     *
+     * @param node
+     *         the node
+     *
+     * @return the index of the first outgoing edge of the given node
+     */
+    public int getEdgesBegin(int node) {
+        return offsets[node];
+    }
+
+    /**
+     * Returns the index after the last outgoing edge of the given node.
+     *
+     * @param node
+     *         the node
+     *
+     * @return the index after the last outgoing edge of the given node
+     */
+    public int getEdgesEnd(int node) {
+        return offsets[node + 1];
+    }
+
+    /**
+     * Returns the number of outgoing edges of the given node.
+     *
+     * @param node
+     *         the node
+     *
+     * @return the number of outgoing edges of the given node
+     */
+    public int getOutDegree(int node) {
+        return offsets[node + 1] - offsets[node];
+    }
+
+    /**
+     * Returns the target node of the given edge.
+     *
+     * @param edge
+     *         the edge
+     *
+     * @return the target node of the given edge
+     */
+    public int getTarget(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Returns whether this graph has edge weights.
+     *
+     * @return {@code true} if this graph has edge weights, {@code false} otherwise
+     */
+    public boolean isWeighted() {
+        return weights != null;
+    }
+
+    /**
+     * Returns the weight of the given edge. For unweighted graphs, each edge has a weight of {@code 1}.
+     *
+     * @param edge
+     *         the edge
+     *
+     * @return the weight of the given edge
+     */
+    public float getWeight(int edge) {
+        return weights == null ? 1 : weights[edge];
+    }
+
+    /**
+     * Returns the transposed graph, i.e. the graph in which the direction of each edge is reversed. The incoming edges
+     * of each node are ordered by their source node.
+     *
+     * @return the transposed graph
+     */
+    public CSRGraph transpose() {
+        final int numNodes = size();
+        final int numEdges = getNumEdges();
+        final int[] sources = new int[numEdges];
+        final int[] tOffsets = new int[numNodes + 1];
+
+        for (int n = 0; n < numNodes; n++) {
+            for (int e = offsets[n]; e < offsets[n + 1]; e++) {
+                sources[e] = n;
+                tOffsets[targets[e] + 1]++;
+            }
+        }
+
+        return sortEdges(tOffsets, targets, sources, weights);
+    }
+
+    int[] offsets() {
+        return offsets;
+    }
+
+    int[] targets() {
+        return targets;
+    }
+
+    float @Nullable [] weights() {
+        return weights;
+    }
+
+    /**
+     * Sorts the given edges by their source (stably) via counting sort.
+     *
+     * @param offsets
+     *         the array of length {@code numNodes + 1}, whose entry {@code n + 1} contains the out-degree of node
+     *         {@code n}
+     */
+    private static CSRGraph sortEdges(int[] offsets,
+                                      int[] sources,
+                                      int[] targets,
+                                      float @Nullable [] weights) {
+        final int numNodes = offsets.length - 1;
+        final int numEdges = sources.length;
+
+        for (int n = 0; n < numNodes; n++) {
+            offsets[n + 1] += offsets[n];
+        }
+
+        final int[] sortedTargets = new int[numEdges];
+        final int[] pos = Arrays.copyOf(offsets, numNodes);
+
+        if (weights == null) {
+            for (int i = 0; i < numEdges; i++) {
+                sortedTargets[pos[sources[i]]++] = targets[i];
+            }
+            return new CSRGraph(offsets, sortedTargets, null);
+        }
+
+        final float[] sortedWeights = new float[numEdges];
+
+        for (int i = 0; i < numEdges; i++) {
+            final int p = pos[sources[i]]++;
+            sortedTargets[p] = targets[i];
+            sortedWeights[p] = weights[i];
+        }
+
+        return new CSRGraph(offsets, sortedTargets, sortedWeights);
+    }
+
+    private static void checkNode(int node, int numNodes) {
+        if (node < 0 || node >= numNodes) {
+            throw new IllegalArgumentException("Invalid node: " + node);
+        }
+    }
+
+    private static int grow(int capacity, int required) {
+        final int newCapacity = Math.max(capacity + (capacity >> 1), required);
+        return newCapacity < 0 ? MAX_ARRAY_SIZE : newCapacity;
+    }
+
+    private static int[] trim(int[] array, int length) {
+        return array.length == length ? array : Arrays.copyOf(array, length);
+    }
+
+    private static float[] trim(float[] array, int length) {
+        return array.length == length ? array : Arrays.copyOf(array, length);
+    }
+}
@@ -0,0 +1,503 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.csr;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import net.automatalib.commons.smartcollections.IndexedDAryHeap;
+import net.automatalib.util.graphs.Graphs;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Graph algorithms operating on {@link CSRGraph}s. All algorithms are implemented iteratively (i.e. they do not
+ * overflow the call stack on deep graphs) and only use primitive arrays whose size is linear in the number of nodes.
+ */
+public final class CSRGraphs {
+
+    private CSRGraphs() {
+        // prevent instantiation
+    }
+
+    /**
+     * Computes the strongly-connected components (SCCs) of the given graph, using (an iterative version of) Tarjan's
+     * algorithm. The SCCs are numbered in the order in which they are found, i.e. the SCC numbering is a reverse
+     * topological order of the SCC graph: if there exists an edge from a node in SCC {@code i} to a node in SCC {@code
+     * j != i}, then {@code i > j}.
+     *
+     * @param graph
+     *         the graph
+     * @param components
+     *         the array (of length of at least {@link CSRGraph#size()}) to which the index of the SCC of each node is
+     *         written
+     *
+     * @return the number of SCCs
+     */
+    public static int findSCCs(CSRGraph graph, int[] components) {
+        final int numNodes = graph.size();
+        final int[] nodes = new int[numNodes];
+
+        for (int i = 0; i < numNodes; i++) {
+            nodes[i] = i;
+        }
+
+        Arrays.fill(components, 0, numNodes, -1);
+
+        return tarjan(graph, nodes, null, 0, new int[numNodes], new int[numNodes], components);
+    }
+
+    /**
+     * Computes the strongly-connected components (SCCs) of the given graph in parallel, using the forward-backward
+     * algorithm with (sequential) trimming of trivial SCCs. Small sub-problems are solved using Tarjan's algorithm.
+     * <p>
+     * Contrary to {@link #findSCCs(CSRGraph, int[])}, the SCC numbering does not follow any particular order.
+     *
+     * @param graph
+     *         the graph
+     * @param components
+     *         the array (of length of at least {@link CSRGraph#size()}) to which the index of the SCC of each node is
+     *         written
+     *
+     * @return the number of SCCs
+     *
+     * @see ParallelSCCFinder
+     */
+    public static int findSCCsParallel(CSRGraph graph, int[] components) {
+        return new ParallelSCCFinder(graph, components).findSCCs();
+    }
+
+    /**
+     * An iterative implementation of Tarjan's algorithm that only considers nodes of the given color.
+     *
+     * @param graph
+     *         the graph
+     * @param nodes
+     *         the nodes to consider, which determines the order in which DFS roots are chosen
+     * @param colors
+     *         the colors of the nodes, may be {@code null} to consider all nodes
+     * @param color
+     *         the color of the nodes to consider
+     * @param index
+     *         a zero-initialized array for the DFS indices of the given nodes
+     * @param lowlink
+     *         an array for the lowlinks of the given nodes
+     * @param components
+     *         the array to which the SCC indices are written, the entries of the given nodes must be initialized with
+     *         {@code -1}
+     *
+     * @return the number of SCCs
+     */
+    static int tarjan(CSRGraph graph,
+                      int[] nodes,
+                      int @Nullable [] colors,
+                      int color,
+                      int[] index,
+                      int[] lowlink,
+                      int[] components) {
+        final int[] offsets = graph.offsets();
+        final int[] targets = graph.targets();
+
+        final int[] sccStack = new int[nodes.length];
+        final int[] callStack = new int[nodes.length];
+        final int[] edgeCursor = new int[nodes.length];
+
+        int sccStackSize = 0;
+        int counter = 0;
+        int numSCCs = 0;
+
+        for (int root : nodes) {
+            // index[n] == 0 denotes an unvisited node, otherwise it stores the (1-based) DFS index of n
+            if (index[root] != 0) {
+                continue;
+            }
+
+            index[root] = ++counter;
+            lowlink[root] = counter;
+            sccStack[sccStackSize++] = root;
+            callStack[0] = root;
+            edgeCursor[0] = offsets[root];
+            int depth = 1;
+
+            while (depth > 0) {
+                final int node = callStack[depth - 1];
+                final int edge = edgeCursor[depth - 1];
+
+                if (edge < offsets[node + 1]) {
+                    edgeCursor[depth - 1] = edge + 1;
+                    final int tgt = targets[edge];
+
+                    if (colors != null && colors[tgt] != color) {
+                        continue;
+                    }
+
+                    if (index[tgt] == 0) {
+                        index[tgt] = ++counter;
+                        lowlink[tgt] = counter;
+                        sccStack[sccStackSize++] = tgt;
+                        callStack[depth] = tgt;
+                        edgeCursor[depth] = offsets[tgt];
+                        depth++;
+                    } else if (components[tgt] < 0 && index[tgt] < lowlink[node]) {
+                        // tgt is still on the SCC stack
+                        lowlink[node] = index[tgt];
+                    }
+                } else {
+                    depth--;
+
+                    if (lowlink[node] == index[node]) {
+                        int member;
+                        do {
+                            member = sccStack[--sccStackSize];
+                            components[member] = numSCCs;
+                        } while (member != node);
+                        numSCCs++;
+                    }
+
+                    if (depth > 0) {
+                        final int parent = callStack[depth - 1];
+                        if (lowlink[node] < lowlink[parent]) {
+                            lowlink[parent] = lowlink[node];
+                        }
+                    }
+                }
+            }
+        }
+
+        return numSCCs;
+    }
+
+    /**
+     * Computes the nodes reachable from the given source nodes in breadth-first order.
+     *
+     * @param graph
+     *         the graph
+     * @param sources
+     *         the source nodes
+     *
+     * @return the reachable nodes (including the source nodes), in the order of their discovery
+     */
+    public static int[] breadthFirstOrder(CSRGraph graph, int... sources) {
+        final int[] offsets = graph.offsets();
+        final int[] targets = graph.targets();
+        final BitSet visited = new BitSet(graph.size());
+        final int[] queue = new int[graph.size()];
+
+        int tail = 0;
+
+        for (int src : sources) {
+            if (!visited.get(src)) {
+                visited.set(src);
+                queue[tail++] = src;
+            }
+        }
+
+        for (int head = 0; head < tail; head++) {
+            final int node = queue[head];
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                final int tgt = targets[e];
+                if (!visited.get(tgt)) {
+                    visited.set(tgt);
+                    queue[tail++] = tgt;
+                }
+            }
+        }
+
+        return Arrays.copyOf(queue, tail);
+    }
+
+    /**
+     * Computes the nodes reachable from the given source nodes in depth-first pre-order. The source nodes are explored
+     * in the given order and the outgoing edges of each node in the order of their indices, i.e. the result is the
+     * same as of a recursive depth-first search.
+     *
+     * @param graph
+     *         the graph
+     * @param sources
+     *         the source nodes
+     *
+     * @return the reachable nodes (including the source nodes), in the order of their discovery
+     */
+    public static int[] depthFirstOrder(CSRGraph graph, int... sources) {
+        final int[] offsets = graph.offsets();
+        final int[] targets = graph.targets();
+        final int numNodes = graph.size();
+        final BitSet visited = new BitSet(numNodes);
+        final int[] order = new int[numNodes];
+        final int[] callStack = new int[numNodes];
+        final int[] edgeCursor = new int[numNodes];
+
+        int numVisited = 0;
+
+        for (int src : sources) {
+            if (visited.get(src)) {
+                continue;
+            }
+
+            visited.set(src);
+            order[numVisited++] = src;
+            callStack[0] = src;
+            edgeCursor[0] = offsets[src];
+            int depth = 1;
+
+            while (depth > 0) {
+                final int node = callStack[depth - 1];
+                final int edge = edgeCursor[depth - 1];
+
+                if (edge < offsets[node + 1]) {
+                    edgeCursor[depth - 1] = edge + 1;
+                    final int tgt = targets[edge];
+                    if (!visited.get(tgt)) {
+                        visited.set(tgt);
+                        order[numVisited++] = tgt;
+                        callStack[depth] = tgt;
+                        edgeCursor[depth] = offsets[tgt];
+                        depth++;
+                    }
+                } else {
+                    depth--;
+                }
+            }
+        }
+
+        return Arrays.copyOf(order, numVisited);
+    }
+
+    /**
+     * Computes the number of edges on the shortest paths from the given source node to all nodes of the graph
+     * (ignoring any edge weights), using a breadth-first search.
+     *
+     * @param graph
+     *         the graph
+     * @param source
+     *         the source node
+     *
+     * @return the array containing the distance of each node, or {@code -1} for nodes not reachable from the source
+     * node
+     *
+     * @see #findDistances(CSRGraph, int, int[])
+     */
+    public static int[] findDistances(CSRGraph graph, int source) {
+        return findDistances(graph, source, null);
+    }
+
+    /**
+     * Computes the number of edges on the shortest paths from the given source node to all nodes of the graph
+     * (ignoring any edge weights), using a breadth-first search.
+     * <p>
+     * If the given predecessor array is non-{@code null}, the index of the edge via which each node is reached on its
+     * shortest path is written to it. The source node and nodes not reachable from the source node are assigned
+     * {@code -1}.
+     *
+     * @param graph
+     *         the graph
+     * @param source
+     *         the source node
+     * @param predecessors
+     *         the (optional) array (of length of at least {@link CSRGraph#size()}) to which the reaching edge of each
+     *         node is written
+     *
+     * @return the array containing the distance of each node, or {@code -1} for nodes not reachable from the source
+     * node
+     */
+    public static int[] findDistances(CSRGraph graph, int source, int @Nullable [] predecessors) {
+        final int[] offsets = graph.offsets();
+        final int[] targets = graph.targets();
+        final int[] distances = new int[graph.size()];
+        final int[] queue = new int[graph.size()];
+
+        Arrays.fill(distances, -1);
+        if (predecessors != null) {
+            Arrays.fill(predecessors, 0, graph.size(), -1);
+        }
+
+        distances[source] = 0;
+        queue[0] = source;
+        int tail = 1;
+
+        for (int head = 0; head < tail; head++) {
+            final int node = queue[head];
+            final int dist = distances[node] + 1;
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                final int tgt = targets[e];
+                if (distances[tgt] < 0) {
+                    distances[tgt] = dist;
+                    queue[tail++] = tgt;
+                    if (predecessors != null) {
+                        predecessors[tgt] = e;
+                    }
+                }
+            }
+        }
+
+        return distances;
+    }
+
+    /**
+     * Computes the set of nodes reachable from the given source nodes.
+     *
+     * @param graph
+     *         the graph
+     * @param sources
+     *         the source nodes
+     *
+     * @return the set of reachable nodes (including the source nodes)
+     */
+    public static BitSet findReachable(CSRGraph graph, int... sources) {
+        final int[] offsets = graph.offsets();
+        final int[] targets = graph.targets();
+        final BitSet visited = new BitSet(graph.size());
+        final int[] stack = new int[graph.size()];
+
+        int size = 0;
+
+        for (int src : sources) {
+            if (!visited.get(src)) {
+                visited.set(src);
+                stack[size++] = src;
+            }
+        }
+
+        while (size > 0) {
+            final int node = stack[--size];
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                final int tgt = targets[e];
+                if (!visited.get(tgt)) {
+                    visited.set(tgt);
+                    stack[size++] = tgt;
+                }
+            }
+        }
+
+        return visited;
+    }
+
+    /**
+     * Computes the shortest paths between a single source node and all other nodes of the given graph, using Dijkstra's
+     * algorithm.
+     *
+     * @param graph
+     *         the graph
+     * @param source
+     *         the source node
+     *
+     * @return the array containing the length of the shortest path to each node, or {@link Graphs#INVALID_DISTANCE}
+     * for nodes not reachable from the source node
+     *
+     * @see #findSSSP(CSRGraph, int, int[])
+     */
+    public static float[] findSSSP(CSRGraph graph, int source) {
+        return findSSSP(graph, source, null);
+    }
+
+    /**
+     * Computes the shortest paths between a single source node and all other nodes of the given graph, using Dijkstra's
+     * algorithm. Note that the result is only correct if the graph contains no edges with negative weights. For
+     * unweighted graphs, each edge has a weight of {@code 1}.
+     * <p>
+     * If the given predecessor array is non-{@code null}, the index of the edge via which each node is reached on its
+     * shortest path is written to it. The source node and nodes not reachable from the source node are assigned
+     * {@code -1}.
+     *
+     * @param graph
+     *         the graph
+     * @param source
+     *         the source node
+     * @param predecessors
+     *         the (optional) array (of length of at least {@link CSRGraph#size()}) to which the reaching edge of each
+     *         node is written
+     *
+     * @return the array containing the length of the shortest path to each node, or {@link Graphs#INVALID_DISTANCE}
+     * for nodes not reachable from the source node
+     */
+    public static float[] findSSSP(CSRGraph graph, int source, int @Nullable [] predecessors) {
+        return dijkstra(graph, source, -1, predecessors);
+    }
+
+    /**
+     * Computes the length of the shortest path between the given source and target node, using Dijkstra's algorithm.
+     * The search terminates as soon as the target node is settled. Note that the result is only correct if the graph
+     * contains no edges with negative weights. For unweighted graphs, each edge has a weight of {@code 1}.
+     * <p>
+     * If the given predecessor array is non-{@code null}, the index of the edge via which each node is reached on its
+     * (currently) shortest path is written to it. Following these edges from the target node back to the source node
+     * yields a shortest path.
+     *
+     * @param graph
+     *         the graph
+     * @param source
+     *         the source node
+     * @param target
+     *         the target node
+     * @param predecessors
+     *         the (optional) array (of length of at least {@link CSRGraph#size()}) to which the reaching edge of each
+     *         node is written
+     *
+     * @return the length of the shortest path between the source and the target node, or
+     * {@link Graphs#INVALID_DISTANCE} if the target node is not reachable from the source node
+     */
+    public static float findShortestPath(CSRGraph graph, int source, int target, int @Nullable [] predecessors) {
+        return dijkstra(graph, source, target, predecessors)[target];
+    }
+
+    private static float[] dijkstra(CSRGraph graph, int source, int target, int @Nullable [] predecessors) {
+        final int[] offsets = graph.offsets();
+        final int[] targets = graph.targets();
+        final float[] weights = graph.weights();
+        final int numNodes = graph.size();
+
+        final float[] distances = new float[numNodes];
+        final IndexedDAryHeap heap = new IndexedDAryHeap(numNodes);
+
+        Arrays.fill(distances, Graphs.INVALID_DISTANCE);
+        if (predecessors != null) {
+            Arrays.fill(predecessors, 0, numNodes, -1);
+        }
+
+        distances[source] = 0;
+        heap.insert(source, 0);
+
+        while (!heap.isEmpty()) {
+            final int node = heap.extractMin();
+
+            if (node == target) {
+                break;
+            }
+
+            final float dist = distances[node];
+
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                final int tgt = targets[e];
+                final float newDist = dist + (weights == null ? 1 : weights[e]);
+
+                // undiscovered nodes have a distance of -infinity, settled nodes are no longer contained in the heap
+                if (distances[tgt] == Graphs.INVALID_DISTANCE) {
+                    heap.insert(tgt, newDist);
+                } else if (heap.contains(tgt) && newDist < distances[tgt]) {
+                    heap.decreaseKey(tgt, newDist);
+                } else {
+                    continue;
+                }
+
+                distances[tgt] = newDist;
+                if (predecessors != null) {
+                    predecessors[tgt] = e;
+                }
+            }
+        }
+
+        return distances;
+    }
+}
@@ -0,0 +1,227 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.csr;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Strategies for renumbering the nodes of a {@link CSRGraph} (or the states of an automaton) such that nodes that are
+ * accessed together are stored close to each other, which improves the cache locality of subsequent traversals.
+ * <p>
+ * Each strategy computes a total order of <i>all</i> nodes of a graph, where {@code order[newId] = oldId}. See {@link
+ * #toPermutation(int[])} for obtaining the inverse mapping.
+ */
+public enum NodeOrdering {
+
+    /**
+     * Orders the nodes by a breadth-first search from the given root nodes. Nodes that are not reachable from the
+     * roots are ordered by subsequent searches, each starting from the unvisited node with the lowest ID.
+     */
+    BREADTH_FIRST {
+        @Override
+        public int[] computeOrder(CSRGraph graph, int... roots) {
+            return bfsOrder(graph, null, roots);
+        }
+    },
+
+    /**
+     * Orders the nodes according to the reverse Cuthill-McKee algorithm on the underlying undirected graph, which
+     * reduces the bandwidth of the adjacency matrix. The search starts at the given root nodes (or a node of minimal
+     * degree, if no roots are given), visits the neighbors of each node in increasing order of their degrees, and
+     * finally reverses the computed order.
+     */
+    REVERSE_CUTHILL_MCKEE {
+        @Override
+        public int[] computeOrder(CSRGraph graph, int... roots) {
+            final CSRGraph transposed = graph.transpose();
+            final int[] degrees = new int[graph.size()];
+
+            for (int n = 0; n < degrees.length; n++) {
+                degrees[n] = graph.getOutDegree(n) + transposed.getOutDegree(n);
+            }
+
+            final int[] order = bfsOrder(graph, new Undirected(transposed, degrees), roots);
+
+            for (int i = 0, j = order.length - 1; i < j; i++, j--) {
+                final int tmp = order[i];
+                order[i] = order[j];
+                order[j] = tmp;
+            }
+
+            return order;
+        }
+    },
+
+    /**
+     * Orders the nodes by decreasing in-degree (ties are broken by the original IDs), so that frequently targeted
+     * nodes are stored next to each other. The given root nodes are ignored.
+     */
+    DEGREE {
+        @Override
+        public int[] computeOrder(CSRGraph graph, int... roots) {
+            final CSRGraph transposed = graph.transpose();
+            final int numNodes = graph.size();
+            final long[] keys = new long[numNodes];
+
+            for (int n = 0; n < numNodes; n++) {
+                keys[n] = ((long) -transposed.getOutDegree(n) << Integer.SIZE) | n;
+            }
+
+            return sortedNodes(keys);
+        }
+    };
+
+    /**
+     * Computes the order of all nodes of the given graph.
+     *
+     * @param graph
+     *         the graph
+     * @param roots
+     *         the root nodes (e.g., initial states) from which the order should start, if applicable
+     *
+     * @return the nodes of the graph in their new order, i.e., {@code order[newId] = oldId}
+     */
+    public abstract int[] computeOrder(CSRGraph graph, int... roots);
+
+    /**
+     * Inverts the given order, i.e., computes the permutation that maps each (old) node ID to its new ID.
+     *
+     * @param order
+     *         the order, as computed by {@link #computeOrder(CSRGraph, int...)}
+     *
+     * @return the permutation, i.e., {@code permutation[oldId] = newId}
+     */
+    public static int[] toPermutation(int[] order) {
+        final int[] permutation = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            permutation[order[i]] = i;
+        }
+        return permutation;
+    }
+
+    /**
+     * A breadth-first search that covers all nodes of the graph. If {@code undirected} is non-null, the search also
+     * follows edges in reverse direction and visits the newly discovered neighbors of a node by increasing degree.
+     */
+    private static int[] bfsOrder(CSRGraph graph, @Nullable Undirected undirected, int... roots) {
+        final int numNodes = graph.size();
+        final BitSet visited = new BitSet(numNodes);
+        final int[] queue = new int[numNodes];
+
+        int head = 0;
+        int tail = 0;
+
+        for (int root : roots) {
+            if (!visited.get(root)) {
+                visited.set(root);
+                queue[tail++] = root;
+            }
+        }
+
+        int nextRoot = 0;
+
+        while (tail < numNodes) {
+            if (head == tail) {
+                final int root = undirected == null ? visited.nextClearBit(nextRoot) : undirected.minDegree(visited);
+                nextRoot = root + 1;
+                visited.set(root);
+                queue[tail++] = root;
+            }
+
+            while (head < tail) {
+                final int node = queue[head++];
+                final int begin = tail;
+
+                tail = enqueueSuccessors(graph, node, visited, queue, tail);
+
+                if (undirected != null) {
+                    tail = enqueueSuccessors(undirected.transposed, node, visited, queue, tail);
+                    undirected.sortByDegree(queue, begin, tail);
+                }
+            }
+        }
+
+        return queue;
+    }
+
+    private static int enqueueSuccessors(CSRGraph graph, int node, BitSet visited, int[] queue, int tail) {
+        int result = tail;
+
+        for (int e = graph.getEdgesBegin(node); e < graph.getEdgesEnd(node); e++) {
+            final int tgt = graph.getTarget(e);
+            if (!visited.get(tgt)) {
+                visited.set(tgt);
+                queue[result++] = tgt;
+            }
+        }
+
+        return result;
+    }
+
+    private static int[] sortedNodes(long[] keys) {
+        Arrays.sort(keys);
+
+        final int[] result = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            result[i] = (int) keys[i];
+        }
+
+        return result;
+    }
+
+    private static final class Undirected {
+
+        private final CSRGraph transposed;
+        private final int[] degrees;
+        private final int[] byDegree;
+        private int cursor;
+
+        Undirected(CSRGraph transposed, int[] degrees) {
+            this.transposed = transposed;
+            this.degrees = degrees;
+            this.byDegree = new int[degrees.length];
+
+            for (int n = 0; n < degrees.length; n++) {
+                byDegree[n] = n;
+            }
+            sortByDegree(byDegree, 0, degrees.length);
+        }
+
+        int minDegree(BitSet visited) {
+            while (visited.get(byDegree[cursor])) {
+                cursor++;
+            }
+            return byDegree[cursor];
+        }
+
+        void sortByDegree(int[] nodes, int from, int to) {
+            if (to - from < 2) {
+                return;
+            }
+
+            final long[] keys = new long[to - from];
+            for (int i = from; i < to; i++) {
+                keys[i - from] = ((long) degrees[nodes[i]] << Integer.SIZE) | nodes[i];
+            }
+
+            final int[] sorted = sortedNodes(keys);
+            System.arraycopy(sorted, 0, nodes, from, sorted.length);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.csr;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A parallel implementation of the forward-backward algorithm for computing strongly-connected components (SCCs).
+ * <p>
+ * First, trivial SCCs (nodes without incoming or outgoing edges, recursively) are trimmed. The remaining nodes are
+ * then partitioned by colors: For each color class, the nodes forward-reachable and backward-reachable from a pivot
+ * node are computed, whose intersection forms the SCC of the pivot. The three remaining partitions (forward-only,
+ * backward-only, neither) cannot share any SCCs and are processed independently (and in parallel) with fresh colors.
+ * Partitions below a certain size are processed sequentially with Tarjan's algorithm.
+ * <p>
+ * Since each node belongs to exactly one partition at any time, the shared (per-node) arrays are only ever accessed by
+ * a single task at once.
+ */
+final class ParallelSCCFinder {
+
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 12;
+    private static final int DONE = -1;
+
+    private final CSRGraph graph;
+    private final CSRGraph transposed;
+    private final int[] components;
+    private final int[] colors;
+    private final int[] index;
+    private final int[] lowlink;
+    private final AtomicInteger numSCCs;
+    private final AtomicInteger numColors;
+
+    ParallelSCCFinder(CSRGraph graph, int[] components) {
+        final int numNodes = graph.size();
+
+        this.graph = graph;
+        this.transposed = graph.transpose();
+        this.components = components;
+        this.colors = new int[numNodes];
+        this.index = new int[numNodes];
+        this.lowlink = new int[numNodes];
+        this.numSCCs = new AtomicInteger();
+        this.numColors = new AtomicInteger(1);
+    }
+
+    int findSCCs() {
+        Arrays.fill(components, 0, graph.size(), -1);
+
+        final int[] remaining = trim();
+        new FBTask(remaining, 0).invoke();
+
+        return numSCCs.get();
+    }
+
+    /**
+     * Recursively removes all nodes without (remaining) incoming or outgoing edges, each of which forms a trivial SCC.
+     *
+     * @return the remaining nodes
+     */
+    private int[] trim() {
+        final int numNodes = graph.size();
+        final int[] inDegrees = new int[numNodes];
+        final int[] outDegrees = new int[numNodes];
+        final int[] queue = new int[numNodes];
+        int tail = 0;
+
+        for (int n = 0; n < numNodes; n++) {
+            inDegrees[n] = transposed.getOutDegree(n);
+            outDegrees[n] = graph.getOutDegree(n);
+            if (inDegrees[n] == 0 || outDegrees[n] == 0) {
+                tail = remove(n, queue, tail);
+            }
+        }
+
+        for (int head = 0; head < tail; head++) {
+            final int node = queue[head];
+
+            for (int e = graph.getEdgesBegin(node); e < graph.getEdgesEnd(node); e++) {
+                final int tgt = graph.getTarget(e);
+                if (colors[tgt] != DONE && --inDegrees[tgt] == 0) {
+                    tail = remove(tgt, queue, tail);
+                }
+            }
+
+            for (int e = transposed.getEdgesBegin(node); e < transposed.getEdgesEnd(node); e++) {
+                final int src = transposed.getTarget(e);
+                if (colors[src] != DONE && --outDegrees[src] == 0) {
+                    tail = remove(src, queue, tail);
+                }
+            }
+        }
+
+        final int[] remaining = new int[numNodes - tail];
+        int i = 0;
+        for (int n = 0; n < numNodes; n++) {
+            if (colors[n] != DONE) {
+                remaining[i++] = n;
+            }
+        }
+
+        return remaining;
+    }
+
+    private int remove(int node, int[] queue, int tail) {
+        colors[node] = DONE;
+        components[node] = numSCCs.getAndIncrement();
+        queue[tail] = node;
+        return tail + 1;
+    }
+
+    private final class FBTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] nodes;
+        private final int color;
+
+        FBTask(int[] nodes, int color) {
+            this.nodes = nodes;
+            this.color = color;
+        }
+
+        @Override
+        protected void compute() {
+            final List<FBTask> forked = new ArrayList<>();
+
+            int[] currentNodes = this.nodes;
+            int currentColor = this.color;
+
+            // process the partition of nodes neither forward- nor backward-reachable iteratively
+            while (currentNodes.length > 0) {
+                if (currentNodes.length <= SEQUENTIAL_THRESHOLD) {
+                    sequential(currentNodes, currentColor);
+                    break;
+                }
+
+                final int pivot = currentNodes[0];
+                final int fwColor = numColors.getAndIncrement();
+                final int bwColor = numColors.getAndIncrement();
+                final int[] stack = new int[currentNodes.length];
+
+                // forward search
+                colors[pivot] = fwColor;
+                stack[0] = pivot;
+                int size = 1;
+
+                while (size > 0) {
+                    final int node = stack[--size];
+                    for (int e = graph.getEdgesBegin(node); e < graph.getEdgesEnd(node); e++) {
+                        final int tgt = graph.getTarget(e);
+                        if (colors[tgt] == currentColor) {
+                            colors[tgt] = fwColor;
+                            stack[size++] = tgt;
+                        }
+                    }
+                }
+
+                // backward search, nodes that are both forward- and backward-reachable form the SCC of the pivot
+                final int scc = numSCCs.getAndIncrement();
+                colors[pivot] = DONE;
+                components[pivot] = scc;
+                stack[0] = pivot;
+                size = 1;
+
+                while (size > 0) {
+                    final int node = stack[--size];
+                    for (int e = transposed.getEdgesBegin(node); e < transposed.getEdgesEnd(node); e++) {
+                        final int src = transposed.getTarget(e);
+                        final int srcColor = colors[src];
+                        if (srcColor == fwColor) {
+                            colors[src] = DONE;
+                            components[src] = scc;
+                            stack[size++] = src;
+                        } else if (srcColor == currentColor) {
+                            colors[src] = bwColor;
+                            stack[size++] = src;
+                        }
+                    }
+                }
+
+                // partition the remaining nodes
+                int numFw = 0, numBw = 0, numRest = 0;
+                for (int n : currentNodes) {
+                    final int c = colors[n];
+                    if (c == fwColor) {
+                        numFw++;
+                    } else if (c == bwColor) {
+                        numBw++;
+                    } else if (c == currentColor) {
+                        numRest++;
+                    }
+                }
+
+                final int[] fwNodes = new int[numFw];
+                final int[] bwNodes = new int[numBw];
+                final int[] restNodes = new int[numRest];
+                numFw = 0;
+                numBw = 0;
+                numRest = 0;
+
+                for (int n : currentNodes) {
+                    final int c = colors[n];
+                    if (c == fwColor) {
+                        fwNodes[numFw++] = n;
+                    } else if (c == bwColor) {
+                        bwNodes[numBw++] = n;
+                    } else if (c == currentColor) {
+                        restNodes[numRest++] = n;
+                    }
+                }
+
+                fork(forked, fwNodes, fwColor);
+                fork(forked, bwNodes, bwColor);
+
+                // the remaining nodes keep their color
+                currentNodes = restNodes;
+            }
+
+            for (FBTask task : forked) {
+                task.join();
+            }
+        }
+
+        private void fork(List<FBTask> forked, int[] nodes, int color) {
+            if (nodes.length > 0) {
+                final FBTask task = new FBTask(nodes, color);
+                task.fork();
+                forked.add(task);
+            }
+        }
+
+        private void sequential(int[] nodes, int color) {
+            final int numLocalSCCs = CSRGraphs.tarjan(graph, nodes, colors, color, index, lowlink, components);
+            final int offset = numSCCs.getAndAdd(numLocalSCCs);
+
+            for (int n : nodes) {
+                components[n] += offset;
+            }
+        }
+    }
+
+}
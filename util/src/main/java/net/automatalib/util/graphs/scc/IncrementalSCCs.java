@@ -0,0 +1,509 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.scc;
+
+import java.util.Arrays;
+
+import net.automatalib.graphs.Graph;
+import net.automatalib.graphs.concepts.NodeIDs;
+
+/**
+ * A data structure for maintaining the strongly-connected components (SCCs) of a graph that only grows, i.e., to which
+ * nodes and edges are added but never removed. This is, e.g., the case for hypotheses during active learning, where
+ * SCC-based analyses (liveness, lasso checks) are otherwise recomputed from scratch after each refinement.
+ * <p>
+ * Nodes are identified by integers in the order of their insertion. Besides a union-find structure for the node
+ * partition, the data structure maintains a topological order of the condensation DAG, following the dynamic
+ * topological sort of Pearce and Kelly: An inserted edge that respects the current order is simply recorded.
+ * Otherwise, only the components whose positions lie between the two endpoints are searched and reordered. If the
+ * edge closes a cycle, the components on the cycle are merged, joining the smaller edge lists into the larger ones.
+ * <p>
+ * Component IDs returned by this class are representative node IDs. They remain valid until the next invocation of
+ * {@link #addEdge(int, int)} that merges components.
+ */
+public class IncrementalSCCs {
+
+    private static final int[] EMPTY = {};
+
+    // per node
+    private int[] parent;
+
+    // per component (i.e., only valid for representatives)
+    private int[] compSize;
+    private int[] ord;
+    private boolean[] selfLoop;
+    private int[][] out;
+    private int[] outSize;
+    private int[][] in;
+    private int[] inSize;
+
+    // search state
+    private int[] fwMark;
+    private int[] bwMark;
+    private int[] stack;
+    private int stamp;
+
+    private int numNodes;
+    private int numComponents;
+    private int nextOrd;
+
+    public IncrementalSCCs() {
+        this(16);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param initialCapacity
+     *         the number of nodes for which space is allocated initially
+     */
+    public IncrementalSCCs(int initialCapacity) {
+        final int capacity = Math.max(initialCapacity, 1);
+
+        this.parent = new int[capacity];
+        this.compSize = new int[capacity];
+        this.ord = new int[capacity];
+        this.selfLoop = new boolean[capacity];
+        this.out = new int[capacity][];
+        this.outSize = new int[capacity];
+        this.in = new int[capacity][];
+        this.inSize = new int[capacity];
+        this.fwMark = new int[capacity];
+        this.bwMark = new int[capacity];
+        this.stack = new int[capacity];
+    }
+
+    /**
+     * Creates a new {@link IncrementalSCCs} instance which is initialized with the nodes and edges of the given graph.
+     * The IDs of the nodes correspond to the {@link Graph#nodeIDs() node IDs} of the graph.
+     *
+     * @param graph
+     *         the graph
+     *
+     * @return the initialized {@link IncrementalSCCs} instance
+     */
+    public static <N, E> IncrementalSCCs fromGraph(Graph<N, E> graph) {
+        final int size = graph.size();
+        final NodeIDs<N> nodeIDs = graph.nodeIDs();
+        final IncrementalSCCs result = new IncrementalSCCs(size);
+
+        for (int i = 0; i < size; i++) {
+            result.addNode();
+        }
+
+        for (int i = 0; i < size; i++) {
+            for (E edge : graph.getOutgoingEdges(nodeIDs.getNode(i))) {
+                result.addEdge(i, nodeIDs.getNodeId(graph.getTarget(edge)));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Adds a new node, which forms a (trivial) component of its own.
+     *
+     * @return the ID of the new node
+     */
+    public int addNode() {
+        if (numNodes == parent.length) {
+            grow();
+        }
+
+        final int node = numNodes++;
+        parent[node] = node;
+        compSize[node] = 1;
+        ord[node] = nextOrd++;
+        out[node] = EMPTY;
+        in[node] = EMPTY;
+        numComponents++;
+
+        return node;
+    }
+
+    /**
+     * Adds an edge between the two given nodes.
+     *
+     * @param src
+     *         the ID of the source node
+     * @param tgt
+     *         the ID of the target node
+     *
+     * @return {@code true} if the edge closed a cycle and components have been merged, {@code false} otherwise
+     */
+    public boolean addEdge(int src, int tgt) {
+        checkNode(src);
+        checkNode(tgt);
+
+        final int srcComp = find(src);
+        final int tgtComp = find(tgt);
+
+        if (srcComp == tgtComp) {
+            selfLoop[srcComp] = true;
+            return false;
+        }
+
+        append(true, srcComp, tgt);
+        append(false, tgtComp, src);
+
+        if (ord[srcComp] < ord[tgtComp]) {
+            return false;
+        }
+
+        return restoreOrder(srcComp, tgtComp);
+    }
+
+    /**
+     * Returns the number of nodes.
+     *
+     * @return the number of nodes
+     */
+    public int size() {
+        return numNodes;
+    }
+
+    /**
+     * Returns the number of strongly-connected components.
+     *
+     * @return the number of strongly-connected components
+     */
+    public int getNumComponents() {
+        return numComponents;
+    }
+
+    /**
+     * Returns the ID of the component of the given node, which is the ID of its representative node.
+     *
+     * @param node
+     *         the ID of the node
+     *
+     * @return the ID of the component of the given node
+     */
+    public int getComponent(int node) {
+        checkNode(node);
+        return find(node);
+    }
+
+    /**
+     * Checks whether the two given nodes are strongly connected.
+     *
+     * @param n1
+     *         the ID of the first node
+     * @param n2
+     *         the ID of the second node
+     *
+     * @return {@code true} if both nodes belong to the same component, {@code false} otherwise
+     */
+    public boolean isStronglyConnected(int n1, int n2) {
+        return getComponent(n1) == getComponent(n2);
+    }
+
+    /**
+     * Returns the number of nodes in the given component.
+     *
+     * @param component
+     *         the ID of the component
+     *
+     * @return the number of nodes in the given component
+     */
+    public int getComponentSize(int component) {
+        return compSize[checkComponent(component)];
+    }
+
+    /**
+     * Checks whether the given node lies on a cycle, i.e., whether its component contains more than one node or a
+     * self-loop. This allows to check for (accepting) lassos without any search.
+     *
+     * @param node
+     *         the ID of the node
+     *
+     * @return {@code true} if the node lies on a cycle, {@code false} otherwise
+     */
+    public boolean isCyclic(int node) {
+        final int comp = getComponent(node);
+        return compSize[comp] > 1 || selfLoop[comp];
+    }
+
+    /**
+     * Returns the successors of the given component in the condensation DAG, i.e., all other components that are
+     * targets of edges from the given component.
+     *
+     * @param component
+     *         the ID of the component
+     *
+     * @return the IDs of the successor components
+     */
+    public int[] getSuccessorComponents(int component) {
+        final int comp = checkComponent(component);
+        final int[] edges = out[comp];
+        final int mark = ++stamp;
+        int size = 0;
+
+        // compact the edge list on the fly by replacing targets with their representatives and removing duplicates
+        for (int i = 0; i < outSize[comp]; i++) {
+            final int succ = find(edges[i]);
+            if (succ != comp && fwMark[succ] != mark) {
+                fwMark[succ] = mark;
+                edges[size++] = succ;
+            }
+        }
+
+        outSize[comp] = size;
+        return Arrays.copyOf(edges, size);
+    }
+
+    /**
+     * Returns the components in a topological order of the condensation DAG, i.e., for every edge between two
+     * different components, the source component precedes the target component.
+     *
+     * @return the IDs of the components in topological order
+     */
+    public int[] getComponentsInTopologicalOrder() {
+        final long[] keys = new long[numComponents];
+        int size = 0;
+
+        for (int n = 0; n < numNodes; n++) {
+            if (parent[n] == n) {
+                keys[size++] = ((long) ord[n] << Integer.SIZE) | n;
+            }
+        }
+
+        Arrays.sort(keys);
+
+        final int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = (int) keys[i];
+        }
+
+        return result;
+    }
+
+    /**
+     * Restores the topological order after inserting an edge from {@code srcComp} to {@code tgtComp} with {@code
+     * ord[tgtComp] < ord[srcComp]}.
+     */
+    private boolean restoreOrder(int srcComp, int tgtComp) {
+        final int lb = ord[tgtComp];
+        final int ub = ord[srcComp];
+        final int mark = ++stamp;
+
+        // forward search from the target, restricted to components not after the source
+        final int[] forward = search(tgtComp, true, ub, mark);
+        final boolean cycle = fwMark[srcComp] == mark;
+
+        // backward search from the source, restricted to components not before the target
+        final int[] backward = search(srcComp, false, lb, mark);
+
+        // the (distinct) slots of all affected components, which are redistributed among them
+        final int[] slots = new int[forward.length + backward.length];
+        int numSlots = 0;
+        for (int c : forward) {
+            slots[numSlots++] = ord[c];
+        }
+        for (int c : backward) {
+            if (fwMark[c] != mark) {
+                slots[numSlots++] = ord[c];
+            }
+        }
+        Arrays.sort(slots, 0, numSlots);
+
+        sortByOrd(forward);
+        sortByOrd(backward);
+
+        if (!cycle) {
+            // both regions are disjoint, and all components of the backward region have to precede the forward region
+            int slot = 0;
+            for (int c : backward) {
+                ord[c] = slots[slot++];
+            }
+            for (int c : forward) {
+                ord[c] = slots[slot++];
+            }
+            return false;
+        }
+
+        // the components reachable from the target and reaching the source form the new component
+        int rep = srcComp;
+        int numForwardOnly = 0;
+        for (int c : forward) {
+            if (bwMark[c] != mark) {
+                numForwardOnly++;
+            } else if (compSize[c] > compSize[rep]) {
+                rep = c;
+            }
+        }
+
+        // components of the backward region move to the lowest slots, components of the forward region to the highest
+        // slots, which preserves their order w.r.t. all unaffected components
+        int slot = 0;
+        for (int c : backward) {
+            if (fwMark[c] != mark) {
+                ord[c] = slots[slot++];
+            }
+        }
+
+        ord[rep] = slots[slot];
+        slot = numSlots - numForwardOnly;
+
+        for (int c : forward) {
+            if (bwMark[c] != mark) {
+                ord[c] = slots[slot++];
+            } else if (c != rep) {
+                merge(rep, c);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Collects all components reachable from (or reaching) the given component whose order lies within the given
+     * bound.
+     */
+    private int[] search(int start, boolean forward, int bound, int mark) {
+        final int[] marks = forward ? fwMark : bwMark;
+        final int[][] edges = forward ? out : in;
+        final int[] sizes = forward ? outSize : inSize;
+
+        int[] visited = new int[8];
+        int numVisited = 0;
+        int top = 0;
+
+        marks[start] = mark;
+        stack[top++] = start;
+
+        while (top > 0) {
+            final int comp = stack[--top];
+
+            if (numVisited == visited.length) {
+                visited = Arrays.copyOf(visited, numVisited * 2);
+            }
+            visited[numVisited++] = comp;
+
+            final int[] compEdges = edges[comp];
+            for (int i = 0; i < sizes[comp]; i++) {
+                final int next = find(compEdges[i]);
+                if (marks[next] != mark && (forward ? ord[next] <= bound : ord[next] >= bound)) {
+                    marks[next] = mark;
+                    stack[top++] = next;
+                }
+            }
+        }
+
+        return Arrays.copyOf(visited, numVisited);
+    }
+
+    private void sortByOrd(int[] comps) {
+        final long[] keys = new long[comps.length];
+        for (int i = 0; i < comps.length; i++) {
+            keys[i] = ((long) ord[comps[i]] << Integer.SIZE) | comps[i];
+        }
+
+        Arrays.sort(keys);
+
+        for (int i = 0; i < comps.length; i++) {
+            comps[i] = (int) keys[i];
+        }
+    }
+
+    private void merge(int rep, int comp) {
+        parent[comp] = rep;
+        compSize[rep] += compSize[comp];
+        selfLoop[rep] = true;
+        numComponents--;
+
+        mergeEdges(out, outSize, rep, comp);
+        mergeEdges(in, inSize, rep, comp);
+    }
+
+    private static void mergeEdges(int[][] edges, int[] sizes, int rep, int comp) {
+        final int repSize = sizes[rep];
+        final int compSize = sizes[comp];
+
+        // keep the larger array to join the smaller one into it
+        if (repSize < compSize) {
+            final int[] tmp = edges[rep];
+            edges[rep] = edges[comp];
+            edges[comp] = tmp;
+        }
+
+        final int[] small = edges[comp];
+        final int smallSize = Math.min(repSize, compSize);
+        final int total = repSize + compSize;
+
+        if (edges[rep].length < total) {
+            edges[rep] = Arrays.copyOf(edges[rep], Math.max(total, edges[rep].length * 2));
+        }
+
+        System.arraycopy(small, 0, edges[rep], total - smallSize, smallSize);
+        sizes[rep] = total;
+        edges[comp] = EMPTY;
+        sizes[comp] = 0;
+    }
+
+    private void append(boolean outgoing, int comp, int node) {
+        final int[][] edges = outgoing ? out : in;
+        final int[] sizes = outgoing ? outSize : inSize;
+        final int size = sizes[comp];
+
+        if (size == edges[comp].length) {
+            edges[comp] = Arrays.copyOf(edges[comp], Math.max(4, size * 2));
+        }
+
+        edges[comp][size] = node;
+        sizes[comp] = size + 1;
+    }
+
+    private int find(int node) {
+        int x = node;
+        while (parent[x] != x) {
+            // path halving
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    private void checkNode(int node) {
+        if (node < 0 || node >= numNodes) {
+            throw new IndexOutOfBoundsException("Invalid node: " + node);
+        }
+    }
+
+    private int checkComponent(int component) {
+        checkNode(component);
+        if (parent[component] != component) {
+            throw new IllegalArgumentException("Not a (current) component ID: " + component);
+        }
+        return component;
+    }
+
+    private void grow() {
+        final int capacity = parent.length * 2;
+
+        parent = Arrays.copyOf(parent, capacity);
+        compSize = Arrays.copyOf(compSize, capacity);
+        ord = Arrays.copyOf(ord, capacity);
+        selfLoop = Arrays.copyOf(selfLoop, capacity);
+        out = Arrays.copyOf(out, capacity);
+        outSize = Arrays.copyOf(outSize, capacity);
+        in = Arrays.copyOf(in, capacity);
+        inSize = Arrays.copyOf(inSize, capacity);
+        fwMark = Arrays.copyOf(fwMark, capacity);
+        bwMark = Arrays.copyOf(bwMark, capacity);
+        stack = Arrays.copyOf(stack, capacity);
+    }
+}
@@ -15,9 +15,13 @@
  */
 package net.automatalib.util.graphs.scc;
 
+import java.util.AbstractList;
 import java.util.List;
 
 import net.automatalib.graphs.Graph;
+import net.automatalib.graphs.concepts.NodeIDs;
+import net.automatalib.util.graphs.csr.CSRGraph;
+import net.automatalib.util.graphs.csr.CSRGraphs;
 import net.automatalib.util.graphs.traversal.GraphTraversal;
 
 /**
@@ -32,14 +36,14 @@ public final class SCCs {
     /**
      * Collects all strongly-connected components in a graph. The SCCs are returned as a list of lists.
      * <p>
-     * Tarjan's algorithm is used for realizing the SCC search.
+     * An iterative, array-based version of Tarjan's algorithm is used for realizing the SCC search.
      *
      * @param graph
      *         the graph
      *
      * @return a list of all SCCs, each represented as a list of its nodes
      *
-     * @see TarjanSCCVisitor
+     * @see #findSCCs(Graph, SCCListener)
      */
     public static <N, E> List<List<N>> collectSCCs(Graph<N, E> graph) {
         SCCCollector<N> coll = new SCCCollector<>();
@@ -51,16 +55,79 @@ public final class SCCs {
      * Find all strongly-connected components in a graph. When a new SCC is found, the {@link
      * SCCListener#foundSCC(java.util.Collection)} method is invoked. The listener object may hence not be null.
      * <p>
-     * Tarjan's algorithm is used for realizing the SCC search.
+     * An iterative, array-based version of Tarjan's algorithm is used for realizing the SCC search. The graph is
+     * converted to a {@link CSRGraph} (based on its {@link Graph#nodeIDs() node ids}) first, so that the search itself
+     * does not allocate any per-node or per-edge objects. The SCCs are reported in reverse topological order, i.e. an
+     * SCC is reported after all SCCs reachable from it.
      *
      * @param graph
      *         the graph
      * @param listener
      *         the SCC listener
      *
-     * @see TarjanSCCVisitor
+     * @see CSRGraphs#findSCCs(CSRGraph, int[])
      */
     public static <N, E> void findSCCs(Graph<N, E> graph, SCCListener<N> listener) {
+        final NodeIDs<N> nodeIDs = graph.nodeIDs();
+        final CSRGraph csr = CSRGraph.fromGraph(graph, nodeIDs);
+        final int[] components = new int[csr.size()];
+        final int numSCCs = CSRGraphs.findSCCs(csr, components);
+        reportSCCs(nodeIDs, components, numSCCs, listener);
+    }
+
+    /**
+     * Collects all strongly-connected components in a graph, using a parallel algorithm. The SCCs are returned as a
+     * list of lists.
+     *
+     * @param graph
+     *         the graph
+     *
+     * @return a list of all SCCs, each represented as a list of its nodes
+     *
+     * @see #findSCCsParallel(Graph, SCCListener)
+     */
+    public static <N, E> List<List<N>> collectSCCsParallel(Graph<N, E> graph) {
+        SCCCollector<N> coll = new SCCCollector<>();
+        findSCCsParallel(graph, coll);
+        return coll.getSCCList();
+    }
+
+    /**
+     * Find all strongly-connected components in a graph, using a parallel algorithm. When a new SCC is found, the
+     * {@link SCCListener#foundSCC(java.util.Collection)} method is invoked (from the calling thread). The listener
+     * object may hence not be null.
+     * <p>
+     * The parallel forward-backward algorithm with trimming is used for realizing the SCC search. Contrary to {@link
+     * #findSCCs(Graph, SCCListener)}, the SCCs are not reported in any particular order.
+     *
+     * @param graph
+     *         the graph
+     * @param listener
+     *         the SCC listener
+     *
+     * @see CSRGraphs#findSCCsParallel(CSRGraph, int[])
+     */
+    public static <N, E> void findSCCsParallel(Graph<N, E> graph, SCCListener<N> listener) {
+        final NodeIDs<N> nodeIDs = graph.nodeIDs();
+        final CSRGraph csr = CSRGraph.fromGraph(graph, nodeIDs);
+        final int[] components = new int[csr.size()];
+        final int numSCCs = CSRGraphs.findSCCsParallel(csr, components);
+        reportSCCs(nodeIDs, components, numSCCs, listener);
+    }
+
+    /**
+     * Find all strongly-connected components in a graph, using the classic, recursive {@link TarjanSCCVisitor} on top
+     * of the generic {@link GraphTraversal}. In contrast to {@link #findSCCs(Graph, SCCListener)}, this method does
+     * not require the graph to be converted first and reports the nodes of each SCC in the order of their discovery.
+     *
+     * @param graph
+     *         the graph
+     * @param listener
+     *         the SCC listener
+     *
+     * @see TarjanSCCVisitor
+     */
+    public static <N, E> void findSCCsTraversal(Graph<N, E> graph, SCCListener<N> listener) {
         TarjanSCCVisitor<N, E> vis = new TarjanSCCVisitor<>(graph, listener);
         for (N node : graph) {
             if (!vis.hasVisited(node)) {
@@ -69,4 +136,59 @@ public final class SCCs {
         }
     }
 
+    /**
+     * Groups the nodes by their SCC index (via counting sort) and reports each SCC (in the order of the SCC indices)
+     * to the given listener.
+     */
+    private static <N> void reportSCCs(NodeIDs<N> nodeIDs, int[] components, int numSCCs, SCCListener<N> listener) {
+        final int[] offsets = new int[numSCCs + 1];
+        final int[] members = new int[components.length];
+
+        for (int c : components) {
+            offsets[c + 1]++;
+        }
+        for (int i = 0; i < numSCCs; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        final int[] pos = offsets.clone();
+        for (int n = 0; n < components.length; n++) {
+            members[pos[components[n]]++] = n;
+        }
+
+        for (int i = 0; i < numSCCs; i++) {
+            listener.foundSCC(new NodeList<>(nodeIDs, members, offsets[i], offsets[i + 1]));
+        }
+    }
+
+    /**
+     * A (read-only) list view on a range of node ids.
+     */
+    private static final class NodeList<N> extends AbstractList<N> {
+
+        private final NodeIDs<N> nodeIDs;
+        private final int[] ids;
+        private final int from;
+        private final int to;
+
+        NodeList(NodeIDs<N> nodeIDs, int[] ids, int from, int to) {
+            this.nodeIDs = nodeIDs;
+            this.ids = ids;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public N get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException(Integer.toString(index));
+            }
+            return nodeIDs.getNode(ids[from + index]);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
 }
@@ -0,0 +1,220 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.sssp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import net.automatalib.commons.smartcollections.IndexedDAryHeap;
+import net.automatalib.graphs.Graph;
+import net.automatalib.graphs.concepts.EdgeWeights;
+import net.automatalib.graphs.concepts.NodeIDs;
+import net.automatalib.util.graphs.Graphs;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Implementation of Dijkstras algorithm for the single-source shortest path problem, based on the (dense) {@link
+ * NodeIDs node IDs} of a graph.
+ * <p>
+ * In contrast to {@link DijkstraSSSP}, this implementation stores the search state in primitive arrays indexed by node
+ * IDs and uses an {@link IndexedDAryHeap} as priority queue, which does not require any per-node record objects.
+ * Furthermore, {@link #findShortestPath(Graph, Object, Object, EdgeWeights)} allows to terminate the search as soon as
+ * the shortest path to a single target node has been determined.
+ *
+ * @param <N>
+ *         node class
+ * @param <E>
+ *         edge class
+ */
+public class DenseDijkstraSSSP<N, E> implements SSSPResult<N, E> {
+
+    private static final int NO_NODE = -1;
+
+    private final Graph<N, E> graph;
+    private final N init;
+    private final EdgeWeights<E> edgeWeights;
+    private final NodeIDs<N> nodeIds;
+    private final float[] distances;
+    private final int[] parents;
+    private final @Nullable Object[] reach;
+    private boolean searched;
+
+    /**
+     * Constructor.
+     *
+     * @param graph
+     *         the graph in which to search for shortest paths
+     * @param init
+     *         the initial node
+     * @param edgeWeights
+     *         the edge weights
+     */
+    public DenseDijkstraSSSP(Graph<N, E> graph, N init, EdgeWeights<E> edgeWeights) {
+        final int size = graph.size();
+
+        this.graph = graph;
+        this.init = init;
+        this.edgeWeights = edgeWeights;
+        this.nodeIds = graph.nodeIDs();
+        this.distances = new float[size];
+        this.parents = new int[size];
+        this.reach = new Object[size];
+
+        Arrays.fill(distances, Graphs.INVALID_DISTANCE);
+        Arrays.fill(parents, NO_NODE);
+    }
+
+    /**
+     * Search for the shortest paths from a single source node in a graph.
+     *
+     * @param graph
+     *         the graph in which to perform the search
+     * @param init
+     *         the initial (source) node
+     * @param edgeWeights
+     *         the edge weights
+     *
+     * @return the single-source shortest path results
+     */
+    public static <N, E> SSSPResult<N, E> findSSSP(Graph<N, E> graph, N init, EdgeWeights<E> edgeWeights) {
+        DenseDijkstraSSSP<N, E> dijkstra = new DenseDijkstraSSSP<>(graph, init, edgeWeights);
+        dijkstra.findSSSP();
+        return dijkstra;
+    }
+
+    /**
+     * Search for the shortest path between two nodes in a graph. The search terminates as soon as the shortest path to
+     * the target node has been determined.
+     *
+     * @param graph
+     *         the graph in which to perform the search
+     * @param init
+     *         the initial (source) node
+     * @param target
+     *         the target node
+     * @param edgeWeights
+     *         the edge weights
+     *
+     * @return the list of edges forming the shortest path from the source to the target node, or {@code null} if the
+     * target node is not reachable from the source node
+     */
+    public static <N, E> @Nullable List<E> findShortestPath(Graph<N, E> graph,
+                                                            N init,
+                                                            N target,
+                                                            EdgeWeights<E> edgeWeights) {
+        DenseDijkstraSSSP<N, E> dijkstra = new DenseDijkstraSSSP<>(graph, init, edgeWeights);
+        dijkstra.search(dijkstra.nodeIds.getNodeId(target));
+        return dijkstra.getShortestPath(target);
+    }
+
+    /**
+     * Start the search. This method may only be invoked once.
+     */
+    public void findSSSP() {
+        search(NO_NODE);
+    }
+
+    private void search(int targetId) {
+        if (searched) {
+            throw new IllegalStateException("Search has already been performed!");
+        }
+        searched = true;
+
+        final IndexedDAryHeap pq = new IndexedDAryHeap(distances.length);
+        final int initId = nodeIds.getNodeId(init);
+
+        distances[initId] = 0;
+        pq.insert(initId, 0);
+
+        while (!pq.isEmpty()) {
+            // Remove node with minimum distance
+            final int nodeId = pq.extractMin();
+
+            if (nodeId == targetId) {
+                break;
+            }
+
+            final float dist = distances[nodeId];
+            final N node = nodeIds.getNode(nodeId);
+
+            // edge scanning
+            for (E edge : graph.getOutgoingEdges(node)) {
+                final float newDist = dist + edgeWeights.getEdgeWeight(edge);
+                final int tgtId = nodeIds.getNodeId(graph.getTarget(edge));
+
+                if (distances[tgtId] == Graphs.INVALID_DISTANCE) {
+                    // node has not been visited before, add it to the queue
+                    pq.insert(tgtId, newDist);
+                } else if (pq.contains(tgtId) && newDist < distances[tgtId]) {
+                    // using currently considered edge decreases current distance
+                    pq.decreaseKey(tgtId, newDist);
+                } else {
+                    continue;
+                }
+
+                distances[tgtId] = newDist;
+                parents[tgtId] = nodeId;
+                reach[tgtId] = edge;
+            }
+        }
+    }
+
+    @Override
+    public N getInitialNode() {
+        return init;
+    }
+
+    @Override
+    public float getShortestPathDistance(N target) {
+        return distances[nodeIds.getNodeId(target)];
+    }
+
+    @Override
+    public @Nullable List<E> getShortestPath(N target) {
+        int id = nodeIds.getNodeId(target);
+
+        if (distances[id] == Graphs.INVALID_DISTANCE) {
+            return null;
+        }
+
+        if (parents[id] == NO_NODE) {
+            return Collections.emptyList();
+        }
+
+        List<E> result = new ArrayList<>();
+
+        while (parents[id] != NO_NODE) {
+            result.add(getReachingEdge(id));
+            id = parents[id];
+        }
+
+        Collections.reverse(result);
+        return result;
+    }
+
+    @Override
+    public @Nullable E getShortestPathEdge(N target) {
+        final int id = nodeIds.getNodeId(target);
+        return parents[id] == NO_NODE ? null : getReachingEdge(id);
+    }
+
+    @SuppressWarnings("unchecked")
+    private E getReachingEdge(int id) {
+        return (E) reach[id];
+    }
+}
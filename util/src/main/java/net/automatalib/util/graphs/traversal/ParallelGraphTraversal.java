@@ -0,0 +1,201 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.traversal;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+import net.automatalib.commons.util.Holder;
+import net.automatalib.graphs.IndefiniteGraph;
+import net.automatalib.graphs.SimpleGraph;
+import net.automatalib.graphs.concepts.NodeIDs;
+import net.automatalib.util.traversal.ParallelBFS;
+import net.automatalib.util.traversal.ParallelBFS.Frontier;
+
+/**
+ * Parallel (level-synchronous) breadth-first traversals of graphs, see {@link ParallelBFS}.
+ * <p>
+ * The traversals accept regular {@link GraphTraversalVisitor}s, with the following differences compared to {@link
+ * GraphTraversal#breadthFirst(IndefiniteGraph, int, Collection, GraphTraversalVisitor)}:
+ * <ul>
+ *     <li>The methods {@link GraphTraversalVisitor#startExploration(Object, Object)},
+ *     {@link GraphTraversalVisitor#processEdge(Object, Object, Object, Object, Holder)} and
+ *     {@link GraphTraversalVisitor#finishExploration(Object, Object)} are invoked concurrently. Visitors (and read
+ *     accesses to the graph) must therefore be thread-safe, and their actions should be commutative, since the order
+ *     of exploration within a BFS level is unspecified.</li>
+ *     <li>The traversal keeps track of discovered nodes itself: A node for which {@link GraphTraversalAction#EXPLORE}
+ *     is returned is explored (at most) once, with the data of one of the exploring edges.</li>
+ *     <li>{@link GraphTraversalAction#ABORT_TRAVERSAL} stops the traversal as soon as possible, i.e., other nodes that
+ *     are currently being explored may still be processed.</li>
+ * </ul>
+ * If the graph is a {@link SimpleGraph}, discovered nodes are tracked in a concurrent bitmap based on the {@link
+ * SimpleGraph#nodeIDs() node IDs}, otherwise in a concurrent hash set.
+ */
+public final class ParallelGraphTraversal {
+
+    private ParallelGraphTraversal() {
+        // prevent instantiation
+    }
+
+    public static <N, E, D> boolean breadthFirst(IndefiniteGraph<N, E> graph,
+                                                 Collection<? extends N> initialNodes,
+                                                 GraphTraversalVisitor<N, E, D> vis) {
+        return breadthFirst(graph, -1, initialNodes, vis);
+    }
+
+    /**
+     * Traverses the given graph in a parallel breadth-first fashion. The traversal is steered by the specified
+     * (thread-safe) visitor.
+     *
+     * @param graph
+     *         the graph
+     * @param limit
+     *         the maximum number of nodes to explore, or a negative value for no limit
+     * @param initialNodes
+     *         the nodes to start the traversal from
+     * @param vis
+     *         the visitor
+     *
+     * @return {@code false} if nodes have not been explored due to the limit, {@code true} otherwise
+     */
+    public static <N, E, D> boolean breadthFirst(IndefiniteGraph<N, E> graph,
+                                                 int limit,
+                                                 Collection<? extends N> initialNodes,
+                                                 GraphTraversalVisitor<N, E, D> vis) {
+        return traverse(graph, limit, initialNodes, vis, false).isComplete();
+    }
+
+    /**
+     * Traverses the given graph in a parallel breadth-first fashion and returns the explored nodes. The nodes are
+     * returned in BFS level order, however, the order of nodes within a single level is unspecified.
+     *
+     * @param graph
+     *         the graph
+     * @param limit
+     *         the maximum number of nodes to explore, or a negative value for no limit
+     * @param initialNodes
+     *         the nodes to start the traversal from
+     * @param vis
+     *         the visitor
+     *
+     * @return the explored nodes
+     */
+    public static <N, E, D> List<N> breadthFirstOrder(IndefiniteGraph<N, E> graph,
+                                                      int limit,
+                                                      Collection<? extends N> initialNodes,
+                                                      GraphTraversalVisitor<N, E, D> vis) {
+        return traverse(graph, limit, initialNodes, vis, true).getDiscoveredStates();
+    }
+
+    /**
+     * Returns the nodes reachable from the given initial nodes in BFS level order, see {@link
+     * #breadthFirstOrder(IndefiniteGraph, int, Collection, GraphTraversalVisitor)}.
+     *
+     * @param graph
+     *         the graph
+     * @param initialNodes
+     *         the nodes to start the traversal from
+     *
+     * @return the reachable nodes
+     */
+    public static <N, E> List<N> breadthFirstOrder(IndefiniteGraph<N, E> graph, Collection<? extends N> initialNodes) {
+        return breadthFirstOrder(graph, -1, initialNodes, new DefaultGraphTraversalVisitor<>());
+    }
+
+    /**
+     * Counts the nodes reachable from the given initial nodes.
+     *
+     * @param graph
+     *         the graph
+     * @param initialNodes
+     *         the nodes to start the traversal from
+     *
+     * @return the number of reachable nodes
+     */
+    public static <N, E> int countReachableNodes(IndefiniteGraph<N, E> graph, Collection<? extends N> initialNodes) {
+        return traverse(graph, -1, initialNodes, new DefaultGraphTraversalVisitor<>(), false).getNumStates();
+    }
+
+    private static <N, E, D> ParallelBFS<N, D> traverse(IndefiniteGraph<N, E> graph,
+                                                       int limit,
+                                                       Collection<? extends N> initialNodes,
+                                                       GraphTraversalVisitor<N, E, D> vis,
+                                                       boolean recordOrder) {
+        final ParallelBFS<N, D> bfs = new ParallelBFS<>(createVisitedSet(graph), limit, recordOrder);
+        final Frontier<N, D> initial = bfs.getInitialFrontier();
+        final Holder<D> dataHolder = new Holder<>();
+
+        for (N init : initialNodes) {
+            dataHolder.value = null;
+            GraphTraversalAction act = vis.processInitial(init, dataHolder);
+            if (act == GraphTraversalAction.ABORT_TRAVERSAL) {
+                return bfs;
+            } else if (act == GraphTraversalAction.EXPLORE) {
+                initial.offer(init, dataHolder.value);
+            }
+        }
+
+        bfs.run((node, data, successors) -> expand(graph, vis, node, data, successors));
+        return bfs;
+    }
+
+    private static <N, E, D> void expand(IndefiniteGraph<N, E> graph,
+                                         GraphTraversalVisitor<N, E, D> vis,
+                                         N node,
+                                         D data,
+                                         Frontier<N, D> successors) {
+        if (!vis.startExploration(node, data)) {
+            return;
+        }
+
+        final Holder<D> dataHolder = new Holder<>();
+
+        for (E edge : graph.getOutgoingEdges(node)) {
+            N tgtNode = graph.getTarget(edge);
+
+            dataHolder.value = null;
+            GraphTraversalAction act = vis.processEdge(node, data, edge, tgtNode, dataHolder);
+
+            switch (act) {
+                case IGNORE:
+                    continue;
+                case ABORT_NODE:
+                    return;
+                case ABORT_TRAVERSAL:
+                    successors.abort();
+                    return;
+                case EXPLORE:
+                    successors.offer(tgtNode, dataHolder.value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown action " + act);
+            }
+        }
+
+        vis.finishExploration(node, data);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <N> Predicate<N> createVisitedSet(IndefiniteGraph<N, ?> graph) {
+        if (graph instanceof SimpleGraph) {
+            final SimpleGraph<N> simpleGraph = (SimpleGraph<N>) graph;
+            final NodeIDs<N> nodeIds = simpleGraph.nodeIDs();
+            return ParallelBFS.concurrentVisitedBitmap(simpleGraph.size(), nodeIds::getNodeId);
+        }
+        return ParallelBFS.concurrentVisitedSet();
+    }
+}
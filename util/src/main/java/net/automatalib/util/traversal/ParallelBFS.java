@@ -0,0 +1,306 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.traversal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A level-synchronous, parallel breadth-first search.
+ * <p>
+ * The states of each BFS level (the frontier) are split into chunks that are expanded in parallel. Each chunk collects
+ * the discovered successors in its own {@link Frontier buffer}, which are concatenated (in chunk order) to form the
+ * frontier of the next level. Duplicate successors are filtered by a concurrent visited set (see {@link
+ * #concurrentVisitedSet()} and {@link #concurrentVisitedBitmap(int, ToIntFunction)}), so that each state is expanded at
+ * most once.
+ * <p>
+ * The order of the states within a level depends on the scheduling of the chunks, since the chunk that first discovers
+ * a state claims it. Hence, {@link Expander}s should only perform commutative actions (e.g., counting, collecting in
+ * concurrent data structures) and must be thread-safe.
+ *
+ * @param <S>
+ *         state type
+ * @param <D>
+ *         (user) data type
+ */
+public final class ParallelBFS<S, D> {
+
+    private static final int CHUNK_SIZE = 1 << 8;
+
+    private final Predicate<? super S> markVisited;
+    private final int limit;
+    private final boolean recordOrder;
+    private final AtomicInteger numStates;
+    private final List<S> discovered;
+
+    private Frontier<S, D> frontier;
+    private volatile boolean aborted;
+    private volatile boolean complete;
+
+    /**
+     * Constructor.
+     *
+     * @param markVisited
+     *         the (thread-safe) predicate for marking states as visited. Must return {@code true} iff the given state
+     *         has not been marked before
+     * @param limit
+     *         the maximum number of states to discover, or a negative value for no limit
+     * @param recordOrder
+     *         whether the discovered states should be recorded, see {@link #getDiscoveredStates()}
+     */
+    public ParallelBFS(Predicate<? super S> markVisited, int limit, boolean recordOrder) {
+        this.markVisited = markVisited;
+        this.limit = limit;
+        this.recordOrder = recordOrder;
+        this.numStates = new AtomicInteger();
+        this.discovered = new ArrayList<>();
+        this.frontier = new Frontier<>(this, 0);
+        this.complete = true;
+    }
+
+    /**
+     * Returns a visited set for arbitrary (hashable) states, backed by a concurrent hash set.
+     *
+     * @param <S>
+     *         state type
+     *
+     * @return the predicate for marking states as visited
+     */
+    public static <S> Predicate<S> concurrentVisitedSet() {
+        final Set<S> visited = ConcurrentHashMap.newKeySet();
+        return visited::add;
+    }
+
+    /**
+     * Returns a visited set for states with dense IDs, backed by a concurrent bitmap.
+     *
+     * @param size
+     *         the (exclusive) upper bound on state IDs
+     * @param ids
+     *         the (thread-safe) function for determining the ID of a state
+     * @param <S>
+     *         state type
+     *
+     * @return the predicate for marking states as visited
+     */
+    public static <S> Predicate<S> concurrentVisitedBitmap(int size, ToIntFunction<? super S> ids) {
+        final AtomicBitmap visited = new AtomicBitmap(size);
+        return s -> visited.set(ids.applyAsInt(s));
+    }
+
+    /**
+     * Returns the frontier of the first level, to which the initial states can be {@link Frontier#offer(Object,
+     * Object) offered} before {@link #run(Expander) running} the search.
+     *
+     * @return the initial frontier
+     */
+    public Frontier<S, D> getInitialFrontier() {
+        return frontier;
+    }
+
+    /**
+     * Runs the search, level by level, until no more states are discovered or the search has been {@link
+     * Frontier#abort() aborted}. This method may only be invoked once.
+     *
+     * @param expander
+     *         the (thread-safe) expander that offers the successors of each state
+     *
+     * @return {@code false} if states have been skipped due to the limit, {@code true} otherwise
+     */
+    public boolean run(Expander<S, D> expander) {
+        while (!aborted && frontier.size() > 0) {
+            final Frontier<S, D> current = frontier;
+            final int size = current.size();
+            final int numChunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+            if (recordOrder) {
+                discovered.addAll(current.states);
+            }
+
+            final List<Frontier<S, D>> buffers = IntStream.range(0, numChunks).parallel().mapToObj(c -> {
+                final int begin = c * CHUNK_SIZE;
+                final int end = Math.min(size, begin + CHUNK_SIZE);
+                final Frontier<S, D> buffer = new Frontier<>(this, end - begin);
+
+                for (int i = begin; i < end && !aborted; i++) {
+                    expander.expand(current.states.get(i), current.data.get(i), buffer);
+                }
+
+                return buffer;
+            }).collect(Collectors.toList());
+
+            int nextSize = 0;
+            for (Frontier<S, D> b : buffers) {
+                nextSize += b.size();
+            }
+
+            final Frontier<S, D> next = new Frontier<>(this, nextSize);
+            for (Frontier<S, D> b : buffers) {
+                next.states.addAll(b.states);
+                next.data.addAll(b.data);
+            }
+
+            frontier = next;
+        }
+
+        if (recordOrder) {
+            // states discovered before an abort
+            discovered.addAll(frontier.states);
+        }
+
+        return complete;
+    }
+
+    /**
+     * Returns whether the search was completed without skipping states due to the limit.
+     *
+     * @return {@code false} if states have been skipped due to the limit, {@code true} otherwise
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Returns the number of discovered states.
+     *
+     * @return the number of discovered states
+     */
+    public int getNumStates() {
+        final int num = numStates.get();
+        return limit < 0 ? num : Math.min(num, limit);
+    }
+
+    /**
+     * Returns the discovered states in level order, if the search has been configured to record them. The order of the
+     * states within a single level is unspecified.
+     *
+     * @return the discovered states
+     */
+    public List<S> getDiscoveredStates() {
+        return Collections.unmodifiableList(discovered);
+    }
+
+    /**
+     * Expands a single state by {@link Frontier#offer(Object, Object) offering} its successors to the given frontier
+     * buffer. Invoked concurrently for different states.
+     *
+     * @param <S>
+     *         state type
+     * @param <D>
+     *         (user) data type
+     */
+    @FunctionalInterface
+    public interface Expander<S, D> {
+
+        void expand(S state, D data, Frontier<S, D> successors);
+    }
+
+    /**
+     * A buffer for the states of the next level. Each buffer is only accessed by a single thread.
+     *
+     * @param <S>
+     *         state type
+     * @param <D>
+     *         (user) data type
+     */
+    public static final class Frontier<S, D> {
+
+        private final ParallelBFS<S, D> bfs;
+        final List<S> states;
+        final List<D> data;
+
+        Frontier(ParallelBFS<S, D> bfs, int capacity) {
+            this.bfs = bfs;
+            this.states = new ArrayList<>(capacity);
+            this.data = new ArrayList<>(capacity);
+        }
+
+        /**
+         * Offers a state (and its associated data) for exploration in the next level. The state is only accepted, if it
+         * has not been discovered before and the limit of the search has not been reached.
+         *
+         * @param state
+         *         the state
+         * @param stateData
+         *         the data associated with the state
+         *
+         * @return {@code true} if the state has been accepted, {@code false} otherwise
+         */
+        public boolean offer(S state, D stateData) {
+            if (bfs.aborted || !bfs.markVisited.test(state)) {
+                return false;
+            }
+
+            if (bfs.numStates.getAndIncrement() >= bfs.limit && bfs.limit >= 0) {
+                bfs.complete = false;
+                return false;
+            }
+
+            states.add(state);
+            data.add(stateData);
+            return true;
+        }
+
+        /**
+         * Aborts the search. States of the current level that have not yet been expanded are skipped.
+         */
+        public void abort() {
+            bfs.aborted = true;
+        }
+
+        int size() {
+            return states.size();
+        }
+    }
+
+    private static final class AtomicBitmap {
+
+        private final AtomicLongArray words;
+
+        AtomicBitmap(int size) {
+            this.words = new AtomicLongArray((size + Long.SIZE - 1) / Long.SIZE);
+        }
+
+        /**
+         * Sets the given bit.
+         *
+         * @return {@code true} if the bit has not been set before, {@code false} otherwise
+         */
+        boolean set(int bit) {
+            final int idx = bit >>> 6;
+            final long mask = 1L << bit;
+
+            long word;
+            do {
+                word = words.get(idx);
+                if ((word & mask) != 0) {
+                    return false;
+                }
+            } while (!words.compareAndSet(idx, word, word | mask));
+
+            return true;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.ts.comp;
+
+import java.util.Arrays;
+
+import net.automatalib.automata.simple.SimpleDeterministicAutomaton.IntAbstraction;
+
+/**
+ * Encodes states of a product of two (integer-abstracted) systems, i.e., pairs of state IDs, into primitive {@code
+ * long} keys. This allows to explore products such as {@link DTSComposition}s without allocating a {@link
+ * net.automatalib.commons.util.Pair} for each product state.
+ * <p>
+ * Besides valid state IDs in the range {@code [0, size - 1]}, each component may be undefined (i.e., {@link
+ * IntAbstraction#INVALID_STATE}, or any other negative value) which is required for partial compositions. Keys are
+ * dense, i.e., they lie in the range {@code [0, getNumKeys() - 1]}, and preserve the lexicographic order of the
+ * encoded pairs.
+ */
+public final class ProductStateEncoder {
+
+    /**
+     * Products with at most this many keys use a bitset (of at most 8 MiB) for tracking visited states.
+     */
+    private static final long DENSE_THRESHOLD = 1L << 26;
+
+    private final long radix;
+    private final long numKeys;
+
+    /**
+     * Constructor.
+     *
+     * @param size1
+     *         the number of states of the first component
+     * @param size2
+     *         the number of states of the second component
+     */
+    public ProductStateEncoder(int size1, int size2) {
+        if (size1 < 0 || size2 < 0) {
+            throw new IllegalArgumentException("Sizes must not be negative");
+        }
+        this.radix = size2 + 1L;
+        this.numKeys = (size1 + 1L) * radix;
+    }
+
+    /**
+     * Encodes the given pair of state IDs.
+     *
+     * @param s1
+     *         the state ID of the first component, or a negative value if undefined
+     * @param s2
+     *         the state ID of the second component, or a negative value if undefined
+     *
+     * @return the key of the product state
+     */
+    public long encode(int s1, int s2) {
+        final long first = s1 < 0 ? 0 : s1 + 1L;
+        final long second = s2 < 0 ? 0 : s2 + 1L;
+        return first * radix + second;
+    }
+
+    /**
+     * Returns the state ID of the first component of the given product state.
+     *
+     * @param key
+     *         the key of the product state
+     *
+     * @return the state ID of the first component, or {@link IntAbstraction#INVALID_STATE} if undefined
+     */
+    public int getFirst(long key) {
+        return (int) (key / radix) - 1;
+    }
+
+    /**
+     * Returns the state ID of the second component of the given product state.
+     *
+     * @param key
+     *         the key of the product state
+     *
+     * @return the state ID of the second component, or {@link IntAbstraction#INVALID_STATE} if undefined
+     */
+    public int getSecond(long key) {
+        return (int) (key % radix) - 1;
+    }
+
+    /**
+     * Returns the number of distinct keys, i.e., the (exclusive) upper bound of all keys.
+     *
+     * @return the number of distinct keys
+     */
+    public long getNumKeys() {
+        return numKeys;
+    }
+
+    /**
+     * Creates a new, empty {@link ProductStateSet} for the keys of this encoder. For sufficiently small products, the
+     * set is backed by a bitset, otherwise by an open-addressing hash table.
+     *
+     * @return a new, empty {@link ProductStateSet}
+     */
+    public ProductStateSet createStateSet() {
+        return numKeys <= DENSE_THRESHOLD ? new DenseStateSet(numKeys) : new HashStateSet();
+    }
+
+    private static final class DenseStateSet implements ProductStateSet {
+
+        private final long[] words;
+        private int size;
+
+        DenseStateSet(long numKeys) {
+            this.words = new long[(int) ((numKeys + 63) >>> 6)];
+        }
+
+        @Override
+        public boolean add(long key) {
+            final int idx = (int) (key >>> 6);
+            final long mask = 1L << key;
+            final long word = words[idx];
+
+            if ((word & mask) != 0) {
+                return false;
+            }
+
+            words[idx] = word | mask;
+            size++;
+            return true;
+        }
+
+        @Override
+        public boolean contains(long key) {
+            return (words[(int) (key >>> 6)] & (1L << key)) != 0;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private static final class HashStateSet implements ProductStateSet {
+
+        private static final long EMPTY = -1L;
+        private static final long PHI = 0x9E3779B97F4A7C15L;
+
+        private long[] table;
+        private int shift;
+        private int size;
+
+        HashStateSet() {
+            this.table = new long[1 << 10];
+            this.shift = Long.SIZE - 10;
+            Arrays.fill(table, EMPTY);
+        }
+
+        @Override
+        public boolean add(long key) {
+            final int mask = table.length - 1;
+            int idx = hash(key);
+
+            long current;
+            while ((current = table[idx]) != EMPTY) {
+                if (current == key) {
+                    return false;
+                }
+                idx = (idx + 1) & mask;
+            }
+
+            table[idx] = key;
+            if (++size > table.length >>> 1) {
+                grow();
+            }
+            return true;
+        }
+
+        @Override
+        public boolean contains(long key) {
+            final int mask = table.length - 1;
+            int idx = hash(key);
+
+            long current;
+            while ((current = table[idx]) != EMPTY) {
+                if (current == key) {
+                    return true;
+                }
+                idx = (idx + 1) & mask;
+            }
+
+            return false;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        private int hash(long key) {
+            return (int) ((key * PHI) >>> shift);
+        }
+
+        private void grow() {
+            final long[] oldTable = table;
+
+            this.table = new long[oldTable.length << 1];
+            this.shift--;
+            Arrays.fill(table, EMPTY);
+
+            final int mask = table.length - 1;
+            for (long key : oldTable) {
+                if (key != EMPTY) {
+                    int idx = hash(key);
+                    while (table[idx] != EMPTY) {
+                        idx = (idx + 1) & mask;
+                    }
+                    table[idx] = key;
+                }
+            }
+        }
+    }
+}
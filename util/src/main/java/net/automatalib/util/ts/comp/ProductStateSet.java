@@ -0,0 +1,52 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.ts.comp;
+
+/**
+ * A set of (encoded) product states, see {@link ProductStateEncoder}. In contrast to a {@link java.util.Set} of
+ * {@link net.automatalib.commons.util.Pair}s, implementations store the encoded keys as primitives, so that marking
+ * product states as visited does not allocate any objects.
+ */
+public interface ProductStateSet {
+
+    /**
+     * Adds the given key to this set.
+     *
+     * @param key
+     *         the (encoded) product state
+     *
+     * @return {@code true} if the key has not been contained in this set before, {@code false} otherwise
+     */
+    boolean add(long key);
+
+    /**
+     * Checks whether the given key is contained in this set.
+     *
+     * @param key
+     *         the (encoded) product state
+     *
+     * @return {@code true} if the key is contained in this set, {@code false} otherwise
+     */
+    boolean contains(long key);
+
+    /**
+     * Returns the number of keys contained in this set.
+     *
+     * @return the number of keys contained in this set
+     */
+    int size();
+
+}
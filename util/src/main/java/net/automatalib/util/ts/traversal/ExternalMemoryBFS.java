@@ -0,0 +1,462 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.ts.traversal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+
+import net.automatalib.automata.simple.SimpleDeterministicAutomaton;
+import net.automatalib.automata.simple.SimpleDeterministicAutomaton.FullIntAbstraction;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An external-memory (disk-backed) breadth-first search for deterministic transition systems whose states are densely
+ * encoded as integers, i.e., {@link FullIntAbstraction}s. It allows to explore state spaces whose visited sets exceed
+ * the available heap.
+ * <p>
+ * Instead of looking up each discovered state in an in-memory visited set, this implementation uses <i>delayed
+ * duplicate detection</i>: The successors of a BFS level are collected in a fixed-size buffer which is sorted,
+ * deduplicated and written to disk as a <i>run</i> whenever it is full. At the end of each level, all runs are merged
+ * and subtracted from the (sorted, on-disk) set of all visited states, which yields the (sorted) next frontier. All
+ * operations on disk are sequential scans.
+ * <p>
+ * The heap consumption is bounded by the size of the successor buffer plus one I/O buffer for each simultaneously
+ * merged run (at most {@value #MAX_FAN_IN}).
+ */
+public final class ExternalMemoryBFS {
+
+    /**
+     * The maximum number of runs that are merged at once.
+     */
+    public static final int MAX_FAN_IN = 64;
+
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+
+    private final Path workDir;
+    private final int bufferSize;
+
+    /**
+     * Constructor.
+     *
+     * @param workDir
+     *         the directory in which temporary files are created
+     * @param bufferSize
+     *         the number of (successor) states that are buffered in memory before being written to disk
+     */
+    public ExternalMemoryBFS(Path workDir, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        this.workDir = workDir;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Convenience method for {@link #explore(FullIntAbstraction, IntConsumer)} that operates on the {@link
+     * SimpleDeterministicAutomaton#fullIntAbstraction(Alphabet) full integer abstraction} of the given automaton.
+     *
+     * @param automaton
+     *         the automaton
+     * @param inputs
+     *         the input symbols to consider
+     * @param visitor
+     *         the consumer of the (integer-abstracted) reachable states
+     *
+     * @return the number of states of each BFS level
+     *
+     * @throws IOException
+     *         if reading or writing the temporary files fails
+     */
+    public <I> long[] explore(SimpleDeterministicAutomaton<?, I> automaton, Alphabet<I> inputs, IntConsumer visitor)
+            throws IOException {
+        return explore(automaton.fullIntAbstraction(inputs), visitor);
+    }
+
+    /**
+     * Explores all states reachable from the initial state of the given system in breadth-first order. Each reachable
+     * state is passed to the given visitor exactly once. States are reported level by level and, within a level, in
+     * ascending order.
+     *
+     * @param ts
+     *         the (integer-abstracted) transition system
+     * @param visitor
+     *         the consumer of the reachable states
+     *
+     * @return the number of states of each BFS level, i.e., the {@code i}-th entry contains the number of states with
+     * distance {@code i} to the initial state
+     *
+     * @throws IOException
+     *         if reading or writing the temporary files fails
+     */
+    public long[] explore(FullIntAbstraction ts, IntConsumer visitor) throws IOException {
+        final Path dir = Files.createTempDirectory(workDir, "bfs");
+        final List<Long> levelSizes = new ArrayList<>();
+        Throwable failure = null;
+
+        try {
+            final int init = ts.getIntInitialState();
+
+            if (init < 0) {
+                return new long[0];
+            }
+
+            final int[] buffer = new int[bufferSize];
+            final int numInputs = ts.numInputs();
+
+            buffer[0] = init;
+            Run frontier = writeRun(dir, buffer, 1);
+            Run visited = writeRun(dir, buffer, 1);
+
+            while (frontier.length > 0) {
+                levelSizes.add(frontier.length);
+
+                final List<Run> runs = new ArrayList<>();
+                int fill = 0;
+
+                try (IntReader reader = frontier.open()) {
+                    while (reader.hasNext()) {
+                        final int state = reader.next();
+                        visitor.accept(state);
+
+                        for (int i = 0; i < numInputs; i++) {
+                            final int succ = ts.getSuccessor(state, i);
+                            if (succ >= 0) {
+                                if (fill == buffer.length) {
+                                    runs.add(writeRun(dir, buffer, fill));
+                                    fill = 0;
+                                }
+                                buffer[fill++] = succ;
+                            }
+                        }
+                    }
+                }
+                frontier.delete();
+
+                if (fill > 0) {
+                    runs.add(writeRun(dir, buffer, fill));
+                }
+
+                final Run[] next = subtract(dir, mergeRuns(dir, runs), visited);
+                visited.delete();
+                frontier = next[0];
+                visited = next[1];
+            }
+
+            frontier.delete();
+            visited.delete();
+        } catch (Throwable t) {
+            failure = t;
+            throw t;
+        } finally {
+            deleteDirectory(dir, failure);
+        }
+
+        final long[] result = new long[levelSizes.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = levelSizes.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Counts the states reachable from the initial state of the given automaton.
+     *
+     * @param automaton
+     *         the automaton
+     * @param inputs
+     *         the input symbols to consider
+     *
+     * @return the number of reachable states
+     *
+     * @throws IOException
+     *         if reading or writing the temporary files fails
+     */
+    public <I> long countReachableStates(SimpleDeterministicAutomaton<?, I> automaton, Alphabet<I> inputs)
+            throws IOException {
+        return Arrays.stream(explore(automaton, inputs, s -> {})).sum();
+    }
+
+    /**
+     * Deletes the given (flat) directory including all files that are left in it, e.g. because the exploration has
+     * been aborted. If an exploration failure is given, cleanup failures are attached to it as suppressed exceptions
+     * instead of being thrown.
+     */
+    private static void deleteDirectory(Path dir, @Nullable Throwable failure) throws IOException {
+        IOException cleanupFailure = null;
+
+        try (Stream<Path> files = Files.list(dir)) {
+            final Iterator<Path> iter = files.iterator();
+            while (iter.hasNext()) {
+                try {
+                    Files.deleteIfExists(iter.next());
+                } catch (IOException ioe) {
+                    cleanupFailure = addFailure(cleanupFailure, ioe);
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            cleanupFailure = addFailure(cleanupFailure, e);
+        }
+
+        try {
+            Files.deleteIfExists(dir);
+        } catch (IOException ioe) {
+            cleanupFailure = addFailure(cleanupFailure, ioe);
+        }
+
+        if (cleanupFailure != null) {
+            if (failure == null) {
+                throw cleanupFailure;
+            }
+            failure.addSuppressed(cleanupFailure);
+        }
+    }
+
+    private static IOException addFailure(@Nullable IOException failures, Exception failure) {
+        if (failures == null) {
+            return failure instanceof IOException ? (IOException) failure : new IOException(failure);
+        }
+        failures.addSuppressed(failure);
+        return failures;
+    }
+
+    /**
+     * Sorts the given buffer and writes its distinct values as a new run.
+     */
+    private static Run writeRun(Path dir, int[] buffer, int size) throws IOException {
+        Arrays.sort(buffer, 0, size);
+
+        final Run run = new Run(Files.createTempFile(dir, "run", ".bin"));
+        try (RunWriter writer = run.openWriter()) {
+            for (int i = 0; i < size; i++) {
+                if (i == 0 || buffer[i] != buffer[i - 1]) {
+                    writer.write(buffer[i]);
+                }
+            }
+        }
+        return run;
+    }
+
+    /**
+     * Merges the given (sorted) runs into a single sorted run without duplicates. If there are more than {@link
+     * #MAX_FAN_IN} runs, they are merged in multiple passes.
+     */
+    private static Run mergeRuns(Path dir, List<Run> runs) throws IOException {
+        List<Run> current = runs;
+
+        while (current.size() > 1) {
+            final List<Run> merged = new ArrayList<>((current.size() + MAX_FAN_IN - 1) / MAX_FAN_IN);
+
+            for (int i = 0; i < current.size(); i += MAX_FAN_IN) {
+                merged.add(merge(dir, current.subList(i, Math.min(i + MAX_FAN_IN, current.size()))));
+            }
+
+            current = merged;
+        }
+
+        return current.isEmpty() ? writeRun(dir, new int[0], 0) : current.get(0);
+    }
+
+    private static Run merge(Path dir, List<Run> runs) throws IOException {
+        if (runs.size() == 1) {
+            return runs.get(0);
+        }
+
+        final Run result = new Run(Files.createTempFile(dir, "run", ".bin"));
+        final PriorityQueue<IntReader> queue =
+                new PriorityQueue<>(runs.size(), (r1, r2) -> Integer.compare(r1.peek(), r2.peek()));
+
+        try (RunWriter writer = result.openWriter()) {
+            for (Run run : runs) {
+                final IntReader reader = run.open();
+                if (reader.hasNext()) {
+                    queue.add(reader);
+                } else {
+                    reader.close();
+                }
+            }
+
+            boolean first = true;
+            int last = 0;
+
+            while (!queue.isEmpty()) {
+                final IntReader reader = queue.poll();
+                final int value = reader.next();
+
+                if (first || value != last) {
+                    writer.write(value);
+                    first = false;
+                    last = value;
+                }
+
+                if (reader.hasNext()) {
+                    queue.add(reader);
+                } else {
+                    reader.close();
+                }
+            }
+        } finally {
+            for (IntReader reader : queue) {
+                reader.close();
+            }
+        }
+
+        for (Run run : runs) {
+            run.delete();
+        }
+
+        return result;
+    }
+
+    /**
+     * Computes the new frontier ({@code candidates \ visited}) and the new set of visited states ({@code candidates
+     * &cup; visited}) in a single, simultaneous scan of both runs.
+     */
+    private static Run[] subtract(Path dir, Run candidates, Run visited) throws IOException {
+        final Run frontier = new Run(Files.createTempFile(dir, "run", ".bin"));
+        final Run union = new Run(Files.createTempFile(dir, "run", ".bin"));
+
+        try (IntReader candReader = candidates.open();
+             IntReader visReader = visited.open();
+             RunWriter frontierWriter = frontier.openWriter();
+             RunWriter unionWriter = union.openWriter()) {
+
+            while (candReader.hasNext()) {
+                final int candidate = candReader.next();
+
+                while (visReader.hasNext() && visReader.peek() < candidate) {
+                    unionWriter.write(visReader.next());
+                }
+
+                if (visReader.hasNext() && visReader.peek() == candidate) {
+                    unionWriter.write(visReader.next());
+                } else {
+                    frontierWriter.write(candidate);
+                    unionWriter.write(candidate);
+                }
+            }
+
+            while (visReader.hasNext()) {
+                unionWriter.write(visReader.next());
+            }
+        }
+
+        candidates.delete();
+
+        return new Run[] {frontier, union};
+    }
+
+    /**
+     * A sorted sequence of distinct integers stored in a temporary file.
+     */
+    private static final class Run {
+
+        private final Path file;
+        private long length;
+
+        Run(Path file) {
+            this.file = file;
+        }
+
+        IntReader open() throws IOException {
+            return new IntReader(file, length);
+        }
+
+        RunWriter openWriter() throws IOException {
+            return new RunWriter(this);
+        }
+
+        void delete() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static final class RunWriter implements Closeable {
+
+        private final Run run;
+        private final DataOutputStream out;
+
+        RunWriter(Run run) throws IOException {
+            this.run = run;
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run.file), IO_BUFFER_SIZE));
+        }
+
+        void write(int value) throws IOException {
+            out.writeInt(value);
+            run.length++;
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    private static final class IntReader implements Closeable {
+
+        private final DataInputStream in;
+        private long remaining;
+        private int head;
+        private boolean hasHead;
+
+        IntReader(Path file, long length) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), IO_BUFFER_SIZE));
+            this.remaining = length;
+            advance();
+        }
+
+        boolean hasNext() {
+            return hasHead;
+        }
+
+        int peek() {
+            return head;
+        }
+
+        int next() throws IOException {
+            final int result = head;
+            advance();
+            return result;
+        }
+
+        private void advance() throws IOException {
+            hasHead = remaining > 0;
+            if (hasHead) {
+                head = in.readInt();
+                remaining--;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
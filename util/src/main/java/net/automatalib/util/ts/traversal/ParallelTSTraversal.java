@@ -0,0 +1,229 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.ts.traversal;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.automata.simple.SimpleAutomaton;
+import net.automatalib.commons.util.Holder;
+import net.automatalib.ts.TransitionSystem;
+import net.automatalib.util.traversal.ParallelBFS;
+import net.automatalib.util.traversal.ParallelBFS.Frontier;
+
+/**
+ * Parallel (level-synchronous) breadth-first traversals of transition systems, see {@link ParallelBFS}.
+ * <p>
+ * The traversals accept regular {@link TSTraversalVisitor}s, with the following differences compared to {@link
+ * TSTraversal#breadthFirst(TransitionSystem, int, Collection, TSTraversalVisitor)}:
+ * <ul>
+ *     <li>The methods {@link TSTraversalVisitor#startExploration(Object, Object)} and
+ *     {@link TSTraversalVisitor#processTransition(Object, Object, Object, Object, Object, Holder)} are invoked
+ *     concurrently. Visitors (and read accesses to the transition system) must therefore be thread-safe, and their
+ *     actions should be commutative, since the order of exploration within a BFS level is unspecified.</li>
+ *     <li>The traversal keeps track of discovered states itself: A state for which {@link TSTraversalAction#EXPLORE}
+ *     is returned is explored (at most) once, with the data of one of the exploring transitions.</li>
+ *     <li>{@link TSTraversalAction#ABORT_TRAVERSAL} stops the traversal as soon as possible, i.e., other states that
+ *     are currently being explored may still be processed.</li>
+ * </ul>
+ * If the transition system is a {@link SimpleAutomaton}, discovered states are tracked in a concurrent bitmap based on
+ * the {@link SimpleAutomaton#stateIDs() state IDs}, otherwise in a concurrent hash set.
+ */
+public final class ParallelTSTraversal {
+
+    private ParallelTSTraversal() {
+        // prevent instantiation
+    }
+
+    public static <S, I, T, D> boolean breadthFirst(TransitionSystem<S, ? super I, T> ts,
+                                                    Collection<? extends I> inputs,
+                                                    TSTraversalVisitor<S, I, T, D> vis) {
+        return breadthFirst(ts, TSTraversal.NO_LIMIT, inputs, vis);
+    }
+
+    /**
+     * Traverses the given transition system in a parallel breadth-first fashion. The traversal is steered by the
+     * specified (thread-safe) visitor.
+     *
+     * @param ts
+     *         the transition system
+     * @param limit
+     *         the maximum number of states to explore, or {@link TSTraversal#NO_LIMIT}
+     * @param inputs
+     *         the input alphabet
+     * @param vis
+     *         the visitor
+     *
+     * @return {@code false} if states have not been explored due to the limit, {@code true} otherwise
+     */
+    public static <S, I, T, D> boolean breadthFirst(TransitionSystem<S, ? super I, T> ts,
+                                                    int limit,
+                                                    Collection<? extends I> inputs,
+                                                    TSTraversalVisitor<S, I, T, D> vis) {
+        return traverse(ts, limit, inputs, vis, false).isComplete();
+    }
+
+    /**
+     * Traverses the given transition system in a parallel breadth-first fashion and returns the explored states. The
+     * states are returned in BFS level order, however, the order of states within a single level is unspecified.
+     *
+     * @param ts
+     *         the transition system
+     * @param limit
+     *         the maximum number of states to explore, or {@link TSTraversal#NO_LIMIT}
+     * @param inputs
+     *         the input alphabet
+     * @param vis
+     *         the visitor
+     *
+     * @return the explored states
+     */
+    public static <S, I, T, D> List<S> breadthFirstOrder(TransitionSystem<S, ? super I, T> ts,
+                                                         int limit,
+                                                         Collection<? extends I> inputs,
+                                                         TSTraversalVisitor<S, I, T, D> vis) {
+        return traverse(ts, limit, inputs, vis, true).getDiscoveredStates();
+    }
+
+    /**
+     * Returns the states reachable from the initial states of the given transition system in BFS level order, see
+     * {@link #breadthFirstOrder(TransitionSystem, int, Collection, TSTraversalVisitor)}.
+     *
+     * @param ts
+     *         the transition system
+     * @param inputs
+     *         the input alphabet
+     *
+     * @return the reachable states
+     */
+    public static <S, I, T> List<S> breadthFirstOrder(TransitionSystem<S, ? super I, T> ts,
+                                                      Collection<? extends I> inputs) {
+        return breadthFirstOrder(ts, TSTraversal.NO_LIMIT, inputs, new ReachabilityVisitor<>());
+    }
+
+    /**
+     * Counts the states reachable from the initial states of the given transition system.
+     *
+     * @param ts
+     *         the transition system
+     * @param inputs
+     *         the input alphabet
+     *
+     * @return the number of reachable states
+     */
+    public static <S, I, T> int countReachableStates(TransitionSystem<S, ? super I, T> ts,
+                                                     Collection<? extends I> inputs) {
+        return traverse(ts, TSTraversal.NO_LIMIT, inputs, new ReachabilityVisitor<>(), false).getNumStates();
+    }
+
+    private static <S, I, T, D> ParallelBFS<S, D> traverse(TransitionSystem<S, ? super I, T> ts,
+                                                          int limit,
+                                                          Collection<? extends I> inputs,
+                                                          TSTraversalVisitor<S, I, T, D> vis,
+                                                          boolean recordOrder) {
+        final ParallelBFS<S, D> bfs = new ParallelBFS<>(createVisitedSet(ts), limit, recordOrder);
+        final Frontier<S, D> initial = bfs.getInitialFrontier();
+        final Holder<D> dataHolder = new Holder<>();
+
+        for (S initS : ts.getInitialStates()) {
+            dataHolder.value = null;
+            TSTraversalAction act = vis.processInitial(initS, dataHolder);
+            if (act == TSTraversalAction.ABORT_TRAVERSAL) {
+                return bfs;
+            } else if (act == TSTraversalAction.EXPLORE) {
+                initial.offer(initS, dataHolder.value);
+            }
+        }
+
+        bfs.run((state, data, successors) -> expand(ts, inputs, vis, state, data, successors));
+        return bfs;
+    }
+
+    private static <S, I, T, D> void expand(TransitionSystem<S, ? super I, T> ts,
+                                            Collection<? extends I> inputs,
+                                            TSTraversalVisitor<S, I, T, D> vis,
+                                            S state,
+                                            D data,
+                                            Frontier<S, D> successors) {
+        if (!vis.startExploration(state, data)) {
+            return;
+        }
+
+        final Holder<D> dataHolder = new Holder<>();
+
+        inputs_loop:
+        for (I input : inputs) {
+            for (T trans : ts.getTransitions(state, input)) {
+                S succ = ts.getSuccessor(trans);
+
+                dataHolder.value = null;
+                TSTraversalAction act = vis.processTransition(state, data, input, trans, succ, dataHolder);
+
+                switch (act) {
+                    case ABORT_INPUT:
+                        continue inputs_loop;
+                    case ABORT_STATE:
+                        return;
+                    case ABORT_TRAVERSAL:
+                        successors.abort();
+                        return;
+                    case IGNORE:
+                        break;
+                    case EXPLORE:
+                        successors.offer(succ, dataHolder.value);
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown action " + act);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S> Predicate<S> createVisitedSet(TransitionSystem<S, ?, ?> ts) {
+        if (ts instanceof SimpleAutomaton) {
+            final SimpleAutomaton<S, ?> automaton = (SimpleAutomaton<S, ?>) ts;
+            final StateIDs<S> stateIds = automaton.stateIDs();
+            return ParallelBFS.concurrentVisitedBitmap(automaton.size(), stateIds::getStateId);
+        }
+        return ParallelBFS.concurrentVisitedSet();
+    }
+
+    private static final class ReachabilityVisitor<S, I, T> implements TSTraversalVisitor<S, I, T, Void> {
+
+        @Override
+        public TSTraversalAction processInitial(S state, Holder<Void> outData) {
+            return TSTraversalAction.EXPLORE;
+        }
+
+        @Override
+        public boolean startExploration(S state, Void data) {
+            return true;
+        }
+
+        @Override
+        public TSTraversalAction processTransition(S source,
+                                                   Void srcData,
+                                                   I input,
+                                                   T transition,
+                                                   S succ,
+                                                   Holder<Void> outData) {
+            return TSTraversalAction.EXPLORE;
+        }
+    }
+}
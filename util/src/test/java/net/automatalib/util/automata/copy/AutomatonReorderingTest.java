@@ -0,0 +1,89 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.copy;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.util.graphs.csr.NodeOrdering;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class AutomatonReorderingTest {
+
+    private static final Alphabet<Integer> INPUTS = Alphabets.integers(0, 2);
+
+    @Test
+    public void testReorderDFA() {
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(new Random(42), 200, INPUTS, false);
+        // add a state that is not reachable
+        dfa.addState(true);
+
+        for (NodeOrdering ordering : NodeOrdering.values()) {
+            final int[] perm = new int[dfa.size()];
+            final CompactDFA<Integer> result = AutomatonReordering.reorderDFA(dfa, INPUTS, ordering, perm);
+
+            Assert.assertEquals(result.size(), dfa.size());
+            Assert.assertTrue(Automata.testEquivalence(dfa, result, INPUTS));
+            checkPermutation(perm);
+
+            for (int s = 0; s < dfa.size(); s++) {
+                Assert.assertEquals(result.isAccepting(perm[s]), dfa.isAccepting(s));
+                for (Integer i : INPUTS) {
+                    final int succ = dfa.getSuccessor(s, i);
+                    Assert.assertEquals(result.getSuccessor(perm[s], i), succ < 0 ? succ : perm[succ]);
+                }
+            }
+
+            if (ordering == NodeOrdering.BREADTH_FIRST) {
+                Assert.assertEquals(result.getIntInitialState(), 0);
+            }
+        }
+    }
+
+    @Test
+    public void testReorderMealy() {
+        final CompactMealy<Integer, Character> mealy =
+                RandomAutomata.randomMealy(new Random(42), 200, INPUTS, Alphabets.characters('a', 'c'), false);
+
+        final int[] perm = new int[mealy.size()];
+        final CompactMealy<Integer, Character> result =
+                AutomatonReordering.reorderMealy(mealy, INPUTS, NodeOrdering.REVERSE_CUTHILL_MCKEE, perm);
+
+        Assert.assertTrue(Automata.testEquivalence(mealy, result, INPUTS));
+        checkPermutation(perm);
+
+        for (int s = 0; s < mealy.size(); s++) {
+            for (Integer i : INPUTS) {
+                Assert.assertEquals(result.getOutput(perm[s], i), mealy.getOutput(s, i));
+            }
+        }
+    }
+
+    private static void checkPermutation(int[] perm) {
+        final int[] sorted = perm.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            Assert.assertEquals(sorted[i], i);
+        }
+    }
+}
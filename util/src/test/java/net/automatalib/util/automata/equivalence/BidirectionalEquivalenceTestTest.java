@@ -0,0 +1,166 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Random;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BidirectionalEquivalenceTestTest {
+
+    private static final Alphabet<Integer> INPUTS = Alphabets.integers(0, 3);
+
+    @Test
+    public void testRandomDFAs() {
+        final Random random = new Random(42);
+
+        for (int i = 0; i < 50; i++) {
+            final CompactDFA<Integer> a1 = RandomAutomata.randomDFA(random, 10 + random.nextInt(40), INPUTS, false);
+            final CompactDFA<Integer> a2 = RandomAutomata.randomDFA(random, 10 + random.nextInt(40), INPUTS, false);
+
+            // make some transitions undefined
+            for (int j = 0; j < 5; j++) {
+                a1.removeAllTransitions(random.nextInt(a1.size()), random.nextInt(INPUTS.size()));
+            }
+
+            checkShortest(a1, a2);
+            checkShortest(a2, a1);
+            Assert.assertNull(BidirectionalEquivalenceTest.findSeparatingWord(a1, a1, INPUTS));
+        }
+    }
+
+    @Test
+    public void testRandomMealies() {
+        final Random random = new Random(42);
+
+        for (int i = 0; i < 50; i++) {
+            // uniform outputs, so that the distinguishing pairs are rare and the backward search is actually used
+            final CompactMealy<Integer, Character> a1 =
+                    RandomAutomata.randomMealy(random, 100, INPUTS, Collections.singleton('x'), false);
+            final CompactMealy<Integer, Character> a2 = new CompactMealy<>(a1);
+
+            // change a single output, which may or may not be reachable
+            final int state = random.nextInt(a2.size());
+            final int input = random.nextInt(INPUTS.size());
+            a2.setTransitionProperty(a2.getTransition(state, input), 'y');
+
+            checkShortest(a1, a2);
+            checkShortest(a2, a1);
+        }
+    }
+
+    @Test
+    public void testDeepSeparatingWord() {
+        final int length = 1000;
+        final CompactMealy<Integer, Character> a1 = new CompactMealy<>(INPUTS);
+        final CompactMealy<Integer, Character> a2 = new CompactMealy<>(INPUTS);
+
+        buildChain(a1, length, 'a');
+        buildChain(a2, length, 'b');
+
+        final Word<Integer> sepWord = BidirectionalEquivalenceTest.findSeparatingWord(a1, a2, INPUTS);
+        Assert.assertNotNull(sepWord);
+        Assert.assertEquals(sepWord.length(), length);
+        Assert.assertNotEquals(a1.computeOutput(sepWord), a2.computeOutput(sepWord));
+    }
+
+    @Test
+    public void testUninitialized() {
+        final CompactDFA<Integer> uninit = new CompactDFA<>(INPUTS);
+        final CompactDFA<Integer> empty = new CompactDFA<>(INPUTS);
+        empty.addInitialState(false);
+
+        Assert.assertNull(BidirectionalEquivalenceTest.findSeparatingWord(uninit, uninit, INPUTS));
+        Assert.assertNull(BidirectionalEquivalenceTest.findSeparatingWord(empty, empty, INPUTS));
+        Assert.assertEquals(BidirectionalEquivalenceTest.findSeparatingWord(uninit, empty, INPUTS), Word.epsilon());
+        Assert.assertEquals(BidirectionalEquivalenceTest.findSeparatingWord(empty, uninit, INPUTS), Word.epsilon());
+    }
+
+    /**
+     * Builds a chain of states in which only the last transition of input 0 emits the given output.
+     */
+    private static void buildChain(CompactMealy<Integer, Character> mealy, int length, char lastOutput) {
+        int prev = mealy.addInitialState();
+        for (int i = 1; i < length; i++) {
+            final int next = mealy.addState();
+            for (Integer in : INPUTS) {
+                mealy.addTransition(prev, in, in == 0 ? next : prev, 'x');
+            }
+            prev = next;
+        }
+        for (Integer in : INPUTS) {
+            mealy.addTransition(prev, in, prev, in == 0 ? lastOutput : 'x');
+        }
+    }
+
+    private static void checkShortest(UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> a1,
+                                      UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> a2) {
+        final Word<Integer> expected = DeterministicEquivalenceTest.findSeparatingWordLarge(a1, a2, INPUTS);
+        final Word<Integer> actual = BidirectionalEquivalenceTest.findSeparatingWord(a1, a2, INPUTS);
+
+        if (expected == null) {
+            Assert.assertNull(actual);
+        } else {
+            Assert.assertNotNull(actual);
+            Assert.assertEquals(actual.length(), expected.length());
+            Assert.assertTrue(separates(a1, a2, actual));
+        }
+    }
+
+    private static <S1, T1, S2, T2> boolean separates(UniversalDeterministicAutomaton<S1, Integer, T1, ?, ?> a1,
+                                                      UniversalDeterministicAutomaton<S2, Integer, T2, ?, ?> a2,
+                                                      Word<Integer> word) {
+        S1 s1 = a1.getInitialState();
+        S2 s2 = a2.getInitialState();
+
+        Assert.assertNotNull(s1);
+        Assert.assertNotNull(s2);
+
+        if (!Objects.equals(a1.getStateProperty(s1), a2.getStateProperty(s2))) {
+            return true;
+        }
+
+        for (Integer sym : word) {
+            final T1 t1 = a1.getTransition(s1, sym);
+            final T2 t2 = a2.getTransition(s2, sym);
+
+            if (t1 == null || t2 == null) {
+                return t1 != t2;
+            } else if (!Objects.equals(a1.getTransitionProperty(t1), a2.getTransitionProperty(t2))) {
+                return true;
+            }
+
+            s1 = a1.getSuccessor(t1);
+            s2 = a2.getSuccessor(t2);
+
+            if (!Objects.equals(a1.getStateProperty(s1), a2.getStateProperty(s2))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
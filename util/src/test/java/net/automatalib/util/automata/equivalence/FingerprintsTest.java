@@ -0,0 +1,130 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.util.automata.fsa.DFAs;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class FingerprintsTest {
+
+    private static final Alphabet<Integer> ALPHABET = Alphabets.integers(0, 3);
+    private static final int AUTOMATON_SIZE = 50;
+
+    @Test
+    public void testIsomorphicAutomata() {
+        final Random random = new Random(0);
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(random, AUTOMATON_SIZE, ALPHABET);
+        final CompactDFA<Integer> permuted = permute(dfa, random);
+
+        final String fingerprint = Fingerprints.fingerprint(dfa, ALPHABET);
+
+        Assert.assertEquals(fingerprint.length(), 64);
+        Assert.assertEquals(Fingerprints.fingerprint(permuted, ALPHABET), fingerprint);
+
+        // unreachable states do not contribute to the fingerprint
+        permuted.addState(true);
+        Assert.assertEquals(Fingerprints.fingerprint(permuted, ALPHABET), fingerprint);
+
+        // the input order does
+        final List<Integer> reversed = new ArrayList<>(ALPHABET);
+        Collections.reverse(reversed);
+        Assert.assertNotEquals(Fingerprints.fingerprint(dfa, reversed), fingerprint);
+    }
+
+    @Test
+    public void testMinimizedAutomata() {
+        final Random random = new Random(0);
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(random, AUTOMATON_SIZE, ALPHABET);
+
+        // duplicate a successor of the initial state, which yields a language-equivalent but non-isomorphic automaton
+        final CompactDFA<Integer> copy = new CompactDFA<>(dfa);
+        final int init = copy.getIntInitialState();
+        final int succ = copy.getSuccessor(init, 0);
+        final int duplicate = copy.addIntState(copy.isAccepting(succ));
+        for (int i = 0; i < ALPHABET.size(); i++) {
+            copy.setTransition(duplicate, i, copy.getSuccessor(succ, i));
+        }
+        copy.setTransition(init, 0, duplicate);
+
+        Assert.assertNotEquals(Fingerprints.fingerprint(copy, ALPHABET), Fingerprints.fingerprint(dfa, ALPHABET));
+        Assert.assertEquals(Fingerprints.fingerprint(DFAs.minimize(copy, ALPHABET), ALPHABET),
+                            Fingerprints.fingerprint(DFAs.minimize(dfa, ALPHABET), ALPHABET));
+    }
+
+    @Test
+    public void testProperties() {
+        final Random random = new Random(0);
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(random, AUTOMATON_SIZE, ALPHABET);
+        final CompactDFA<Integer> flipped = new CompactDFA<>(dfa);
+        flipped.flipAcceptance();
+
+        Assert.assertNotEquals(Fingerprints.fingerprint(flipped, ALPHABET), Fingerprints.fingerprint(dfa, ALPHABET));
+
+        final CompactMealy<Integer, String> mealy =
+                RandomAutomata.randomMealy(random, AUTOMATON_SIZE, ALPHABET, Collections.singleton("a"));
+        final CompactMealy<Integer, String> modified = new CompactMealy<>(mealy);
+        final int init = modified.getIntInitialState();
+        modified.setTransition(init, 0, modified.getSuccessor(init, 0), "b");
+
+        Assert.assertNotEquals(Fingerprints.fingerprint(modified, ALPHABET),
+                               Fingerprints.fingerprint(mealy, ALPHABET));
+
+        // partial automata
+        final CompactDFA<Integer> partial = new CompactDFA<>(dfa);
+        partial.removeAllTransitions(partial.getIntInitialState());
+
+        Assert.assertNotEquals(Fingerprints.fingerprint(partial, ALPHABET), Fingerprints.fingerprint(dfa, ALPHABET));
+    }
+
+    private static CompactDFA<Integer> permute(CompactDFA<Integer> dfa, Random random) {
+        final int n = dfa.size();
+        final List<Integer> order = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            order.add(i);
+        }
+        Collections.shuffle(order, random);
+
+        // order.get(i) is the old state that is represented by the new state i
+        final int[] mapping = new int[n];
+        for (int i = 0; i < n; i++) {
+            mapping[order.get(i)] = i;
+        }
+
+        final CompactDFA<Integer> result = new CompactDFA<>(ALPHABET, n);
+        for (int i = 0; i < n; i++) {
+            result.addIntState(dfa.isAccepting(order.get(i).intValue()));
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < ALPHABET.size(); j++) {
+                result.setTransition(mapping[i], j, mapping[dfa.getSuccessor(i, j)]);
+            }
+        }
+        result.setInitialState(mapping[dfa.getIntInitialState()]);
+
+        return result;
+    }
+}
@@ -15,9 +15,17 @@
  */
 package net.automatalib.util.automata.fsa;
 
+import java.util.Random;
+
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.util.ts.acceptors.AcceptanceCombiner;
+import net.automatalib.util.ts.acceptors.Acceptors;
+import net.automatalib.util.ts.copy.TSCopy;
+import net.automatalib.util.ts.traversal.TSTraversal;
+import net.automatalib.util.ts.traversal.TSTraversalMethod;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.impl.Alphabets;
 import org.testng.Assert;
@@ -107,6 +115,33 @@ public class DFAsTest {
         Assert.assertTrue(Automata.testEquivalence(actual, expected, testAlphabet));
     }
 
+    @Test
+    public void testCombineRandom() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+
+        for (int i = 0; i < 10; i++) {
+            final CompactDFA<Integer> dfa1 = RandomAutomata.randomDFA(random, 30, alphabet, false);
+            final CompactDFA<Integer> dfa2 = RandomAutomata.randomDFA(random, 20, alphabet, false);
+
+            // make the second DFA partial
+            for (int s = 0; s < dfa2.size(); s += 3) {
+                dfa2.removeAllTransitions(s, random.nextInt(alphabet.size()));
+            }
+
+            final CompactDFA<Integer> expected = new CompactDFA<>(alphabet);
+            TSCopy.copy(TSTraversalMethod.BREADTH_FIRST,
+                        Acceptors.combine(dfa1, dfa2, AcceptanceCombiner.XOR),
+                        TSTraversal.NO_LIMIT,
+                        alphabet,
+                        expected);
+            final CompactDFA<Integer> actual = DFAs.xor(dfa1, dfa2, alphabet);
+
+            Assert.assertEquals(actual.size(), expected.size());
+            Assert.assertTrue(Automata.testEquivalence(actual, expected, alphabet));
+        }
+    }
+
     @Test
     public void testComplement() {
         DFA<?, Integer> expected = forVector(VECTOR_1_NEG);
@@ -17,11 +17,15 @@ package net.automatalib.util.graphs;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import net.automatalib.graphs.base.compact.CompactEdge;
 import net.automatalib.graphs.base.compact.CompactSimpleGraph;
 import net.automatalib.graphs.concepts.EdgeWeights;
 import net.automatalib.util.graphs.apsp.APSPResult;
+import net.automatalib.util.graphs.apsp.FloydWarshallAPSP;
+import net.automatalib.util.graphs.apsp.ParallelAPSP;
+import net.automatalib.util.graphs.apsp.ParallelAPSP.Strategy;
 import net.automatalib.util.graphs.concepts.PropertyEdgeWeights;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
@@ -59,7 +63,66 @@ public class APSPTest {
 
     @Test
     public void testAPSP() {
-        APSPResult<Integer, CompactEdge<Float>> apsp = Graphs.findAPSP(graph, weights);
+        checkAPSP(Graphs.findAPSP(graph, weights));
+    }
+
+    @Test
+    public void testFloydWarshall() {
+        checkAPSP(FloydWarshallAPSP.findAPSP(graph, weights));
+    }
+
+    @Test
+    public void testParallelAPSP() {
+        checkAPSP(ParallelAPSP.findAPSP(graph, weights, Strategy.FLOYD_WARSHALL));
+        checkAPSP(ParallelAPSP.findAPSP(graph, weights, Strategy.REPEATED_SSSP));
+    }
+
+    @Test
+    public void testRandomGraphs() {
+        final Random random = new Random(42);
+
+        // more nodes than the block size of the blocked Floyd-Warshall algorithm
+        final int size = 150;
+        final CompactSimpleGraph<Float> randomGraph = new CompactSimpleGraph<>();
+
+        for (int i = 0; i < size; i++) {
+            randomGraph.addNode();
+        }
+        for (int i = 0; i < 4 * size; i++) {
+            randomGraph.connect(random.nextInt(size), random.nextInt(size), Float.valueOf(random.nextInt(100)));
+        }
+
+        final EdgeWeights<CompactEdge<Float>> randomWeights = new PropertyEdgeWeights<>(randomGraph);
+        final APSPResult<Integer, CompactEdge<Float>> expected = FloydWarshallAPSP.findAPSP(randomGraph, randomWeights);
+
+        for (Strategy strategy : Strategy.values()) {
+            final APSPResult<Integer, CompactEdge<Float>> actual =
+                    ParallelAPSP.findAPSP(randomGraph, randomWeights, strategy);
+            checkConsistency(randomGraph, randomWeights, expected, actual);
+        }
+
+        // re-weighting the edges with node potentials introduces negative edge weights but no negative cycles.
+        // These are only supported by Floyd-Warshall
+        final float[] potentials = new float[size];
+        for (int i = 0; i < size; i++) {
+            potentials[i] = random.nextInt(200);
+        }
+
+        final EdgeWeights<CompactEdge<Float>> negativeWeights = e -> randomWeights.getEdgeWeight(e) +
+                                                                     potentials[findSource(randomGraph, e)] -
+                                                                     potentials[randomGraph.getIntTarget(e)];
+
+        final ParallelAPSP<Integer, CompactEdge<Float>> negative = new ParallelAPSP<>(randomGraph, negativeWeights);
+        Assert.assertEquals(negative.getStrategy(), Strategy.FLOYD_WARSHALL);
+        negative.findAPSP();
+
+        checkConsistency(randomGraph,
+                         negativeWeights,
+                         FloydWarshallAPSP.findAPSP(randomGraph, negativeWeights),
+                         negative);
+    }
+
+    private void checkAPSP(APSPResult<Integer, CompactEdge<Float>> apsp) {
 
         assertSPDist(apsp, n0, n1, 2.3f); // n0 -> n1
         assertSPNodes(apsp, n0, n1, n0, n1);
@@ -115,4 +178,40 @@ public class APSPTest {
         Assert.assertEquals(nodes, Arrays.asList(expNodes));
     }
 
+    private static void checkConsistency(CompactSimpleGraph<Float> graph,
+                                         EdgeWeights<CompactEdge<Float>> weights,
+                                         APSPResult<Integer, CompactEdge<Float>> expected,
+                                         APSPResult<Integer, CompactEdge<Float>> actual) {
+        for (Integer src : graph) {
+            for (Integer tgt : graph) {
+                final float dist = expected.getShortestPathDistance(src, tgt);
+                Assert.assertEquals(actual.getShortestPathDistance(src, tgt), dist, 1e-3f);
+
+                final List<CompactEdge<Float>> path = actual.getShortestPath(src, tgt);
+
+                if (dist == Graphs.INVALID_DISTANCE) {
+                    Assert.assertNull(path);
+                } else {
+                    Assert.assertNotNull(path);
+                    final List<Integer> nodes = Graphs.toNodeList(path, graph, src);
+                    Assert.assertEquals(nodes.get(nodes.size() - 1), tgt);
+
+                    float length = 0;
+                    for (CompactEdge<Float> e : path) {
+                        length += weights.getEdgeWeight(e);
+                    }
+                    Assert.assertEquals(length, dist, 1e-3f);
+                }
+            }
+        }
+    }
+
+    private static int findSource(CompactSimpleGraph<Float> graph, CompactEdge<Float> edge) {
+        for (Integer n : graph) {
+            if (graph.getOutgoingEdges(n).contains(edge)) {
+                return n;
+            }
+        }
+        throw new IllegalArgumentException();
+    }
 }
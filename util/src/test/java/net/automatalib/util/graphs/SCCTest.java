@@ -15,12 +15,20 @@
  */
 package net.automatalib.util.graphs;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.Sets;
+import net.automatalib.graphs.base.compact.CompactEdge;
 import net.automatalib.graphs.base.compact.CompactSimpleGraph;
+import net.automatalib.util.graphs.scc.IncrementalSCCs;
+import net.automatalib.util.graphs.scc.SCCCollector;
+import net.automatalib.util.graphs.scc.SCCs;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -279,7 +287,145 @@ public class SCCTest {
         Assert.assertEquals(computedSCCs, expectedSCCs);
     }
 
+    @Test
+    public void testRandomGraphs() {
+        final Random random = new Random(42);
+
+        // large enough to exceed the sequential threshold of the parallel algorithm
+        for (int numEdges : new int[] {10000, 20000, 60000}) {
+            final int numNodes = 20000;
+            final CompactSimpleGraph<Void> graph = new CompactSimpleGraph<>(numNodes);
+
+            for (int i = 0; i < numNodes; i++) {
+                graph.addNode();
+            }
+            for (int i = 0; i < numEdges; i++) {
+                graph.connect(random.nextInt(numNodes), random.nextInt(numNodes));
+            }
+
+            computeSCCs(graph);
+        }
+    }
+
+    @Test
+    public void testTopologicalOrder() {
+        final CompactSimpleGraph<Void> graph = new CompactSimpleGraph<>();
+        final Random random = new Random(42);
+
+        for (int i = 0; i < 100; i++) {
+            graph.addNode();
+        }
+        for (int i = 0; i < 120; i++) {
+            graph.connect(random.nextInt(100), random.nextInt(100));
+        }
+
+        final List<List<Integer>> sccs = Graphs.collectSCCs(graph);
+        final Map<Integer, Integer> sccIndices = new HashMap<>();
+
+        for (int i = 0; i < sccs.size(); i++) {
+            for (Integer n : sccs.get(i)) {
+                sccIndices.put(n, i);
+            }
+        }
+
+        // SCCs are reported after all SCCs reachable from them
+        for (Integer n : graph) {
+            for (Integer succ : graph.getAdjacentTargets(n)) {
+                Assert.assertTrue(sccIndices.get(n) >= sccIndices.get(succ));
+            }
+        }
+    }
+
+    @Test
+    public void testIncremental() {
+        final Random random = new Random(42);
+        final CompactSimpleGraph<Void> graph = new CompactSimpleGraph<>();
+        final IncrementalSCCs incremental = new IncrementalSCCs(1);
+
+        for (int round = 0; round < 20; round++) {
+            // grow the graph similar to a hypothesis that gains states and transitions
+            for (int i = 0; i < 10; i++) {
+                Assert.assertEquals(incremental.addNode(), (int) graph.addNode());
+            }
+            for (int i = 0; i < 15; i++) {
+                final int src = random.nextInt(graph.size());
+                final int tgt = random.nextInt(graph.size());
+                graph.connect(src, tgt);
+                incremental.addEdge(src, tgt);
+            }
+
+            final Set<Set<Integer>> expected = computeSCCs(graph);
+            final Map<Integer, Set<Integer>> actual = new HashMap<>();
+            for (int n = 0; n < incremental.size(); n++) {
+                actual.computeIfAbsent(incremental.getComponent(n), k -> new HashSet<>()).add(n);
+            }
+
+            Assert.assertEquals(incremental.getNumComponents(), expected.size());
+            Assert.assertEquals(new HashSet<>(actual.values()), expected);
+
+            for (Map.Entry<Integer, Set<Integer>> e : actual.entrySet()) {
+                Assert.assertEquals(incremental.getComponentSize(e.getKey()), e.getValue().size());
+            }
+
+            // the condensation is consistent with the topological order
+            final int[] order = incremental.getComponentsInTopologicalOrder();
+            final Map<Integer, Integer> positions = new HashMap<>();
+            for (int i = 0; i < order.length; i++) {
+                positions.put(order[i], i);
+            }
+            Assert.assertEquals(positions.keySet(), actual.keySet());
+
+            for (int n = 0; n < graph.size(); n++) {
+                final int comp = incremental.getComponent(n);
+                final Set<Integer> expectedSuccs = new HashSet<>();
+                boolean cyclic = actual.get(comp).size() > 1;
+
+                for (CompactEdge<Void> edge : graph.getOutgoingEdges(n)) {
+                    final int succComp = incremental.getComponent(graph.getTarget(edge));
+                    if (succComp != comp) {
+                        Assert.assertTrue(positions.get(comp) < positions.get(succComp));
+                    }
+                    cyclic |= graph.getTarget(edge) == n;
+                }
+
+                Assert.assertEquals(incremental.isCyclic(n), cyclic);
+
+                for (int m : actual.get(comp)) {
+                    for (CompactEdge<Void> edge : graph.getOutgoingEdges(m)) {
+                        expectedSuccs.add(incremental.getComponent(graph.getTarget(edge)));
+                    }
+                }
+                expectedSuccs.remove(comp);
+
+                final Set<Integer> actualSuccs = new HashSet<>();
+                for (int succ : incremental.getSuccessorComponents(comp)) {
+                    Assert.assertTrue(actualSuccs.add(succ));
+                }
+                Assert.assertEquals(actualSuccs, expectedSuccs);
+            }
+        }
+
+        final IncrementalSCCs fromGraph = IncrementalSCCs.fromGraph(graph);
+        for (int n = 0; n < graph.size(); n++) {
+            for (int m = 0; m < graph.size(); m++) {
+                Assert.assertEquals(fromGraph.isStronglyConnected(n, m), incremental.isStronglyConnected(n, m));
+            }
+        }
+    }
+
     private Set<Set<Integer>> computeSCCs(CompactSimpleGraph<Void> graph) {
-        return Graphs.collectSCCs(graph).stream().map(HashSet::new).collect(Collectors.toSet());
+        final Set<Set<Integer>> result = toSets(Graphs.collectSCCs(graph));
+
+        final SCCCollector<Integer> traversal = new SCCCollector<>();
+        SCCs.findSCCsTraversal(graph, traversal);
+
+        Assert.assertEquals(toSets(traversal.getSCCList()), result);
+        Assert.assertEquals(toSets(Graphs.collectSCCsParallel(graph)), result);
+
+        return result;
+    }
+
+    private static Set<Set<Integer>> toSets(List<List<Integer>> sccs) {
+        return sccs.stream().map(HashSet::new).collect(Collectors.toSet());
     }
 }
@@ -16,12 +16,16 @@
 package net.automatalib.util.graphs;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import net.automatalib.graphs.base.compact.CompactEdge;
 import net.automatalib.graphs.base.compact.CompactSimpleGraph;
 import net.automatalib.graphs.concepts.EdgeWeights;
 import net.automatalib.util.graphs.concepts.PropertyEdgeWeights;
+import net.automatalib.util.graphs.sssp.DenseDijkstraSSSP;
+import net.automatalib.util.graphs.sssp.DijkstraSSSP;
 import net.automatalib.util.graphs.sssp.SSSPResult;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
@@ -72,6 +76,62 @@ public class SSSPTest {
         assertSPDist(sssp, n4, 10.3f); // n0 -> n1 -> n3 -> n4
         assertSPNodes(sssp, n4, n0, n1, n3, n4);
         assertSPDist(sssp, n5, Graphs.INVALID_DISTANCE);
+
+        Assert.assertEquals(Graphs.toNodeList(Graphs.findShortestPath(graph, n0, n4, weights), graph, n0),
+                            Arrays.asList(n0, n1, n3, n4));
+        Assert.assertEquals(Graphs.findShortestPath(graph, n0, n0, weights), Collections.emptyList());
+        Assert.assertNull(Graphs.findShortestPath(graph, n0, n5, weights));
+    }
+
+    @Test
+    public void testRandomGraphs() {
+        final Random random = new Random(42);
+        final CompactSimpleGraph<Float> randomGraph = new CompactSimpleGraph<>();
+        final int numNodes = 500;
+
+        for (int i = 0; i < numNodes; i++) {
+            randomGraph.addNode();
+        }
+        for (int i = 0; i < 4 * numNodes; i++) {
+            randomGraph.connect(random.nextInt(numNodes), random.nextInt(numNodes), Float.valueOf(random.nextInt(100)));
+        }
+
+        final EdgeWeights<CompactEdge<Float>> randomWeights = new PropertyEdgeWeights<>(randomGraph);
+
+        for (int i = 0; i < 10; i++) {
+            final int source = random.nextInt(numNodes);
+            final SSSPResult<Integer, CompactEdge<Float>> expected =
+                    DijkstraSSSP.findSSSP(randomGraph, source, randomWeights);
+            final SSSPResult<Integer, CompactEdge<Float>> actual =
+                    DenseDijkstraSSSP.findSSSP(randomGraph, source, randomWeights);
+
+            for (int n = 0; n < numNodes; n++) {
+                final float dist = expected.getShortestPathDistance(n);
+                Assert.assertEquals(actual.getShortestPathDistance(n), dist);
+
+                final List<CompactEdge<Float>> path = actual.getShortestPath(n);
+                final List<CompactEdge<Float>> singlePath =
+                        DenseDijkstraSSSP.findShortestPath(randomGraph, source, n, randomWeights);
+
+                if (dist == Graphs.INVALID_DISTANCE) {
+                    Assert.assertNull(path);
+                    Assert.assertNull(singlePath);
+                } else {
+                    Assert.assertNotNull(path);
+                    Assert.assertNotNull(singlePath);
+                    Assert.assertEquals(pathLength(path, randomWeights), dist);
+                    Assert.assertEquals(pathLength(singlePath, randomWeights), dist);
+                }
+            }
+        }
+    }
+
+    private static <E> float pathLength(List<E> path, EdgeWeights<E> weights) {
+        float length = 0;
+        for (E e : path) {
+            length += weights.getEdgeWeight(e);
+        }
+        return length;
     }
 
     private static <N> void assertSPDist(SSSPResult<N, ?> res, N tgt, float dist) {
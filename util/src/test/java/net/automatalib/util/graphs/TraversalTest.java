@@ -17,6 +17,7 @@ package net.automatalib.util.graphs;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 import java.util.stream.Collectors;
@@ -33,6 +34,7 @@ import net.automatalib.util.automata.random.RandomAutomata;
 import net.automatalib.util.graphs.traversal.DefaultGraphTraversalVisitor;
 import net.automatalib.util.graphs.traversal.GraphTraversal;
 import net.automatalib.util.graphs.traversal.GraphTraversalAction;
+import net.automatalib.util.graphs.traversal.ParallelGraphTraversal;
 import net.automatalib.util.traversal.TraversalOrder;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
@@ -129,6 +131,18 @@ public class TraversalTest {
                                Arrays.asList('1', 'a', '2', 'b', '3', 'c', '4', 'd', '5', 'e'));
     }
 
+    @Test
+    public void testParallelBFTraversal() {
+        final List<Integer> order =
+                ParallelGraphTraversal.breadthFirstOrder(tree, Collections.singleton(tree.getNode(0)));
+
+        // chunks of a frontier are concatenated in order, hence the result is deterministic
+        Assert.assertEquals(order, Arrays.asList(0, 1, 6, 2, 7, 3, 8, 4, 9, 5, 10));
+
+        final Integer init = automaton.getInitialState();
+        Assert.assertEquals(ParallelGraphTraversal.countReachableNodes(graph, Collections.singleton(init)), size);
+    }
+
     private void checkVisitedNodesOrder(TraversalOrder order, List<Character> expectedOrder) {
         final List<Character> visitedNodes = new ArrayList<>();
 
@@ -0,0 +1,270 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.csr;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.graphs.base.compact.CompactEdge;
+import net.automatalib.graphs.base.compact.CompactSimpleGraph;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.util.graphs.Graphs;
+import net.automatalib.util.graphs.concepts.PropertyEdgeWeights;
+import net.automatalib.util.graphs.sssp.SSSPResult;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class CSRGraphTest {
+
+    @Test
+    public void testStructure() {
+        final CSRGraph graph = CSRGraph.of(4, new int[] {2, 0, 2, 1}, new int[] {3, 1, 0, 1}, new float[] {1, 2, 3, 4});
+
+        Assert.assertEquals(graph.size(), 4);
+        Assert.assertEquals(graph.getNumEdges(), 4);
+        Assert.assertTrue(graph.isWeighted());
+
+        Assert.assertEquals(graph.getOutDegree(0), 1);
+        Assert.assertEquals(graph.getOutDegree(1), 1);
+        Assert.assertEquals(graph.getOutDegree(2), 2);
+        Assert.assertEquals(graph.getOutDegree(3), 0);
+
+        // edges of node 2 retain their relative order
+        final int begin = graph.getEdgesBegin(2);
+        Assert.assertEquals(graph.getTarget(begin), 3);
+        Assert.assertEquals(graph.getWeight(begin), 1f);
+        Assert.assertEquals(graph.getTarget(begin + 1), 0);
+        Assert.assertEquals(graph.getWeight(begin + 1), 3f);
+
+        final CSRGraph transposed = graph.transpose();
+        Assert.assertEquals(transposed.getNumEdges(), 4);
+        Assert.assertEquals(transposed.getOutDegree(0), 1);
+        Assert.assertEquals(transposed.getOutDegree(1), 2);
+        Assert.assertEquals(transposed.getOutDegree(2), 0);
+        Assert.assertEquals(transposed.getOutDegree(3), 1);
+        Assert.assertEquals(transposed.getTarget(transposed.getEdgesBegin(3)), 2);
+        Assert.assertEquals(transposed.getWeight(transposed.getEdgesBegin(3)), 1f);
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> CSRGraph.of(2, new int[] {0}, new int[] {2}));
+        Assert.assertThrows(IllegalArgumentException.class, () -> CSRGraph.of(2, new int[] {0}, new int[0]));
+    }
+
+    @Test
+    public void testSCCs() {
+        final Random random = new Random(42);
+
+        for (int i = 0; i < 10; i++) {
+            final CompactSimpleGraph<Void> graph = randomGraph(random, 100, 150);
+            final CSRGraph csr = CSRGraph.fromGraph(graph);
+
+            final int[] components = new int[csr.size()];
+            final int numSCCs = CSRGraphs.findSCCs(csr, components);
+
+            final List<Set<Integer>> csrSCCs = new ArrayList<>(numSCCs);
+            for (int j = 0; j < numSCCs; j++) {
+                csrSCCs.add(new HashSet<>());
+            }
+            for (int n = 0; n < components.length; n++) {
+                csrSCCs.get(components[n]).add(n);
+            }
+
+            final Set<Set<Integer>> expected = new HashSet<>();
+            Graphs.collectSCCs(graph).forEach(scc -> expected.add(new HashSet<>(scc)));
+
+            Assert.assertEquals(new HashSet<>(csrSCCs), expected);
+
+            // SCCs are numbered in reverse topological order
+            for (int n = 0; n < csr.size(); n++) {
+                for (int e = csr.getEdgesBegin(n); e < csr.getEdgesEnd(n); e++) {
+                    Assert.assertTrue(components[n] >= components[csr.getTarget(e)]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTraversals() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(new Random(42), 50, alphabet);
+        // add an unreachable state
+        final int unreachable = dfa.addState();
+        dfa.setTransition(unreachable, 0, (Integer) 0);
+
+        final CSRGraph csr = CSRGraph.fromAutomaton(dfa, alphabet);
+        final int init = dfa.getIntInitialState();
+
+        Assert.assertEquals(csr.size(), dfa.size());
+        Assert.assertEquals(csr.getNumEdges(), dfa.size() * alphabet.size() - alphabet.size() + 1);
+
+        final BitSet reachable = CSRGraphs.findReachable(csr, init);
+        Assert.assertFalse(reachable.get(unreachable));
+
+        final int[] bfs = CSRGraphs.breadthFirstOrder(csr, init);
+        final int[] dfs = CSRGraphs.depthFirstOrder(csr, init);
+        final int[] distances = CSRGraphs.findDistances(csr, init);
+
+        Assert.assertEquals(bfs.length, reachable.cardinality());
+        Assert.assertEquals(dfs, recursiveDFS(csr, init));
+        Assert.assertEquals(distances[unreachable], -1);
+
+        for (int i = 1; i < bfs.length; i++) {
+            Assert.assertTrue(distances[bfs[i - 1]] <= distances[bfs[i]]);
+        }
+
+        // for unweighted graphs, Dijkstra computes the BFS distances
+        final float[] sssp = CSRGraphs.findSSSP(csr, init);
+        for (int n = 0; n < csr.size(); n++) {
+            Assert.assertEquals(sssp[n], distances[n] < 0 ? Graphs.INVALID_DISTANCE : distances[n]);
+        }
+    }
+
+    @Test
+    public void testSSSP() {
+        final Random random = new Random(42);
+        final CompactSimpleGraph<Float> graph = new CompactSimpleGraph<>();
+
+        for (int i = 0; i < 100; i++) {
+            graph.addNode();
+        }
+        for (int i = 0; i < 400; i++) {
+            graph.connect(random.nextInt(100), random.nextInt(100), Float.valueOf(random.nextInt(1000) / 10f));
+        }
+
+        final PropertyEdgeWeights<CompactEdge<Float>> weights = new PropertyEdgeWeights<>(graph);
+        final CSRGraph csr = CSRGraph.fromGraph(graph, weights);
+        final int[] predecessors = new int[csr.size()];
+        final float[] distances = CSRGraphs.findSSSP(csr, 0, predecessors);
+        final SSSPResult<Integer, CompactEdge<Float>> expected = Graphs.findSSSP(graph, 0, weights);
+
+        Assert.assertEquals(predecessors[0], -1);
+
+        for (int n = 0; n < csr.size(); n++) {
+            Assert.assertEquals(distances[n], expected.getShortestPathDistance(n), 1e-3f);
+
+            if (n != 0 && distances[n] != Graphs.INVALID_DISTANCE) {
+                // follow the predecessor edges back to the source
+                float length = 0;
+                int node = n;
+                while (predecessors[node] >= 0) {
+                    final int edge = predecessors[node];
+                    length += csr.getWeight(edge);
+                    node = findSource(csr, edge);
+                }
+                Assert.assertEquals(node, 0);
+                Assert.assertEquals(length, distances[n], 1e-3f);
+            } else if (n != 0) {
+                Assert.assertEquals(predecessors[n], -1);
+            }
+
+            // single-target queries terminate early but yield the same distances
+            Assert.assertEquals(CSRGraphs.findShortestPath(csr, 0, n, null), distances[n]);
+        }
+    }
+
+    @Test
+    public void testOrderings() {
+        final Random random = new Random(42);
+        final CSRGraph graph = CSRGraph.fromGraph(randomGraph(random, 100, 150));
+
+        for (NodeOrdering ordering : NodeOrdering.values()) {
+            final int[] order = ordering.computeOrder(graph, 0);
+            final int[] permutation = NodeOrdering.toPermutation(order);
+
+            Assert.assertEquals(order.length, graph.size());
+            for (int n = 0; n < graph.size(); n++) {
+                Assert.assertEquals(order[permutation[n]], n);
+            }
+        }
+
+        // BFS continues with unvisited nodes after exhausting the reachable ones
+        final int[] bfs = NodeOrdering.BREADTH_FIRST.computeOrder(graph, 0);
+        final int[] reachable = CSRGraphs.breadthFirstOrder(graph, 0);
+        Assert.assertEquals(Arrays.copyOf(bfs, reachable.length), reachable);
+
+        final CSRGraph transposed = graph.transpose();
+        final int[] degree = NodeOrdering.DEGREE.computeOrder(graph);
+        for (int i = 1; i < degree.length; i++) {
+            Assert.assertTrue(transposed.getOutDegree(degree[i - 1]) >= transposed.getOutDegree(degree[i]));
+        }
+
+        // a (randomly labeled) path has bandwidth 1 after reverse Cuthill-McKee
+        final List<Integer> labels = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            labels.add(i);
+        }
+        Collections.shuffle(labels, random);
+
+        final int[] sources = new int[labels.size() - 1];
+        final int[] targets = new int[labels.size() - 1];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = labels.get(i);
+            targets[i] = labels.get(i + 1);
+        }
+
+        final CSRGraph path = CSRGraph.of(labels.size(), sources, targets);
+        final int[] rcm = NodeOrdering.toPermutation(NodeOrdering.REVERSE_CUTHILL_MCKEE.computeOrder(path));
+        for (int i = 0; i < sources.length; i++) {
+            Assert.assertEquals(Math.abs(rcm[sources[i]] - rcm[targets[i]]), 1);
+        }
+    }
+
+    private static CompactSimpleGraph<Void> randomGraph(Random random, int numNodes, int numEdges) {
+        final CompactSimpleGraph<Void> graph = new CompactSimpleGraph<>();
+
+        for (int i = 0; i < numNodes; i++) {
+            graph.addNode();
+        }
+        for (int i = 0; i < numEdges; i++) {
+            graph.connect(random.nextInt(numNodes), random.nextInt(numNodes));
+        }
+
+        return graph;
+    }
+
+    private static int[] recursiveDFS(CSRGraph graph, int init) {
+        final List<Integer> order = new ArrayList<>();
+        recursiveDFS(graph, init, new BitSet(), order);
+        return order.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static void recursiveDFS(CSRGraph graph, int node, BitSet visited, List<Integer> order) {
+        visited.set(node);
+        order.add(node);
+        for (int e = graph.getEdgesBegin(node); e < graph.getEdgesEnd(node); e++) {
+            final int tgt = graph.getTarget(e);
+            if (!visited.get(tgt)) {
+                recursiveDFS(graph, tgt, visited, order);
+            }
+        }
+    }
+
+    private static int findSource(CSRGraph graph, int edge) {
+        int node = 0;
+        while (graph.getEdgesEnd(node) <= edge) {
+            node++;
+        }
+        return node;
+    }
+}
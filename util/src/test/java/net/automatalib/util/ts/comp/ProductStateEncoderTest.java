@@ -0,0 +1,84 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.ts.comp;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import net.automatalib.automata.simple.SimpleDeterministicAutomaton.IntAbstraction;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ProductStateEncoderTest {
+
+    @Test
+    public void testEncoding() {
+        final ProductStateEncoder encoder = new ProductStateEncoder(3, 5);
+
+        Assert.assertEquals(encoder.getNumKeys(), 4 * 6);
+
+        long last = -1;
+        for (int s1 = -1; s1 < 3; s1++) {
+            for (int s2 = -1; s2 < 5; s2++) {
+                final long key = encoder.encode(s1, s2);
+
+                // keys are dense and preserve the lexicographic order
+                Assert.assertEquals(key, last + 1);
+                Assert.assertEquals(encoder.getFirst(key), s1);
+                Assert.assertEquals(encoder.getSecond(key), s2);
+                last = key;
+            }
+        }
+
+        // arbitrary negative values denote undefined components
+        Assert.assertEquals(encoder.getFirst(encoder.encode(-42, 1)), IntAbstraction.INVALID_STATE);
+
+        final ProductStateEncoder large = new ProductStateEncoder(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        final long key = large.encode(Integer.MAX_VALUE - 1, Integer.MAX_VALUE - 2);
+        Assert.assertEquals(large.getFirst(key), Integer.MAX_VALUE - 1);
+        Assert.assertEquals(large.getSecond(key), Integer.MAX_VALUE - 2);
+    }
+
+    @Test
+    public void testDenseStateSet() {
+        checkStateSet(new ProductStateEncoder(100, 200), 100, 200);
+    }
+
+    @Test
+    public void testHashStateSet() {
+        checkStateSet(new ProductStateEncoder(1 << 20, 1 << 20), 1 << 20, 1 << 20);
+    }
+
+    private static void checkStateSet(ProductStateEncoder encoder, int size1, int size2) {
+        final Random random = new Random(42);
+        final ProductStateSet set = encoder.createStateSet();
+        final Set<Long> expected = new HashSet<>();
+
+        for (int i = 0; i < 10000; i++) {
+            // draw from a small range of states to provoke duplicates
+            final long key = encoder.encode(random.nextInt(100) - 1, random.nextInt(200) * (size2 / 200) - 1);
+            Assert.assertEquals(set.contains(key), expected.contains(key));
+            Assert.assertEquals(set.add(key), expected.add(key));
+            Assert.assertTrue(set.contains(key));
+        }
+
+        Assert.assertEquals(set.size(), expected.size());
+
+        final long maxKey = encoder.encode(size1 - 1, size2 - 1);
+        Assert.assertEquals(set.contains(maxKey), expected.contains(maxKey));
+    }
+}
@@ -0,0 +1,138 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.ts.traversal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.util.graphs.csr.CSRGraph;
+import net.automatalib.util.graphs.csr.CSRGraphs;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class ExternalMemoryBFSTest {
+
+    private static final Alphabet<Integer> INPUTS = Alphabets.integers(0, 2);
+
+    private Path workDir;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        workDir = Files.createTempDirectory("external-bfs");
+    }
+
+    @AfterClass
+    public void tearDown() throws IOException {
+        Files.delete(workDir);
+    }
+
+    @Test
+    public void testLevels() throws IOException {
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(new Random(42), 5000, INPUTS, false);
+        // add a state that is not reachable
+        final int unreachable = dfa.addState();
+        dfa.setTransition(unreachable, 0, dfa.getIntInitialState());
+
+        final int[] distances = CSRGraphs.findDistances(CSRGraph.fromAutomaton(dfa, INPUTS), dfa.getIntInitialState());
+
+        // use a small buffer, so that levels are split into many runs which require multiple merge passes
+        for (int bufferSize : new int[] {10, 1000, 100_000}) {
+            final ExternalMemoryBFS bfs = new ExternalMemoryBFS(workDir, bufferSize);
+            final List<Integer> order = new ArrayList<>();
+            final long[] levelSizes = bfs.explore(dfa, INPUTS, order::add);
+
+            final int[] expectedSizes = new int[levelSizes.length];
+            int numReachable = 0;
+            for (int d : distances) {
+                if (d >= 0) {
+                    Assert.assertTrue(d < levelSizes.length);
+                    expectedSizes[d]++;
+                    numReachable++;
+                }
+            }
+
+            for (int i = 0; i < levelSizes.length; i++) {
+                Assert.assertEquals(levelSizes[i], expectedSizes[i]);
+            }
+
+            Assert.assertEquals(order.size(), numReachable);
+            Assert.assertFalse(order.contains(unreachable));
+            Assert.assertEquals(bfs.countReachableStates(dfa, INPUTS), numReachable);
+
+            // states are reported level by level and in ascending order within a level
+            for (int i = 1; i < order.size(); i++) {
+                final int prev = order.get(i - 1);
+                final int curr = order.get(i);
+                final int prevDist = distances[prev];
+                final int currDist = distances[curr];
+                Assert.assertTrue(prevDist < currDist || prevDist == currDist && prev < curr);
+            }
+        }
+
+        // all temporary files have been removed
+        try (Stream<Path> files = Files.list(workDir)) {
+            Assert.assertEquals(files.count(), 0);
+        }
+    }
+
+    @Test
+    public void testAbort() throws IOException {
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(new Random(42), 5000, INPUTS, false);
+        final ExternalMemoryBFS bfs = new ExternalMemoryBFS(workDir, 10);
+        final int[] visited = {0};
+
+        // abort in the middle of a level, when runs of the next level have already been written to disk
+        final IntConsumer visitor = s -> {
+            if (++visited[0] == 100) {
+                throw new IllegalStateException("abort");
+            }
+        };
+        final IllegalStateException ise =
+                Assert.expectThrows(IllegalStateException.class, () -> bfs.explore(dfa, INPUTS, visitor));
+
+        // the original exception is propagated and all temporary files have been removed
+        Assert.assertEquals(ise.getMessage(), "abort");
+        Assert.assertEquals(ise.getSuppressed().length, 0);
+
+        try (Stream<Path> files = Files.list(workDir)) {
+            Assert.assertEquals(files.count(), 0);
+        }
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        final CompactDFA<Integer> dfa = new CompactDFA<>(INPUTS);
+        dfa.addState(true);
+
+        final ExternalMemoryBFS bfs = new ExternalMemoryBFS(workDir, 10);
+        Assert.assertEquals(bfs.explore(dfa, INPUTS, s -> Assert.fail()).length, 0);
+
+        dfa.setInitial(0, true);
+        Assert.assertEquals(bfs.explore(dfa, INPUTS, s -> {}), new long[] {1});
+    }
+}
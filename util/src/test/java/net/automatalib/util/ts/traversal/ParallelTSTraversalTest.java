@@ -0,0 +1,178 @@
+/* Copyright (C) 2013-2022 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.ts.traversal;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.commons.util.Holder;
+import net.automatalib.commons.util.Pair;
+import net.automatalib.ts.DeterministicTransitionSystem;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.util.graphs.csr.CSRGraph;
+import net.automatalib.util.graphs.csr.CSRGraphs;
+import net.automatalib.util.ts.comp.TSCompositions;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class ParallelTSTraversalTest {
+
+    private static final Alphabet<Integer> INPUTS = Alphabets.integers(0, 3);
+
+    private CompactDFA<Integer> dfa1;
+    private CompactDFA<Integer> dfa2;
+
+    @BeforeClass
+    public void setUp() {
+        final Random random = new Random(42);
+        dfa1 = RandomAutomata.randomDFA(random, 5000, INPUTS, false);
+        dfa2 = RandomAutomata.randomDFA(random, 20, INPUTS, false);
+    }
+
+    @Test
+    public void testLevelOrder() {
+        final List<Integer> order = ParallelTSTraversal.breadthFirstOrder(dfa1, INPUTS);
+
+        final CSRGraph csr = CSRGraph.fromAutomaton(dfa1, INPUTS);
+        final int[] distances = CSRGraphs.findDistances(csr, dfa1.getIntInitialState());
+
+        int numReachable = 0;
+        for (int d : distances) {
+            if (d >= 0) {
+                numReachable++;
+            }
+        }
+
+        Assert.assertEquals(order.size(), numReachable);
+        Assert.assertEquals(new HashSet<>(order).size(), numReachable);
+        Assert.assertEquals(ParallelTSTraversal.countReachableStates(dfa1, INPUTS), numReachable);
+
+        for (int i = 1; i < order.size(); i++) {
+            Assert.assertTrue(distances[order.get(i - 1)] <= distances[order.get(i)]);
+        }
+    }
+
+    @Test
+    public void testComposition() {
+        final DeterministicTransitionSystem<Pair<Integer, Integer>, Integer, Pair<Integer, Integer>> composition =
+                TSCompositions.compose(dfa1, dfa2);
+
+        // sequential reference: the visitor keeps track of visited states
+        final Set<Pair<Integer, Integer>> expected = new HashSet<>();
+        TSTraversal.breadthFirst(composition, INPUTS, new CountingVisitor<>(expected));
+
+        Assert.assertEquals(ParallelTSTraversal.countReachableStates(composition, INPUTS), expected.size());
+        Assert.assertEquals(new HashSet<>(ParallelTSTraversal.breadthFirstOrder(composition, INPUTS)), expected);
+    }
+
+    @Test
+    public void testLimitAndAbort() {
+        final AtomicInteger explored = new AtomicInteger();
+        final TSTraversalVisitor<Integer, Integer, Integer, Void> limitVisitor = new ExploreAllVisitor<Integer>() {
+
+            @Override
+            public boolean startExploration(Integer state, Void data) {
+                explored.incrementAndGet();
+                return true;
+            }
+        };
+
+        Assert.assertFalse(ParallelTSTraversal.breadthFirst(dfa1, 100, INPUTS, limitVisitor));
+        Assert.assertEquals(explored.get(), 100);
+
+        explored.set(0);
+        final TSTraversalVisitor<Integer, Integer, Integer, Void> abortVisitor = new ExploreAllVisitor<Integer>() {
+
+            @Override
+            public boolean startExploration(Integer state, Void data) {
+                explored.incrementAndGet();
+                return true;
+            }
+
+            @Override
+            public TSTraversalAction processTransition(Integer source,
+                                                       Void srcData,
+                                                       Integer input,
+                                                       Integer transition,
+                                                       Integer succ,
+                                                       Holder<Void> outData) {
+                return TSTraversalAction.ABORT_TRAVERSAL;
+            }
+        };
+
+        Assert.assertTrue(ParallelTSTraversal.breadthFirst(dfa1, INPUTS, abortVisitor));
+        Assert.assertEquals(explored.get(), 1);
+    }
+
+    private static class ExploreAllVisitor<S> implements TSTraversalVisitor<S, Integer, Integer, Void> {
+
+        @Override
+        public TSTraversalAction processInitial(S state, Holder<Void> outData) {
+            return TSTraversalAction.EXPLORE;
+        }
+
+        @Override
+        public boolean startExploration(S state, Void data) {
+            return true;
+        }
+
+        @Override
+        public TSTraversalAction processTransition(S source,
+                                                   Void srcData,
+                                                   Integer input,
+                                                   Integer transition,
+                                                   S succ,
+                                                   Holder<Void> outData) {
+            return TSTraversalAction.EXPLORE;
+        }
+    }
+
+    private static final class CountingVisitor<S, T> implements TSTraversalVisitor<S, Integer, T, Void> {
+
+        private final Set<S> visited;
+
+        CountingVisitor(Set<S> visited) {
+            this.visited = visited;
+        }
+
+        @Override
+        public TSTraversalAction processInitial(S state, Holder<Void> outData) {
+            return visited.add(state) ? TSTraversalAction.EXPLORE : TSTraversalAction.IGNORE;
+        }
+
+        @Override
+        public boolean startExploration(S state, Void data) {
+            return true;
+        }
+
+        @Override
+        public TSTraversalAction processTransition(S source,
+                                                   Void srcData,
+                                                   Integer input,
+                                                   T transition,
+                                                   S succ,
+                                                   Holder<Void> outData) {
+            return visited.add(succ) ? TSTraversalAction.EXPLORE : TSTraversalAction.IGNORE;
+        }
+    }
+}